@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares {@link InternalMpscQueue} with the {@link ConcurrentLinkedQueue} it replaced in
+ * {@link SynchronizationContext} and {@code SerializingExecutor}, with a varying number of
+ * producer threads offering to a single consumer (the benchmark thread). Run with
+ * {@code -PjmhProfilers=gc} to also compare the allocation rate per element.
+ */
+@State(Scope.Benchmark)
+public class MpscQueueBenchmark {
+  private static final int ELEMENTS_PER_INVOCATION = 64 * 1024;
+
+  public enum QueueType {
+    MPSC, CONCURRENT_LINKED
+  }
+
+  @Param({"1", "4", "16", "64"})
+  public int producers;
+
+  @Param({"MPSC", "CONCURRENT_LINKED"})
+  public QueueType queueType;
+
+  private final Runnable element = new Runnable() {
+    @Override
+    public void run() {}
+  };
+  private final List<Thread> threads = new ArrayList<>();
+  private CyclicBarrier startBarrier;
+  private volatile boolean shutdown;
+  private Queue queue;
+
+  @Setup
+  public void setUp() {
+    queue = queueType == QueueType.MPSC ? new MpscQueue() : new LinkedQueue();
+    startBarrier = new CyclicBarrier(producers + 1);
+    final int perProducer = ELEMENTS_PER_INVOCATION / producers;
+    for (int i = 0; i < producers; i++) {
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          while (true) {
+            try {
+              startBarrier.await();
+            } catch (Exception e) {
+              return;
+            }
+            if (shutdown) {
+              return;
+            }
+            for (int j = 0; j < perProducer; j++) {
+              queue.offer(element);
+            }
+          }
+        }
+      }, "producer-" + i);
+      thread.setDaemon(true);
+      thread.start();
+      threads.add(thread);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    shutdown = true;
+    startBarrier.reset();
+    for (Thread thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(1));
+    }
+    threads.clear();
+  }
+
+  /**
+   * All producers offer their share of the elements while the benchmark thread polls all of them.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @OperationsPerInvocation(ELEMENTS_PER_INVOCATION)
+  public int offerAndPoll() throws Exception {
+    startBarrier.await();
+    int expected = ELEMENTS_PER_INVOCATION / producers * producers;
+    int received = 0;
+    while (received < expected) {
+      if (queue.poll() != null) {
+        received++;
+      }
+    }
+    return received;
+  }
+
+  private interface Queue {
+    void offer(Runnable r);
+
+    Runnable poll();
+  }
+
+  private static final class MpscQueue implements Queue {
+    private final InternalMpscQueue<Runnable> queue = new InternalMpscQueue<>();
+
+    @Override
+    public void offer(Runnable r) {
+      queue.offer(r);
+    }
+
+    @Override
+    public Runnable poll() {
+      return queue.poll();
+    }
+  }
+
+  private static final class LinkedQueue implements Queue {
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void offer(Runnable r) {
+      queue.offer(r);
+    }
+
+    @Override
+    public Runnable poll() {
+      return queue.poll();
+    }
+  }
+}
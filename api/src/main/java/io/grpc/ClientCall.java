@@ -245,6 +245,26 @@ public abstract class ClientCall<ReqT, RespT> {
    */
   public abstract void sendMessage(ReqT message);
 
+  /**
+   * Send several request messages to the server, in order. This is equivalent to calling {@link
+   * #sendMessage} for each message, but lets the transport frame the messages together and write
+   * them to the wire at once, which is much cheaper than one write per message for streams of many
+   * small messages. The default implementation calls {@link #sendMessage} for each message.
+   *
+   * <p>Flow control is the caller's responsibility, as for {@link #sendMessage}: all of the
+   * messages are buffered, even if {@link #isReady} turns {@code false} part way through.
+   *
+   * @param messages messages to be sent to the server.
+   * @throws IllegalStateException if call is {@link #halfClose}d or explicitly {@link #cancel}ed
+   * @since 1.46.0
+   */
+  @ExperimentalApi("https://github.com/grpc/grpc-java/issues/1703")
+  public void sendMessages(Iterable<? extends ReqT> messages) {
+    for (ReqT message : messages) {
+      sendMessage(message);
+    }
+  }
+
   /**
    * If {@code true}, indicates that the call is capable of sending additional messages
    * without requiring excessive buffering internally. This event is
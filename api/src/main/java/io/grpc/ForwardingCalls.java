@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Utilities for {@link ForwardingClientCall} and {@link ForwardingServerCall}.
+ */
+final class ForwardingCalls {
+  private static final ConcurrentMap<Class<?>, Boolean> overridesSendMessage =
+      new ConcurrentHashMap<>();
+
+  private ForwardingCalls() {}
+
+  /**
+   * Returns whether {@code callClass}, a subclass of {@code forwardingClass}, overrides {@code
+   * sendMessage()}. Such a class may transform or observe each message, so a batch of messages
+   * must not bypass it.
+   */
+  static boolean overridesSendMessage(Class<?> callClass, Class<?> forwardingClass) {
+    Boolean overrides = overridesSendMessage.get(callClass);
+    if (overrides == null) {
+      overrides = declaresSendMessage(callClass, forwardingClass);
+      overridesSendMessage.put(callClass, overrides);
+    }
+    return overrides;
+  }
+
+  private static boolean declaresSendMessage(Class<?> callClass, Class<?> forwardingClass) {
+    for (Class<?> c = callClass; c != forwardingClass; c = c.getSuperclass()) {
+      try {
+        // An override with a narrower parameter type also declares a bridge method taking Object
+        c.getDeclaredMethod("sendMessage", Object.class);
+        return true;
+      } catch (NoSuchMethodException e) {
+        // Keep looking in the superclass
+      } catch (SecurityException e) {
+        // Assume the worst, sending the messages one at a time is always correct
+        return true;
+      }
+    }
+    return false;
+  }
+}
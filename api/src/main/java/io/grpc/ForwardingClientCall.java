@@ -37,6 +37,20 @@ public abstract class ForwardingClientCall<ReqT, RespT>
     delegate().sendMessage(message);
   }
 
+  /**
+   * Forwards the messages to the delegate as a batch, unless a subclass overrides {@link
+   * #sendMessage}. In that case each message is passed to {@link #sendMessage} instead, so that
+   * the subclass sees every message.
+   */
+  @Override
+  public void sendMessages(Iterable<? extends ReqT> messages) {
+    if (ForwardingCalls.overridesSendMessage(getClass(), ForwardingClientCall.class)) {
+      super.sendMessages(messages);
+    } else {
+      delegate().sendMessages(messages);
+    }
+  }
+
   /**
    * A simplified version of {@link ForwardingClientCall} where subclasses can pass in a {@link
    * ClientCall} as the delegate.
@@ -32,6 +32,20 @@ public abstract class ForwardingServerCall<ReqT, RespT>
     delegate().sendMessage(message);
   }
 
+  /**
+   * Forwards the messages to the delegate as a batch, unless a subclass overrides {@link
+   * #sendMessage}. In that case each message is passed to {@link #sendMessage} instead, so that
+   * the subclass sees every message.
+   */
+  @Override
+  public void sendMessages(Iterable<? extends RespT> messages) {
+    if (ForwardingCalls.overridesSendMessage(getClass(), ForwardingServerCall.class)) {
+      super.sendMessages(messages);
+    } else {
+      delegate().sendMessages(messages);
+    }
+  }
+
   /**
    * A simplified version of {@link ForwardingServerCall} where subclasses can pass in a {@link
    * ServerCall} as the delegate.
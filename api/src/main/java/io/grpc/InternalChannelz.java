@@ -1065,10 +1065,14 @@ public final class InternalChannelz {
     public final long lastMessageReceivedTimeNanos;
     public final long localFlowControlWindow;
     public final long remoteFlowControlWindow;
+    /** Number of times the transport flushed its pending writes to the socket. */
+    public final long flushes;
+    /** Number of write commands covered by {@link #flushes}. */
+    public final long commandsFlushed;
     // TODO(zpencer): report socket flags and other info
 
     /**
-     * Creates an instance.
+     * Creates an instance, with no flush statistics.
      */
     public TransportStats(
         long streamsStarted,
@@ -1083,6 +1087,41 @@ public final class InternalChannelz {
         long lastMessageReceivedTimeNanos,
         long localFlowControlWindow,
         long remoteFlowControlWindow) {
+      this(
+          streamsStarted,
+          lastLocalStreamCreatedTimeNanos,
+          lastRemoteStreamCreatedTimeNanos,
+          streamsSucceeded,
+          streamsFailed,
+          messagesSent,
+          messagesReceived,
+          keepAlivesSent,
+          lastMessageSentTimeNanos,
+          lastMessageReceivedTimeNanos,
+          localFlowControlWindow,
+          remoteFlowControlWindow,
+          0,
+          0);
+    }
+
+    /**
+     * Creates an instance.
+     */
+    public TransportStats(
+        long streamsStarted,
+        long lastLocalStreamCreatedTimeNanos,
+        long lastRemoteStreamCreatedTimeNanos,
+        long streamsSucceeded,
+        long streamsFailed,
+        long messagesSent,
+        long messagesReceived,
+        long keepAlivesSent,
+        long lastMessageSentTimeNanos,
+        long lastMessageReceivedTimeNanos,
+        long localFlowControlWindow,
+        long remoteFlowControlWindow,
+        long flushes,
+        long commandsFlushed) {
       this.streamsStarted = streamsStarted;
       this.lastLocalStreamCreatedTimeNanos = lastLocalStreamCreatedTimeNanos;
       this.lastRemoteStreamCreatedTimeNanos = lastRemoteStreamCreatedTimeNanos;
@@ -1095,6 +1134,8 @@ public final class InternalChannelz {
       this.lastMessageReceivedTimeNanos = lastMessageReceivedTimeNanos;
       this.localFlowControlWindow = localFlowControlWindow;
       this.remoteFlowControlWindow = remoteFlowControlWindow;
+      this.flushes = flushes;
+      this.commandsFlushed = commandsFlushed;
     }
   }
 
@@ -73,6 +73,15 @@ public final class InternalMetadata {
     return new Metadata(usedNames, binaryValues);
   }
 
+  /**
+   * Replaces the contents of {@code md} with the given binary metadata, so that a transport can
+   * reuse a {@link Metadata} instance it previously handed out once nothing references it.
+   */
+  @Internal
+  public static void resetMetadata(Metadata md, int usedNames, byte[]... binaryValues) {
+    md.reset(usedNames, binaryValues);
+  }
+
   @Internal
   public static byte[][] serialize(Metadata md) {
     return md.serialize();
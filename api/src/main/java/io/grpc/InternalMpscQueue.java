@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An unbounded multi-producer, single-consumer FIFO queue backed by fixed-size array chunks.
+ * Unlike {@link java.util.concurrent.ConcurrentLinkedQueue} it does not allocate a node per
+ * element, and a fully consumed chunk is kept for reuse instead of being left to the garbage
+ * collector, so a queue that stays short does not allocate at all in steady state.
+ *
+ * <p>Any thread may call {@link #offer}. {@link #poll}, {@link #remove} and {@link #isEmpty} must
+ * only be called by the consumer. The consumer role may move between threads, as long as there is
+ * a happens-before edge between the old and the new consumer, such as the run-state CAS of
+ * {@code SerializingExecutor} or the draining-thread CAS of {@link SynchronizationContext}. The
+ * thread that has just given up the consumer role may still call {@link #isEmpty}; the answer may
+ * be stale if another thread has taken over since, in which case that thread is responsible for
+ * the remaining elements.
+ *
+ * <p>An element becomes visible to the consumer once {@code offer()} returns. Slots are claimed in
+ * order and written afterwards, so the consumer may find the next slot claimed by a producer that
+ * has not written it yet. It then waits for that write rather than reporting the queue empty, as
+ * elements behind it may already have been offered. Producers only wait for each other while the
+ * producer that filled a chunk links in the next one.
+ *
+ * <p>An internal class. Do not use.
+ */
+@Internal
+@ThreadSafe
+public final class InternalMpscQueue<E> {
+  private static final int CHUNK_SIZE = 32;
+  private static final long CLAIMED_MASK = 0xFFFFFFFFL;
+  private static final long GENERATION_INCREMENT = 1L << 32;
+  /** Left in place of an element by {@link #remove}, skipped by {@link #poll}. */
+  private static final Object REMOVED = new Object();
+
+  /** Chunk the consumer reads from. Only accessed by the consumer. */
+  private Chunk head;
+  /** Index of the next slot to read in {@link #head}. Only accessed by the consumer. */
+  private int headIndex;
+  /** Chunk producers claim slots from. */
+  private volatile Chunk tail;
+  /** A consumed chunk that the next chunk append may reuse. */
+  private final AtomicReference<Chunk> spare = new AtomicReference<>();
+
+  public InternalMpscQueue() {
+    Chunk chunk = new Chunk();
+    chunk.state.set(0);
+    head = chunk;
+    tail = chunk;
+  }
+
+  /**
+   * Appends {@code element} to the queue. May be called from any thread.
+   */
+  public void offer(E element) {
+    checkNotNull(element, "element");
+    // The chunk to link in if the last slot of the tail is claimed. It is obtained before claiming
+    // the slot, so that a failed allocation can't leave a claimed slot that is never written.
+    Chunk next = null;
+    while (true) {
+      Chunk t = tail;
+      long state = t.state.get();
+      int claimed = (int) (state & CLAIMED_MASK);
+      if (claimed >= CHUNK_SIZE) {
+        // The producer that claimed the last slot of t is linking in the next chunk. This also
+        // covers a stale t that has since been retired, whose state is kept full.
+        Thread.yield();
+        continue;
+      }
+      if (claimed == CHUNK_SIZE - 1 && next == null) {
+        next = spare.getAndSet(null);
+        if (next == null) {
+          next = new Chunk();
+        }
+      }
+      // The generation in the state makes this fail if t was retired and reused in between.
+      if (!t.state.compareAndSet(state, state + 1)) {
+        continue;
+      }
+      if (claimed == CHUNK_SIZE - 1) {
+        // Link the next chunk before publishing the last element of t, so that the consumer always
+        // finds t.next once it has consumed t.
+        appendChunk(t, next);
+      }
+      // Otherwise another producer claimed the last slot, and the chunk obtained for it, if any,
+      // is left to the garbage collector.
+      t.slots.set(claimed, element);
+      return;
+    }
+  }
+
+  private void appendChunk(Chunk t, Chunk next) {
+    t.next = next;
+    tail = next;
+    // Open the chunk for claims only once it is reachable from the consumer side. Until then a
+    // producer that still holds a reference from its previous use sees it as full.
+    next.state.set(next.state.get() & ~CLAIMED_MASK);
+  }
+
+  /**
+   * Removes and returns the element at the head of the queue, or {@code null} if the queue is
+   * empty. Must only be called by the consumer.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public E poll() {
+    while (true) {
+      Chunk h = head;
+      int i = headIndex;
+      if (i == CHUNK_SIZE) {
+        Chunk next = h.next;
+        if (next == null) {
+          return null;
+        }
+        head = next;
+        headIndex = 0;
+        retire(h);
+        continue;
+      }
+      Object element = h.slots.get(i);
+      while (element == null) {
+        if (i >= claimedSlots(h)) {
+          return null;
+        }
+        // A producer claimed the slot and is about to write it.
+        Thread.yield();
+        element = h.slots.get(i);
+      }
+      h.slots.lazySet(i, null);
+      headIndex = i + 1;
+      if (element != REMOVED) {
+        return (E) element;
+      }
+    }
+  }
+
+  private void retire(Chunk chunk) {
+    // All slots were claimed, consumed and cleared. Bumping the generation fails any claim a
+    // producer with a stale reference is about to make, and the chunk stays full until reused.
+    chunk.next = null;
+    chunk.state.set(chunk.state.get() + GENERATION_INCREMENT);
+    // Only the consumer ever sets a non-null spare, so this check-then-set does not race.
+    if (spare.get() == null) {
+      spare.lazySet(chunk);
+    }
+  }
+
+  /**
+   * Returns {@code true} if no element has been offered that is not polled yet. A slot claimed by a
+   * producer that has not written it yet counts as an element. Must only be called by the consumer,
+   * or the thread that most recently was the consumer. The latter may get {@code false} for a queue
+   * that has been emptied by the new consumer since, but never {@code true} for a non-empty queue.
+   */
+  public boolean isEmpty() {
+    Chunk h = head;
+    int i = headIndex;
+    while (true) {
+      if (i == CHUNK_SIZE) {
+        h = h.next;
+        if (h == null) {
+          return true;
+        }
+        i = 0;
+      }
+      Object element = h.slots.get(i);
+      if (element == null) {
+        // Not waiting for the write here: a former consumer may look at a slot that the new
+        // consumer has already cleared.
+        return i >= claimedSlots(h);
+      }
+      if (element != REMOVED) {
+        return false;
+      }
+      i++;
+    }
+  }
+
+  private static int claimedSlots(Chunk chunk) {
+    // A chunk that is not open for claims yet counts as full.
+    return (int) Math.min(chunk.state.get() & CLAIMED_MASK, CHUNK_SIZE);
+  }
+
+  /**
+   * Removes the first occurrence of {@code element} that has been offered so far. Must only be
+   * called by the consumer. This is a linear scan and is meant for rare cleanup paths only.
+   *
+   * @return {@code true} if the element was found and removed
+   */
+  public boolean remove(Object element) {
+    checkNotNull(element, "element");
+    Chunk c = head;
+    int i = headIndex;
+    while (c != null) {
+      // Skip over slots that were claimed but not yet written; they may precede the element.
+      int claimed = claimedSlots(c);
+      for (; i < claimed; i++) {
+        Object current = c.slots.get(i);
+        if (current != null && current != REMOVED && element.equals(current)) {
+          // Producers never overwrite a written slot, and only the consumer clears one.
+          c.slots.set(i, REMOVED);
+          return true;
+        }
+      }
+      c = c.next;
+      i = 0;
+    }
+    return false;
+  }
+
+  private static final class Chunk {
+    final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+    /**
+     * The generation (number of times this chunk has been retired) in the upper 32 bits and the
+     * number of claimed slots in the lower 32 bits. Starts out full, so that a chunk can't be
+     * claimed from before it is linked in.
+     */
+    final AtomicLong state = new AtomicLong(CHUNK_SIZE);
+    volatile Chunk next;
+  }
+}
@@ -147,6 +147,19 @@ public final class Metadata {
     this.namesAndValues = namesAndValues;
   }
 
+  /**
+   * Called by the transport layer to reuse this instance for newly received binary metadata,
+   * discarding the current contents. Metadata will mutate the passed in array.
+   *
+   * @param usedNames the number of names
+   */
+  void reset(int usedNames, byte[]... binaryValues) {
+    assert (binaryValues.length & 1) == 0
+        : "Odd number of key-value pairs " + binaryValues.length;
+    size = usedNames;
+    this.namesAndValues = binaryValues;
+  }
+
   private Object[] namesAndValues;
   // The unscaled number of headers present.
   private int size;
@@ -95,6 +95,27 @@ public abstract class ServerBuilder<T extends ServerBuilder<T>> {
     return thisT();
   }
 
+  /**
+   * Runs the application code of each call on a thread of its own, using virtual threads, instead
+   * of on a shared thread pool. This lets blocking service implementations scale to a large number
+   * of concurrent calls without having to size a pool.
+   *
+   * <p>Callbacks of a call are still delivered one at a time and in order. Virtual threads require
+   * Java 21 or later; on other runtimes the server keeps using the default executor.
+   *
+   * <p>This replaces any executor set with {@link #executor(Executor)} or {@link
+   * #directExecutor()}, and is replaced by them if they are called later. An executor returned by
+   * a {@link #callExecutor(ServerCallExecutorSupplier)} still takes over the calls it is returned
+   * for.
+   *
+   * @return this
+   * @since 1.46.0
+   */
+  @ExperimentalApi("https://github.com/grpc/grpc-java/issues/8274")
+  public T threadPerCallExecutor() {
+    return thisT();
+  }
+
   /**
    * Adds a service implementation to the handler registry.
    *
@@ -32,6 +32,15 @@ import javax.annotation.Nullable;
  *
  * <p>Methods are guaranteed to be non-blocking. Implementations are not required to be thread-safe.
  *
+ * <p>The request headers passed to {@link ServerCallHandler#startCall} and {@link
+ * ServerInterceptor#interceptCall} are normally owned by the application. A server transport may
+ * however be configured to recycle them (for example with {@code
+ * NettyServerBuilder.recycleRequestHeaders(true)}), in which case the transport reclaims the
+ * headers, including any changes made to them, as soon as {@link Listener#onComplete} or {@link
+ * Listener#onCancel} returns. Applications enabling that mode must not retain the headers or
+ * access them from other threads after that point; copy the needed values, or {@link
+ * Metadata#merge} them into a new {@link Metadata}, instead.
+ *
  * <p>DO NOT MOCK: Use InProcessTransport and make a fake server instead.
  *
  * @param <ReqT> parsed type of request message.
@@ -136,6 +145,26 @@ public abstract class ServerCall<ReqT, RespT> {
    */
   public abstract void sendMessage(RespT message);
 
+  /**
+   * Send several response messages, in order. This is equivalent to calling {@link #sendMessage}
+   * for each message, but lets the transport frame the messages together and write them to the
+   * wire at once, which is much cheaper than one write per message for streams of many small
+   * messages. The default implementation calls {@link #sendMessage} for each message.
+   *
+   * <p>Flow control is the caller's responsibility, as for {@link #sendMessage}: all of the
+   * messages are buffered, even if {@link #isReady} turns {@code false} part way through.
+   *
+   * @param messages response messages.
+   * @throws IllegalStateException if headers not sent or call is {@link #close}d
+   * @since 1.46.0
+   */
+  @ExperimentalApi("https://github.com/grpc/grpc-java/issues/1704")
+  public void sendMessages(Iterable<? extends RespT> messages) {
+    for (RespT message : messages) {
+      sendMessage(message);
+    }
+  }
+
   /**
    * If {@code true}, indicates that the call is capable of sending additional messages
    * without requiring excessive buffering internally. This event is
@@ -20,8 +20,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.lang.Thread.UncaughtExceptionHandler;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -61,7 +59,8 @@ import javax.annotation.concurrent.ThreadSafe;
 public final class SynchronizationContext implements Executor {
   private final UncaughtExceptionHandler uncaughtExceptionHandler;
 
-  private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+  // Polled only by the drainingThread
+  private final InternalMpscQueue<Runnable> queue = new InternalMpscQueue<>();
   private final AtomicReference<Thread> drainingThread = new AtomicReference<>();
 
   /**
@@ -112,7 +111,7 @@ public final class SynchronizationContext implements Executor {
    * #executeLater} in the lock, and call {@link #drain} outside the lock.
    */
   public final void executeLater(Runnable runnable) {
-    queue.add(checkNotNull(runnable, "runnable is null"));
+    queue.offer(checkNotNull(runnable, "runnable is null"));
   }
 
   /**
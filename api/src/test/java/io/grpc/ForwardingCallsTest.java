@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.ForwardingClientCall.SimpleForwardingClientCall;
+import io.grpc.ForwardingServerCall.SimpleForwardingServerCall;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Unit tests for {@code sendMessages()} on {@link ForwardingClientCall} and {@link
+ * ForwardingServerCall}.
+ */
+@RunWith(JUnit4.class)
+public class ForwardingCallsTest {
+  @SuppressWarnings("unchecked")
+  private final ClientCall<String, Integer> clientCall = mock(ClientCall.class);
+  @SuppressWarnings("unchecked")
+  private final ServerCall<Integer, String> serverCall = mock(ServerCall.class);
+  private final List<String> messages = Arrays.asList("a", "b");
+
+  @Test
+  public void clientCall_forwardsBatch() {
+    new SimpleForwardingClientCall<String, Integer>(clientCall) {
+      @Override
+      public void halfClose() {
+        super.halfClose();
+      }
+    }.sendMessages(messages);
+
+    verify(clientCall).sendMessages(messages);
+  }
+
+  @Test
+  public void clientCall_sendMessageOverridden_sendsOneAtATime() {
+    final List<String> seen = new ArrayList<>();
+    new SimpleForwardingClientCall<String, Integer>(clientCall) {
+      @Override
+      public void sendMessage(String message) {
+        seen.add(message);
+        super.sendMessage(message);
+      }
+    }.sendMessages(messages);
+
+    assertThat(seen).containsExactly("a", "b").inOrder();
+    verify(clientCall).sendMessage("a");
+    verify(clientCall).sendMessage("b");
+    verify(clientCall, never()).sendMessages(messages);
+  }
+
+  @Test
+  public void clientCall_sendMessageOverriddenInSuperclass_sendsOneAtATime() {
+    class CountingCall extends SimpleForwardingClientCall<String, Integer> {
+      int count;
+
+      CountingCall() {
+        super(clientCall);
+      }
+
+      @Override
+      public void sendMessage(String message) {
+        count++;
+        super.sendMessage(message);
+      }
+    }
+
+    CountingCall call = new CountingCall() {};
+    call.sendMessages(messages);
+
+    assertThat(call.count).isEqualTo(2);
+    verify(clientCall, never()).sendMessages(messages);
+  }
+
+  @Test
+  public void serverCall_forwardsBatch() {
+    new SimpleForwardingServerCall<Integer, String>(serverCall) {}.sendMessages(messages);
+
+    verify(serverCall).sendMessages(messages);
+  }
+
+  @Test
+  public void serverCall_sendMessageOverridden_sendsOneAtATime() {
+    final List<String> seen = new ArrayList<>();
+    new SimpleForwardingServerCall<Integer, String>(serverCall) {
+      @Override
+      public void sendMessage(String message) {
+        seen.add(message);
+        super.sendMessage(message);
+      }
+    }.sendMessages(messages);
+
+    assertThat(seen).containsExactly("a", "b").inOrder();
+    verify(serverCall).sendMessage("a");
+    verify(serverCall).sendMessage("b");
+    verify(serverCall, never()).sendMessages(messages);
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Unit tests for {@link InternalMpscQueue}.
+ */
+@RunWith(JUnit4.class)
+public class InternalMpscQueueTest {
+  private final InternalMpscQueue<Integer> queue = new InternalMpscQueue<>();
+
+  @Test
+  public void emptyQueue() {
+    assertTrue(queue.isEmpty());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void fifoAcrossChunks() {
+    // Enough elements to span several chunks, twice, so that recycled chunks are used.
+    for (int round = 0; round < 2; round++) {
+      for (int i = 0; i < 1000; i++) {
+        queue.offer(i);
+      }
+      assertFalse(queue.isEmpty());
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(Integer.valueOf(i), queue.poll());
+      }
+      assertTrue(queue.isEmpty());
+      assertNull(queue.poll());
+    }
+  }
+
+  @Test
+  public void interleavedOfferAndPoll() {
+    int next = 0;
+    for (int i = 0; i < 500; i++) {
+      queue.offer(i * 2);
+      queue.offer(i * 2 + 1);
+      assertEquals(Integer.valueOf(next++), queue.poll());
+    }
+    while (!queue.isEmpty()) {
+      assertEquals(Integer.valueOf(next++), queue.poll());
+    }
+    assertEquals(1000, next);
+  }
+
+  @Test
+  public void remove() {
+    for (int i = 0; i < 100; i++) {
+      queue.offer(i);
+    }
+    assertTrue(queue.remove(50));
+    assertFalse(queue.remove(50));
+    assertFalse(queue.remove(1000));
+    for (int i = 0; i < 100; i++) {
+      if (i != 50) {
+        assertEquals(Integer.valueOf(i), queue.poll());
+      }
+    }
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void remove_onlyElement() {
+    queue.offer(1);
+    assertTrue(queue.remove(1));
+    assertTrue(queue.isEmpty());
+    assertNull(queue.poll());
+  }
+
+  @Test
+  public void claimedSlotNotWrittenYet_pollWaitsForIt() throws Exception {
+    // Does what a producer paused between claiming slot 0 and writing it would have done.
+    Object chunk = getField(queue, "tail");
+    ((AtomicLong) getField(chunk, "state")).incrementAndGet();
+    @SuppressWarnings("unchecked")
+    AtomicReferenceArray<Object> slots = (AtomicReferenceArray<Object>) getField(chunk, "slots");
+    // Another producer offers behind it.
+    queue.offer(2);
+    assertFalse(queue.isEmpty());
+
+    final BlockingQueue<Integer> polled = new LinkedBlockingQueue<>();
+    Thread consumer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        polled.add(queue.poll());
+        polled.add(queue.poll());
+      }
+    });
+    consumer.start();
+    assertNull(polled.poll(100, TimeUnit.MILLISECONDS));
+
+    slots.set(0, 1);
+    assertEquals(Integer.valueOf(1), polled.poll(5, TimeUnit.SECONDS));
+    assertEquals(Integer.valueOf(2), polled.poll(5, TimeUnit.SECONDS));
+    consumer.join();
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void claimedSlotNotWrittenYet_synchronizationContextRunsLaterTask() throws Exception {
+    final List<Integer> ran = Collections.synchronizedList(new ArrayList<Integer>());
+    SynchronizationContext syncContext = new SynchronizationContext(
+        new Thread.UncaughtExceptionHandler() {
+          @Override
+          public void uncaughtException(Thread t, Throwable e) {
+            throw new AssertionError(e);
+          }
+        });
+    InternalMpscQueue<?> syncQueue = (InternalMpscQueue<?>) getField(syncContext, "queue");
+    Object chunk = getField(syncQueue, "tail");
+    ((AtomicLong) getField(chunk, "state")).incrementAndGet();
+    @SuppressWarnings("unchecked")
+    final AtomicReferenceArray<Object> slots =
+        (AtomicReferenceArray<Object>) getField(chunk, "slots");
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          throw new AssertionError(e);
+        }
+        slots.set(0, new Runnable() {
+          @Override
+          public void run() {
+            ran.add(1);
+          }
+        });
+      }
+    }).start();
+
+    // Must not return while its task is queued behind the claimed slot with nobody draining.
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        ran.add(2);
+      }
+    });
+    assertThat(ran).containsExactly(1, 2).inOrder();
+  }
+
+  @Test
+  public void concurrentProducers_preservePerProducerOrder() throws Exception {
+    final int producers = 8;
+    final int perProducer = 20000;
+    final InternalMpscQueue<int[]> queue = new InternalMpscQueue<>();
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      final int producer = p;
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            throw new AssertionError(e);
+          }
+          for (int i = 0; i < perProducer; i++) {
+            queue.offer(new int[] {producer, i});
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+
+    int[] lastSeen = new int[producers];
+    Arrays.fill(lastSeen, -1);
+    int received = 0;
+    while (received < producers * perProducer) {
+      int[] element = queue.poll();
+      if (element == null) {
+        Thread.yield();
+        continue;
+      }
+      assertThat(element[1]).isEqualTo(lastSeen[element[0]] + 1);
+      lastSeen[element[0]] = element[1];
+      received++;
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  private static Object getField(Object object, String name) throws Exception {
+    Field field = object.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    return field.get(object);
+  }
+}
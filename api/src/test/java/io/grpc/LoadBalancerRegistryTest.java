@@ -41,7 +41,7 @@ public class LoadBalancerRegistryTest {
   @Test
   public void stockProviders() {
     LoadBalancerRegistry defaultRegistry = LoadBalancerRegistry.getDefaultRegistry();
-    assertThat(defaultRegistry.providers()).hasSize(3);
+    assertThat(defaultRegistry.providers()).hasSize(5);
 
     LoadBalancerProvider pickFirst = defaultRegistry.getProvider("pick_first");
     assertThat(pickFirst).isInstanceOf(PickFirstLoadBalancerProvider.class);
@@ -52,6 +52,18 @@ public class LoadBalancerRegistryTest {
         "io.grpc.util.SecretRoundRobinLoadBalancerProvider$Provider");
     assertThat(roundRobin.getPriority()).isEqualTo(5);
 
+    LoadBalancerProvider outlierDetection =
+        defaultRegistry.getProvider("outlier_detection_experimental");
+    assertThat(outlierDetection.getClass().getName()).isEqualTo(
+        "io.grpc.util.OutlierDetectionLoadBalancerProvider");
+    assertThat(outlierDetection.getPriority()).isEqualTo(5);
+
+    LoadBalancerProvider deterministicSubsetting =
+        defaultRegistry.getProvider("deterministic_subsetting_experimental");
+    assertThat(deterministicSubsetting.getClass().getName()).isEqualTo(
+        "io.grpc.util.DeterministicSubsettingLoadBalancerProvider");
+    assertThat(deterministicSubsetting.getPriority()).isEqualTo(5);
+
     LoadBalancerProvider grpclb = defaultRegistry.getProvider("grpclb");
     assertThat(grpclb).isInstanceOf(GrpclbLoadBalancerProvider.class);
     assertThat(grpclb.getPriority()).isEqualTo(5);
@@ -67,10 +67,10 @@ import org.openjdk.jmh.annotations.Threads;
 @State(Scope.Benchmark)
 public class TransportBenchmark {
   public enum Transport {
-    INPROCESS, NETTY, NETTY_LOCAL, NETTY_EPOLL, OKHTTP
+    INPROCESS, NETTY, NETTY_LOCAL, NETTY_EPOLL, OKHTTP, OKHTTP_POOLED
   }
 
-  @Param({"INPROCESS", "NETTY", "OKHTTP"})
+  @Param({"INPROCESS", "NETTY", "OKHTTP", "OKHTTP_POOLED"})
   public Transport transport;
   @Param({"true", "false"})
   public boolean direct;
@@ -152,6 +152,16 @@ public class TransportBenchmark {
             .forAddress("localhost", port, InsecureChannelCredentials.create());
         break;
       }
+      case OKHTTP_POOLED:
+      {
+        int port = pickUnusedPort();
+        InetSocketAddress address = new InetSocketAddress("localhost", port);
+        serverBuilder = NettyServerBuilder.forAddress(address, serverCreds);
+        channelBuilder = OkHttpChannelBuilder
+            .forAddress("localhost", port, InsecureChannelCredentials.create())
+            .usePooledBufferWrappers(true);
+        break;
+      }
       default:
         throw new Exception("Unknown transport: " + transport);
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.benchmarks;
+
+import static io.grpc.benchmarks.Utils.pickUnusedPort;
+
+import io.grpc.InsecureServerCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.benchmarks.proto.BenchmarkServiceGrpc;
+import io.grpc.benchmarks.proto.Messages.SimpleRequest;
+import io.grpc.benchmarks.qps.AsyncServer;
+import io.grpc.internal.ThreadPerTaskExecutor;
+import io.grpc.netty.NettyServerBuilder;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Issues a large number of concurrent blocking unary calls over a single Netty or OkHttp channel,
+ * one per virtual thread, comparing the default blocking stub with
+ * {@code AbstractBlockingStub.withDirectCallbacks()}. Each invocation waits for all of the calls
+ * to complete. Requires Java 21 or later.
+ */
+@State(Scope.Benchmark)
+public class VirtualThreadBlockingStubBenchmark {
+  public enum StubMode {
+    THREADLESS, DIRECT_CALLBACKS
+  }
+
+  @Param({"THREADLESS", "DIRECT_CALLBACKS"})
+  public StubMode stubMode;
+
+  @Param({"1000", "100000"})
+  public int concurrentCalls;
+
+  @Param({"NETTY_NIO", "OK_HTTP"})
+  public Transport clientTransport;
+
+  private Server server;
+  private ManagedChannel channel;
+  private BenchmarkServiceGrpc.BenchmarkServiceBlockingStub stub;
+  private Executor virtualThreads;
+
+  @Setup
+  public void setUp() throws Exception {
+    virtualThreads = ThreadPerTaskExecutor.getVirtualThreadExecutor();
+    if (virtualThreads == null) {
+      throw new IllegalStateException("Virtual threads are not supported by this JDK");
+    }
+    InetSocketAddress address = new InetSocketAddress("localhost", pickUnusedPort());
+    server = NettyServerBuilder.forAddress(address, InsecureServerCredentials.create())
+        .directExecutor()
+        .addService(new AsyncServer.BenchmarkServiceImpl())
+        .build()
+        .start();
+    channel = Utils.newClientChannel(clientTransport, "localhost:" + address.getPort(),
+        false, false, null, Utils.DEFAULT_FLOW_CONTROL_WINDOW, false);
+    stub = BenchmarkServiceGrpc.newBlockingStub(channel);
+    if (stubMode == StubMode.DIRECT_CALLBACKS) {
+      stub = stub.withDirectCallbacks();
+    }
+    // Wait for channel to start
+    stub.unaryCall(SimpleRequest.getDefaultInstance());
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.shutdownNow();
+    server.shutdownNow();
+    channel.awaitTermination(1, TimeUnit.SECONDS);
+    server.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Starts {@code concurrentCalls} virtual threads that each make one blocking unary call, and
+   * waits for all of them.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int blockingUnaryFromVirtualThreads() throws Exception {
+    final CountDownLatch done = new CountDownLatch(concurrentCalls);
+    final AtomicInteger failures = new AtomicInteger();
+    Runnable call = new Runnable() {
+      @Override
+      public void run() {
+        try {
+          stub.unaryCall(SimpleRequest.getDefaultInstance());
+        } catch (RuntimeException e) {
+          failures.incrementAndGet();
+        } finally {
+          done.countDown();
+        }
+      }
+    };
+    for (int i = 0; i < concurrentCalls; i++) {
+      virtualThreads.execute(call);
+    }
+    done.await();
+    if (failures.get() != 0) {
+      throw new AssertionError(failures.get() + " calls failed");
+    }
+    return concurrentCalls;
+  }
+}
@@ -18,6 +18,7 @@ package io.grpc.benchmarks.netty;
 
 import io.grpc.CallOptions;
 import io.grpc.ClientCall;
+import io.grpc.InsecureChannelCredentials;
 import io.grpc.InsecureServerCredentials;
 import io.grpc.ManagedChannel;
 import io.grpc.Metadata;
@@ -34,6 +35,7 @@ import io.grpc.benchmarks.ByteBufOutputMarshaller;
 import io.grpc.netty.NegotiationType;
 import io.grpc.netty.NettyChannelBuilder;
 import io.grpc.netty.NettyServerBuilder;
+import io.grpc.okhttp.OkHttpChannelBuilder;
 import io.grpc.stub.ClientCalls;
 import io.grpc.stub.StreamObserver;
 import io.netty.buffer.ByteBuf;
@@ -63,7 +65,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Abstract base class for Netty end-to-end benchmarks.
+ * Abstract base class for Netty end-to-end benchmarks. The client may use either the Netty or the
+ * OkHttp transport, see {@link ChannelType}.
  */
 public abstract class AbstractBenchmark {
 
@@ -111,10 +114,11 @@ public abstract class AbstractBenchmark {
   }
 
   /**
-   * Support channel types.
+   * Support channel types. The server always uses Netty; {@code OKHTTP} connects to it over TCP
+   * with the OkHttp client transport.
    */
   public enum ChannelType {
-    NIO, LOCAL;
+    NIO, LOCAL, OKHTTP;
   }
 
   private static final CallOptions CALL_OPTIONS = CallOptions.DEFAULT;
@@ -199,7 +203,8 @@ public abstract class AbstractBenchmark {
                     int channelCount) throws Exception {
     ServerCredentials serverCreds = InsecureServerCredentials.create();
     NettyServerBuilder serverBuilder;
-    NettyChannelBuilder channelBuilder;
+    NettyChannelBuilder channelBuilder = null;
+    OkHttpChannelBuilder okHttpChannelBuilder = null;
     if (channelType == ChannelType.LOCAL) {
       LocalAddress address = new LocalAddress("netty-e2e-benchmark");
       serverBuilder = NettyServerBuilder.forAddress(address, serverCreds);
@@ -214,14 +219,26 @@ public abstract class AbstractBenchmark {
       sock.close();
       serverBuilder = NettyServerBuilder.forAddress(address, serverCreds)
           .channelType(NioServerSocketChannel.class);
-      channelBuilder = NettyChannelBuilder.forAddress(address).channelType(NioSocketChannel.class);
+      if (channelType == ChannelType.OKHTTP) {
+        InetSocketAddress inetAddress = (InetSocketAddress) address;
+        okHttpChannelBuilder = OkHttpChannelBuilder.forAddress(
+            inetAddress.getHostString(), inetAddress.getPort(),
+            InsecureChannelCredentials.create());
+      } else {
+        channelBuilder =
+            NettyChannelBuilder.forAddress(address).channelType(NioSocketChannel.class);
+      }
     }
 
     if (serverExecutor == ExecutorType.DIRECT) {
       serverBuilder.directExecutor();
     }
     if (clientExecutor == ExecutorType.DIRECT) {
-      channelBuilder.directExecutor();
+      if (okHttpChannelBuilder != null) {
+        okHttpChannelBuilder.directExecutor();
+      } else {
+        channelBuilder.directExecutor();
+      }
     }
 
     // Always use a different worker group from the client.
@@ -231,9 +248,12 @@ public abstract class AbstractBenchmark {
 
     // Always set connection and stream window size to same value
     serverBuilder.flowControlWindow(windowSize.bytes());
-    channelBuilder.flowControlWindow(windowSize.bytes());
-
-    channelBuilder.negotiationType(NegotiationType.PLAINTEXT);
+    if (okHttpChannelBuilder != null) {
+      okHttpChannelBuilder.flowControlWindow(windowSize.bytes());
+    } else {
+      channelBuilder.flowControlWindow(windowSize.bytes());
+      channelBuilder.negotiationType(NegotiationType.PLAINTEXT);
+    }
     serverBuilder.maxConcurrentCallsPerConnection(maxConcurrentStreams);
 
     // Create buffers of the desired size for requests and responses.
@@ -384,10 +404,15 @@ public abstract class AbstractBenchmark {
     channels = new ManagedChannel[channelCount];
     ThreadFactory clientThreadFactory = new DefaultThreadFactory("CTF pool", true /* daemon */);
     for (int i = 0; i < channelCount; i++) {
-      // Use a dedicated event-loop for each channel
-      channels[i] = channelBuilder
-          .eventLoopGroup(new NioEventLoopGroup(1, clientThreadFactory))
-          .build();
+      if (okHttpChannelBuilder != null) {
+        // Each OkHttp channel already has a reader thread per connection
+        channels[i] = okHttpChannelBuilder.build();
+      } else {
+        // Use a dedicated event-loop for each channel
+        channels[i] = channelBuilder
+            .eventLoopGroup(new NioEventLoopGroup(1, clientThreadFactory))
+            .build();
+      }
     }
   }
 
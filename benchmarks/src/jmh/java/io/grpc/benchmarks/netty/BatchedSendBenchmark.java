@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.benchmarks.netty;
+
+import static io.grpc.benchmarks.Utils.pickUnusedPort;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.benchmarks.ByteBufOutputMarshaller;
+import io.grpc.benchmarks.Transport;
+import io.grpc.benchmarks.Utils;
+import io.grpc.netty.NettyServerBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Streams small responses from a Netty server, comparing one {@code ServerCall.sendMessage()} per
+ * message with {@code ServerCall.sendMessages()} for batches of messages. The score is messages
+ * received by the client per second. The client uses either the Netty or the OkHttp transport.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class BatchedSendBenchmark {
+  private static final int MESSAGES_PER_CALL = 64 * 1024;
+
+  public enum SendMode {
+    SEND_MESSAGE, SEND_MESSAGES
+  }
+
+  @Param({"SEND_MESSAGE", "SEND_MESSAGES"})
+  public SendMode sendMode;
+
+  @Param({"64"})
+  public int messageSize;
+
+  @Param({"16", "256"})
+  public int batchSize;
+
+  @Param({"NETTY_NIO", "OK_HTTP"})
+  public Transport clientTransport;
+
+  private final MethodDescriptor<ByteBuf, ByteBuf> method =
+      MethodDescriptor.<ByteBuf, ByteBuf>newBuilder()
+          .setType(MethodDescriptor.MethodType.SERVER_STREAMING)
+          .setFullMethodName("benchmark/batchedStream")
+          .setRequestMarshaller(new ByteBufOutputMarshaller())
+          .setResponseMarshaller(new ByteBufOutputMarshaller())
+          .build();
+  private Server server;
+  private ManagedChannel channel;
+  private ByteBuf response;
+
+  @Setup
+  public void setUp() throws Exception {
+    response = Unpooled.wrappedBuffer(new byte[messageSize]);
+    InetSocketAddress address = new InetSocketAddress("localhost", pickUnusedPort());
+    server = NettyServerBuilder.forAddress(address, InsecureServerCredentials.create())
+        .directExecutor()
+        .addService(ServerServiceDefinition.builder("benchmark")
+            .addMethod(method, new ServerCallHandler<ByteBuf, ByteBuf>() {
+              @Override
+              public ServerCall.Listener<ByteBuf> startCall(
+                  ServerCall<ByteBuf, ByteBuf> call, Metadata headers) {
+                call.sendHeaders(new Metadata());
+                call.request(1);
+                return new StreamingListener(call);
+              }
+            })
+            .build())
+        .build()
+        .start();
+    channel = Utils.newClientChannel(clientTransport, "localhost:" + address.getPort(),
+        false, false, null, Utils.DEFAULT_FLOW_CONTROL_WINDOW, true);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.shutdownNow();
+    server.shutdownNow();
+    channel.awaitTermination(1, TimeUnit.SECONDS);
+    server.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Makes one call, for which the server streams {@code MESSAGES_PER_CALL} messages.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  @OperationsPerInvocation(MESSAGES_PER_CALL)
+  public int streamResponses() throws Exception {
+    final CountDownLatch done = new CountDownLatch(1);
+    final int[] received = new int[1];
+    ClientCall<ByteBuf, ByteBuf> call = channel.newCall(method, CallOptions.DEFAULT);
+    call.start(new ClientCall.Listener<ByteBuf>() {
+      @Override
+      public void onMessage(ByteBuf message) {
+        received[0]++;
+      }
+
+      @Override
+      public void onClose(Status status, Metadata trailers) {
+        done.countDown();
+      }
+    }, new Metadata());
+    call.request(Integer.MAX_VALUE);
+    call.sendMessage(Unpooled.EMPTY_BUFFER);
+    call.halfClose();
+    done.await();
+    if (received[0] != MESSAGES_PER_CALL) {
+      throw new AssertionError("Received " + received[0] + " messages");
+    }
+    return received[0];
+  }
+
+  /**
+   * Sends responses whenever the call is ready, a batch at a time.
+   */
+  private final class StreamingListener extends ServerCall.Listener<ByteBuf> {
+    private final ServerCall<ByteBuf, ByteBuf> call;
+    private final List<ByteBuf> batch;
+    private int remaining = MESSAGES_PER_CALL;
+
+    StreamingListener(ServerCall<ByteBuf, ByteBuf> call) {
+      this.call = call;
+      this.batch = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void onReady() {
+      while (remaining > 0 && call.isReady()) {
+        int count = Math.min(batchSize, remaining);
+        remaining -= count;
+        if (sendMode == SendMode.SEND_MESSAGES) {
+          for (int i = 0; i < count; i++) {
+            batch.add(response.slice());
+          }
+          call.sendMessages(batch);
+          batch.clear();
+        } else {
+          for (int i = 0; i < count; i++) {
+            call.sendMessage(response.slice());
+          }
+        }
+      }
+      if (remaining == 0) {
+        remaining = -1;
+        call.close(Status.OK, new Metadata());
+      }
+    }
+  }
+}
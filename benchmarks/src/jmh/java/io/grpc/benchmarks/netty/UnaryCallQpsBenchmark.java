@@ -41,6 +41,9 @@ public class UnaryCallQpsBenchmark extends AbstractBenchmark {
   @Param({"10", "100", "1000"})
   public int maxConcurrentStreams = 100;
 
+  @Param({"NIO", "OKHTTP"})
+  public ChannelType channelType = ChannelType.NIO;
+
   private static AtomicLong callCounter;
   private AtomicBoolean completed;
 
@@ -72,7 +75,7 @@ public class UnaryCallQpsBenchmark extends AbstractBenchmark {
         MessageSize.SMALL,
         MessageSize.SMALL,
         FlowWindowSize.LARGE,
-        ChannelType.NIO,
+        channelType,
         maxConcurrentStreams,
         channelCount);
     callCounter = new AtomicLong();
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.benchmarks.netty;
+
+import static io.grpc.benchmarks.Utils.pickUnusedPort;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.benchmarks.proto.BenchmarkServiceGrpc;
+import io.grpc.benchmarks.proto.Messages.Payload;
+import io.grpc.benchmarks.proto.Messages.SimpleRequest;
+import io.grpc.benchmarks.proto.Messages.SimpleResponse;
+import io.grpc.benchmarks.qps.AsyncServer;
+import io.grpc.netty.NegotiationType;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the effect of {@code writeBatching()} on both ends of a single Netty connection
+ * carrying many concurrent unary calls with small messages. Each invocation starts a batch of
+ * calls and waits for all of them, so both the completion time and its distribution matter: a
+ * longer flush delay saves syscalls but adds latency when the connection is quiet.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class WriteBatchingBenchmark {
+
+  @Param({"0", "50", "200"})
+  public int maxFlushDelayMicros;
+
+  @Param({"0", "16384"})
+  public int flushThresholdBytes;
+
+  @Param({"64"})
+  public int messageSize;
+
+  @Param({"1000"})
+  public int concurrentCalls;
+
+  private Server server;
+  private ManagedChannel channel;
+  private BenchmarkServiceGrpc.BenchmarkServiceFutureStub stub;
+  private SimpleRequest request;
+
+  @Setup
+  public void setUp() throws Exception {
+    InetSocketAddress address = new InetSocketAddress("localhost", pickUnusedPort());
+    server = NettyServerBuilder.forAddress(address, InsecureServerCredentials.create())
+        .directExecutor()
+        .writeBatching(flushThresholdBytes, maxFlushDelayMicros, TimeUnit.MICROSECONDS)
+        .addService(new AsyncServer.BenchmarkServiceImpl())
+        .build()
+        .start();
+    channel = NettyChannelBuilder.forAddress(address)
+        .negotiationType(NegotiationType.PLAINTEXT)
+        .directExecutor()
+        .writeBatching(flushThresholdBytes, maxFlushDelayMicros, TimeUnit.MICROSECONDS)
+        .build();
+    stub = BenchmarkServiceGrpc.newFutureStub(channel);
+    request = SimpleRequest.newBuilder()
+        .setResponseSize(messageSize)
+        .setPayload(Payload.newBuilder().setBody(ByteString.copyFrom(new byte[messageSize])))
+        .build();
+    // Wait for channel to start
+    stub.unaryCall(request).get();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.shutdownNow();
+    server.shutdownNow();
+    channel.awaitTermination(1, TimeUnit.SECONDS);
+    server.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Starts {@code concurrentCalls} unary calls and waits for all of them to complete.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public List<SimpleResponse> unaryBatch() throws Exception {
+    List<ListenableFuture<SimpleResponse>> futures = new ArrayList<>(concurrentCalls);
+    for (int i = 0; i < concurrentCalls; i++) {
+      futures.add(stub.unaryCall(request));
+    }
+    return Futures.allAsList(futures).get();
+  }
+}
@@ -38,6 +38,7 @@ import io.netty.channel.epoll.Epoll;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import java.lang.management.ManagementFactory;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
@@ -46,6 +47,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 import org.HdrHistogram.Histogram;
 import org.HdrHistogram.LogarithmicIterator;
 import org.HdrHistogram.Recorder;
@@ -59,7 +61,14 @@ class LoadClient {
   private static final Logger log = Logger.getLogger(LoadClient.class.getName());
   private ByteBuf genericRequest;
 
+  /**
+   * Channel arg selecting the client transport by {@link Transport} name, e.g. {@code ok_http}.
+   * Takes precedence over the worker's default, so that a scenario can name its transport.
+   */
+  static final String CLIENT_TRANSPORT_ARG = "grpc.java.client_transport";
+
   private final Control.ClientConfig config;
+  final Transport transport;
   private final ExponentialDistribution distribution;
   private volatile boolean shutdown;
   private final int threadCount;
@@ -74,14 +83,24 @@ class LoadClient {
   private long lastMarkCpuTime;
 
   LoadClient(Control.ClientConfig config) throws Exception {
+    this(config, null);
+  }
+
+  /**
+   * Creates a client using {@code defaultTransport}, unless the config selects a transport with
+   * {@link #CLIENT_TRANSPORT_ARG}. If neither does, the best available Netty transport is used.
+   */
+  LoadClient(Control.ClientConfig config, @Nullable Transport defaultTransport) throws Exception {
     log.log(Level.INFO, "Client Config \n" + config.toString());
     this.config = config;
+    this.transport = selectTransport(config, defaultTransport);
+    log.log(Level.INFO, "Client transport: " + transport.name().toLowerCase(Locale.ROOT));
     // Create the channels
     channels = new ManagedChannel[config.getClientChannels()];
     for (int i = 0; i < config.getClientChannels(); i++) {
       channels[i] =
           Utils.newClientChannel(
-              Epoll.isAvailable() ?  Transport.NETTY_EPOLL : Transport.NETTY_NIO,
+              transport,
               config.getServerTargets(i % config.getServerTargetsCount()),
               config.hasSecurityParams(),
               config.hasSecurityParams() && config.getSecurityParams().getUseTestCa(),
@@ -168,6 +187,19 @@ class LoadClient {
     recorder = new Recorder((long) config.getHistogramParams().getMaxPossible(), 3);
   }
 
+  private static Transport selectTransport(
+      Control.ClientConfig config, @Nullable Transport defaultTransport) {
+    for (Control.ChannelArg arg : config.getChannelArgsList()) {
+      if (CLIENT_TRANSPORT_ARG.equals(arg.getName())) {
+        return Transport.valueOf(arg.getStrValue().toUpperCase(Locale.ROOT));
+      }
+    }
+    if (defaultTransport != null) {
+      return defaultTransport;
+    }
+    return Epoll.isAvailable() ? Transport.NETTY_EPOLL : Transport.NETTY_NIO;
+  }
+
   /**
    * Start the load scenario.
    */
@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.grpc.InsecureServerCredentials;
 import io.grpc.Server;
 import io.grpc.Status;
+import io.grpc.benchmarks.Transport;
 import io.grpc.benchmarks.proto.Control;
 import io.grpc.benchmarks.proto.Control.ClientArgs;
 import io.grpc.benchmarks.proto.Control.ServerArgs;
@@ -29,8 +30,10 @@ import io.grpc.netty.NettyServerBuilder;
 import io.grpc.stub.StreamObserver;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * A load worker process which a driver can use to create clients and servers. The worker
@@ -41,10 +44,18 @@ public class LoadWorker {
   private static final Logger log = Logger.getLogger(LoadWorker.class.getName());
 
   private final int serverPort;
+  @Nullable
+  private final Transport clientTransport;
   private final Server driverServer;
 
   LoadWorker(int driverPort, int serverPort) throws Exception {
+    this(driverPort, serverPort, null);
+  }
+
+  LoadWorker(int driverPort, int serverPort, @Nullable Transport clientTransport)
+      throws Exception {
     this.serverPort = serverPort;
+    this.clientTransport = clientTransport;
     NioEventLoopGroup singleThreadGroup = new NioEventLoopGroup(1,
         new ThreadFactoryBuilder()
             .setDaemon(true)
@@ -70,6 +81,7 @@ public class LoadWorker {
     boolean usage = false;
     int serverPort = 0;
     int driverPort = 0;
+    Transport clientTransport = null;
     for (String arg : args) {
       if (!arg.startsWith("--")) {
         System.err.println("All arguments must start with '--': " + arg);
@@ -92,6 +104,8 @@ public class LoadWorker {
         serverPort = Integer.valueOf(value);
       } else if ("driver_port".equals(key)) {
         driverPort = Integer.valueOf(value);
+      } else if ("client_transport".equals(key)) {
+        clientTransport = Transport.valueOf(value.toUpperCase(Locale.ROOT));
       } else {
         System.err.println("Unknown argument: " + key);
         usage = true;
@@ -106,10 +120,15 @@ public class LoadWorker {
               + "\n    Port to expose grpc.testing.WorkerService, used by driver to initiate work."
               + "\n  --server_port=<port>"
               + "\n    Port to start load servers on, if not specified by the server config"
-              + "\n    message. Defaults to any available port.");
+              + "\n    message. Defaults to any available port."
+              + "\n  --client_transport=<transport>"
+              + "\n    Transport for load clients, if not specified by the client config"
+              + "\n    message's " + LoadClient.CLIENT_TRANSPORT_ARG + " channel arg."
+              + "\n    Defaults to netty_epoll if available, otherwise netty_nio. Options:"
+              + "\n    netty_nio, netty_epoll, ok_http. The load server always uses Netty.");
       System.exit(1);
     }
-    LoadWorker loadWorker = new LoadWorker(driverPort, serverPort);
+    LoadWorker loadWorker = new LoadWorker(driverPort, serverPort, clientTransport);
     loadWorker.start();
     loadWorker.driverServer.awaitTermination();
     log.log(Level.INFO, "DriverServer has terminated.");
@@ -195,7 +214,7 @@ public class LoadWorker {
           try {
             ClientArgs.ArgtypeCase argTypeCase = value.getArgtypeCase();
             if (argTypeCase == ClientArgs.ArgtypeCase.SETUP && workerClient == null) {
-              workerClient = new LoadClient(value.getSetup());
+              workerClient = new LoadClient(value.getSetup(), clientTransport);
               workerClient.start();
               responseObserver.onNext(Control.ClientStatus.newBuilder().build());
             } else if (argTypeCase == ClientArgs.ArgtypeCase.MARK && workerClient != null) {
@@ -19,6 +19,7 @@ package io.grpc.benchmarks.driver;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertTrue;
 
+import io.grpc.benchmarks.Transport;
 import io.grpc.benchmarks.proto.Control;
 import io.grpc.benchmarks.proto.Stats;
 import org.junit.After;
@@ -97,4 +98,35 @@ public class LoadClientTest {
     assertTrue(base > 10000);
     assertTrue(base / resolution <= 10000);
   }
+
+  @Test
+  public void clientTransport_defaultUsedWithoutChannelArg() throws Exception {
+    loadClient = new LoadClient(newUnaryConfig().build(), Transport.OK_HTTP);
+    assertEquals(Transport.OK_HTTP, loadClient.transport);
+  }
+
+  @Test
+  public void clientTransport_channelArgOverridesDefault() throws Exception {
+    Control.ClientConfig.Builder config = newUnaryConfig();
+    config.addChannelArgsBuilder()
+        .setName(LoadClient.CLIENT_TRANSPORT_ARG)
+        .setStrValue("ok_http");
+    loadClient = new LoadClient(config.build(), Transport.NETTY_NIO);
+    assertEquals(Transport.OK_HTTP, loadClient.transport);
+  }
+
+  private static Control.ClientConfig.Builder newUnaryConfig() {
+    Control.ClientConfig.Builder config = Control.ClientConfig.newBuilder();
+    config.getHistogramParamsBuilder().setMaxPossible(10000.0).setResolution(0.01);
+    config.getPayloadConfigBuilder().getSimpleParamsBuilder()
+        .setReqSize(1)
+        .setRespSize(1);
+    config.setRpcType(Control.RpcType.UNARY);
+    config.setClientType(Control.ClientType.SYNC_CLIENT);
+    config.setClientChannels(1);
+    config.setOutstandingRpcsPerChannel(1);
+    config.getLoadParamsBuilder().getClosedLoopBuilder();
+    config.addServerTargets("localhost:9999");
+    return config;
+  }
 }
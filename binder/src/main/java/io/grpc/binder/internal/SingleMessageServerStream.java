@@ -171,4 +171,9 @@ final class SingleMessageServerStream implements ServerStream {
   public int streamId() {
     return -1;
   }
+
+  @Override
+  public void releaseRequestHeaders() {
+    // Ignore.
+  }
 }
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import io.grpc.Codec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark for {@link MessageDeframer}, measuring the cost of deframing a single message in
+ * isolation from the transport.
+ *
+ * <p>Inbound data is either handed to the deframer as a single contiguous buffer or split into
+ * HTTP/2 DATA frame sized chunks, which exercises {@link CompositeReadableBuffer}. Compression is
+ * either absent, per-message gzip, or full-stream gzip via {@link GzipInflatingBuffer}. Run with
+ * {@code -PjmhProfilers=gc} to also report the allocation rate per message.
+ */
+@State(Scope.Thread)
+public class MessageDeframerBenchmark {
+  /** Default HTTP/2 SETTINGS_MAX_FRAME_SIZE, which bounds the size of each inbound buffer. */
+  private static final int DATA_FRAME_SIZE = 16 * 1024;
+
+  public enum Compression {
+    IDENTITY, GZIP, GZIP_STREAM
+  }
+
+  @Param({"16", "1024", "65536", "1048576", "16777216"})
+  public int messageSize;
+
+  @Param({"true", "false"})
+  public boolean fragmented;
+
+  @Param({"IDENTITY", "GZIP", "GZIP_STREAM"})
+  public Compression compression;
+
+  private byte[] wireBytes;
+  private MessageDeframer deframer;
+  private final DrainingListener listener = new DrainingListener();
+
+  @Setup
+  public void setUp() throws Exception {
+    byte[] payload = new byte[messageSize];
+    Random random = new Random(1);
+    // Restrict the alphabet so gzip has something to do, without being degenerate.
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) ('a' + random.nextInt(16));
+    }
+
+    deframer = new MessageDeframer(
+        listener,
+        Codec.Identity.NONE,
+        Integer.MAX_VALUE,
+        StatsTraceContext.NOOP,
+        new TransportTracer());
+    switch (compression) {
+      case IDENTITY:
+        wireBytes = frame(payload, false);
+        break;
+      case GZIP:
+        deframer.setDecompressor(new Codec.Gzip());
+        wireBytes = frame(gzip(payload), true);
+        break;
+      case GZIP_STREAM:
+        deframer.setFullStreamDecompressor(new GzipInflatingBuffer());
+        // Each message is a separate gzip member; GzipInflatingBuffer handles concatenated
+        // streams, so the same bytes can be delivered on every invocation.
+        wireBytes = gzip(frame(payload, false));
+        break;
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    deframer.close();
+  }
+
+  /**
+   * Deframes and fully reads one message.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int deframe() {
+    listener.bytesDrained = 0;
+    deframer.request(1);
+    if (fragmented) {
+      for (int offset = 0; offset < wireBytes.length; offset += DATA_FRAME_SIZE) {
+        int length = Math.min(DATA_FRAME_SIZE, wireBytes.length - offset);
+        deframer.deframe(ReadableBuffers.wrap(wireBytes, offset, length));
+      }
+    } else {
+      deframer.deframe(ReadableBuffers.wrap(wireBytes));
+    }
+    if (listener.bytesDrained != messageSize) {
+      throw new AssertionError(
+          "Expected " + messageSize + " bytes, but read " + listener.bytesDrained);
+    }
+    return listener.bytesDrained;
+  }
+
+  private static byte[] frame(byte[] body, boolean compressed) {
+    ByteBuffer frame = ByteBuffer.allocate(5 + body.length);
+    frame.put((byte) (compressed ? 1 : 0));
+    frame.putInt(body.length);
+    frame.put(body);
+    return frame.array();
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStream out = new GZIPOutputStream(bytes);
+    try {
+      out.write(data);
+    } finally {
+      out.close();
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads every delivered message to completion, as a marshaller would.
+   */
+  private static final class DrainingListener implements MessageDeframer.Listener {
+    private final byte[] scratch = new byte[8192];
+    int bytesDrained;
+
+    @Override
+    public void bytesRead(int numBytes) {}
+
+    @Override
+    public void messagesAvailable(StreamListener.MessageProducer producer) {
+      InputStream message;
+      while ((message = producer.next()) != null) {
+        try {
+          try {
+            int read;
+            while ((read = message.read(scratch)) != -1) {
+              bytesDrained += read;
+            }
+          } finally {
+            message.close();
+          }
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }
+
+    @Override
+    public void deframerClosed(boolean hasPartialMessage) {}
+
+    @Override
+    public void deframeFailed(Throwable cause) {
+      throw new AssertionError("Deframe failed", cause);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2022 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import io.grpc.Codec;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark for {@link MessageFramer}, measuring the cost of framing a single message in
+ * isolation from the transport.
+ *
+ * <p>Buffers come from a simple recycling allocator, backed by either heap or direct
+ * {@link ByteBuffer}s, that sizes chunks like the Netty allocator does. Run with
+ * {@code -PjmhProfilers=gc} to also report the allocation rate per message.
+ */
+@State(Scope.Thread)
+public class MessageFramerBenchmark {
+
+  public enum Compression {
+    IDENTITY, GZIP
+  }
+
+  @Param({"16", "1024", "65536", "1048576", "16777216"})
+  public int messageSize;
+
+  @Param({"IDENTITY", "GZIP"})
+  public Compression compression;
+
+  @Param({"true", "false"})
+  public boolean direct;
+
+  private PayloadInputStream message;
+  private MessageFramer framer;
+  private final CountingSink sink = new CountingSink();
+
+  @Setup
+  public void setUp() {
+    byte[] payload = new byte[messageSize];
+    Random random = new Random(1);
+    // Restrict the alphabet so gzip has something to do, without being degenerate.
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] = (byte) ('a' + random.nextInt(16));
+    }
+    message = new PayloadInputStream(payload);
+    framer = new MessageFramer(sink, new RecyclingAllocator(direct), StatsTraceContext.NOOP);
+    if (compression == Compression.GZIP) {
+      framer.setCompressor(new Codec.Gzip());
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    framer.dispose();
+  }
+
+  /**
+   * Frames one message and flushes it to the sink.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public long writePayloadAndFlush() {
+    sink.bytesDelivered = 0;
+    message.reset();
+    framer.writePayload(message);
+    framer.flush();
+    return sink.bytesDelivered;
+  }
+
+  /**
+   * Mirrors a protobuf message stream, which the framer drains directly into its buffers.
+   */
+  private static final class PayloadInputStream extends ByteArrayInputStream
+      implements Drainable, KnownLength {
+    PayloadInputStream(byte[] buf) {
+      super(buf);
+    }
+
+    @Override
+    public int drainTo(OutputStream target) throws IOException {
+      int length = count - pos;
+      target.write(buf, pos, length);
+      pos = count;
+      return length;
+    }
+  }
+
+  /**
+   * Stands in for the transport, releasing each frame as soon as it is "written".
+   */
+  private static final class CountingSink implements MessageFramer.Sink {
+    long bytesDelivered;
+
+    @Override
+    public void deliverFrame(
+        WritableBuffer frame, boolean endOfStream, boolean flush, int numMessages) {
+      if (frame != null) {
+        bytesDelivered += frame.readableBytes();
+        frame.release();
+      }
+    }
+  }
+
+  /**
+   * Hands out {@link ByteBuffer}-backed buffers between 4KiB and 1MiB, reusing released ones so
+   * that the benchmark measures the framer rather than the JDK's direct memory allocation.
+   */
+  private static final class RecyclingAllocator implements WritableBufferAllocator {
+    private static final int MIN_BUFFER = 4 * 1024;
+    private static final int MAX_BUFFER = 1024 * 1024;
+
+    private final boolean direct;
+    private final Map<Integer, ArrayDeque<ByteBuffer>> freeBuffers =
+        new HashMap<Integer, ArrayDeque<ByteBuffer>>();
+
+    RecyclingAllocator(boolean direct) {
+      this.direct = direct;
+    }
+
+    @Override
+    public WritableBuffer allocate(int capacityHint) {
+      int capacity = Math.min(MAX_BUFFER, Math.max(MIN_BUFFER, capacityHint));
+      ArrayDeque<ByteBuffer> free = freeBuffers.get(capacity);
+      ByteBuffer buffer = free == null ? null : free.poll();
+      if (buffer == null) {
+        buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+      }
+      buffer.clear();
+      return new ByteBufferWritableBuffer(buffer);
+    }
+
+    void recycle(ByteBuffer buffer) {
+      ArrayDeque<ByteBuffer> free = freeBuffers.get(buffer.capacity());
+      if (free == null) {
+        free = new ArrayDeque<ByteBuffer>();
+        freeBuffers.put(buffer.capacity(), free);
+      }
+      free.push(buffer);
+    }
+
+    private final class ByteBufferWritableBuffer implements WritableBuffer {
+      private ByteBuffer buffer;
+
+      ByteBufferWritableBuffer(ByteBuffer buffer) {
+        this.buffer = buffer;
+      }
+
+      @Override
+      public void write(byte[] src, int srcIndex, int length) {
+        buffer.put(src, srcIndex, length);
+      }
+
+      @Override
+      public void write(byte b) {
+        buffer.put(b);
+      }
+
+      @Override
+      public int writableBytes() {
+        return buffer.remaining();
+      }
+
+      @Override
+      public int readableBytes() {
+        return buffer.position();
+      }
+
+      @Override
+      public void release() {
+        if (buffer != null) {
+          recycle(buffer);
+          buffer = null;
+        }
+      }
+    }
+  }
+}
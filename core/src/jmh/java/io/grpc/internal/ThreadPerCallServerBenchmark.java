@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.grpc.CallOptions;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.TestMethodDescriptors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the default cached thread pool with {@code ServerBuilder.threadPerCallExecutor()} for
+ * a service whose handlers block. Each invocation starts a batch of concurrent unary calls and
+ * waits for all of them, so the score is the time to complete the batch. Thread-per-call requires
+ * Java 21 or later.
+ */
+@State(Scope.Benchmark)
+public class ThreadPerCallServerBenchmark {
+
+  public enum ServerExecutor {
+    DEFAULT, THREAD_PER_CALL
+  }
+
+  @Param({"DEFAULT", "THREAD_PER_CALL"})
+  public ServerExecutor serverExecutor;
+
+  @Param({"100", "1000", "10000"})
+  public int concurrentCalls;
+
+  @Param({"10"})
+  public int blockingMillis;
+
+  private final MethodDescriptor<Void, Void> method = TestMethodDescriptors.voidMethod();
+  private Server server;
+  private ManagedChannel channel;
+
+  @Setup
+  public void setUp() throws Exception {
+    if (serverExecutor == ServerExecutor.THREAD_PER_CALL
+        && ThreadPerTaskExecutor.getVirtualThreadExecutor() == null) {
+      throw new IllegalStateException("Virtual threads are not supported by this JDK");
+    }
+    String name = "thread-per-call-benchmark";
+    InProcessServerBuilder serverBuilder = InProcessServerBuilder.forName(name)
+        .addService(ServerServiceDefinition.builder("service")
+            .addMethod(method, ServerCalls.asyncUnaryCall(
+                new ServerCalls.UnaryMethod<Void, Void>() {
+                  @Override
+                  public void invoke(Void request, StreamObserver<Void> responseObserver) {
+                    try {
+                      // Stands in for a blocking database or downstream call
+                      Thread.sleep(blockingMillis);
+                    } catch (InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                    responseObserver.onNext(null);
+                    responseObserver.onCompleted();
+                  }
+                }))
+            .build());
+    if (serverExecutor == ServerExecutor.THREAD_PER_CALL) {
+      serverBuilder.threadPerCallExecutor();
+    }
+    server = serverBuilder.build().start();
+    channel = InProcessChannelBuilder.forName(name).build();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    channel.shutdownNow();
+    server.shutdownNow();
+    channel.awaitTermination(1, TimeUnit.SECONDS);
+    server.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Starts {@code concurrentCalls} unary calls and waits for all of them to complete.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public List<Void> blockingUnaryBatch() throws Exception {
+    List<ListenableFuture<Void>> futures = new ArrayList<>(concurrentCalls);
+    for (int i = 0; i < concurrentCalls; i++) {
+      futures.add(
+          ClientCalls.futureUnaryCall(channel.newCall(method, CallOptions.DEFAULT), null));
+    }
+    return Futures.allAsList(futures).get();
+  }
+}
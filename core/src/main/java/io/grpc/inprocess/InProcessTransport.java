@@ -657,6 +657,9 @@ final class InProcessTransport implements ServerTransport, ConnectionClientTrans
       public int streamId() {
         return -1;
       }
+
+      @Override
+      public void releaseRequestHeaders() {}
     }
 
     private class InProcessClientStream implements ClientStream {
@@ -170,6 +170,9 @@ public abstract class AbstractServerStream extends AbstractStream
     return statsTraceCtx;
   }
 
+  @Override
+  public void releaseRequestHeaders() {}
+
   /**
    * This should only be called from the transport thread (except for private interactions with
    * {@code AbstractServerStream}).
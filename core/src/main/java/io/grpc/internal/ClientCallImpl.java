@@ -513,6 +513,40 @@ final class ClientCallImpl<ReqT, RespT> extends ClientCall<ReqT, RespT> {
     checkState(stream != null, "Not started");
     checkState(!cancelCalled, "call was cancelled");
     checkState(!halfCloseCalled, "call was half-closed");
+    if (!writeMessage(message)) {
+      return;
+    }
+    flushIfStreaming();
+  }
+
+  @Override
+  public void sendMessages(Iterable<? extends ReqT> messages) {
+    PerfMark.startTask("ClientCall.sendMessages", tag);
+    try {
+      sendMessagesInternal(messages);
+    } finally {
+      PerfMark.stopTask("ClientCall.sendMessages", tag);
+    }
+  }
+
+  private void sendMessagesInternal(Iterable<? extends ReqT> messages) {
+    checkState(stream != null, "Not started");
+    checkState(!cancelCalled, "call was cancelled");
+    checkState(!halfCloseCalled, "call was half-closed");
+    // The framer packs the messages into shared buffers, which are only sent by the flush
+    for (ReqT message : messages) {
+      if (!writeMessage(message)) {
+        return;
+      }
+    }
+    flushIfStreaming();
+  }
+
+  /**
+   * Writes the message to the stream without flushing it. Returns {@code false} if the stream was
+   * cancelled because the message could not be written.
+   */
+  private boolean writeMessage(ReqT message) {
     try {
       if (stream instanceof RetriableStream) {
         @SuppressWarnings("unchecked")
@@ -523,11 +557,15 @@ final class ClientCallImpl<ReqT, RespT> extends ClientCall<ReqT, RespT> {
       }
     } catch (RuntimeException e) {
       stream.cancel(Status.CANCELLED.withCause(e).withDescription("Failed to stream message"));
-      return;
+      return false;
     } catch (Error e) {
       stream.cancel(Status.CANCELLED.withDescription("Client sendMessage() failed with Error"));
       throw e;
     }
+    return true;
+  }
+
+  private void flushIfStreaming() {
     // For unary requests, we don't flush since we know that halfClose should be coming soon. This
     // allows us to piggy-back the END_STREAM=true on the last message frame without opening the
     // possibility of broken applications forgetting to call halfClose without noticing.
@@ -329,6 +329,25 @@ public class DelayedClientCall<ReqT, RespT> extends ClientCall<ReqT, RespT> {
     }
   }
 
+  @Override
+  public final void sendMessages(Iterable<? extends ReqT> messages) {
+    if (passThrough) {
+      realCall.sendMessages(messages);
+    } else {
+      // The caller may reuse the Iterable once this returns
+      final List<ReqT> messagesCopy = new ArrayList<>();
+      for (ReqT message : messages) {
+        messagesCopy.add(message);
+      }
+      delayOrExecute(new Runnable() {
+        @Override
+        public void run() {
+          realCall.sendMessages(messagesCopy);
+        }
+      });
+    }
+  }
+
   @Override
   public final void setMessageCompression(final boolean enable) {
     if (passThrough) {
@@ -19,8 +19,7 @@ package io.grpc.internal;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Preconditions;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import io.grpc.InternalMpscQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.logging.Level;
@@ -61,8 +60,11 @@ public final class SerializingExecutor implements Executor, Runnable {
   /** Underlying executor that all submitted Runnable objects are run on. */
   private Executor executor;
 
-  /** A list of Runnables to be run in order. */
-  private final Queue<Runnable> runQueue = new ConcurrentLinkedQueue<>();
+  /**
+   * A list of Runnables to be run in order. Only the thread that set runState to RUNNING consumes
+   * from it.
+   */
+  private final InternalMpscQueue<Runnable> runQueue = new InternalMpscQueue<>();
 
   private volatile int runState = STOPPED;
 
@@ -91,7 +93,7 @@ public final class SerializingExecutor implements Executor, Runnable {
    */
   @Override
   public void execute(Runnable r) {
-    runQueue.add(checkNotNull(r, "'r' must not be null."));
+    runQueue.offer(checkNotNull(r, "'r' must not be null."));
     schedule(r);
   }
 
@@ -109,10 +111,10 @@ public final class SerializingExecutor implements Executor, Runnable {
         if (!success) {
           if (removable != null) {
             // This case can only be reached if 'this' was not currently running, and we failed to
-            // reschedule.  The item should still be in the queue for removal.
-            // ConcurrentLinkedQueue claims that null elements are not allowed, but seems to not
-            // throw if the item to remove is null.  If removable is present in the queue twice,
-            // the wrong one may be removed.  It doesn't seem possible for this case to exist today.
+            // reschedule.  The item should still be in the queue for removal, and since runState is
+            // still RUNNING this thread is the queue's consumer.  If removable is present in the
+            // queue twice, the wrong one may be removed.  It doesn't seem possible for this case to
+            // exist today.
             // This is important to run in case of RejectedExectuionException, so that future calls
             // to execute don't succeed and accidentally run a previous runnable.
             runQueue.remove(removable);
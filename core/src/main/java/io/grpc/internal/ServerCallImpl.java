@@ -160,24 +160,65 @@ final class ServerCallImpl<ReqT, RespT> extends ServerCall<ReqT, RespT> {
     checkState(sendHeadersCalled, "sendHeaders has not been called");
     checkState(!closeCalled, "call is closed");
 
-    if (method.getType().serverSendsOneMessage() && messageSent) {
-      internalClose(Status.INTERNAL.withDescription(TOO_MANY_RESPONSES));
-      return;
+    try {
+      if (writeMessage(message)) {
+        stream.flush();
+      }
+    } catch (Throwable t) {
+      closeAfterSendFailure(t);
     }
+  }
+
+  @Override
+  public void sendMessages(Iterable<? extends RespT> messages) {
+    PerfMark.startTask("ServerCall.sendMessages", tag);
+    try {
+      sendMessagesInternal(messages);
+    } finally {
+      PerfMark.stopTask("ServerCall.sendMessages", tag);
+    }
+  }
+
+  private void sendMessagesInternal(Iterable<? extends RespT> messages) {
+    checkState(sendHeadersCalled, "sendHeaders has not been called");
+    checkState(!closeCalled, "call is closed");
 
-    messageSent = true;
     try {
-      InputStream resp = method.streamResponse(message);
-      stream.writeMessage(resp);
+      // The framer packs the messages into shared buffers, which are only sent by the flush
+      for (RespT message : messages) {
+        if (!writeMessage(message)) {
+          return;
+        }
+      }
       stream.flush();
-    } catch (RuntimeException e) {
-      close(Status.fromThrowable(e), new Metadata());
-    } catch (Error e) {
+    } catch (Throwable t) {
+      closeAfterSendFailure(t);
+    }
+  }
+
+  /**
+   * Frames the message and writes it to the stream, without flushing. Returns {@code false} if the
+   * call had to be closed instead, because the method only allows one response.
+   */
+  private boolean writeMessage(RespT message) {
+    if (method.getType().serverSendsOneMessage() && messageSent) {
+      internalClose(Status.INTERNAL.withDescription(TOO_MANY_RESPONSES));
+      return false;
+    }
+    messageSent = true;
+    InputStream resp = method.streamResponse(message);
+    stream.writeMessage(resp);
+    return true;
+  }
+
+  private void closeAfterSendFailure(Throwable t) {
+    if (t instanceof Error) {
       close(
           Status.CANCELLED.withDescription("Server sendMessage() failed with Error"),
           new Metadata());
-      throw e;
+      throw (Error) t;
     }
+    close(Status.fromThrowable(t), new Metadata());
   }
 
   @Override
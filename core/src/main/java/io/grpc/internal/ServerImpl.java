@@ -912,6 +912,8 @@ public final class ServerImpl extends io.grpc.Server implements InternalInstrume
           try {
             getListener().closed(status);
           } finally {
+            // The application has seen the end of the call, so it is done with the headers.
+            stream.releaseRequestHeaders();
             PerfMark.stopTask("ServerCallListener(app).closed", tag);
           }
         }
@@ -131,6 +131,16 @@ public final class ServerImplBuilder extends ServerBuilder<ServerImplBuilder> {
     return this;
   }
 
+  @Override
+  public ServerImplBuilder threadPerCallExecutor() {
+    Executor executor = ThreadPerTaskExecutor.getVirtualThreadExecutor();
+    if (executor == null) {
+      log.log(Level.WARNING,
+          "Virtual threads are not supported by this runtime, using the default executor instead");
+    }
+    return executor(executor);
+  }
+
   @Override
   public ServerImplBuilder addService(ServerServiceDefinition service) {
     registryBuilder.addService(checkNotNull(service, "service"));
@@ -96,4 +96,11 @@ public interface ServerStream extends Stream {
    * The HTTP/2 stream id, or {@code -1} if not supported.
    */
   int streamId();
+
+  /**
+   * Tells the transport that the application has been notified that the call is closed, so the
+   * request headers passed to {@link ServerTransportListener#streamCreated} will no longer be
+   * accessed and may be reused. Transports that do not recycle headers may ignore this.
+   */
+  void releaseRequestHeaders();
 }
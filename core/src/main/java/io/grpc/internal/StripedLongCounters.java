@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A few counters updated by many threads, such as the calls of an endpoint. The updates are
+ * spread over cache-line-sized stripes picked by the calling thread, so that the threads do not
+ * contend on single counters. {@code LongAdder} would do the same, but is not available on all
+ * the Android API levels gRPC supports.
+ */
+public final class StripedLongCounters {
+  // Eight longs make a 64-byte cache line. The counters of a stripe share its line.
+  private static final int STRIDE = 8;
+  private static final int STRIPES =
+      Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIDE);
+  private final int counters;
+
+  /**
+   * Creates the given number of counters, at most eight.
+   */
+  public StripedLongCounters(int counters) {
+    checkArgument(counters > 0 && counters <= STRIDE, "Invalid number of counters: %s", counters);
+    this.counters = counters;
+  }
+
+  public void increment(int counter) {
+    cells.getAndIncrement(stripe() + counter);
+  }
+
+  public void decrement(int counter) {
+    cells.getAndDecrement(stripe() + counter);
+  }
+
+  public long sum(int counter) {
+    long sum = 0;
+    for (int i = counter; i < cells.length(); i += STRIDE) {
+      sum += cells.get(i);
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum of the counter and resets it. Each cell is reset atomically, so the updates
+   * concurrent with this method are never lost.
+   */
+  public long sumThenReset(int counter) {
+    long sum = 0;
+    for (int i = counter; i < cells.length(); i += STRIDE) {
+      sum += cells.getAndSet(i, 0);
+    }
+    return sum;
+  }
+
+  /**
+   * Resets all the counters. The updates concurrent with this method may be lost.
+   */
+  public void reset() {
+    for (int i = 0; i < cells.length(); i += STRIDE) {
+      for (int counter = 0; counter < counters; counter++) {
+        cells.set(i + counter, 0);
+      }
+    }
+  }
+
+  private static int stripe() {
+    return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * An executor that starts a new thread for every task. It does not own the threads it creates and
+ * never needs to be shut down.
+ *
+ * <p>This is only sensible with virtual threads, which are cheap to create and to block. Combined
+ * with {@link SerializingExecutor}, each call gets a thread of its own for as long as it has
+ * callbacks to run, instead of borrowing one from a shared pool.
+ */
+public final class ThreadPerTaskExecutor implements Executor {
+  private static final Logger log = Logger.getLogger(ThreadPerTaskExecutor.class.getName());
+
+  @Nullable
+  private static final ThreadPerTaskExecutor VIRTUAL_THREAD_EXECUTOR =
+      createVirtualThreadExecutor();
+
+  private final ThreadFactory threadFactory;
+
+  ThreadPerTaskExecutor(ThreadFactory threadFactory) {
+    this.threadFactory = checkNotNull(threadFactory, "threadFactory");
+  }
+
+  /**
+   * Returns a shared executor running each task on a new virtual thread, or {@code null} if the
+   * runtime does not support virtual threads (before Java 21, and on Android).
+   */
+  @Nullable
+  public static ThreadPerTaskExecutor getVirtualThreadExecutor() {
+    return VIRTUAL_THREAD_EXECUTOR;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    Thread thread = threadFactory.newThread(checkNotNull(command, "command"));
+    thread.start();
+  }
+
+  @Nullable
+  private static ThreadPerTaskExecutor createVirtualThreadExecutor() {
+    // Accessed reflectively, since gRPC still targets Java 8.
+    // Equivalent to Thread.ofVirtual().name("grpc-virtual-", 0).factory()
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Method name = builderClass.getMethod("name", String.class, long.class);
+      builder = name.invoke(builder, "grpc-virtual-", 0L);
+      ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return new ThreadPerTaskExecutor(factory);
+    } catch (Exception e) {
+      // Expected before Java 21, or on Java 19 and 20 without --enable-preview
+      log.log(Level.FINE, "Virtual threads are not available", e);
+      return null;
+    }
+  }
+}
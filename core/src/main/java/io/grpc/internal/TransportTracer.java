@@ -36,6 +36,8 @@ public final class TransportTracer {
   private long streamsSucceeded;
   private long streamsFailed;
   private long keepAlivesSent;
+  private long flushes;
+  private long commandsFlushed;
   private FlowControlReader flowControlWindowReader;
 
   private long messagesSent;
@@ -72,7 +74,9 @@ public final class TransportTracer {
         lastMessageSentTimeNanos,
         lastMessageReceivedTimeNanos,
         localFlowControlWindow,
-        remoteFlowControlWindow);
+        remoteFlowControlWindow,
+        flushes,
+        commandsFlushed);
   }
 
   /**
@@ -128,6 +132,15 @@ public final class TransportTracer {
     keepAlivesSent++;
   }
 
+  /**
+   * Reports that pending writes were flushed to the socket. {@code numCommands} is the number of
+   * write commands the flush covered, and may be 0.
+   */
+  public void reportFlush(int numCommands) {
+    flushes++;
+    commandsFlushed += numCommands;
+  }
+
   /**
    * Registers a {@link FlowControlReader} that can be used to read the local and remote flow
    * control window sizes.
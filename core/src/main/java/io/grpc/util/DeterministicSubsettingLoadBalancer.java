@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.Status;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.annotation.Nullable;
+
+/**
+ * Wraps a child {@link LoadBalancer} and only gives it a stable subset of the resolved endpoints,
+ * so that each client connects to a bounded number of backends regardless of the size of the
+ * backend pool.
+ *
+ * <p>The subset is selected by rendezvous (highest random weight) hashing: every endpoint gets a
+ * score that is a hash of the client's id and the endpoint's addresses, and the {@code subsetSize}
+ * endpoints with the highest scores are selected. Clients with the same id always select the
+ * same endpoints, and with different ids each backend is selected by about a
+ * {@code subsetSize / endpoints} fraction of the clients. When an endpoint is added or removed,
+ * at most one endpoint of a subset changes.
+ */
+@Internal
+public final class DeterministicSubsettingLoadBalancer extends LoadBalancer {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final GracefulSwitchLoadBalancer switchLb;
+  // Used when the config does not have a client id. Only random per balancer, so that the subset
+  // of a channel does not change on every update.
+  private final long randomClientHash;
+
+  public DeterministicSubsettingLoadBalancer(Helper helper) {
+    this(helper, new Random());
+  }
+
+  @VisibleForTesting
+  DeterministicSubsettingLoadBalancer(Helper helper, Random random) {
+    this.switchLb = new GracefulSwitchLoadBalancer(checkNotNull(helper, "helper"));
+    this.randomClientHash = checkNotNull(random, "random").nextLong();
+  }
+
+  @Override
+  public void handleResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    DeterministicSubsettingLoadBalancerConfig config =
+        (DeterministicSubsettingLoadBalancerConfig)
+            resolvedAddresses.getLoadBalancingPolicyConfig();
+    long clientHash = config.clientId != null ? clientHash(config.clientId) : randomClientHash;
+
+    switchLb.switchTo(config.childPolicy.getProvider());
+    switchLb.handleResolvedAddresses(
+        resolvedAddresses.toBuilder()
+            .setAddresses(
+                selectSubset(resolvedAddresses.getAddresses(), config.subsetSize, clientHash))
+            .setLoadBalancingPolicyConfig(config.childPolicy.getConfig())
+            .build());
+  }
+
+  @Override
+  public void handleNameResolutionError(Status error) {
+    switchLb.handleNameResolutionError(error);
+  }
+
+  @Override
+  public boolean canHandleEmptyAddressListFromNameResolution() {
+    return switchLb.canHandleEmptyAddressListFromNameResolution();
+  }
+
+  @Override
+  public void requestConnection() {
+    switchLb.requestConnection();
+  }
+
+  @Override
+  public void shutdown() {
+    switchLb.shutdown();
+  }
+
+  /**
+   * Returns the {@code subsetSize} endpoints with the highest scores for the given client, in
+   * the order of {@code endpoints}.
+   */
+  @VisibleForTesting
+  static List<EquivalentAddressGroup> selectSubset(
+      List<EquivalentAddressGroup> endpoints, int subsetSize, long clientHash) {
+    int endpointCount = endpoints.size();
+    if (endpointCount <= subsetSize) {
+      return endpoints;
+    }
+    long[] scores = new long[endpointCount];
+    for (int i = 0; i < endpointCount; i++) {
+      scores[i] = mix(clientHash ^ hash(endpoints.get(i)));
+    }
+    // Keeps the indices of the highest scores seen so far in a min-heap, so that selecting the
+    // subset is O(n log(subsetSize)) instead of sorting all the endpoints.
+    int[] heap = new int[subsetSize];
+    for (int i = 0; i < endpointCount; i++) {
+      if (i < subsetSize) {
+        heap[i] = i;
+        siftUp(heap, i, scores);
+      } else if (compare(scores, i, heap[0]) > 0) {
+        heap[0] = i;
+        siftDown(heap, subsetSize, scores);
+      }
+    }
+    boolean[] selected = new boolean[endpointCount];
+    for (int index : heap) {
+      selected[index] = true;
+    }
+    List<EquivalentAddressGroup> subset = new ArrayList<>(subsetSize);
+    for (int i = 0; i < endpointCount; i++) {
+      if (selected[i]) {
+        subset.add(endpoints.get(i));
+      }
+    }
+    return Collections.unmodifiableList(subset);
+  }
+
+  /** Orders endpoints by score, and endpoints with the same score by their index. */
+  private static int compare(long[] scores, int i, int j) {
+    int result = Long.compare(scores[i], scores[j]);
+    return result != 0 ? result : Integer.compare(j, i);
+  }
+
+  private static void siftUp(int[] heap, int position, long[] scores) {
+    int index = heap[position];
+    while (position > 0) {
+      int parent = (position - 1) >>> 1;
+      if (compare(scores, heap[parent], index) <= 0) {
+        break;
+      }
+      heap[position] = heap[parent];
+      position = parent;
+    }
+    heap[position] = index;
+  }
+
+  private static void siftDown(int[] heap, int size, long[] scores) {
+    int index = heap[0];
+    int position = 0;
+    while (true) {
+      int child = 2 * position + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && compare(scores, heap[child + 1], heap[child]) < 0) {
+        child++;
+      }
+      if (compare(scores, index, heap[child]) <= 0) {
+        break;
+      }
+      heap[position] = heap[child];
+      position = child;
+    }
+    heap[position] = index;
+  }
+
+  /**
+   * Hashes the addresses of an endpoint, but not its attributes, which are not necessarily the
+   * same on every client. The string forms of the addresses are used as they do not depend on the
+   * process, unlike the hash codes of some {@link SocketAddress} implementations.
+   */
+  private static long hash(EquivalentAddressGroup endpoint) {
+    long hash = FNV_OFFSET_BASIS;
+    for (SocketAddress address : endpoint.getAddresses()) {
+      hash = hash(hash, address.toString());
+      hash = (hash ^ ',') * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /** FNV-1a over the chars of {@code value}. */
+  private static long hash(long hash, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /** The finalizer of SplitMix64, so that every bit of the input affects every bit of the score. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  @VisibleForTesting
+  static long clientHash(String clientId) {
+    return mix(hash(FNV_OFFSET_BASIS, clientId));
+  }
+
+  /**
+   * The config for {@link DeterministicSubsettingLoadBalancer}.
+   */
+  public static final class DeterministicSubsettingLoadBalancerConfig {
+    public final int subsetSize;
+    @Nullable
+    public final String clientId;
+    public final PolicySelection childPolicy;
+
+    /**
+     * Creates a config.
+     *
+     * @param subsetSize the maximum number of endpoints given to the child policy
+     * @param clientId identifies the client when selecting the subset. If {@code null}, every
+     *     balancer selects its subset with a random id
+     * @param childPolicy the policy that balances over the subset
+     */
+    public DeterministicSubsettingLoadBalancerConfig(
+        int subsetSize, @Nullable String clientId, PolicySelection childPolicy) {
+      checkArgument(subsetSize > 0, "subsetSize must be positive");
+      this.subsetSize = subsetSize;
+      this.clientId = clientId;
+      this.childPolicy = checkNotNull(childPolicy, "childPolicy");
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("subsetSize", subsetSize)
+          .add("clientId", clientId)
+          .add("childPolicy", childPolicy)
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.internal.JsonUtil;
+import io.grpc.internal.ServiceConfigUtil;
+import io.grpc.internal.ServiceConfigUtil.LbConfig;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.util.DeterministicSubsettingLoadBalancer.DeterministicSubsettingLoadBalancerConfig;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider for the "deterministic_subsetting_experimental" balancing policy.
+ */
+@Internal
+public final class DeterministicSubsettingLoadBalancerProvider extends LoadBalancerProvider {
+
+  public static final String POLICY_NAME = "deterministic_subsetting_experimental";
+  static final int DEFAULT_SUBSET_SIZE = 20;
+
+  @Override
+  public LoadBalancer newLoadBalancer(Helper helper) {
+    return new DeterministicSubsettingLoadBalancer(helper);
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return POLICY_NAME;
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawConfig) {
+    try {
+      return parseLoadBalancingPolicyConfigInternal(rawConfig);
+    } catch (RuntimeException e) {
+      return ConfigOrError.fromError(
+          Status.UNAVAILABLE.withCause(e).withDescription(
+              "Failed parsing configuration for " + getPolicyName()));
+    }
+  }
+
+  private ConfigOrError parseLoadBalancingPolicyConfigInternal(Map<String, ?> rawConfig) {
+    Integer subsetSize = JsonUtil.getNumberAsInteger(rawConfig, "subsetSize");
+    if (subsetSize == null) {
+      subsetSize = DEFAULT_SUBSET_SIZE;
+    }
+    String clientId = JsonUtil.getString(rawConfig, "clientId");
+
+    List<LbConfig> childConfigCandidates = ServiceConfigUtil.unwrapLoadBalancingConfigList(
+        JsonUtil.getListOfObjects(rawConfig, "childPolicy"));
+    if (childConfigCandidates == null || childConfigCandidates.isEmpty()) {
+      return ConfigOrError.fromError(Status.INTERNAL.withDescription(
+          "No child policy in " + getPolicyName() + " LB policy: " + rawConfig));
+    }
+    ConfigOrError selectedConfig = ServiceConfigUtil.selectLbPolicyFromList(
+        childConfigCandidates, LoadBalancerRegistry.getDefaultRegistry());
+    if (selectedConfig.getError() != null) {
+      return selectedConfig;
+    }
+    return ConfigOrError.fromConfig(new DeterministicSubsettingLoadBalancerConfig(
+        subsetSize, clientId, (PolicySelection) selectedConfig.getConfig()));
+  }
+}
@@ -0,0 +1,888 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import io.grpc.SynchronizationContext.ScheduledHandle;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.internal.StripedLongCounters;
+import io.grpc.internal.TimeProvider;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Wraps a child {@link LoadBalancer}, tracks the result of every call to each endpoint and ejects
+ * the endpoints that fail noticeably more than the others, by making their subchannels appear to
+ * be in {@code TRANSIENT_FAILURE} to the child policy. Ejected endpoints are un-ejected after a
+ * period that grows each time the same endpoint is ejected again.
+ *
+ * <p>This implements the outlier detection gRFC:
+ * https://github.com/grpc/proposal/blob/master/A50-xds-outlier-detection.md
+ */
+@Internal
+public final class OutlierDetectionLoadBalancer extends LoadBalancer {
+  @VisibleForTesting
+  static final Status EJECTED_STATUS = Status.UNAVAILABLE.withDescription(
+      "The subchannel's address was ejected by outlier detection");
+
+  private final Helper helper;
+  private final SynchronizationContext syncContext;
+  private final ScheduledExecutorService timeService;
+  private final TimeProvider timeProvider;
+  private final Random random;
+  private final GracefulSwitchLoadBalancer switchLb;
+  // Keyed by the address of single-address subchannels. Only accessed in syncContext.
+  private final Map<SocketAddress, EndpointTracker> trackers = new HashMap<>();
+  // All subchannels created by the child policy that are not shut down yet.
+  private final Set<OutlierDetectionSubchannel> subchannels = new HashSet<>();
+
+  private OutlierDetectionLoadBalancerConfig config;
+  @Nullable
+  private ScheduledHandle detectionTimer;
+  @Nullable
+  private Long detectionTimerStartNanos;
+
+  public OutlierDetectionLoadBalancer(Helper helper, TimeProvider timeProvider) {
+    this(helper, timeProvider, new Random());
+  }
+
+  @VisibleForTesting
+  OutlierDetectionLoadBalancer(Helper helper, TimeProvider timeProvider, Random random) {
+    this.helper = checkNotNull(helper, "helper");
+    this.syncContext = checkNotNull(helper.getSynchronizationContext(), "syncContext");
+    this.timeService = checkNotNull(helper.getScheduledExecutorService(), "timeService");
+    this.timeProvider = checkNotNull(timeProvider, "timeProvider");
+    this.random = checkNotNull(random, "random");
+    this.switchLb = new GracefulSwitchLoadBalancer(new ChildHelper());
+  }
+
+  @Override
+  public void handleResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    config = (OutlierDetectionLoadBalancerConfig) resolvedAddresses.getLoadBalancingPolicyConfig();
+
+    Set<SocketAddress> addresses = new HashSet<>();
+    for (EquivalentAddressGroup eag : resolvedAddresses.getAddresses()) {
+      addresses.addAll(eag.getAddresses());
+    }
+    for (Iterator<Map.Entry<SocketAddress, EndpointTracker>> it = trackers.entrySet().iterator();
+        it.hasNext(); ) {
+      Map.Entry<SocketAddress, EndpointTracker> entry = it.next();
+      if (!addresses.contains(entry.getKey())) {
+        entry.getValue().removeAllSubchannels();
+        it.remove();
+      }
+    }
+    for (SocketAddress address : addresses) {
+      if (!trackers.containsKey(address)) {
+        EndpointTracker tracker = new EndpointTracker();
+        trackers.put(address, tracker);
+        // The child policy may keep a subchannel to an address that was removed and added back.
+        for (OutlierDetectionSubchannel subchannel : subchannels) {
+          if (address.equals(subchannel.singleAddress())) {
+            tracker.addSubchannel(subchannel);
+          }
+        }
+      }
+    }
+
+    if (config.successRateEjection != null || config.failurePercentageEjection != null) {
+      long initialDelayNanos;
+      if (detectionTimerStartNanos == null) {
+        initialDelayNanos = config.intervalNanos;
+      } else {
+        // Keep the detection rhythm of the previous config, but honor a shorter interval.
+        initialDelayNanos = Math.max(0L,
+            config.intervalNanos - (timeProvider.currentTimeNanos() - detectionTimerStartNanos));
+      }
+      if (detectionTimer != null) {
+        detectionTimer.cancel();
+      } else {
+        detectionTimerStartNanos = timeProvider.currentTimeNanos();
+        for (EndpointTracker tracker : trackers.values()) {
+          tracker.resetCallCounters();
+        }
+      }
+      detectionTimer = syncContext.schedule(
+          new DetectionTimer(), initialDelayNanos, NANOSECONDS, timeService);
+    } else if (detectionTimer != null) {
+      detectionTimer.cancel();
+      detectionTimer = null;
+      detectionTimerStartNanos = null;
+      for (EndpointTracker tracker : trackers.values()) {
+        if (tracker.isEjected()) {
+          tracker.uneject();
+        }
+        tracker.resetEjectionTimeMultiplier();
+      }
+    }
+
+    switchLb.switchTo(config.childPolicy.getProvider());
+    switchLb.handleResolvedAddresses(
+        resolvedAddresses.toBuilder()
+            .setLoadBalancingPolicyConfig(config.childPolicy.getConfig())
+            .build());
+  }
+
+  @Override
+  public void handleNameResolutionError(Status error) {
+    switchLb.handleNameResolutionError(error);
+  }
+
+  @Override
+  public boolean canHandleEmptyAddressListFromNameResolution() {
+    return switchLb.canHandleEmptyAddressListFromNameResolution();
+  }
+
+  @Override
+  public void requestConnection() {
+    switchLb.requestConnection();
+  }
+
+  @Override
+  public void shutdown() {
+    if (detectionTimer != null) {
+      detectionTimer.cancel();
+      detectionTimer = null;
+    }
+    switchLb.shutdown();
+  }
+
+  private final class DetectionTimer implements Runnable {
+    @Override
+    public void run() {
+      detectionTimerStartNanos = timeProvider.currentTimeNanos();
+      detectOutliers(detectionTimerStartNanos);
+      detectionTimer = syncContext.schedule(
+          new DetectionTimer(), config.intervalNanos, NANOSECONDS, timeService);
+    }
+  }
+
+  @VisibleForTesting
+  void detectOutliers(long nowNanos) {
+    for (EndpointTracker tracker : trackers.values()) {
+      tracker.swapCallCounters();
+    }
+    if (config.successRateEjection != null) {
+      ejectBySuccessRate(config.successRateEjection, nowNanos);
+    }
+    if (config.failurePercentageEjection != null) {
+      ejectByFailurePercentage(config.failurePercentageEjection, nowNanos);
+    }
+    for (EndpointTracker tracker : trackers.values()) {
+      if (!tracker.isEjected()) {
+        tracker.decrementEjectionTimeMultiplier();
+      } else if (tracker.ejectionExpired(config, nowNanos)) {
+        tracker.uneject();
+      }
+    }
+  }
+
+  private void ejectBySuccessRate(SuccessRateEjection ejection, long nowNanos) {
+    List<EndpointTracker> candidates = trackersWithVolume(ejection.requestVolume);
+    if (candidates.isEmpty() || candidates.size() < ejection.minimumHosts) {
+      return;
+    }
+    double[] successRates = new double[candidates.size()];
+    double sum = 0;
+    for (int i = 0; i < successRates.length; i++) {
+      successRates[i] = candidates.get(i).successRate();
+      sum += successRates[i];
+    }
+    double mean = sum / successRates.length;
+    double squaredDiffSum = 0;
+    for (double successRate : successRates) {
+      squaredDiffSum += (successRate - mean) * (successRate - mean);
+    }
+    double stdev = Math.sqrt(squaredDiffSum / successRates.length);
+    double threshold = mean - stdev * (ejection.stdevFactor / 1000.0);
+    for (int i = 0; i < successRates.length; i++) {
+      if (ejectedPercentage() >= config.maxEjectionPercent) {
+        return;
+      }
+      if (successRates[i] < threshold
+          && random.nextInt(100) < ejection.enforcementPercentage) {
+        candidates.get(i).eject(nowNanos);
+      }
+    }
+  }
+
+  private void ejectByFailurePercentage(FailurePercentageEjection ejection, long nowNanos) {
+    List<EndpointTracker> candidates = trackersWithVolume(ejection.requestVolume);
+    if (candidates.isEmpty() || candidates.size() < ejection.minimumHosts) {
+      return;
+    }
+    for (EndpointTracker tracker : candidates) {
+      if (ejectedPercentage() >= config.maxEjectionPercent) {
+        return;
+      }
+      if (tracker.failurePercentage() > ejection.threshold
+          && random.nextInt(100) < ejection.enforcementPercentage) {
+        tracker.eject(nowNanos);
+      }
+    }
+  }
+
+  /**
+   * Returns the trackers of the endpoints that are not ejected and received at least the given
+   * number of calls in the last interval. An endpoint without calls has no rate to compare, so it
+   * is never returned, even for a volume of zero.
+   */
+  private List<EndpointTracker> trackersWithVolume(int requestVolume) {
+    List<EndpointTracker> result = new ArrayList<>();
+    for (EndpointTracker tracker : trackers.values()) {
+      if (!tracker.isEjected() && tracker.inactiveVolume() >= Math.max(requestVolume, 1)) {
+        result.add(tracker);
+      }
+    }
+    return result;
+  }
+
+  private double ejectedPercentage() {
+    if (trackers.isEmpty()) {
+      return 0;
+    }
+    int ejected = 0;
+    for (EndpointTracker tracker : trackers.values()) {
+      if (tracker.isEjected()) {
+        ejected++;
+      }
+    }
+    return ejected * 100.0 / trackers.size();
+  }
+
+  @VisibleForTesting
+  Map<SocketAddress, EndpointTracker> getTrackers() {
+    return trackers;
+  }
+
+  private final class ChildHelper extends ForwardingLoadBalancerHelper {
+    @Override
+    protected Helper delegate() {
+      return helper;
+    }
+
+    @Override
+    public Subchannel createSubchannel(CreateSubchannelArgs args) {
+      OutlierDetectionSubchannel subchannel =
+          new OutlierDetectionSubchannel(helper.createSubchannel(args));
+      subchannels.add(subchannel);
+      EndpointTracker tracker = trackers.get(subchannel.singleAddress());
+      if (tracker != null) {
+        tracker.addSubchannel(subchannel);
+      }
+      return subchannel;
+    }
+
+    @Override
+    public void updateBalancingState(ConnectivityState newState, SubchannelPicker newPicker) {
+      helper.updateBalancingState(newState, new OutlierDetectionPicker(newPicker));
+    }
+  }
+
+  /**
+   * Hides the real connectivity state from the child policy while the address of the subchannel
+   * is ejected. Only subchannels with a single address are tracked.
+   */
+  @VisibleForTesting
+  final class OutlierDetectionSubchannel extends ForwardingSubchannel {
+    private final Subchannel delegate;
+    private SubchannelStateListener childListener;
+    private ConnectivityStateInfo lastState;
+    private boolean ejected;
+    // Read by the picker, written in syncContext.
+    @Nullable
+    private volatile EndpointTracker tracker;
+
+    OutlierDetectionSubchannel(Subchannel delegate) {
+      this.delegate = checkNotNull(delegate, "delegate");
+    }
+
+    @Override
+    protected Subchannel delegate() {
+      return delegate;
+    }
+
+    @Override
+    public void start(SubchannelStateListener listener) {
+      childListener = listener;
+      super.start(new SubchannelStateListener() {
+        @Override
+        public void onSubchannelState(ConnectivityStateInfo newState) {
+          lastState = newState;
+          if (!ejected || newState.getState() == ConnectivityState.SHUTDOWN) {
+            childListener.onSubchannelState(newState);
+          }
+        }
+      });
+    }
+
+    @Override
+    public void shutdown() {
+      if (tracker != null) {
+        tracker.removeSubchannel(this);
+      }
+      subchannels.remove(this);
+      super.shutdown();
+    }
+
+    @Override
+    public void updateAddresses(List<EquivalentAddressGroup> addrs) {
+      SocketAddress oldAddress = singleAddress();
+      super.updateAddresses(addrs);
+      SocketAddress newAddress = singleAddress();
+      if (oldAddress != null && oldAddress.equals(newAddress)) {
+        return;
+      }
+      if (tracker != null) {
+        tracker.removeSubchannel(this);
+      }
+      EndpointTracker newTracker = trackers.get(newAddress);
+      if (newTracker != null) {
+        newTracker.addSubchannel(this);
+      }
+    }
+
+    @Nullable
+    SocketAddress singleAddress() {
+      List<EquivalentAddressGroup> eags = getAllAddresses();
+      if (eags.size() != 1 || eags.get(0).getAddresses().size() != 1) {
+        return null;
+      }
+      return eags.get(0).getAddresses().get(0);
+    }
+
+    void eject() {
+      ejected = true;
+      if (childListener != null && lastState != null
+          && lastState.getState() != ConnectivityState.SHUTDOWN) {
+        childListener.onSubchannelState(ConnectivityStateInfo.forTransientFailure(EJECTED_STATUS));
+      }
+    }
+
+    void uneject() {
+      ejected = false;
+      if (childListener != null && lastState != null) {
+        childListener.onSubchannelState(lastState);
+      }
+    }
+
+    boolean isEjected() {
+      return ejected;
+    }
+
+    @Nullable
+    EndpointTracker getTracker() {
+      return tracker;
+    }
+  }
+
+  /**
+   * Adds a stream tracer that records the result of each call to the tracker of the picked
+   * subchannel, if it has one.
+   */
+  private static final class OutlierDetectionPicker extends SubchannelPicker {
+    private final SubchannelPicker delegate;
+
+    OutlierDetectionPicker(SubchannelPicker delegate) {
+      this.delegate = checkNotNull(delegate, "delegate");
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      PickResult result = delegate.pickSubchannel(args);
+      Subchannel subchannel = result.getSubchannel();
+      if (subchannel instanceof OutlierDetectionSubchannel) {
+        EndpointTracker tracker = ((OutlierDetectionSubchannel) subchannel).tracker;
+        if (tracker != null) {
+          return PickResult.withSubchannel(
+              subchannel, tracker.getTracerFactory(result.getStreamTracerFactory()));
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this).add("delegate", delegate).toString();
+    }
+  }
+
+  private static final class ResultCountingStreamTracerFactory
+      extends ClientStreamTracer.Factory {
+    private static final ClientStreamTracer NOOP_TRACER = new ClientStreamTracer() {};
+
+    private final EndpointTracker tracker;
+    @Nullable
+    private final ClientStreamTracer.Factory delegateFactory;
+
+    ResultCountingStreamTracerFactory(
+        EndpointTracker tracker, @Nullable ClientStreamTracer.Factory delegateFactory) {
+      this.tracker = tracker;
+      this.delegateFactory = delegateFactory;
+    }
+
+    @Override
+    public ClientStreamTracer newClientStreamTracer(
+        ClientStreamTracer.StreamInfo info, Metadata headers) {
+      final ClientStreamTracer delegateTracer = delegateFactory == null
+          ? NOOP_TRACER : delegateFactory.newClientStreamTracer(info, headers);
+      return new ForwardingClientStreamTracer() {
+        @Override
+        protected ClientStreamTracer delegate() {
+          return delegateTracer;
+        }
+
+        @Override
+        public void streamClosed(Status status) {
+          tracker.recordCallResult(status.isOk());
+          delegate().streamClosed(status);
+        }
+      };
+    }
+  }
+
+  /**
+   * Counts the successful and failed calls in a single interval.
+   */
+  @VisibleForTesting
+  static final class CallCounter {
+    private static final int SUCCESSES = 0;
+    private static final int FAILURES = 1;
+
+    private final StripedLongCounters counters = new StripedLongCounters(2);
+
+    void record(boolean success) {
+      counters.increment(success ? SUCCESSES : FAILURES);
+    }
+
+    long successCount() {
+      return counters.sum(SUCCESSES);
+    }
+
+    long failureCount() {
+      return counters.sum(FAILURES);
+    }
+
+    void reset() {
+      counters.reset();
+    }
+  }
+
+  /**
+   * Tracks the calls and the ejection state of one endpoint address. Calls are recorded in the
+   * active counter while the detection timer evaluates the counter of the previous interval.
+   */
+  @VisibleForTesting
+  static final class EndpointTracker {
+    private volatile CallCounter activeCounter = new CallCounter();
+    private CallCounter inactiveCounter = new CallCounter();
+    // The factory of the last pick, reused as long as the child policy picks with the same one.
+    private volatile ResultCountingStreamTracerFactory tracerFactory =
+        new ResultCountingStreamTracerFactory(this, null);
+    private final Set<OutlierDetectionSubchannel> subchannels = new HashSet<>();
+    @Nullable
+    private Long ejectionTimeNanos;
+    private int ejectionTimeMultiplier;
+
+    void recordCallResult(boolean success) {
+      activeCounter.record(success);
+    }
+
+    /**
+     * Returns a stream tracer factory recording the call results to this tracker, and delegating
+     * to the given factory of the child policy.
+     */
+    ClientStreamTracer.Factory getTracerFactory(
+        @Nullable ClientStreamTracer.Factory delegateFactory) {
+      ResultCountingStreamTracerFactory factory = tracerFactory;
+      if (factory.delegateFactory != delegateFactory) {
+        // Picks racing to replace it only cost an allocation each.
+        factory = new ResultCountingStreamTracerFactory(this, delegateFactory);
+        tracerFactory = factory;
+      }
+      return factory;
+    }
+
+    void swapCallCounters() {
+      CallCounter counter = inactiveCounter;
+      counter.reset();
+      inactiveCounter = activeCounter;
+      activeCounter = counter;
+    }
+
+    void resetCallCounters() {
+      activeCounter.reset();
+      inactiveCounter.reset();
+    }
+
+    long inactiveVolume() {
+      return inactiveCounter.successCount() + inactiveCounter.failureCount();
+    }
+
+    double successRate() {
+      long volume = inactiveVolume();
+      return volume == 0 ? 0 : (double) inactiveCounter.successCount() / volume;
+    }
+
+    double failurePercentage() {
+      long volume = inactiveVolume();
+      return volume == 0 ? 0 : inactiveCounter.failureCount() * 100.0 / volume;
+    }
+
+    void addSubchannel(OutlierDetectionSubchannel subchannel) {
+      checkState(subchannel.tracker == null, "subchannel already tracked");
+      subchannel.tracker = this;
+      subchannels.add(subchannel);
+      if (isEjected()) {
+        subchannel.eject();
+      }
+    }
+
+    void removeSubchannel(OutlierDetectionSubchannel subchannel) {
+      subchannel.tracker = null;
+      subchannels.remove(subchannel);
+      if (subchannel.isEjected()) {
+        subchannel.uneject();
+      }
+    }
+
+    void removeAllSubchannels() {
+      for (OutlierDetectionSubchannel subchannel : new ArrayList<>(subchannels)) {
+        removeSubchannel(subchannel);
+      }
+    }
+
+    boolean isEjected() {
+      return ejectionTimeNanos != null;
+    }
+
+    void eject(long nowNanos) {
+      ejectionTimeNanos = nowNanos;
+      ejectionTimeMultiplier++;
+      for (OutlierDetectionSubchannel subchannel : subchannels) {
+        subchannel.eject();
+      }
+    }
+
+    void uneject() {
+      checkState(ejectionTimeNanos != null, "not ejected");
+      ejectionTimeNanos = null;
+      for (OutlierDetectionSubchannel subchannel : subchannels) {
+        subchannel.uneject();
+      }
+    }
+
+    void decrementEjectionTimeMultiplier() {
+      if (ejectionTimeMultiplier > 0) {
+        ejectionTimeMultiplier--;
+      }
+    }
+
+    void resetEjectionTimeMultiplier() {
+      ejectionTimeMultiplier = 0;
+    }
+
+    boolean ejectionExpired(OutlierDetectionLoadBalancerConfig config, long nowNanos) {
+      // The ejection time grows with each consecutive ejection, up to the larger of the base
+      // and the max ejection time.
+      long maxEjectionNanos = Math.max(config.baseEjectionTimeNanos, config.maxEjectionTimeNanos);
+      long ejectionNanos = config.baseEjectionTimeNanos * ejectionTimeMultiplier;
+      if (ejectionTimeMultiplier != 0
+          && ejectionNanos / ejectionTimeMultiplier != config.baseEjectionTimeNanos) {
+        ejectionNanos = maxEjectionNanos;  // overflow
+      }
+      return nowNanos - ejectionTimeNanos >= Math.min(ejectionNanos, maxEjectionNanos);
+    }
+
+    @VisibleForTesting
+    int getEjectionTimeMultiplier() {
+      return ejectionTimeMultiplier;
+    }
+  }
+
+  /**
+   * The configuration for {@link OutlierDetectionLoadBalancer}. Ejection is disabled unless at
+   * least one of the ejection algorithms is configured.
+   */
+  public static final class OutlierDetectionLoadBalancerConfig {
+    public final long intervalNanos;
+    public final long baseEjectionTimeNanos;
+    public final long maxEjectionTimeNanos;
+    public final int maxEjectionPercent;
+    @Nullable
+    public final SuccessRateEjection successRateEjection;
+    @Nullable
+    public final FailurePercentageEjection failurePercentageEjection;
+    public final PolicySelection childPolicy;
+
+    private OutlierDetectionLoadBalancerConfig(Builder builder) {
+      this.intervalNanos = builder.intervalNanos;
+      this.baseEjectionTimeNanos = builder.baseEjectionTimeNanos;
+      this.maxEjectionTimeNanos = builder.maxEjectionTimeNanos;
+      this.maxEjectionPercent = builder.maxEjectionPercent;
+      this.successRateEjection = builder.successRateEjection;
+      this.failurePercentageEjection = builder.failurePercentageEjection;
+      this.childPolicy = builder.childPolicy;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("intervalNanos", intervalNanos)
+          .add("baseEjectionTimeNanos", baseEjectionTimeNanos)
+          .add("maxEjectionTimeNanos", maxEjectionTimeNanos)
+          .add("maxEjectionPercent", maxEjectionPercent)
+          .add("successRateEjection", successRateEjection)
+          .add("failurePercentageEjection", failurePercentageEjection)
+          .add("childPolicy", childPolicy)
+          .toString();
+    }
+
+    public static Builder newBuilder() {
+      return new Builder();
+    }
+
+    public static final class Builder {
+      private long intervalNanos = TimeUnit.SECONDS.toNanos(10);
+      private long baseEjectionTimeNanos = TimeUnit.SECONDS.toNanos(30);
+      private long maxEjectionTimeNanos = TimeUnit.SECONDS.toNanos(300);
+      private int maxEjectionPercent = 10;
+      private SuccessRateEjection successRateEjection;
+      private FailurePercentageEjection failurePercentageEjection;
+      private PolicySelection childPolicy;
+
+      private Builder() {
+      }
+
+      /** How often the ejection algorithms run. Defaults to 10 seconds. */
+      public Builder setIntervalNanos(long intervalNanos) {
+        checkArgument(intervalNanos > 0, "intervalNanos must be positive");
+        this.intervalNanos = intervalNanos;
+        return this;
+      }
+
+      /** The base time an endpoint is ejected for. Defaults to 30 seconds. */
+      public Builder setBaseEjectionTimeNanos(long baseEjectionTimeNanos) {
+        checkArgument(baseEjectionTimeNanos >= 0, "baseEjectionTimeNanos must not be negative");
+        this.baseEjectionTimeNanos = baseEjectionTimeNanos;
+        return this;
+      }
+
+      /** The longest time an endpoint is ejected for. Defaults to 300 seconds. */
+      public Builder setMaxEjectionTimeNanos(long maxEjectionTimeNanos) {
+        checkArgument(maxEjectionTimeNanos >= 0, "maxEjectionTimeNanos must not be negative");
+        this.maxEjectionTimeNanos = maxEjectionTimeNanos;
+        return this;
+      }
+
+      /** The maximum percentage of endpoints that can be ejected at once. Defaults to 10. */
+      public Builder setMaxEjectionPercent(int maxEjectionPercent) {
+        checkArgument(maxEjectionPercent >= 0 && maxEjectionPercent <= 100,
+            "maxEjectionPercent must be in [0, 100]");
+        this.maxEjectionPercent = maxEjectionPercent;
+        return this;
+      }
+
+      public Builder setSuccessRateEjection(@Nullable SuccessRateEjection successRateEjection) {
+        this.successRateEjection = successRateEjection;
+        return this;
+      }
+
+      public Builder setFailurePercentageEjection(
+          @Nullable FailurePercentageEjection failurePercentageEjection) {
+        this.failurePercentageEjection = failurePercentageEjection;
+        return this;
+      }
+
+      public Builder setChildPolicy(PolicySelection childPolicy) {
+        this.childPolicy = checkNotNull(childPolicy, "childPolicy");
+        return this;
+      }
+
+      public OutlierDetectionLoadBalancerConfig build() {
+        checkState(childPolicy != null, "childPolicy not set");
+        return new OutlierDetectionLoadBalancerConfig(this);
+      }
+    }
+  }
+
+  /**
+   * Ejects the endpoints whose success rate is more than {@code stdevFactor / 1000} standard
+   * deviations below the mean success rate of all the endpoints.
+   */
+  public static final class SuccessRateEjection {
+    public final int stdevFactor;
+    public final int enforcementPercentage;
+    public final int minimumHosts;
+    public final int requestVolume;
+
+    private SuccessRateEjection(Builder builder) {
+      this.stdevFactor = builder.stdevFactor;
+      this.enforcementPercentage = builder.enforcementPercentage;
+      this.minimumHosts = builder.minimumHosts;
+      this.requestVolume = builder.requestVolume;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("stdevFactor", stdevFactor)
+          .add("enforcementPercentage", enforcementPercentage)
+          .add("minimumHosts", minimumHosts)
+          .add("requestVolume", requestVolume)
+          .toString();
+    }
+
+    public static Builder newBuilder() {
+      return new Builder();
+    }
+
+    public static final class Builder {
+      private int stdevFactor = 1900;
+      private int enforcementPercentage = 100;
+      private int minimumHosts = 5;
+      private int requestVolume = 100;
+
+      private Builder() {
+      }
+
+      public Builder setStdevFactor(int stdevFactor) {
+        checkArgument(stdevFactor >= 0, "stdevFactor must not be negative");
+        this.stdevFactor = stdevFactor;
+        return this;
+      }
+
+      public Builder setEnforcementPercentage(int enforcementPercentage) {
+        checkArgument(enforcementPercentage >= 0 && enforcementPercentage <= 100,
+            "enforcementPercentage must be in [0, 100]");
+        this.enforcementPercentage = enforcementPercentage;
+        return this;
+      }
+
+      public Builder setMinimumHosts(int minimumHosts) {
+        checkArgument(minimumHosts >= 0, "minimumHosts must not be negative");
+        this.minimumHosts = minimumHosts;
+        return this;
+      }
+
+      public Builder setRequestVolume(int requestVolume) {
+        checkArgument(requestVolume >= 0, "requestVolume must not be negative");
+        this.requestVolume = requestVolume;
+        return this;
+      }
+
+      public SuccessRateEjection build() {
+        return new SuccessRateEjection(this);
+      }
+    }
+  }
+
+  /**
+   * Ejects the endpoints whose percentage of failed calls is above {@code threshold}.
+   */
+  public static final class FailurePercentageEjection {
+    public final int threshold;
+    public final int enforcementPercentage;
+    public final int minimumHosts;
+    public final int requestVolume;
+
+    private FailurePercentageEjection(Builder builder) {
+      this.threshold = builder.threshold;
+      this.enforcementPercentage = builder.enforcementPercentage;
+      this.minimumHosts = builder.minimumHosts;
+      this.requestVolume = builder.requestVolume;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("threshold", threshold)
+          .add("enforcementPercentage", enforcementPercentage)
+          .add("minimumHosts", minimumHosts)
+          .add("requestVolume", requestVolume)
+          .toString();
+    }
+
+    public static Builder newBuilder() {
+      return new Builder();
+    }
+
+    public static final class Builder {
+      private int threshold = 85;
+      private int enforcementPercentage = 100;
+      private int minimumHosts = 5;
+      private int requestVolume = 50;
+
+      private Builder() {
+      }
+
+      public Builder setThreshold(int threshold) {
+        checkArgument(threshold >= 0 && threshold <= 100, "threshold must be in [0, 100]");
+        this.threshold = threshold;
+        return this;
+      }
+
+      public Builder setEnforcementPercentage(int enforcementPercentage) {
+        checkArgument(enforcementPercentage >= 0 && enforcementPercentage <= 100,
+            "enforcementPercentage must be in [0, 100]");
+        this.enforcementPercentage = enforcementPercentage;
+        return this;
+      }
+
+      public Builder setMinimumHosts(int minimumHosts) {
+        checkArgument(minimumHosts >= 0, "minimumHosts must not be negative");
+        this.minimumHosts = minimumHosts;
+        return this;
+      }
+
+      public Builder setRequestVolume(int requestVolume) {
+        checkArgument(requestVolume >= 0, "requestVolume must not be negative");
+        this.requestVolume = requestVolume;
+        return this;
+      }
+
+      public FailurePercentageEjection build() {
+        return new FailurePercentageEjection(this);
+      }
+    }
+  }
+}
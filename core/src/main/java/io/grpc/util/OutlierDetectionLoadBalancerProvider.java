@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.internal.JsonUtil;
+import io.grpc.internal.ServiceConfigUtil;
+import io.grpc.internal.ServiceConfigUtil.LbConfig;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.internal.TimeProvider;
+import io.grpc.util.OutlierDetectionLoadBalancer.FailurePercentageEjection;
+import io.grpc.util.OutlierDetectionLoadBalancer.OutlierDetectionLoadBalancerConfig;
+import io.grpc.util.OutlierDetectionLoadBalancer.SuccessRateEjection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider for the "outlier_detection_experimental" balancing policy.
+ */
+@Internal
+public final class OutlierDetectionLoadBalancerProvider extends LoadBalancerProvider {
+
+  public static final String POLICY_NAME = "outlier_detection_experimental";
+
+  @Override
+  public LoadBalancer newLoadBalancer(Helper helper) {
+    return new OutlierDetectionLoadBalancer(helper, TimeProvider.SYSTEM_TIME_PROVIDER);
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return POLICY_NAME;
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawConfig) {
+    try {
+      return parseLoadBalancingPolicyConfigInternal(rawConfig);
+    } catch (RuntimeException e) {
+      return ConfigOrError.fromError(
+          Status.UNAVAILABLE.withCause(e).withDescription(
+              "Failed parsing configuration for " + getPolicyName()));
+    }
+  }
+
+  private ConfigOrError parseLoadBalancingPolicyConfigInternal(Map<String, ?> rawConfig) {
+    OutlierDetectionLoadBalancerConfig.Builder configBuilder =
+        OutlierDetectionLoadBalancerConfig.newBuilder();
+    Long intervalNanos = JsonUtil.getStringAsDuration(rawConfig, "interval");
+    if (intervalNanos != null) {
+      configBuilder.setIntervalNanos(intervalNanos);
+    }
+    Long baseEjectionTimeNanos = JsonUtil.getStringAsDuration(rawConfig, "baseEjectionTime");
+    if (baseEjectionTimeNanos != null) {
+      configBuilder.setBaseEjectionTimeNanos(baseEjectionTimeNanos);
+    }
+    Long maxEjectionTimeNanos = JsonUtil.getStringAsDuration(rawConfig, "maxEjectionTime");
+    if (maxEjectionTimeNanos != null) {
+      configBuilder.setMaxEjectionTimeNanos(maxEjectionTimeNanos);
+    }
+    Integer maxEjectionPercent = JsonUtil.getNumberAsInteger(rawConfig, "maxEjectionPercent");
+    if (maxEjectionPercent != null) {
+      configBuilder.setMaxEjectionPercent(maxEjectionPercent);
+    }
+
+    Map<String, ?> rawSuccessRateEjection = JsonUtil.getObject(rawConfig, "successRateEjection");
+    if (rawSuccessRateEjection != null) {
+      SuccessRateEjection.Builder builder = SuccessRateEjection.newBuilder();
+      Integer stdevFactor = JsonUtil.getNumberAsInteger(rawSuccessRateEjection, "stdevFactor");
+      if (stdevFactor != null) {
+        builder.setStdevFactor(stdevFactor);
+      }
+      Integer enforcementPercentage =
+          JsonUtil.getNumberAsInteger(rawSuccessRateEjection, "enforcementPercentage");
+      if (enforcementPercentage != null) {
+        builder.setEnforcementPercentage(enforcementPercentage);
+      }
+      Integer minimumHosts = JsonUtil.getNumberAsInteger(rawSuccessRateEjection, "minimumHosts");
+      if (minimumHosts != null) {
+        builder.setMinimumHosts(minimumHosts);
+      }
+      Integer requestVolume =
+          JsonUtil.getNumberAsInteger(rawSuccessRateEjection, "requestVolume");
+      if (requestVolume != null) {
+        builder.setRequestVolume(requestVolume);
+      }
+      configBuilder.setSuccessRateEjection(builder.build());
+    }
+
+    Map<String, ?> rawFailurePercentageEjection =
+        JsonUtil.getObject(rawConfig, "failurePercentageEjection");
+    if (rawFailurePercentageEjection != null) {
+      FailurePercentageEjection.Builder builder = FailurePercentageEjection.newBuilder();
+      Integer threshold = JsonUtil.getNumberAsInteger(rawFailurePercentageEjection, "threshold");
+      if (threshold != null) {
+        builder.setThreshold(threshold);
+      }
+      Integer enforcementPercentage =
+          JsonUtil.getNumberAsInteger(rawFailurePercentageEjection, "enforcementPercentage");
+      if (enforcementPercentage != null) {
+        builder.setEnforcementPercentage(enforcementPercentage);
+      }
+      Integer minimumHosts =
+          JsonUtil.getNumberAsInteger(rawFailurePercentageEjection, "minimumHosts");
+      if (minimumHosts != null) {
+        builder.setMinimumHosts(minimumHosts);
+      }
+      Integer requestVolume =
+          JsonUtil.getNumberAsInteger(rawFailurePercentageEjection, "requestVolume");
+      if (requestVolume != null) {
+        builder.setRequestVolume(requestVolume);
+      }
+      configBuilder.setFailurePercentageEjection(builder.build());
+    }
+
+    List<LbConfig> childConfigCandidates = ServiceConfigUtil.unwrapLoadBalancingConfigList(
+        JsonUtil.getListOfObjects(rawConfig, "childPolicy"));
+    if (childConfigCandidates == null || childConfigCandidates.isEmpty()) {
+      return ConfigOrError.fromError(Status.INTERNAL.withDescription(
+          "No child policy in " + getPolicyName() + " LB policy: " + rawConfig));
+    }
+    ConfigOrError selectedConfig = ServiceConfigUtil.selectLbPolicyFromList(
+        childConfigCandidates, LoadBalancerRegistry.getDefaultRegistry());
+    if (selectedConfig.getError() != null) {
+      return selectedConfig;
+    }
+    configBuilder.setChildPolicy((PolicySelection) selectedConfig.getConfig());
+    return ConfigOrError.fromConfig(configBuilder.build());
+  }
+}
@@ -32,6 +32,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
@@ -66,6 +67,7 @@ import io.grpc.testing.TestMethodDescriptors;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -85,6 +87,7 @@ import org.junit.runners.JUnit4;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnit;
@@ -184,6 +187,42 @@ public class ClientCallImplTest {
     verify(callListener).onClose(same(status), ArgumentMatchers.isA(Metadata.class));
   }
 
+  @Test
+  public void sendMessages_flushesOnce() {
+    ClientCallImpl<Void, Void> call = new ClientCallImpl<>(
+        method.toBuilder().setType(MethodType.BIDI_STREAMING).build(),
+        MoreExecutors.directExecutor(),
+        baseCallOptions,
+        clientStreamProvider,
+        deadlineCancellationExecutor,
+        channelCallTracer, configSelector);
+    call.start(callListener, new Metadata());
+    call.sendMessages(Arrays.<Void>asList(null, null, null));
+
+    InOrder inOrder = inOrder(stream);
+    inOrder.verify(stream, times(3)).writeMessage(any(InputStream.class));
+    inOrder.verify(stream).flush();
+  }
+
+  @Test
+  public void sendMessages_cancelsOnFailure() {
+    ClientCallImpl<Void, Void> call = new ClientCallImpl<>(
+        method.toBuilder().setType(MethodType.BIDI_STREAMING).build(),
+        MoreExecutors.directExecutor(),
+        baseCallOptions,
+        clientStreamProvider,
+        deadlineCancellationExecutor,
+        channelCallTracer, configSelector);
+    call.start(callListener, new Metadata());
+    doThrow(new RuntimeException("bad")).when(stream).writeMessage(any(InputStream.class));
+    call.sendMessages(Arrays.<Void>asList(null, null));
+
+    verify(stream, times(1)).writeMessage(any(InputStream.class));
+    verify(stream, never()).flush();
+    verify(stream).cancel(statusCaptor.capture());
+    assertEquals(Status.Code.CANCELLED, statusCaptor.getValue().getCode());
+  }
+
   @Test
   public void exceptionInOnMessageTakesPrecedenceOverServer() {
     DelayedExecutor executor = new DelayedExecutor();
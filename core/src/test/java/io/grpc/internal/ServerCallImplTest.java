@@ -27,6 +27,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -51,6 +52,7 @@ import io.perfmark.PerfMark;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -58,6 +60,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -192,6 +195,38 @@ public class ServerCallImplTest {
     verify(stream).flush();
   }
 
+  @Test
+  public void sendMessages_flushesOnce() {
+    call.sendHeaders(new Metadata());
+    call.sendMessages(Arrays.asList(1L, 2L, 3L));
+
+    InOrder inOrder = inOrder(stream);
+    inOrder.verify(stream, times(3)).writeMessage(isA(InputStream.class));
+    inOrder.verify(stream).flush();
+  }
+
+  @Test
+  public void sendMessages_serverSendsOne_closeOnSecondMessage() {
+    ServerCallImpl<Long, Long> serverCall = new ServerCallImpl<>(
+        stream,
+        UNARY_METHOD,
+        requestHeaders,
+        context,
+        DecompressorRegistry.getDefaultInstance(),
+        CompressorRegistry.getDefaultInstance(),
+        serverCallTracer,
+        PerfMark.createTag());
+    serverCall.sendHeaders(new Metadata());
+    serverCall.sendMessages(Arrays.asList(1L, 2L));
+
+    verify(stream, times(1)).writeMessage(any(InputStream.class));
+    verify(stream, never()).flush();
+    ArgumentCaptor<Status> statusCaptor = ArgumentCaptor.forClass(Status.class);
+    verify(stream).cancel(statusCaptor.capture());
+    assertEquals(Status.Code.INTERNAL, statusCaptor.getValue().getCode());
+    assertEquals(ServerCallImpl.TOO_MANY_RESPONSES, statusCaptor.getValue().getDescription());
+  }
+
   @Test
   public void sendMessage_failsOnClosed() {
     call.sendHeaders(new Metadata());
@@ -101,4 +101,17 @@ public class ServerImplBuilderTest {
     List<? extends ServerStreamTracer.Factory> factories = builder.getTracerFactories();
     assertThat(factories).containsExactly(DUMMY_USER_TRACER);
   }
+
+  @Test
+  public void threadPerCallExecutor() {
+    builder.threadPerCallExecutor();
+
+    ThreadPerTaskExecutor virtualThreadExecutor = ThreadPerTaskExecutor.getVirtualThreadExecutor();
+    if (virtualThreadExecutor != null) {
+      assertThat(builder.getExecutorPool().getObject()).isSameInstanceAs(virtualThreadExecutor);
+    } else {
+      // Falls back to the default executor
+      assertThat(builder.getExecutorPool()).isInstanceOf(SharedResourcePool.class);
+    }
+  }
 }
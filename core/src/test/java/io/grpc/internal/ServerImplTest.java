@@ -708,8 +708,11 @@ public class ServerImplTest {
     verify(stream).close(status, trailers);
 
     streamListener.closed(Status.OK);
+    verify(stream, never()).releaseRequestHeaders();
     assertEquals(1, executor.runDueTasks());
     verify(callListener).onComplete();
+    // Headers are only released once the application has seen the end of the call.
+    verify(stream).releaseRequestHeaders();
 
     verify(stream, atLeast(1)).statsTraceContext();
     verifyNoMoreInteractions(callListener);
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link StripedLongCounters}. */
+@RunWith(JUnit4.class)
+public class StripedLongCountersTest {
+
+  @Test
+  public void countsFromManyThreads() throws Exception {
+    final StripedLongCounters counters = new StripedLongCounters(2);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      final int counter = i % 2;
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            counters.increment(counter);
+            counters.increment(counter);
+            counters.decrement(counter);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(counters.sum(0)).isEqualTo(4000);
+    assertThat(counters.sum(1)).isEqualTo(4000);
+  }
+
+  @Test
+  public void sumThenReset() {
+    StripedLongCounters counters = new StripedLongCounters(2);
+    counters.increment(0);
+    counters.increment(0);
+    counters.increment(1);
+
+    assertThat(counters.sumThenReset(0)).isEqualTo(2);
+    assertThat(counters.sum(0)).isEqualTo(0);
+    assertThat(counters.sum(1)).isEqualTo(1);
+  }
+
+  @Test
+  public void reset() {
+    StripedLongCounters counters = new StripedLongCounters(2);
+    counters.increment(0);
+    counters.increment(1);
+
+    counters.reset();
+    assertThat(counters.sum(0)).isEqualTo(0);
+    assertThat(counters.sum(1)).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tooManyCounters() {
+    new StripedLongCounters(9);
+  }
+}
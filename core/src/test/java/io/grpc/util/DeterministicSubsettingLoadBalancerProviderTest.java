@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.internal.JsonParser;
+import io.grpc.util.DeterministicSubsettingLoadBalancer.DeterministicSubsettingLoadBalancerConfig;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link DeterministicSubsettingLoadBalancerProvider}. */
+@RunWith(JUnit4.class)
+public class DeterministicSubsettingLoadBalancerProviderTest {
+  private final DeterministicSubsettingLoadBalancerProvider provider =
+      new DeterministicSubsettingLoadBalancerProvider();
+
+  @Test
+  public void provided() {
+    LoadBalancerProvider registered = LoadBalancerRegistry.getDefaultRegistry()
+        .getProvider(DeterministicSubsettingLoadBalancerProvider.POLICY_NAME);
+    assertThat(registered).isInstanceOf(DeterministicSubsettingLoadBalancerProvider.class);
+  }
+
+  @Test
+  public void providesLoadBalancer() {
+    assertThat(provider.newLoadBalancer(mock(Helper.class)))
+        .isInstanceOf(DeterministicSubsettingLoadBalancer.class);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_defaults() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"childPolicy\": [{\"round_robin\": {}}]}"));
+
+    assertThat(configOrError.getConfig()).isNotNull();
+    DeterministicSubsettingLoadBalancerConfig config =
+        (DeterministicSubsettingLoadBalancerConfig) configOrError.getConfig();
+    assertThat(config.subsetSize).isEqualTo(20);
+    assertThat(config.clientId).isNull();
+    assertThat(config.childPolicy.getProvider().getPolicyName()).isEqualTo("round_robin");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_allFields() throws IOException {
+    String lbConfig =
+        "{\"subsetSize\": 5,"
+            + "\"clientId\": \"client-42\","
+            + "\"childPolicy\": [{\"unknown_policy\": {}}, {\"pick_first\": {}}]}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+
+    DeterministicSubsettingLoadBalancerConfig config =
+        (DeterministicSubsettingLoadBalancerConfig) configOrError.getConfig();
+    assertThat(config.subsetSize).isEqualTo(5);
+    assertThat(config.clientId).isEqualTo("client-42");
+    assertThat(config.childPolicy.getProvider().getPolicyName()).isEqualTo("pick_first");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_missingChildPolicy() throws IOException {
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject("{\"subsetSize\": 5}"));
+
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getDescription()).contains("No child policy");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalidSubsetSize() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(parseJsonObject(
+        "{\"subsetSize\": 0, \"childPolicy\": [{\"round_robin\": {}}]}"));
+
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getCause()).hasMessageThat().contains("subsetSize");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> parseJsonObject(String json) throws IOException {
+    return (Map<String, ?>) JsonParser.parse(json);
+  }
+}
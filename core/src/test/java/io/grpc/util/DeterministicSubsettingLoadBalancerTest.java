@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.Attributes;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.Status;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.util.DeterministicSubsettingLoadBalancer.DeterministicSubsettingLoadBalancerConfig;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+
+/** Unit tests for {@link DeterministicSubsettingLoadBalancer}. */
+@RunWith(JUnit4.class)
+public class DeterministicSubsettingLoadBalancerTest {
+  private static final Object CHILD_CONFIG = new Object();
+
+  private final Helper helper = mock(Helper.class);
+  private final LoadBalancer childLb = mock(LoadBalancer.class);
+  private final PolicySelection childPolicy =
+      new PolicySelection(new FakeLoadBalancerProvider(), CHILD_CONFIG);
+  private final List<EquivalentAddressGroup> servers = new ArrayList<>();
+  private DeterministicSubsettingLoadBalancer loadBalancer;
+
+  @Before
+  public void setUp() {
+    for (int i = 0; i < 10; i++) {
+      servers.add(newEndpoint(i));
+    }
+    loadBalancer = new DeterministicSubsettingLoadBalancer(helper, new Random(0));
+  }
+
+  @Test
+  public void fewerEndpointsThanSubsetSize_childGetsAllEndpoints() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(servers, 10, "client"));
+
+    ResolvedAddresses childAddresses = childResolvedAddresses();
+    assertThat(childAddresses.getAddresses()).isEqualTo(servers);
+    assertThat(childAddresses.getLoadBalancingPolicyConfig()).isSameInstanceAs(CHILD_CONFIG);
+  }
+
+  @Test
+  public void childGetsSubsetInResolvedOrder() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(servers, 3, "client"));
+
+    List<EquivalentAddressGroup> subset = childResolvedAddresses().getAddresses();
+    assertThat(subset).hasSize(3);
+    assertThat(subset).isInOrder(new Comparator<EquivalentAddressGroup>() {
+      @Override
+      public int compare(EquivalentAddressGroup a, EquivalentAddressGroup b) {
+        return Integer.compare(servers.indexOf(a), servers.indexOf(b));
+      }
+    });
+    assertThat(childResolvedAddresses().getLoadBalancingPolicyConfig())
+        .isSameInstanceAs(CHILD_CONFIG);
+  }
+
+  @Test
+  public void sameClientId_selectsSameSubset() {
+    List<EquivalentAddressGroup> shuffled = new ArrayList<>(servers);
+    Collections.shuffle(shuffled, new Random(1));
+    long clientHash = DeterministicSubsettingLoadBalancer.clientHash("client");
+
+    assertThat(DeterministicSubsettingLoadBalancer.selectSubset(shuffled, 3, clientHash))
+        .containsExactlyElementsIn(
+            DeterministicSubsettingLoadBalancer.selectSubset(servers, 3, clientHash));
+  }
+
+  @Test
+  public void endpointAttributes_doNotAffectSubset() {
+    List<EquivalentAddressGroup> withAttributes = new ArrayList<>();
+    for (EquivalentAddressGroup eag : servers) {
+      withAttributes.add(new EquivalentAddressGroup(
+          eag.getAddresses(),
+          Attributes.newBuilder().set(Attributes.Key.<String>create("k"), "v").build()));
+    }
+    long clientHash = DeterministicSubsettingLoadBalancer.clientHash("client");
+
+    assertThat(addressesOf(
+        DeterministicSubsettingLoadBalancer.selectSubset(withAttributes, 3, clientHash)))
+        .isEqualTo(addressesOf(
+            DeterministicSubsettingLoadBalancer.selectSubset(servers, 3, clientHash)));
+  }
+
+  @Test
+  public void clientsSpreadOverEndpoints() {
+    List<EquivalentAddressGroup> endpoints = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      endpoints.add(newEndpoint(i));
+    }
+    int[] clientsPerEndpoint = new int[endpoints.size()];
+    for (int client = 0; client < 1000; client++) {
+      for (EquivalentAddressGroup eag : DeterministicSubsettingLoadBalancer.selectSubset(
+          endpoints, 10, DeterministicSubsettingLoadBalancer.clientHash("client" + client))) {
+        clientsPerEndpoint[endpoints.indexOf(eag)]++;
+      }
+    }
+    // Each endpoint is expected to be selected by 100 clients, with a standard deviation of 9.5.
+    for (int count : clientsPerEndpoint) {
+      assertThat(count).isAtLeast(50);
+      assertThat(count).isAtMost(150);
+    }
+  }
+
+  @Test
+  public void endpointRemoved_onlyThatEndpointIsReplaced() {
+    for (int client = 0; client < 20; client++) {
+      long clientHash = DeterministicSubsettingLoadBalancer.clientHash("client" + client);
+      List<EquivalentAddressGroup> subset =
+          DeterministicSubsettingLoadBalancer.selectSubset(servers, 3, clientHash);
+      for (EquivalentAddressGroup removed : servers) {
+        List<EquivalentAddressGroup> remaining = new ArrayList<>(servers);
+        remaining.remove(removed);
+        Set<EquivalentAddressGroup> newSubset = new HashSet<>(
+            DeterministicSubsettingLoadBalancer.selectSubset(remaining, 3, clientHash));
+
+        Set<EquivalentAddressGroup> kept = new HashSet<>(subset);
+        kept.remove(removed);
+        assertThat(newSubset).hasSize(3);
+        assertThat(newSubset).containsAtLeastElementsIn(kept);
+      }
+    }
+  }
+
+  @Test
+  public void endpointAdded_atMostOneEndpointIsReplaced() {
+    List<EquivalentAddressGroup> moreServers = new ArrayList<>(servers);
+    moreServers.add(newEndpoint(servers.size()));
+    for (int client = 0; client < 20; client++) {
+      long clientHash = DeterministicSubsettingLoadBalancer.clientHash("client" + client);
+      Set<EquivalentAddressGroup> subset = new HashSet<>(
+          DeterministicSubsettingLoadBalancer.selectSubset(servers, 3, clientHash));
+      Set<EquivalentAddressGroup> newSubset = new HashSet<>(
+          DeterministicSubsettingLoadBalancer.selectSubset(moreServers, 3, clientHash));
+
+      newSubset.retainAll(subset);
+      assertThat(newSubset.size()).isAtLeast(2);
+    }
+  }
+
+  @Test
+  public void noClientId_subsetIsStableAcrossUpdates() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(servers, 3, null));
+    List<EquivalentAddressGroup> subset = childResolvedAddresses().getAddresses();
+
+    List<EquivalentAddressGroup> reversed = new ArrayList<>(servers);
+    Collections.reverse(reversed);
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(reversed, 3, null));
+
+    ArgumentCaptor<ResolvedAddresses> captor = ArgumentCaptor.forClass(ResolvedAddresses.class);
+    verify(childLb, times(2)).handleResolvedAddresses(captor.capture());
+    assertThat(captor.getValue().getAddresses()).containsExactlyElementsIn(subset);
+  }
+
+  @Test
+  public void delegatesToChild() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(servers, 3, "client"));
+
+    loadBalancer.requestConnection();
+    verify(childLb).requestConnection();
+
+    Status error = Status.UNAVAILABLE.withDescription("resolver error");
+    loadBalancer.handleNameResolutionError(error);
+    verify(childLb).handleNameResolutionError(error);
+
+    loadBalancer.shutdown();
+    verify(childLb).shutdown();
+  }
+
+  private ResolvedAddresses newResolvedAddresses(
+      List<EquivalentAddressGroup> addresses, int subsetSize, String clientId) {
+    return ResolvedAddresses.newBuilder()
+        .setAddresses(addresses)
+        .setLoadBalancingPolicyConfig(
+            new DeterministicSubsettingLoadBalancerConfig(subsetSize, clientId, childPolicy))
+        .build();
+  }
+
+  private ResolvedAddresses childResolvedAddresses() {
+    ArgumentCaptor<ResolvedAddresses> captor = ArgumentCaptor.forClass(ResolvedAddresses.class);
+    verify(childLb).handleResolvedAddresses(captor.capture());
+    return captor.getValue();
+  }
+
+  private static List<List<SocketAddress>> addressesOf(List<EquivalentAddressGroup> eags) {
+    List<List<SocketAddress>> addresses = new ArrayList<>();
+    for (EquivalentAddressGroup eag : eags) {
+      addresses.add(eag.getAddresses());
+    }
+    return addresses;
+  }
+
+  private static EquivalentAddressGroup newEndpoint(int i) {
+    return new EquivalentAddressGroup(new FakeSocketAddress("server" + i));
+  }
+
+  private final class FakeLoadBalancerProvider extends LoadBalancerProvider {
+    @Override
+    public boolean isAvailable() {
+      return true;
+    }
+
+    @Override
+    public int getPriority() {
+      return 5;
+    }
+
+    @Override
+    public String getPolicyName() {
+      return "fake_child";
+    }
+
+    @Override
+    public LoadBalancer newLoadBalancer(Helper helper) {
+      return childLb;
+    }
+  }
+
+  private static class FakeSocketAddress extends SocketAddress {
+    final String name;
+
+    FakeSocketAddress(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof FakeSocketAddress && ((FakeSocketAddress) o).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "FakeSocketAddress-" + name;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.FakeClock;
+import io.grpc.internal.JsonParser;
+import io.grpc.util.OutlierDetectionLoadBalancer.OutlierDetectionLoadBalancerConfig;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link OutlierDetectionLoadBalancerProvider}. */
+@RunWith(JUnit4.class)
+public class OutlierDetectionLoadBalancerProviderTest {
+  private final OutlierDetectionLoadBalancerProvider provider =
+      new OutlierDetectionLoadBalancerProvider();
+
+  @Test
+  public void provided() {
+    LoadBalancerProvider registered = LoadBalancerRegistry.getDefaultRegistry()
+        .getProvider(OutlierDetectionLoadBalancerProvider.POLICY_NAME);
+    assertThat(registered).isInstanceOf(OutlierDetectionLoadBalancerProvider.class);
+  }
+
+  @Test
+  public void providesLoadBalancer() {
+    Helper helper = mock(Helper.class);
+    when(helper.getSynchronizationContext()).thenReturn(
+        new SynchronizationContext(new Thread.UncaughtExceptionHandler() {
+          @Override
+          public void uncaughtException(Thread t, Throwable e) {
+            throw new AssertionError(e);
+          }
+        }));
+    when(helper.getScheduledExecutorService())
+        .thenReturn(new FakeClock().getScheduledExecutorService());
+    assertThat(provider.newLoadBalancer(helper))
+        .isInstanceOf(OutlierDetectionLoadBalancer.class);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_defaults() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(
+        parseJsonObject("{\"childPolicy\": [{\"round_robin\": {}}]}"));
+
+    assertThat(configOrError.getConfig()).isNotNull();
+    OutlierDetectionLoadBalancerConfig config =
+        (OutlierDetectionLoadBalancerConfig) configOrError.getConfig();
+    assertThat(config.intervalNanos).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+    assertThat(config.baseEjectionTimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+    assertThat(config.maxEjectionTimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(300));
+    assertThat(config.maxEjectionPercent).isEqualTo(10);
+    assertThat(config.successRateEjection).isNull();
+    assertThat(config.failurePercentageEjection).isNull();
+    assertThat(config.childPolicy.getProvider().getPolicyName()).isEqualTo("round_robin");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_allFields() throws IOException {
+    String lbConfig =
+        "{\"interval\": \"5s\","
+            + "\"baseEjectionTime\": \"1s\","
+            + "\"maxEjectionTime\": \"60s\","
+            + "\"maxEjectionPercent\": 50,"
+            + "\"successRateEjection\": {"
+            + "  \"stdevFactor\": 1500, \"enforcementPercentage\": 80,"
+            + "  \"minimumHosts\": 3, \"requestVolume\": 20},"
+            + "\"failurePercentageEjection\": {"
+            + "  \"threshold\": 70, \"enforcementPercentage\": 60,"
+            + "  \"minimumHosts\": 4, \"requestVolume\": 30},"
+            + "\"childPolicy\": [{\"unknown_policy\": {}}, {\"pick_first\": {}}]}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+
+    OutlierDetectionLoadBalancerConfig config =
+        (OutlierDetectionLoadBalancerConfig) configOrError.getConfig();
+    assertThat(config.intervalNanos).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+    assertThat(config.baseEjectionTimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    assertThat(config.maxEjectionTimeNanos).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+    assertThat(config.maxEjectionPercent).isEqualTo(50);
+    assertThat(config.successRateEjection.stdevFactor).isEqualTo(1500);
+    assertThat(config.successRateEjection.enforcementPercentage).isEqualTo(80);
+    assertThat(config.successRateEjection.minimumHosts).isEqualTo(3);
+    assertThat(config.successRateEjection.requestVolume).isEqualTo(20);
+    assertThat(config.failurePercentageEjection.threshold).isEqualTo(70);
+    assertThat(config.failurePercentageEjection.enforcementPercentage).isEqualTo(60);
+    assertThat(config.failurePercentageEjection.minimumHosts).isEqualTo(4);
+    assertThat(config.failurePercentageEjection.requestVolume).isEqualTo(30);
+    assertThat(config.childPolicy.getProvider().getPolicyName()).isEqualTo("pick_first");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_missingChildPolicy() throws IOException {
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject("{\"interval\": \"5s\"}"));
+
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getDescription()).contains("No child policy");
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalidPercentage() throws IOException {
+    ConfigOrError configOrError = provider.parseLoadBalancingPolicyConfig(parseJsonObject(
+        "{\"maxEjectionPercent\": 101, \"childPolicy\": [{\"round_robin\": {}}]}"));
+
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getCause())
+        .hasMessageThat().contains("maxEjectionPercent");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> parseJsonObject(String json) throws IOException {
+    return (Map<String, ?>) JsonParser.parse(json);
+  }
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.grpc.ConnectivityState.READY;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.CreateSubchannelArgs;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.LoadBalancer.SubchannelStateListener;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.FakeClock;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.util.OutlierDetectionLoadBalancer.CallCounter;
+import io.grpc.util.OutlierDetectionLoadBalancer.EndpointTracker;
+import io.grpc.util.OutlierDetectionLoadBalancer.FailurePercentageEjection;
+import io.grpc.util.OutlierDetectionLoadBalancer.OutlierDetectionLoadBalancerConfig;
+import io.grpc.util.OutlierDetectionLoadBalancer.SuccessRateEjection;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/** Unit tests for {@link OutlierDetectionLoadBalancer}. */
+@RunWith(JUnit4.class)
+public class OutlierDetectionLoadBalancerTest {
+  private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final ClientStreamTracer.StreamInfo STREAM_INFO =
+      ClientStreamTracer.StreamInfo.newBuilder().build();
+
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      new Thread.UncaughtExceptionHandler() {
+        @Override
+        public void uncaughtException(Thread t, Throwable e) {
+          throw new AssertionError(e);
+        }
+      });
+  private final FakeClock fakeClock = new FakeClock();
+  private final Helper helper = mock(Helper.class);
+  private final List<EquivalentAddressGroup> servers = new ArrayList<>();
+  private final Map<SocketAddress, Subchannel> subchannels = new LinkedHashMap<>();
+  private final Map<Subchannel, SubchannelStateListener> listeners = new HashMap<>();
+  private final PolicySelection roundRobin =
+      new PolicySelection(new SecretRoundRobinLoadBalancerProvider.Provider(), null);
+  private OutlierDetectionLoadBalancer loadBalancer;
+
+  @Before
+  public void setUp() {
+    for (int i = 0; i < 5; i++) {
+      SocketAddress address = new FakeSocketAddress("server" + i);
+      servers.add(new EquivalentAddressGroup(address));
+      subchannels.put(address, mock(Subchannel.class));
+    }
+    when(helper.getSynchronizationContext()).thenReturn(syncContext);
+    when(helper.getScheduledExecutorService())
+        .thenReturn(fakeClock.getScheduledExecutorService());
+    when(helper.createSubchannel(any(CreateSubchannelArgs.class)))
+        .then(new Answer<Subchannel>() {
+          @Override
+          public Subchannel answer(InvocationOnMock invocation) {
+            CreateSubchannelArgs args = (CreateSubchannelArgs) invocation.getArguments()[0];
+            final Subchannel subchannel =
+                subchannels.get(args.getAddresses().get(0).getAddresses().get(0));
+            when(subchannel.getAllAddresses()).thenReturn(args.getAddresses());
+            when(subchannel.getAttributes()).thenReturn(args.getAttributes());
+            doAnswer(new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                listeners.put(
+                    subchannel, (SubchannelStateListener) invocation.getArguments()[0]);
+                return null;
+              }
+            }).when(subchannel).start(any(SubchannelStateListener.class));
+            return subchannel;
+          }
+        });
+    loadBalancer = new OutlierDetectionLoadBalancer(
+        helper, fakeClock.getTimeProvider(), new Random(0));
+  }
+
+  @Test
+  public void noAlgorithms_noDetectionTimer() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(
+        newConfigBuilder().build()));
+    readyAll();
+
+    assertThat(fakeClock.numPendingTasks()).isEqualTo(0);
+    assertThat(pickedSubchannels(latestPicker(), 10)).hasSize(5);
+  }
+
+  @Test
+  public void failurePercentage_ejectsFailingEndpoint() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder()
+            .setThreshold(50)
+            .setMinimumHosts(3)
+            .setRequestVolume(10)
+            .build())
+        .build()));
+    readyAll();
+    Subchannel bad = subchannels.get(servers.get(0).getAddresses().get(0));
+
+    makeCalls(latestPicker(), 100, Collections.singleton(bad));
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+
+    Set<Subchannel> picked = pickedSubchannels(latestPicker(), 20);
+    assertThat(picked).hasSize(4);
+    assertThat(picked).doesNotContain(bad);
+    verify(helper, atLeastOnce()).refreshNameResolution();
+  }
+
+  @Test
+  public void successRate_ejectsOutlier() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setMaxEjectionPercent(20)
+        .setSuccessRateEjection(SuccessRateEjection.newBuilder()
+            .setStdevFactor(1000)
+            .setRequestVolume(10)
+            .build())
+        .build()));
+    readyAll();
+    Subchannel bad = subchannels.get(servers.get(3).getAddresses().get(0));
+
+    makeCalls(latestPicker(), 100, Collections.singleton(bad));
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+
+    assertThat(pickedSubchannels(latestPicker(), 20)).doesNotContain(bad);
+    EndpointTracker tracker = loadBalancer.getTrackers().get(servers.get(3).getAddresses().get(0));
+    assertThat(tracker.isEjected()).isTrue();
+    assertThat(tracker.getEjectionTimeMultiplier()).isEqualTo(1);
+  }
+
+  @Test
+  public void successRate_notEnoughHosts() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setMaxEjectionPercent(100)
+        .setSuccessRateEjection(SuccessRateEjection.newBuilder()
+            .setStdevFactor(1000)
+            .setMinimumHosts(6)
+            .setRequestVolume(10)
+            .build())
+        .build()));
+    readyAll();
+    Subchannel bad = subchannels.get(servers.get(3).getAddresses().get(0));
+
+    makeCalls(latestPicker(), 100, Collections.singleton(bad));
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+
+    assertThat(pickedSubchannels(latestPicker(), 20)).hasSize(5);
+  }
+
+  @Test
+  public void maxEjectionPercent_limitsEjections() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setMaxEjectionPercent(20)
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder()
+            .setThreshold(50)
+            .setRequestVolume(10)
+            .build())
+        .build()));
+    readyAll();
+    Set<Subchannel> bad = new HashSet<>(Arrays.asList(
+        subchannels.get(servers.get(0).getAddresses().get(0)),
+        subchannels.get(servers.get(1).getAddresses().get(0))));
+
+    makeCalls(latestPicker(), 100, bad);
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+
+    assertThat(pickedSubchannels(latestPicker(), 20)).hasSize(4);
+  }
+
+  @Test
+  public void unejectsAfterBaseEjectionTime() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setBaseEjectionTimeNanos(TimeUnit.SECONDS.toNanos(30))
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder()
+            .setThreshold(50)
+            .setMinimumHosts(3)
+            .setRequestVolume(10)
+            .build())
+        .build()));
+    readyAll();
+    Subchannel bad = subchannels.get(servers.get(0).getAddresses().get(0));
+    makeCalls(latestPicker(), 100, Collections.singleton(bad));
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+    assertThat(pickedSubchannels(latestPicker(), 20)).doesNotContain(bad);
+
+    fakeClock.forwardNanos(2 * INTERVAL_NANOS);
+    assertThat(pickedSubchannels(latestPicker(), 20)).doesNotContain(bad);
+
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+    assertThat(pickedSubchannels(latestPicker(), 20)).contains(bad);
+  }
+
+  @Test
+  public void ejectedSubchannel_hidesStateChangesUntilUnejected() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder()
+            .setThreshold(50)
+            .setMinimumHosts(3)
+            .setRequestVolume(10)
+            .build())
+        .build()));
+    readyAll();
+    Subchannel bad = subchannels.get(servers.get(0).getAddresses().get(0));
+    makeCalls(latestPicker(), 100, Collections.singleton(bad));
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+
+    listeners.get(bad).onSubchannelState(ConnectivityStateInfo.forNonError(READY));
+    assertThat(pickedSubchannels(latestPicker(), 20)).doesNotContain(bad);
+
+    // Disabling the ejection algorithms un-ejects all endpoints.
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder().build()));
+    assertThat(pickedSubchannels(latestPicker(), 20)).contains(bad);
+    assertThat(fakeClock.numPendingTasks()).isEqualTo(0);
+  }
+
+  @Test
+  public void removedAddress_dropsTracker() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder().build())
+        .build()));
+    assertThat(loadBalancer.getTrackers()).hasSize(5);
+
+    servers.remove(0);
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder().build())
+        .build()));
+    assertThat(loadBalancer.getTrackers()).hasSize(4);
+  }
+
+  @Test
+  public void picker_keepsChildStreamTracer() {
+    final ClientStreamTracer childTracer = mock(ClientStreamTracer.class);
+    final ClientStreamTracer.Factory childFactory = new ClientStreamTracer.Factory() {
+      @Override
+      public ClientStreamTracer newClientStreamTracer(
+          ClientStreamTracer.StreamInfo info, Metadata headers) {
+        return childTracer;
+      }
+    };
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setFailurePercentageEjection(FailurePercentageEjection.newBuilder().build())
+        .setChildPolicy(new PolicySelection(new FakeLoadBalancerProvider(childFactory), null))
+        .build()));
+
+    PickResult result = latestPicker().pickSubchannel(mock(PickSubchannelArgs.class));
+    ClientStreamTracer tracer =
+        result.getStreamTracerFactory().newClientStreamTracer(STREAM_INFO, new Metadata());
+    tracer.streamClosed(Status.OK);
+
+    verify(childTracer).streamClosed(Status.OK);
+    EndpointTracker tracker = loadBalancer.getTrackers().get(servers.get(0).getAddresses().get(0));
+    tracker.swapCallCounters();
+    assertThat(tracker.inactiveVolume()).isEqualTo(1);
+    // The factory is reused for the next picks.
+    assertThat(latestPicker().pickSubchannel(mock(PickSubchannelArgs.class))
+        .getStreamTracerFactory()).isSameInstanceAs(result.getStreamTracerFactory());
+  }
+
+  @Test
+  public void successRate_zeroRequestVolume_endpointWithoutCallsNotEjected() {
+    loadBalancer.handleResolvedAddresses(newResolvedAddresses(newConfigBuilder()
+        .setMaxEjectionPercent(20)
+        .setSuccessRateEjection(SuccessRateEjection.newBuilder()
+            .setStdevFactor(1000)
+            .setMinimumHosts(3)
+            .setRequestVolume(0)
+            .build())
+        .build()));
+    readyAll();
+    Subchannel idle = subchannels.get(servers.get(4).getAddresses().get(0));
+
+    // Successful calls to all the endpoints but one.
+    SubchannelPicker picker = latestPicker();
+    for (int i = 0; i < 100; i++) {
+      PickResult result = picker.pickSubchannel(mock(PickSubchannelArgs.class));
+      if (((ForwardingSubchannel) result.getSubchannel()).delegate() != idle) {
+        result.getStreamTracerFactory().newClientStreamTracer(STREAM_INFO, new Metadata())
+            .streamClosed(Status.OK);
+      }
+    }
+    fakeClock.forwardNanos(INTERVAL_NANOS);
+
+    assertThat(pickedSubchannels(latestPicker(), 20)).contains(idle);
+    assertThat(loadBalancer.getTrackers().get(servers.get(4).getAddresses().get(0)).isEjected())
+        .isFalse();
+  }
+
+  @Test
+  public void endpointTracker_ejectionTimeGrowsUpToMax() {
+    OutlierDetectionLoadBalancerConfig config = newConfigBuilder()
+        .setBaseEjectionTimeNanos(10)
+        .setMaxEjectionTimeNanos(25)
+        .build();
+    EndpointTracker tracker = new EndpointTracker();
+
+    tracker.eject(0);
+    assertThat(tracker.ejectionExpired(config, 9)).isFalse();
+    assertThat(tracker.ejectionExpired(config, 10)).isTrue();
+    tracker.uneject();
+
+    tracker.eject(100);
+    assertThat(tracker.ejectionExpired(config, 119)).isFalse();
+    assertThat(tracker.ejectionExpired(config, 120)).isTrue();
+    tracker.uneject();
+
+    tracker.eject(200);
+    assertThat(tracker.ejectionExpired(config, 224)).isFalse();
+    assertThat(tracker.ejectionExpired(config, 225)).isTrue();
+    tracker.uneject();
+
+    tracker.decrementEjectionTimeMultiplier();
+    assertThat(tracker.getEjectionTimeMultiplier()).isEqualTo(2);
+  }
+
+  @Test
+  public void callCounter_countsFromManyThreads() throws Exception {
+    final CallCounter counter = new CallCounter();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final boolean success = i % 2 == 0;
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            counter.record(success);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(counter.successCount()).isEqualTo(2000);
+    assertThat(counter.failureCount()).isEqualTo(2000);
+    counter.reset();
+    assertThat(counter.successCount()).isEqualTo(0);
+    assertThat(counter.failureCount()).isEqualTo(0);
+  }
+
+  private OutlierDetectionLoadBalancerConfig.Builder newConfigBuilder() {
+    return OutlierDetectionLoadBalancerConfig.newBuilder()
+        .setIntervalNanos(INTERVAL_NANOS)
+        .setChildPolicy(roundRobin);
+  }
+
+  private ResolvedAddresses newResolvedAddresses(OutlierDetectionLoadBalancerConfig config) {
+    return ResolvedAddresses.newBuilder()
+        .setAddresses(new ArrayList<>(servers))
+        .setLoadBalancingPolicyConfig(config)
+        .build();
+  }
+
+  private void readyAll() {
+    for (SubchannelStateListener listener : listeners.values()) {
+      listener.onSubchannelState(ConnectivityStateInfo.forNonError(READY));
+    }
+  }
+
+  private SubchannelPicker latestPicker() {
+    ArgumentCaptor<SubchannelPicker> pickerCaptor = ArgumentCaptor.forClass(SubchannelPicker.class);
+    verify(helper, atLeastOnce())
+        .updateBalancingState(any(ConnectivityState.class), pickerCaptor.capture());
+    return pickerCaptor.getValue();
+  }
+
+  /**
+   * Makes calls through the picker, failing those that go to one of the given subchannels.
+   */
+  private static void makeCalls(SubchannelPicker picker, int count, Set<Subchannel> failing) {
+    for (int i = 0; i < count; i++) {
+      PickResult result = picker.pickSubchannel(mock(PickSubchannelArgs.class));
+      Subchannel subchannel = ((ForwardingSubchannel) result.getSubchannel()).delegate();
+      result.getStreamTracerFactory().newClientStreamTracer(STREAM_INFO, new Metadata())
+          .streamClosed(failing.contains(subchannel) ? Status.UNAVAILABLE : Status.OK);
+    }
+  }
+
+  private static Set<Subchannel> pickedSubchannels(SubchannelPicker picker, int picks) {
+    Set<Subchannel> picked = new HashSet<>();
+    for (int i = 0; i < picks; i++) {
+      Subchannel subchannel = picker.pickSubchannel(mock(PickSubchannelArgs.class)).getSubchannel();
+      if (subchannel != null) {
+        picked.add(((ForwardingSubchannel) subchannel).delegate());
+      }
+    }
+    return picked;
+  }
+
+  /**
+   * Creates a subchannel for the first address and always picks it with the given tracer.
+   */
+  private final class FakeLoadBalancerProvider extends io.grpc.LoadBalancerProvider {
+    private final ClientStreamTracer.Factory tracerFactory;
+
+    FakeLoadBalancerProvider(ClientStreamTracer.Factory tracerFactory) {
+      this.tracerFactory = tracerFactory;
+    }
+
+    @Override
+    public boolean isAvailable() {
+      return true;
+    }
+
+    @Override
+    public int getPriority() {
+      return 5;
+    }
+
+    @Override
+    public String getPolicyName() {
+      return "fake";
+    }
+
+    @Override
+    public io.grpc.LoadBalancer newLoadBalancer(final Helper childHelper) {
+      return new io.grpc.LoadBalancer() {
+        @Override
+        public void handleResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+          final Subchannel subchannel = childHelper.createSubchannel(
+              CreateSubchannelArgs.newBuilder()
+                  .setAddresses(resolvedAddresses.getAddresses().get(0))
+                  .build());
+          childHelper.updateBalancingState(READY, new SubchannelPicker() {
+            @Override
+            public PickResult pickSubchannel(PickSubchannelArgs args) {
+              return PickResult.withSubchannel(subchannel, tracerFactory);
+            }
+          });
+        }
+
+        @Override
+        public void handleNameResolutionError(Status error) {}
+
+        @Override
+        public void shutdown() {}
+      };
+    }
+  }
+
+  private static class FakeSocketAddress extends SocketAddress {
+    final String name;
+
+    FakeSocketAddress(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String toString() {
+      return "FakeSocketAddress-" + name;
+    }
+  }
+}
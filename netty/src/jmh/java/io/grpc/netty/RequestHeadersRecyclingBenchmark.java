@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.netty;
+
+import static io.grpc.internal.GrpcUtil.DEFAULT_MAX_HEADER_LIST_SIZE;
+
+import io.grpc.Metadata;
+import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2RequestHeaders;
+import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2ServerHeadersDecoder;
+import io.grpc.netty.GrpcHttp2HeadersUtils.RequestHeadersPool;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersEncoder;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2HeadersEncoder;
+import io.netty.util.AsciiString;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmark for the per-call cost of turning HTTP/2 request headers into {@link Metadata}, with
+ * and without {@link NettyServerBuilder#recycleRequestHeaders}. Run with {@code
+ * -PjmhProfilers=gc} to compare the allocation per RPC.
+ */
+@State(Scope.Thread)
+public class RequestHeadersRecyclingBenchmark {
+
+  @Param({"false", "true"})
+  public boolean recycle;
+
+  @Param({"0", "5", "20"})
+  public int customHeaderCount;
+
+  private GrpcHttp2ServerHeadersDecoder decoder;
+  private ByteBuf encodedHeaders;
+
+  @Setup
+  public void setUp() throws Exception {
+    decoder = new GrpcHttp2ServerHeadersDecoder(
+        DEFAULT_MAX_HEADER_LIST_SIZE,
+        recycle ? new RequestHeadersPool(RequestHeadersPool.DEFAULT_CAPACITY) : null);
+
+    Http2Headers headers = new DefaultHttp2Headers(false);
+    headers.add(AsciiString.of(":method"), AsciiString.of("POST"))
+        .add(AsciiString.of(":scheme"), AsciiString.of("http"))
+        .add(AsciiString.of(":path"),
+            AsciiString.of("/google.pubsub.v2.PublisherService/CreateTopic"))
+        .add(AsciiString.of(":authority"), AsciiString.of("pubsub.googleapis.com"))
+        .add(AsciiString.of("te"), AsciiString.of("trailers"))
+        .add(AsciiString.of("content-type"), AsciiString.of("application/grpc+proto"))
+        .add(AsciiString.of("grpc-timeout"), AsciiString.of("1S"));
+    for (int i = 0; i < customHeaderCount; i++) {
+      headers.add(AsciiString.of("custom-" + i), AsciiString.of("value-" + i));
+    }
+    // Never index, so that every decode sees the same literal bytes.
+    Http2HeadersEncoder encoder = new DefaultHttp2HeadersEncoder(
+        new Http2HeadersEncoder.SensitivityDetector() {
+          @Override
+          public boolean isSensitive(CharSequence name, CharSequence value) {
+            return true;
+          }
+        });
+    encodedHeaders = Unpooled.buffer();
+    encoder.encodeHeaders(1, headers, encodedHeaders);
+  }
+
+  @TearDown
+  public void tearDown() {
+    encodedHeaders.release();
+  }
+
+  /**
+   * Decodes one request's headers into {@link Metadata} and, when recycling, releases them as the
+   * server does once the call completes.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Metadata decodeToMetadata() throws Exception {
+    GrpcHttp2RequestHeaders headers = (GrpcHttp2RequestHeaders)
+        decoder.decodeHeaders(1, encodedHeaders.duplicate());
+    Metadata metadata;
+    if (headers.pool() != null) {
+      metadata = headers.toMetadata();
+      headers.pool().release(headers);
+    } else {
+      metadata = Utils.convertHeaders(headers);
+    }
+    return metadata;
+  }
+}
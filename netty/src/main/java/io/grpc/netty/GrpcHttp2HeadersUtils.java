@@ -40,6 +40,7 @@ import static io.netty.util.AsciiString.isUpperCase;
 
 import com.google.common.io.BaseEncoding;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.grpc.InternalMetadata;
 import io.grpc.Metadata;
 import io.netty.handler.codec.CharSequenceValueConverter;
 import io.netty.handler.codec.http2.DefaultHttp2HeadersDecoder;
@@ -47,25 +48,71 @@ import io.netty.handler.codec.http2.Http2Headers;
 import io.netty.util.AsciiString;
 import io.netty.util.internal.PlatformDependent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import javax.annotation.Nullable;
 
 /**
  * A headers utils providing custom gRPC implementations of {@link DefaultHttp2HeadersDecoder}.
  */
 class GrpcHttp2HeadersUtils {
   static final class GrpcHttp2ServerHeadersDecoder extends DefaultHttp2HeadersDecoder {
+    @Nullable
+    private final RequestHeadersPool headersPool;
 
     GrpcHttp2ServerHeadersDecoder(long maxHeaderListSize) {
+      this(maxHeaderListSize, null);
+    }
+
+    GrpcHttp2ServerHeadersDecoder(
+        long maxHeaderListSize, @Nullable RequestHeadersPool headersPool) {
       super(true, maxHeaderListSize);
+      this.headersPool = headersPool;
     }
 
     @Override
     protected GrpcHttp2InboundHeaders newHeaders() {
+      if (headersPool != null) {
+        return headersPool.acquire(numberOfHeadersGuess());
+      }
       return new GrpcHttp2RequestHeaders(numberOfHeadersGuess());
     }
   }
 
+  /**
+   * A bounded pool of {@link GrpcHttp2RequestHeaders}, together with the {@link Metadata} exposing
+   * them, for the streams of a single server transport. Headers are acquired on the event loop when
+   * a request arrives and released by {@link NettyServerStream#releaseRequestHeaders} from whichever
+   * thread delivered the end of the call to the application, so the pool is thread-safe. Headers
+   * that are never released, e.g. for rejected requests, are simply garbage collected.
+   */
+  static final class RequestHeadersPool {
+    static final int DEFAULT_CAPACITY = 128;
+
+    private final ArrayBlockingQueue<GrpcHttp2RequestHeaders> freeHeaders;
+
+    RequestHeadersPool(int capacity) {
+      freeHeaders = new ArrayBlockingQueue<>(capacity);
+    }
+
+    GrpcHttp2RequestHeaders acquire(int numHeadersGuess) {
+      GrpcHttp2RequestHeaders headers = freeHeaders.poll();
+      if (headers == null) {
+        headers = new GrpcHttp2RequestHeaders(numHeadersGuess, this);
+      }
+      return headers;
+    }
+
+    void release(GrpcHttp2RequestHeaders headers) {
+      checkArgument(headers.pool == this, "headers not from this pool");
+      headers.resetForReuse();
+      // Drop the headers if the pool is full.
+      freeHeaders.offer(headers);
+    }
+  }
+
   static final class GrpcHttp2ClientHeadersDecoder extends DefaultHttp2HeadersDecoder {
 
     GrpcHttp2ClientHeadersDecoder(long maxHeaderListSize) {
@@ -271,6 +318,15 @@ class GrpcHttp2HeadersUtils {
       return str;
     }
 
+    /**
+     * Clears all headers, keeping the backing arrays so the instance can be reused.
+     */
+    void resetForReuse() {
+      Arrays.fill(namesAndValues, null);
+      Arrays.fill(values, null);
+      namesAndValuesIdx = 0;
+    }
+
     private void expandHeadersAndValues() {
       int newValuesLen = Math.max(2, values.length + values.length / 2);
       int newNamesAndValuesLen = newValuesLen * 2;
@@ -331,8 +387,50 @@ class GrpcHttp2HeadersUtils {
     private AsciiString scheme;
     private AsciiString te;
 
+    @Nullable
+    private final RequestHeadersPool pool;
+    @Nullable
+    private Metadata metadata;
+
     GrpcHttp2RequestHeaders(int numHeadersGuess) {
+      this(numHeadersGuess, null);
+    }
+
+    GrpcHttp2RequestHeaders(int numHeadersGuess, @Nullable RequestHeadersPool pool) {
       super(numHeadersGuess);
+      this.pool = pool;
+    }
+
+    /**
+     * Returns the pool this instance should be released to once the call completes, or {@code
+     * null} if it is not recycled.
+     */
+    @Nullable
+    RequestHeadersPool pool() {
+      return pool;
+    }
+
+    /**
+     * Returns the non-pseudo headers as {@link Metadata}, backed by this instance's arrays. The
+     * {@link Metadata} object is reused across recycles of pooled headers.
+     */
+    Metadata toMetadata() {
+      if (metadata == null) {
+        metadata = InternalMetadata.newMetadata(numHeaders(), namesAndValues());
+      } else {
+        InternalMetadata.resetMetadata(metadata, numHeaders(), namesAndValues());
+      }
+      return metadata;
+    }
+
+    @Override
+    void resetForReuse() {
+      super.resetForReuse();
+      path = null;
+      authority = null;
+      method = null;
+      scheme = null;
+      te = null;
     }
 
     @Override
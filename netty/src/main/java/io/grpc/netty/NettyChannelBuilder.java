@@ -108,6 +108,7 @@ public final class NettyChannelBuilder extends
       = new DefaultProtocolNegotiator();
   private final boolean freezeProtocolNegotiatorFactory;
   private LocalSocketPicker localSocketPicker;
+  private WriteQueue.FlushPolicy flushPolicy = WriteQueue.FlushPolicy.DEFAULT;
 
   /**
    * If true, indicates that the transport may use the GET method for RPCs, and may include the
@@ -485,6 +486,26 @@ public final class NettyChannelBuilder extends
     return this;
   }
 
+  /**
+   * Sets how the transport batches writes into flushes to the socket. By default, writes are
+   * flushed as soon as there is nothing more queued for the connection. With a positive {@code
+   * maxFlushDelay}, a flush of fewer than {@code flushThresholdBytes} bytes of message data is held
+   * back for up to {@code maxFlushDelay}, so that writes from other calls can share the syscall. A
+   * flush is issued early whenever {@code flushThresholdBytes} accumulate; {@code 0} disables the
+   * byte threshold.
+   *
+   * <p>Delaying flushes trades latency for throughput, and only helps clients sending many small
+   * messages over a shared connection. The flush rate is reported through channelz socket stats.
+   */
+  public NettyChannelBuilder writeBatching(
+      int flushThresholdBytes, long maxFlushDelay, TimeUnit timeUnit) {
+    checkArgument(flushThresholdBytes >= 0, "flushThresholdBytes must be non-negative: %s",
+        flushThresholdBytes);
+    checkArgument(maxFlushDelay >= 0, "maxFlushDelay must be non-negative: %s", maxFlushDelay);
+    flushPolicy = new WriteQueue.FlushPolicy(flushThresholdBytes, timeUnit.toNanos(maxFlushDelay));
+    return this;
+  }
+
   /**
    * This class is meant to be overriden with a custom implementation of
    * {@link #createSocketAddress}.  The default implementation is a no-op.
@@ -532,7 +553,7 @@ public final class NettyChannelBuilder extends
         negotiator, channelFactory, channelOptions,
         eventLoopGroupPool, autoFlowControl, flowControlWindow, maxInboundMessageSize,
         maxHeaderListSize, keepAliveTimeNanos, keepAliveTimeoutNanos, keepAliveWithoutCalls,
-        transportTracerFactory, localSocketPicker, useGetForSafeMethods);
+        transportTracerFactory, localSocketPicker, useGetForSafeMethods, flushPolicy);
   }
 
   @VisibleForTesting
@@ -669,6 +690,7 @@ public final class NettyChannelBuilder extends
     private final TransportTracer.Factory transportTracerFactory;
     private final LocalSocketPicker localSocketPicker;
     private final boolean useGetForSafeMethods;
+    private final WriteQueue.FlushPolicy flushPolicy;
 
     private boolean closed;
 
@@ -679,7 +701,7 @@ public final class NettyChannelBuilder extends
         boolean autoFlowControl, int flowControlWindow, int maxMessageSize, int maxHeaderListSize,
         long keepAliveTimeNanos, long keepAliveTimeoutNanos, boolean keepAliveWithoutCalls,
         TransportTracer.Factory transportTracerFactory, LocalSocketPicker localSocketPicker,
-        boolean useGetForSafeMethods) {
+        boolean useGetForSafeMethods, WriteQueue.FlushPolicy flushPolicy) {
       this.protocolNegotiator = checkNotNull(protocolNegotiator, "protocolNegotiator");
       this.channelFactory = channelFactory;
       this.channelOptions = new HashMap<ChannelOption<?>, Object>(channelOptions);
@@ -697,6 +719,7 @@ public final class NettyChannelBuilder extends
       this.localSocketPicker =
           localSocketPicker != null ? localSocketPicker : new LocalSocketPicker();
       this.useGetForSafeMethods = useGetForSafeMethods;
+      this.flushPolicy = checkNotNull(flushPolicy, "flushPolicy");
     }
 
     @Override
@@ -730,7 +753,7 @@ public final class NettyChannelBuilder extends
           maxMessageSize, maxHeaderListSize, keepAliveTimeNanosState.get(), keepAliveTimeoutNanos,
           keepAliveWithoutCalls, options.getAuthority(), options.getUserAgent(),
           tooManyPingsRunnable, transportTracerFactory.create(), options.getEagAttributes(),
-          localSocketPicker, channelLogger, useGetForSafeMethods);
+          localSocketPicker, channelLogger, useGetForSafeMethods, flushPolicy);
       return transport;
     }
 
@@ -750,7 +773,7 @@ public final class NettyChannelBuilder extends
           result.negotiator.newNegotiator(), channelFactory, channelOptions, groupPool,
           autoFlowControl, flowControlWindow, maxMessageSize, maxHeaderListSize, keepAliveTimeNanos,
           keepAliveTimeoutNanos, keepAliveWithoutCalls, transportTracerFactory,  localSocketPicker,
-          useGetForSafeMethods);
+          useGetForSafeMethods, flushPolicy);
       return new SwapChannelCredentialsResult(factory, result.callCredentials);
     }
 
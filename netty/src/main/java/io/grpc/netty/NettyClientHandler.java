@@ -341,8 +341,8 @@ class NettyClientHandler extends AbstractNettyHandler {
     }
   }
 
-  void startWriteQueue(Channel channel) {
-    clientWriteQueue = new WriteQueue(channel);
+  void startWriteQueue(Channel channel, WriteQueue.FlushPolicy flushPolicy) {
+    clientWriteQueue = new WriteQueue(channel, flushPolicy, transportTracer);
   }
 
   WriteQueue getWriteQueue() {
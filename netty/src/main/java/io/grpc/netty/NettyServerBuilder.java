@@ -113,6 +113,8 @@ public final class NettyServerBuilder extends AbstractServerImplBuilder<NettySer
   private long maxConnectionAgeGraceInNanos = MAX_CONNECTION_AGE_GRACE_NANOS_INFINITE;
   private boolean permitKeepAliveWithoutCalls;
   private long permitKeepAliveTimeInNanos = TimeUnit.MINUTES.toNanos(5);
+  private boolean recycleRequestHeaders;
+  private WriteQueue.FlushPolicy flushPolicy = WriteQueue.FlushPolicy.DEFAULT;
   private Attributes eagAttributes = Attributes.EMPTY;
 
   /**
@@ -626,6 +628,39 @@ public final class NettyServerBuilder extends AbstractServerImplBuilder<NettySer
     return this;
   }
 
+  /**
+   * Sets whether the transport recycles the request headers it hands to the application. When
+   * enabled, the {@link io.grpc.Metadata} passed to {@link io.grpc.ServerCallHandler#startCall}
+   * and its backing arrays are reused for later calls on the same connection once the call's
+   * {@code onComplete()} or {@code onCancel()} returns, which reduces per-call allocation. The
+   * application must then follow the ownership rules described on {@link io.grpc.ServerCall}, and
+   * not retain the headers past the end of the call. Defaults to {@code false}.
+   */
+  public NettyServerBuilder recycleRequestHeaders(boolean recycle) {
+    recycleRequestHeaders = recycle;
+    return this;
+  }
+
+  /**
+   * Sets how the transport batches writes into flushes to the socket. By default, writes are
+   * flushed as soon as there is nothing more queued for the connection. With a positive {@code
+   * maxFlushDelay}, a flush of fewer than {@code flushThresholdBytes} bytes of message data is held
+   * back for up to {@code maxFlushDelay}, so that writes from other calls can share the syscall. A
+   * flush is issued early whenever {@code flushThresholdBytes} accumulate; {@code 0} disables the
+   * byte threshold.
+   *
+   * <p>Delaying flushes trades latency for throughput, and only helps servers writing many small
+   * messages on busy connections. The flush rate is reported through channelz socket stats.
+   */
+  public NettyServerBuilder writeBatching(
+      int flushThresholdBytes, long maxFlushDelay, TimeUnit timeUnit) {
+    checkArgument(flushThresholdBytes >= 0, "flushThresholdBytes must be non-negative: %s",
+        flushThresholdBytes);
+    checkArgument(maxFlushDelay >= 0, "maxFlushDelay must be non-negative: %s", maxFlushDelay);
+    flushPolicy = new WriteQueue.FlushPolicy(flushThresholdBytes, timeUnit.toNanos(maxFlushDelay));
+    return this;
+  }
+
   /** Sets the EAG attributes available to protocol negotiators. Not for general use. */
   void eagAttributes(Attributes eagAttributes) {
     this.eagAttributes = checkNotNull(eagAttributes, "eagAttributes");
@@ -647,7 +682,7 @@ public final class NettyServerBuilder extends AbstractServerImplBuilder<NettySer
         keepAliveTimeInNanos, keepAliveTimeoutInNanos,
         maxConnectionIdleInNanos, maxConnectionAgeInNanos,
         maxConnectionAgeGraceInNanos, permitKeepAliveWithoutCalls, permitKeepAliveTimeInNanos,
-        eagAttributes, this.serverImplBuilder.getChannelz());
+        recycleRequestHeaders, flushPolicy, eagAttributes, this.serverImplBuilder.getChannelz());
   }
 
   @VisibleForTesting
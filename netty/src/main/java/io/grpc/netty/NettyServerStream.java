@@ -26,6 +26,7 @@ import io.grpc.internal.AbstractServerStream;
 import io.grpc.internal.StatsTraceContext;
 import io.grpc.internal.TransportTracer;
 import io.grpc.internal.WritableBuffer;
+import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2RequestHeaders;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -38,6 +39,7 @@ import io.perfmark.PerfMark;
 import io.perfmark.Tag;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
 /**
  * Server stream for a Netty HTTP2 transport. Must only be called from the sending application
@@ -53,6 +55,8 @@ class NettyServerStream extends AbstractServerStream {
   private final String authority;
   private final TransportTracer transportTracer;
   private final int streamId;
+  @Nullable
+  private GrpcHttp2RequestHeaders recyclableHeaders;
 
   public NettyServerStream(
       Channel channel,
@@ -60,13 +64,15 @@ class NettyServerStream extends AbstractServerStream {
       Attributes transportAttrs,
       String authority,
       StatsTraceContext statsTraceCtx,
-      TransportTracer transportTracer) {
+      TransportTracer transportTracer,
+      @Nullable GrpcHttp2RequestHeaders recyclableHeaders) {
     super(new NettyWritableBufferAllocator(channel.alloc()), statsTraceCtx);
     this.state = checkNotNull(state, "transportState");
     this.writeQueue = state.handler.getWriteQueue();
     this.attributes = checkNotNull(transportAttrs);
     this.authority = authority;
     this.transportTracer = checkNotNull(transportTracer, "transportTracer");
+    this.recyclableHeaders = recyclableHeaders;
     // Read the id early to avoid reading transportState later.
     this.streamId = transportState().id();
   }
@@ -241,4 +247,13 @@ class NettyServerStream extends AbstractServerStream {
   public int streamId() {
     return streamId;
   }
+
+  @Override
+  public void releaseRequestHeaders() {
+    GrpcHttp2RequestHeaders headers = recyclableHeaders;
+    if (headers != null) {
+      recyclableHeaders = null;
+      headers.pool().release(headers);
+    }
+  }
 }
@@ -19,6 +19,7 @@ package io.grpc.netty;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.grpc.internal.TransportTracer;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPromise;
@@ -26,7 +27,9 @@ import io.perfmark.Link;
 import io.perfmark.PerfMark;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
 
 /**
  * A queue of pending writes to a {@link Channel} that is flushed as a single unit.
@@ -47,12 +50,44 @@ class WriteQueue {
     }
   };
 
+  /**
+   * {@link Runnable} used to flush writes held back by {@link FlushPolicy#maxDelayNanos}.
+   */
+  private final Runnable delayedFlush = new Runnable() {
+    @Override
+    public void run() {
+      delayedFlushScheduled = false;
+      if (unflushedCommands != 0) {
+        flushChannel("WriteQueue.delayedFlush");
+      }
+    }
+  };
+
   private final Channel channel;
   private final Queue<QueuedCommand> queue;
   private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final FlushPolicy flushPolicy;
+  @Nullable
+  private final TransportTracer transportTracer;
+
+  // Only accessed from the event loop
+  private int unflushedCommands;
+  private long unflushedBytes;
+  private boolean delayedFlushScheduled;
 
   public WriteQueue(Channel channel) {
+    this(channel, FlushPolicy.DEFAULT, null);
+  }
+
+  /**
+   * Creates a write queue that flushes according to {@code flushPolicy}, and reports each flush to
+   * {@code transportTracer} if it is non-null.
+   */
+  public WriteQueue(
+      Channel channel, FlushPolicy flushPolicy, @Nullable TransportTracer transportTracer) {
     this.channel = Preconditions.checkNotNull(channel, "channel");
+    this.flushPolicy = Preconditions.checkNotNull(flushPolicy, "flushPolicy");
+    this.transportTracer = transportTracer;
     queue = new ConcurrentLinkedQueue<>();
   }
 
@@ -108,46 +143,55 @@ class WriteQueue {
    */
   void drainNow() {
     Preconditions.checkState(channel.eventLoop().inEventLoop(), "must be on the event loop");
-    if (queue.peek() == null) {
+    if (queue.peek() == null && unflushedCommands == 0) {
       return;
     }
-    flush();
+    flush(/* flushImmediately= */ true);
+  }
+
+  private void flush() {
+    flush(flushPolicy.maxDelayNanos == 0);
   }
 
   /**
    * Process the queue of commands and dispatch them to the stream. This method is only
    * called in the event loop
+   *
+   * @param flushImmediately whether to flush the channel once the queue is drained, rather than
+   *     delaying the flush to let more writes join it
    */
-  private void flush() {
+  private void flush(boolean flushImmediately) {
     PerfMark.startTask("WriteQueue.periodicFlush");
     try {
       QueuedCommand cmd;
-      int i = 0;
       boolean flushedOnce = false;
+      int thresholdBytes = flushPolicy.thresholdBytes;
       while ((cmd = queue.poll()) != null) {
+        if (cmd instanceof SendGrpcFrameCommand) {
+          // Read before running the command, the write may consume the buffer
+          unflushedBytes += ((SendGrpcFrameCommand) cmd).content().readableBytes();
+        }
         cmd.run(channel);
-        if (++i == DEQUE_CHUNK_SIZE) {
-          i = 0;
+        if (++unflushedCommands == DEQUE_CHUNK_SIZE
+            || (thresholdBytes != 0 && unflushedBytes >= thresholdBytes)) {
           // Flush each chunk so we are releasing buffers periodically. In theory this loop
           // might never end as new events are continuously added to the queue, if we never
           // flushed in that case we would be guaranteed to OOM.
-          PerfMark.startTask("WriteQueue.flush0");
-          try {
-            channel.flush();
-          } finally {
-            PerfMark.stopTask("WriteQueue.flush0");
-          }
+          flushChannel("WriteQueue.flush0");
           flushedOnce = true;
         }
       }
-      // Must flush at least once, even if there were no writes.
-      if (i != 0 || !flushedOnce) {
-        PerfMark.startTask("WriteQueue.flush1");
-        try {
-          channel.flush();
-        } finally {
-          PerfMark.stopTask("WriteQueue.flush1");
+      if (unflushedCommands != 0 && !flushImmediately) {
+        // Hold back the flush so that writes enqueued shortly after join the same syscall. The
+        // delay is bounded from the first unflushed write, not extended by later ones.
+        if (!delayedFlushScheduled) {
+          delayedFlushScheduled = true;
+          channel.eventLoop().schedule(
+              delayedFlush, flushPolicy.maxDelayNanos, TimeUnit.NANOSECONDS);
         }
+      } else if (unflushedCommands != 0 || !flushedOnce) {
+        // Must flush at least once, even if there were no writes.
+        flushChannel("WriteQueue.flush1");
       }
     } finally {
       PerfMark.stopTask("WriteQueue.periodicFlush");
@@ -159,6 +203,43 @@ class WriteQueue {
     }
   }
 
+  private void flushChannel(String taskName) {
+    PerfMark.startTask(taskName);
+    try {
+      channel.flush();
+    } finally {
+      PerfMark.stopTask(taskName);
+    }
+    if (transportTracer != null) {
+      transportTracer.reportFlush(unflushedCommands);
+    }
+    unflushedCommands = 0;
+    unflushedBytes = 0;
+  }
+
+  /**
+   * Decides when the writes executed from the queue are flushed to the socket. By default they
+   * are flushed every {@link #DEQUE_CHUNK_SIZE} commands and whenever the queue has been drained.
+   */
+  static final class FlushPolicy {
+    static final FlushPolicy DEFAULT = new FlushPolicy(0, 0);
+
+    /** Flush as soon as this many bytes of message data are unflushed. 0 to disable. */
+    final int thresholdBytes;
+    /**
+     * How long a drained queue may hold back a flush of less than {@link #thresholdBytes}, waiting
+     * for more writes. 0 to flush as soon as the queue is drained.
+     */
+    final long maxDelayNanos;
+
+    FlushPolicy(int thresholdBytes, long maxDelayNanos) {
+      Preconditions.checkArgument(thresholdBytes >= 0, "thresholdBytes must be non-negative");
+      Preconditions.checkArgument(maxDelayNanos >= 0, "maxDelayNanos must be non-negative");
+      this.thresholdBytes = thresholdBytes;
+      this.maxDelayNanos = maxDelayNanos;
+    }
+  }
+
   private static class RunnableCommand implements QueuedCommand {
     private final Runnable runnable;
     private final Link link;
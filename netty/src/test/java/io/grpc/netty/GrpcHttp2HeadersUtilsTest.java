@@ -21,6 +21,8 @@ import static io.grpc.Metadata.BINARY_BYTE_MARSHALLER;
 import static io.grpc.internal.GrpcUtil.DEFAULT_MAX_HEADER_LIST_SIZE;
 import static io.netty.util.AsciiString.of;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -31,6 +33,7 @@ import io.grpc.Metadata.Key;
 import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2ClientHeadersDecoder;
 import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2RequestHeaders;
 import io.grpc.netty.GrpcHttp2HeadersUtils.GrpcHttp2ServerHeadersDecoder;
+import io.grpc.netty.GrpcHttp2HeadersUtils.RequestHeadersPool;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.http2.DefaultHttp2Headers;
@@ -99,6 +102,45 @@ public class GrpcHttp2HeadersUtilsTest {
     assertContainsKeyAndValue(toString, "custom", decodedHeaders.get(of("custom")));
   }
 
+  @Test
+  public void decode_requestHeaders_recycledFromPool() throws Http2Exception {
+    RequestHeadersPool pool = new RequestHeadersPool(1);
+    Http2HeadersDecoder decoder =
+        new GrpcHttp2ServerHeadersDecoder(DEFAULT_MAX_HEADER_LIST_SIZE, pool);
+    Http2HeadersEncoder encoder =
+        new DefaultHttp2HeadersEncoder(NEVER_SENSITIVE);
+    Key<String> customKey = Key.of("custom", Metadata.ASCII_STRING_MARSHALLER);
+    Key<String> otherKey = Key.of("other", Metadata.ASCII_STRING_MARSHALLER);
+
+    Http2Headers headers = new DefaultHttp2Headers(false);
+    headers.add(of(":path"), of("/first")).add(of("custom"), of("header"));
+    encodedHeaders = Unpooled.buffer();
+    encoder.encodeHeaders(1 /* randomly chosen */, headers, encodedHeaders);
+    GrpcHttp2RequestHeaders first =
+        (GrpcHttp2RequestHeaders) decoder.decodeHeaders(3 /* randomly chosen */, encodedHeaders);
+    encodedHeaders.release();
+    Metadata firstMetadata = first.toMetadata();
+    assertEquals("header", firstMetadata.get(customKey));
+
+    pool.release(first);
+    assertNull(first.path());
+
+    headers = new DefaultHttp2Headers(false);
+    headers.add(of(":path"), of("/second")).add(of("other"), of("value"));
+    encodedHeaders = Unpooled.buffer();
+    encoder.encodeHeaders(5 /* randomly chosen */, headers, encodedHeaders);
+    GrpcHttp2RequestHeaders second =
+        (GrpcHttp2RequestHeaders) decoder.decodeHeaders(7 /* randomly chosen */, encodedHeaders);
+
+    assertSame(first, second);
+    assertEquals(of("/second"), second.path());
+    Metadata secondMetadata = second.toMetadata();
+    assertSame(firstMetadata, secondMetadata);
+    assertNull(secondMetadata.get(customKey));
+    assertEquals("value", secondMetadata.get(otherKey));
+    assertEquals(1, secondMetadata.keys().size());
+  }
+
   @Test
   public void decode_responseHeaders() throws Http2Exception {
     Http2HeadersDecoder decoder = new GrpcHttp2ClientHeadersDecoder(DEFAULT_MAX_HEADER_LIST_SIZE);
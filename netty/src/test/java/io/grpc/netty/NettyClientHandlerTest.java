@@ -933,7 +933,7 @@ public class NettyClientHandlerTest extends NettyHandlerTestBase<NettyClientHand
 
   @Override
   protected WriteQueue initWriteQueue() {
-    handler().startWriteQueue(channel());
+    handler().startWriteQueue(channel(), WriteQueue.FlushPolicy.DEFAULT);
     return handler().getWriteQueue();
   }
 
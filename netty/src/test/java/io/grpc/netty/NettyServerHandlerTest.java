@@ -1267,6 +1267,7 @@ public class NettyServerHandlerTest extends NettyHandlerTestBase<NettyServerHand
         maxConnectionAgeGraceInNanos,
         permitKeepAliveWithoutCalls,
         permitKeepAliveTimeInNanos,
+        WriteQueue.FlushPolicy.DEFAULT,
         Attributes.EMPTY);
   }
 
@@ -16,21 +16,30 @@
 
 package io.grpc.netty;
 
+import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.grpc.InternalChannelz.TransportStats;
+import io.grpc.internal.TransportTracer;
+import io.grpc.netty.WriteQueue.FlushPolicy;
 import io.grpc.netty.WriteQueue.QueuedCommand;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Before;
 import org.junit.Rule;
@@ -38,6 +47,7 @@ import org.junit.Test;
 import org.junit.rules.Timeout;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -58,6 +68,7 @@ public class WriteQueueTest {
   @Mock
   public ChannelPromise promise;
 
+  private EventLoop eventLoop;
   private long writeCalledNanos;
   private long flushCalledNanos = writeCalledNanos;
 
@@ -69,7 +80,7 @@ public class WriteQueueTest {
     MockitoAnnotations.initMocks(this);
     when(channel.newPromise()).thenReturn(promise);
 
-    EventLoop eventLoop = Mockito.mock(EventLoop.class);
+    eventLoop = Mockito.mock(EventLoop.class);
     doAnswer(new Answer<Void>() {
       @Override
       public Void answer(InvocationOnMock invocation) throws Throwable {
@@ -201,6 +212,79 @@ public class WriteQueueTest {
     verify(channel, times(writes)).write(isA(CuteCommand.class), eq(promise));
   }
 
+  @Test
+  public void flushThresholdBytesShouldBeEnforced() {
+    TransportTracer transportTracer = new TransportTracer();
+    WriteQueue queue = new WriteQueue(channel, new FlushPolicy(100, 0), transportTracer);
+    for (int i = 0; i < 3; i++) {
+      queue.enqueue(newFrame(60), false);
+    }
+    queue.scheduleFlush();
+
+    verify(channel, times(3)).write(isA(SendGrpcFrameCommand.class), eq(promise));
+    // Once when the threshold is crossed by the second frame, and once when drained
+    verify(channel, times(2)).flush();
+    TransportStats stats = transportTracer.getStats();
+    assertThat(stats.flushes).isEqualTo(2);
+    assertThat(stats.commandsFlushed).isEqualTo(3);
+  }
+
+  @Test
+  public void maxFlushDelay_flushesOnceAfterDelay() {
+    TransportTracer transportTracer = new TransportTracer();
+    WriteQueue queue = new WriteQueue(
+        channel, new FlushPolicy(0, TimeUnit.MILLISECONDS.toNanos(1)), transportTracer);
+    for (int i = 0; i < 5; i++) {
+      queue.enqueue(new CuteCommand(), false);
+    }
+    queue.scheduleFlush();
+    queue.enqueue(new CuteCommand(), true);
+
+    verify(channel, times(6)).write(isA(QueuedCommand.class), eq(promise));
+    verify(channel, never()).flush();
+    ArgumentCaptor<Runnable> delayedFlush = ArgumentCaptor.forClass(Runnable.class);
+    verify(eventLoop).schedule(
+        delayedFlush.capture(), eq(TimeUnit.MILLISECONDS.toNanos(1)), eq(TimeUnit.NANOSECONDS));
+
+    delayedFlush.getValue().run();
+    verify(channel).flush();
+    TransportStats stats = transportTracer.getStats();
+    assertThat(stats.flushes).isEqualTo(1);
+    assertThat(stats.commandsFlushed).isEqualTo(6);
+
+    // The next batch schedules a new delayed flush
+    queue.enqueue(new CuteCommand(), true);
+    verify(eventLoop, times(2)).schedule(
+        any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(1)), eq(TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  public void maxFlushDelay_thresholdFlushesWithoutDelay() {
+    WriteQueue queue = new WriteQueue(
+        channel, new FlushPolicy(100, TimeUnit.MILLISECONDS.toNanos(1)), null);
+    queue.enqueue(newFrame(100), true);
+
+    verify(channel).flush();
+    verify(eventLoop, never()).schedule(
+        any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void drainNow_ignoresMaxFlushDelay() {
+    WriteQueue queue = new WriteQueue(
+        channel, new FlushPolicy(0, TimeUnit.MILLISECONDS.toNanos(1)), null);
+    queue.enqueue(new CuteCommand(), true);
+    verify(channel, never()).flush();
+
+    queue.drainNow();
+    verify(channel).flush();
+  }
+
+  private static SendGrpcFrameCommand newFrame(int size) {
+    return new SendGrpcFrameCommand(
+        mock(StreamIdHolder.class), Unpooled.wrappedBuffer(new byte[size]), false);
+  }
+
   static class CuteCommand extends WriteQueue.AbstractQueuedCommand {
 
   }
@@ -75,9 +75,10 @@ class OkHttpClientStream extends AbstractClientStream {
       StatsTraceContext statsTraceCtx,
       TransportTracer transportTracer,
       CallOptions callOptions,
-      boolean useGetForSafeMethods) {
+      boolean useGetForSafeMethods,
+      OkHttpWritableBufferAllocator bufferAllocator) {
     super(
-        new OkHttpWritableBufferAllocator(),
+        bufferAllocator,
         statsTraceCtx,
         transportTracer,
         headers,
@@ -180,6 +181,10 @@ class OkHttpClientStream extends AbstractClientStream {
           state.sendBuffer(buffer, endOfStream, flush);
           getTransportTracer().reportMessageSent(numMessages);
         }
+        if (frame != null) {
+          // sendBuffer() has moved the data out of the buffer, so it can be reused
+          frame.release();
+        }
       } finally {
         PerfMark.stopTask("OkHttpClientStream$Sink.writeFrame");
       }
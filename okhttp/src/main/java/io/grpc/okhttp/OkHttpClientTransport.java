@@ -198,6 +198,7 @@ class OkHttpClientTransport implements ConnectionClientTransport, TransportExcep
   private final Runnable tooManyPingsRunnable;
   private final int maxInboundMetadataSize;
   private final boolean useGetForSafeMethods;
+  private final OkHttpWritableBufferAllocator writableBufferAllocator;
   @GuardedBy("lock")
   private final TransportTracer transportTracer;
   @GuardedBy("lock")
@@ -283,6 +284,9 @@ class OkHttpClientTransport implements ConnectionClientTransport, TransportExcep
     this.attributes = Attributes.newBuilder()
         .set(GrpcAttributes.ATTR_CLIENT_EAG_ATTRS, eagAttrs).build();
     this.useGetForSafeMethods = transportFactory.useGetForSafeMethods;
+    this.writableBufferAllocator = new OkHttpWritableBufferAllocator(
+        transportFactory.usePooledBufferWrappers
+            ? OkHttpWritableBufferAllocator.DEFAULT_MAX_POOLED_BUFFERS : 0);
     initTransportTracer();
   }
 
@@ -401,7 +405,8 @@ class OkHttpClientTransport implements ConnectionClientTransport, TransportExcep
           statsTraceContext,
           transportTracer,
           callOptions,
-          useGetForSafeMethods);
+          useGetForSafeMethods,
+          writableBufferAllocator);
     }
   }
 
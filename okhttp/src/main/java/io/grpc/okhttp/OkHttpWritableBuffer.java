@@ -17,17 +17,35 @@
 package io.grpc.okhttp;
 
 import io.grpc.internal.WritableBuffer;
+import javax.annotation.Nullable;
 import okio.Buffer;
 
 class OkHttpWritableBuffer implements WritableBuffer {
 
   private final Buffer buffer;
+  // Non-null if the buffer is returned to a pool on release
+  @Nullable
+  private final OkHttpWritableBufferAllocator allocator;
   private int writableBytes;
   private int readableBytes;
 
   OkHttpWritableBuffer(Buffer buffer, int capacity) {
+    this(buffer, capacity, null);
+  }
+
+  OkHttpWritableBuffer(
+      Buffer buffer, int capacity, @Nullable OkHttpWritableBufferAllocator allocator) {
     this.buffer = buffer;
+    this.allocator = allocator;
+    writableBytes = capacity;
+  }
+
+  /**
+   * Prepares a recycled buffer for reuse with the given capacity.
+   */
+  void reset(int capacity) {
     writableBytes = capacity;
+    readableBytes = 0;
   }
 
   @Override
@@ -56,6 +74,11 @@ class OkHttpWritableBuffer implements WritableBuffer {
 
   @Override
   public void release() {
+    if (allocator != null) {
+      // Returns any unsent segments to okio's segment pool
+      buffer.clear();
+      allocator.recycle(this);
+    }
   }
 
   Buffer buffer() {
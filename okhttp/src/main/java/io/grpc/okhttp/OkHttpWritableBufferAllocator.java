@@ -16,14 +16,24 @@
 
 package io.grpc.okhttp;
 
+import com.google.common.base.Preconditions;
 import io.grpc.internal.WritableBuffer;
 import io.grpc.internal.WritableBufferAllocator;
+import java.util.ArrayDeque;
+import javax.annotation.concurrent.GuardedBy;
 import okio.Buffer;
 
 /**
  * The default allocator for {@link OkHttpWritableBuffer}s used by the OkHttp transport. OkHttp
  * cannot receive buffers larger than the max DATA frame size - 1 so we must set an upper bound on
  * the allocated buffer size here.
+ *
+ * <p>A pooling allocator keeps up to a fixed number of released buffers, and reuses them for later
+ * frames instead of allocating a new {@link OkHttpWritableBuffer} and {@link Buffer} for each one.
+ * Only these wrapper objects are pooled here. The bytes live in okio segments, which okio's
+ * {@code Segment} and {@code SegmentPool} keep package-private. okio takes them from its own
+ * process-wide pool as a buffer is written, and returns them once they have been written to the
+ * socket or the buffer is cleared.
  */
 class OkHttpWritableBufferAllocator implements WritableBufferAllocator {
 
@@ -33,10 +43,27 @@ class OkHttpWritableBufferAllocator implements WritableBufferAllocator {
   // Set the maximum buffer size to 1MB
   private static final int MAX_BUFFER = 1024 * 1024;
 
+  // Enough for the frames in flight on a busy connection
+  static final int DEFAULT_MAX_POOLED_BUFFERS = 64;
+
+  private final int maxPooledBuffers;
+  @GuardedBy("pool")
+  private final ArrayDeque<OkHttpWritableBuffer> pool;
+
   /**
-   * Construct a new instance.
+   * Construct a new instance, that does not pool buffers.
    */
   OkHttpWritableBufferAllocator() {
+    this(0);
+  }
+
+  /**
+   * Construct a new instance, that keeps up to {@code maxPooledBuffers} released buffers for reuse.
+   */
+  OkHttpWritableBufferAllocator(int maxPooledBuffers) {
+    Preconditions.checkArgument(maxPooledBuffers >= 0, "maxPooledBuffers must be non-negative");
+    this.maxPooledBuffers = maxPooledBuffers;
+    this.pool = maxPooledBuffers == 0 ? null : new ArrayDeque<OkHttpWritableBuffer>();
   }
 
   /**
@@ -46,6 +73,38 @@ class OkHttpWritableBufferAllocator implements WritableBufferAllocator {
   @Override
   public WritableBuffer allocate(int capacityHint) {
     capacityHint = Math.min(MAX_BUFFER, Math.max(MIN_BUFFER, capacityHint));
-    return new OkHttpWritableBuffer(new Buffer(), capacityHint);
+    if (pool == null) {
+      return new OkHttpWritableBuffer(new Buffer(), capacityHint);
+    }
+    OkHttpWritableBuffer buffer;
+    synchronized (pool) {
+      buffer = pool.poll();
+    }
+    if (buffer == null) {
+      return new OkHttpWritableBuffer(new Buffer(), capacityHint, this);
+    }
+    buffer.reset(capacityHint);
+    return buffer;
+  }
+
+  /**
+   * Returns a released buffer to the pool. The buffer must have been allocated by this allocator,
+   * and must be empty.
+   */
+  void recycle(OkHttpWritableBuffer buffer) {
+    synchronized (pool) {
+      if (pool.size() < maxPooledBuffers) {
+        pool.add(buffer);
+      }
+    }
+  }
+
+  int pooledBuffers() {
+    if (pool == null) {
+      return 0;
+    }
+    synchronized (pool) {
+      return pool.size();
+    }
   }
 }
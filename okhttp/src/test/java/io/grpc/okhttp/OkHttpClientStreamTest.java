@@ -101,7 +101,8 @@ public class OkHttpClientStreamTest {
         StatsTraceContext.NOOP,
         transportTracer,
         CallOptions.DEFAULT,
-        false);
+        false,
+        new OkHttpWritableBufferAllocator());
   }
 
   @Test
@@ -163,7 +164,8 @@ public class OkHttpClientStreamTest {
     metaData.put(GrpcUtil.USER_AGENT_KEY, "misbehaving-application");
     stream = new OkHttpClientStream(methodDescriptor, metaData, frameWriter, transport,
         flowController, lock, MAX_MESSAGE_SIZE, INITIAL_WINDOW_SIZE, "localhost",
-        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, false);
+        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, false,
+        new OkHttpWritableBufferAllocator());
     stream.start(new BaseClientStreamListener());
     stream.transportState().start(3);
 
@@ -180,7 +182,8 @@ public class OkHttpClientStreamTest {
     metaData.put(GrpcUtil.USER_AGENT_KEY, "misbehaving-application");
     stream = new OkHttpClientStream(methodDescriptor, metaData, frameWriter, transport,
         flowController, lock, MAX_MESSAGE_SIZE, INITIAL_WINDOW_SIZE, "localhost",
-        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, false);
+        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, false,
+        new OkHttpWritableBufferAllocator());
     stream.start(new BaseClientStreamListener());
     stream.transportState().start(3);
 
@@ -205,7 +208,8 @@ public class OkHttpClientStreamTest {
     when(transport.isUsingPlaintext()).thenReturn(true);
     stream = new OkHttpClientStream(methodDescriptor, metaData, frameWriter, transport,
         flowController, lock, MAX_MESSAGE_SIZE, INITIAL_WINDOW_SIZE, "localhost",
-        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, false);
+        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, false,
+        new OkHttpWritableBufferAllocator());
     stream.start(new BaseClientStreamListener());
     stream.transportState().start(3);
 
@@ -235,7 +239,8 @@ public class OkHttpClientStreamTest {
         .build();
     stream = new OkHttpClientStream(getMethod, new Metadata(), frameWriter, transport,
         flowController, lock, MAX_MESSAGE_SIZE, INITIAL_WINDOW_SIZE, "localhost",
-        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, true);
+        "good-application", StatsTraceContext.NOOP, transportTracer, CallOptions.DEFAULT, true,
+        new OkHttpWritableBufferAllocator());
     stream.start(new BaseClientStreamListener());
 
     // GET streams send headers after halfClose is called.
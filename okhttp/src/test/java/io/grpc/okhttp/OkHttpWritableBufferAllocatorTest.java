@@ -17,6 +17,8 @@
 package io.grpc.okhttp;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import io.grpc.internal.WritableBuffer;
 import io.grpc.internal.WritableBufferAllocator;
@@ -58,4 +60,39 @@ public class OkHttpWritableBufferAllocatorTest extends WritableBufferAllocatorTe
     assertEquals(0, buffer.readableBytes());
     assertEquals(4097, buffer.writableBytes());
   }
+
+  @Test
+  public void unpooled_doesNotReuseReleasedBuffers() {
+    WritableBuffer buffer = allocator.allocate(4096);
+    buffer.release();
+    assertEquals(0, allocator.pooledBuffers());
+    assertNotSame(buffer, allocator.allocate(4096));
+  }
+
+  @Test
+  public void pooled_reusesReleasedBuffer() {
+    OkHttpWritableBufferAllocator pooledAllocator = new OkHttpWritableBufferAllocator(2);
+    WritableBuffer buffer = pooledAllocator.allocate(4096);
+    buffer.write(new byte[100], 0, 100);
+    buffer.release();
+    assertEquals(1, pooledAllocator.pooledBuffers());
+
+    WritableBuffer reused = pooledAllocator.allocate(8192);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.readableBytes());
+    assertEquals(8192, reused.writableBytes());
+    assertEquals(0, pooledAllocator.pooledBuffers());
+  }
+
+  @Test
+  public void pooled_boundsPoolSize() {
+    OkHttpWritableBufferAllocator pooledAllocator = new OkHttpWritableBufferAllocator(2);
+    WritableBuffer buffer1 = pooledAllocator.allocate(4096);
+    WritableBuffer buffer2 = pooledAllocator.allocate(4096);
+    WritableBuffer buffer3 = pooledAllocator.allocate(4096);
+    buffer1.release();
+    buffer2.release();
+    buffer3.release();
+    assertEquals(2, pooledAllocator.pooledBuffers());
+  }
 }
@@ -84,6 +84,20 @@ public final class ProtoLiteUtils {
     return new MessageMarshaller<>(defaultInstance);
   }
 
+  /**
+   * Creates a {@link Marshaller} for protos of the same type as {@code defaultInstance} that
+   * parses inbound messages directly from the transport's buffers instead of copying them into a
+   * byte array first. Messages it parses may alias those buffers, so they stay retained until
+   * {@link ZeroCopyMessageMarshaller#release} is called for the message.
+   *
+   * @since 1.46.0
+   */
+  @ExperimentalApi("https://github.com/grpc/grpc-java/issues/7387")
+  public static <T extends MessageLite> ZeroCopyMessageMarshaller<T> zeroCopyMarshaller(
+      T defaultInstance) {
+    return new ZeroCopyMessageMarshaller<>(new MessageMarshaller<>(defaultInstance));
+  }
+
   /**
    * Produce a metadata marshaller for a protobuf type.
    *
@@ -115,7 +129,7 @@ public final class ProtoLiteUtils {
   private ProtoLiteUtils() {
   }
 
-  private static final class MessageMarshaller<T extends MessageLite>
+  static final class MessageMarshaller<T extends MessageLite>
       implements PrototypeMarshaller<T> {
     private static final ThreadLocal<Reference<byte[]>> bufs = new ThreadLocal<>();
 
@@ -219,7 +233,7 @@ public final class ProtoLiteUtils {
       }
     }
 
-    private T parseFrom(CodedInputStream stream) throws InvalidProtocolBufferException {
+    T parseFrom(CodedInputStream stream) throws InvalidProtocolBufferException {
       T message = parser.parseFrom(stream, globalRegistry);
       try {
         stream.checkLastTagWas(0);
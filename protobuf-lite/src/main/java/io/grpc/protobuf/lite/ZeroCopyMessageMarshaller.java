@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.protobuf.lite;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import io.grpc.Detachable;
+import io.grpc.ExperimentalApi;
+import io.grpc.HasByteBuffer;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor.PrototypeMarshaller;
+import io.grpc.Status;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A marshaller that parses inbound messages from the {@link ByteBuffer}s backing the transport's
+ * input stream, without first copying them into a contiguous array. The parsed message may alias
+ * those buffers, so the marshaller takes ownership of them until {@link #release} is called with
+ * the message.
+ *
+ * <p>The zero-copy path is only taken when the stream implements {@link KnownLength}, {@link
+ * Detachable} and {@link HasByteBuffer}, supports byte buffers and supports mark/reset, as streams
+ * created by the deframer for uncompressed messages do. Otherwise this behaves exactly like {@link
+ * ProtoLiteUtils#marshaller}, and {@link #release} is a no-op for the message.
+ *
+ * <p>Instances are created with {@link ProtoLiteUtils#zeroCopyMarshaller}. To use it, replace the
+ * request or response marshaller of a {@link io.grpc.MethodDescriptor} with it and call {@link
+ * #release} once the application no longer references the message or any of its fields.
+ */
+@ExperimentalApi("https://github.com/grpc/grpc-java/issues/7387")
+public final class ZeroCopyMessageMarshaller<T extends MessageLite>
+    implements PrototypeMarshaller<T> {
+  private final ProtoLiteUtils.MessageMarshaller<T> delegate;
+  private final Map<T, InputStream> unreleasedStreams =
+      Collections.synchronizedMap(new IdentityHashMap<T, InputStream>());
+
+  ZeroCopyMessageMarshaller(ProtoLiteUtils.MessageMarshaller<T> delegate) {
+    this.delegate = checkNotNull(delegate, "delegate");
+  }
+
+  @Override
+  public Class<T> getMessageClass() {
+    return delegate.getMessageClass();
+  }
+
+  @Override
+  public T getMessagePrototype() {
+    return delegate.getMessagePrototype();
+  }
+
+  @Override
+  public InputStream stream(T value) {
+    return delegate.stream(value);
+  }
+
+  @Override
+  public T parse(InputStream stream) {
+    if (!canParseFromByteBuffers(stream)) {
+      return delegate.parse(stream);
+    }
+    InputStream detached = null;
+    T message;
+    try {
+      int size = stream.available();
+      if (size == 0) {
+        return delegate.getMessagePrototype();
+      }
+      // The detached stream now owns the buffers, and must be closed once the message is released.
+      detached = ((Detachable) stream).detach();
+      // Marking keeps the underlying buffers alive while skipping through them.
+      detached.mark(size);
+      List<ByteBuffer> byteBuffers = new ArrayList<>();
+      ByteBuffer buffer;
+      while (detached.available() != 0
+          && (buffer = ((HasByteBuffer) detached).getByteBuffer()) != null) {
+        byteBuffers.add(buffer);
+        long skipped = detached.skip(buffer.remaining());
+        if (skipped != buffer.remaining()) {
+          throw new RuntimeException("skip inaccurate: " + skipped + " != " + buffer.remaining());
+        }
+      }
+      detached.reset();
+      CodedInputStream cis = CodedInputStream.newInstance(byteBuffers);
+      cis.enableAliasing(true);
+      cis.setSizeLimit(Integer.MAX_VALUE);
+      message = delegate.parseFrom(cis);
+    } catch (InvalidProtocolBufferException ipbe) {
+      closeQuietly(detached);
+      throw Status.INTERNAL.withDescription("Invalid protobuf byte sequence")
+          .withCause(ipbe).asRuntimeException();
+    } catch (IOException e) {
+      closeQuietly(detached);
+      throw new RuntimeException(e);
+    } catch (RuntimeException e) {
+      closeQuietly(detached);
+      throw e;
+    }
+    unreleasedStreams.put(message, detached);
+    return message;
+  }
+
+  /**
+   * Releases the transport buffers retained by {@code message}. The message, and any {@code
+   * ByteString} obtained from it, must not be used afterwards. It is safe to call this for messages
+   * that were not parsed by this marshaller, or more than once.
+   */
+  public void release(T message) {
+    closeQuietly(unreleasedStreams.remove(message));
+  }
+
+  private static boolean canParseFromByteBuffers(InputStream stream) {
+    return stream instanceof KnownLength
+        && stream instanceof Detachable
+        && stream instanceof HasByteBuffer
+        && ((HasByteBuffer) stream).byteBufferSupported()
+        && stream.markSupported();
+  }
+
+  private static void closeQuietly(InputStream stream) {
+    if (stream == null) {
+      return;
+    }
+    try {
+      stream.close();
+    } catch (IOException ignored) {
+      // The stream only wraps in-memory buffers.
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.protobuf.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.protobuf.Type;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.internal.CompositeReadableBuffer;
+import io.grpc.internal.ForwardingReadableBuffer;
+import io.grpc.internal.ReadableBuffers;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link ZeroCopyMessageMarshaller}. */
+@RunWith(JUnit4.class)
+public class ZeroCopyMessageMarshallerTest {
+  private final ZeroCopyMessageMarshaller<Type> marshaller =
+      ProtoLiteUtils.zeroCopyMarshaller(Type.getDefaultInstance());
+  private final Type proto = Type.newBuilder().setName("name").addOneofs("oneof").build();
+
+  @Test
+  public void parseFromFragmentedBuffers_retainsUntilReleased() throws Exception {
+    byte[] bytes = proto.toByteArray();
+    CompositeReadableBuffer composite = new CompositeReadableBuffer();
+    TrackingBuffer first = new TrackingBuffer(ByteBuffer.wrap(Arrays.copyOf(bytes, 3)));
+    TrackingBuffer second =
+        new TrackingBuffer(ByteBuffer.wrap(Arrays.copyOfRange(bytes, 3, bytes.length)));
+    composite.addBuffer(first);
+    composite.addBuffer(second);
+    InputStream stream = ReadableBuffers.openStream(composite, true);
+
+    Type parsed = marshaller.parse(stream);
+    assertEquals(proto, parsed);
+
+    // The transport closes its stream once the message is parsed.
+    stream.close();
+    assertFalse(first.closed);
+    assertFalse(second.closed);
+
+    marshaller.release(parsed);
+    assertTrue(first.closed);
+    assertTrue(second.closed);
+  }
+
+  @Test
+  public void parseEmptyStream_returnsDefaultInstance() {
+    InputStream stream = ReadableBuffers.openStream(ReadableBuffers.empty(), true);
+
+    assertSame(Type.getDefaultInstance(), marshaller.parse(stream));
+  }
+
+  @Test
+  public void parseFromPlainStream_fallsBack() {
+    Type parsed = marshaller.parse(new ByteArrayInputStream(proto.toByteArray()));
+
+    assertEquals(proto, parsed);
+    // No-op for messages that did not take the zero-copy path.
+    marshaller.release(parsed);
+  }
+
+  @Test
+  public void parseInvalidBytes_releasesBuffers() {
+    TrackingBuffer buffer = new TrackingBuffer(ByteBuffer.wrap(new byte[] {-127}));
+    InputStream stream = ReadableBuffers.openStream(buffer, true);
+
+    try {
+      marshaller.parse(stream);
+      fail("Expected exception");
+    } catch (StatusRuntimeException ex) {
+      assertEquals(Status.Code.INTERNAL, ex.getStatus().getCode());
+    }
+    assertTrue(buffer.closed);
+  }
+
+  @Test
+  public void passthrough() {
+    assertSame(proto, marshaller.parse(marshaller.stream(proto)));
+  }
+
+  private static final class TrackingBuffer extends ForwardingReadableBuffer {
+    boolean closed;
+
+    TrackingBuffer(ByteBuffer bytes) {
+      super(ReadableBuffers.wrap(bytes));
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+      super.close();
+    }
+  }
+}
@@ -236,12 +236,24 @@ final class ChannelzProtoUtil {
               Int64Value.of(s.remoteFlowControlWindow));
     }
     builder.addAllOption(toSocketOptionsList(socketStats.socketOptions));
+    // SocketData has no fields for the flush statistics, only transports that report them have
+    // the options.
+    if (socketStats.data != null && socketStats.data.flushes != 0) {
+      builder.addOption(
+          toSocketOptionAdditional(FLUSHES, Long.toString(socketStats.data.flushes)));
+      builder.addOption(toSocketOptionAdditional(
+          COMMANDS_FLUSHED, Long.toString(socketStats.data.commandsFlushed)));
+    }
     return builder.build();
   }
 
   public static final String SO_LINGER = "SO_LINGER";
   public static final String SO_TIMEOUT = "SO_TIMEOUT";
   public static final String TCP_INFO = "TCP_INFO";
+  /** Number of times the transport flushed its pending writes to the socket. */
+  public static final String FLUSHES = "grpc.flushes";
+  /** Number of write commands covered by the {@link #FLUSHES flushes}. */
+  public static final String COMMANDS_FLUSHED = "grpc.commands_flushed";
 
   static SocketOption toSocketOptionLinger(int lingerSeconds) {
     final SocketOptionLinger lingerOpt;
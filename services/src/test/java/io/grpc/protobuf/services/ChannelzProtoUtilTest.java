@@ -42,6 +42,7 @@ import io.grpc.InternalChannelz.ServerSocketsList;
 import io.grpc.InternalChannelz.ServerStats;
 import io.grpc.InternalChannelz.SocketOptions;
 import io.grpc.InternalChannelz.SocketStats;
+import io.grpc.InternalChannelz.TransportStats;
 import io.grpc.InternalInstrumented;
 import io.grpc.InternalWithLogId;
 import io.grpc.channelz.v1.Address;
@@ -433,6 +434,34 @@ public final class ChannelzProtoUtilTest {
         ChannelzProtoUtil.extractSocketData(socket.getStats().get()));
   }
 
+  @Test
+  public void toSocketData_flushStatistics() throws Exception {
+    socket.transportStats = new TransportStats(
+        /*streamsStarted=*/ 1,
+        /*lastLocalStreamCreatedTimeNanos=*/ 2,
+        /*lastRemoteStreamCreatedTimeNanos=*/ 3,
+        /*streamsSucceeded=*/ 4,
+        /*streamsFailed=*/ 5,
+        /*messagesSent=*/ 6,
+        /*messagesReceived=*/ 7,
+        /*keepAlivesSent=*/ 8,
+        /*lastMessageSentTimeNanos=*/ 9,
+        /*lastMessageReceivedTimeNanos=*/ 10,
+        /*localFlowControlWindow=*/ 11,
+        /*remoteFlowControlWindow=*/ 12,
+        /*flushes=*/ 13,
+        /*commandsFlushed=*/ 14);
+    assertEquals(
+        socketDataWithDataNoSockOpts
+            .toBuilder()
+            .addOption(
+                SocketOption.newBuilder().setName(ChannelzProtoUtil.FLUSHES).setValue("13"))
+            .addOption(SocketOption.newBuilder()
+                .setName(ChannelzProtoUtil.COMMANDS_FLUSHED).setValue("14"))
+            .build(),
+        ChannelzProtoUtil.extractSocketData(socket.getStats().get()));
+  }
+
   @Test
   public void socketSecurityTls() throws Exception {
     Certificate local = mock(Certificate.class);
@@ -18,6 +18,7 @@ package io.grpc.stub;
 
 import io.grpc.CallOptions;
 import io.grpc.Channel;
+import io.grpc.ExperimentalApi;
 import io.grpc.stub.ClientCalls.StubType;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.concurrent.ThreadSafe;
@@ -39,6 +40,25 @@ public abstract class AbstractBlockingStub<S extends AbstractBlockingStub<S>>
     super(channel, callOptions);
   }
 
+  /**
+   * Returns a new stub whose calls deliver their callbacks directly on the transport thread,
+   * instead of queuing them to a per-call executor that the calling thread drains while it waits.
+   * The calling thread just parks until the response (or, for server streaming, the next message)
+   * arrives, without holding any monitor.
+   *
+   * <p>This suits virtual threads: each call allocates no executor and needs no hand-off per
+   * callback, so a large number of virtual threads can block on a single channel cheaply. In
+   * exchange, interceptors and response deserialization run on the transport thread, so they
+   * must not block, the same as with {@link io.grpc.ManagedChannelBuilder#directExecutor()}.
+   *
+   * @since 1.46.0
+   */
+  @ExperimentalApi("https://github.com/grpc/grpc-java/issues/1869")
+  public final S withDirectCallbacks() {
+    return build(getChannel(), getCallOptions().withOption(
+        ClientCalls.DIRECT_CALLBACKS_OPTION, true));
+  }
+
   /**
    * Returns a new blocking stub with the given channel for the provided method configurations.
    *
@@ -18,6 +18,7 @@ package io.grpc.stub;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
@@ -145,6 +146,9 @@ public final class ClientCalls {
    */
   public static <ReqT, RespT> RespT blockingUnaryCall(
       Channel channel, MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, ReqT req) {
+    if (callOptions.getOption(DIRECT_CALLBACKS_OPTION)) {
+      return blockingUnaryCallWithDirectCallbacks(channel, method, callOptions, req);
+    }
     ThreadlessExecutor executor = new ThreadlessExecutor();
     boolean interrupt = false;
     ClientCall<ReqT, RespT> call = channel.newCall(method,
@@ -176,6 +180,42 @@ public final class ClientCalls {
     }
   }
 
+  /**
+   * Blocking unary call for {@link #DIRECT_CALLBACKS_OPTION}. Callbacks complete the future from
+   * the transport thread and this thread parks until then, so no executor is created and nothing
+   * runs on this thread while it waits.
+   */
+  private static <ReqT, RespT> RespT blockingUnaryCallWithDirectCallbacks(
+      Channel channel, MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, ReqT req) {
+    boolean interrupt = false;
+    ClientCall<ReqT, RespT> call = channel.newCall(method,
+        callOptions.withOption(ClientCalls.STUB_TYPE_OPTION, StubType.BLOCKING)
+            .withExecutor(directExecutor()));
+    try {
+      ListenableFuture<RespT> responseFuture = futureUnaryCall(call, req);
+      while (!responseFuture.isDone()) {
+        try {
+          responseFuture.get();
+        } catch (InterruptedException e) {
+          interrupt = true;
+          call.cancel("Thread interrupted", e);
+          // Now wait for onClose() to be called, so interceptors can clean up
+        } catch (ExecutionException e) {
+          break;
+        }
+      }
+      return getUnchecked(responseFuture);
+    } catch (RuntimeException e) {
+      throw cancelThrow(call, e);
+    } catch (Error e) {
+      throw cancelThrow(call, e);
+    } finally {
+      if (interrupt) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
   /**
    * Executes a server-streaming call returning a blocking {@link Iterator} over the
    * response stream.  The {@code call} should not be already started.  After calling this method,
@@ -205,6 +245,12 @@ public final class ClientCalls {
   // TODO(louiscryan): Not clear if we want to use this idiom for 'simple' stubs.
   public static <ReqT, RespT> Iterator<RespT> blockingServerStreamingCall(
       Channel channel, MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, ReqT req) {
+    if (callOptions.getOption(DIRECT_CALLBACKS_OPTION)) {
+      ClientCall<ReqT, RespT> call = channel.newCall(method,
+          callOptions.withOption(ClientCalls.STUB_TYPE_OPTION, StubType.BLOCKING)
+              .withExecutor(directExecutor()));
+      return blockingServerStreamingCall(call, req);
+    }
     ThreadlessExecutor executor = new ThreadlessExecutor();
     ClientCall<ReqT, RespT> call = channel.newCall(method,
         callOptions.withOption(ClientCalls.STUB_TYPE_OPTION, StubType.BLOCKING)
@@ -801,4 +847,12 @@ public final class ClientCalls {
    */
   static final CallOptions.Key<StubType> STUB_TYPE_OPTION =
       CallOptions.Key.create("internal-stub-type");
+
+  /**
+   * Internal {@link CallOptions.Key} set by {@link AbstractBlockingStub#withDirectCallbacks()}.
+   * Blocking calls then run their callbacks on the transport thread instead of queuing them to a
+   * per-call executor drained by the waiting thread.
+   */
+  static final CallOptions.Key<Boolean> DIRECT_CALLBACKS_OPTION =
+      CallOptions.Key.createWithDefault("internal-direct-callbacks", false);
 }
@@ -51,6 +51,16 @@ public class AbstractBlockingStubTest extends BaseAbstractStubTest<NoopBlockingS
         .isEqualTo(StubType.BLOCKING);
   }
 
+  @Test
+  public void withDirectCallbacks() {
+    NoopBlockingStub stub = create(channel, CallOptions.DEFAULT);
+    assertThat(stub.getCallOptions().getOption(ClientCalls.DIRECT_CALLBACKS_OPTION)).isFalse();
+
+    NoopBlockingStub directStub = stub.withDirectCallbacks();
+    assertThat(directStub.getCallOptions().getOption(ClientCalls.DIRECT_CALLBACKS_OPTION))
+        .isTrue();
+  }
+
   @Test
   @SuppressWarnings("AssertionFailureIgnored")
   public void newStub_asyncStub_throwsException() {
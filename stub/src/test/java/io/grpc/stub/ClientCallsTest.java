@@ -17,6 +17,7 @@
 package io.grpc.stub;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -834,6 +835,110 @@ public class ClientCallsTest {
     assertTrue("context not cancelled", methodImpl.observer.isCancelled());
   }
 
+  @Test
+  public void blockingUnaryCall_directCallbacks_usesDirectExecutor() {
+    NoopClientCall<Integer, Integer> call = new NoopClientCall<Integer, Integer>() {
+      @Override
+      public void start(io.grpc.ClientCall.Listener<Integer> listener, Metadata headers) {
+        listener.onMessage(1);
+        listener.onClose(Status.OK, new Metadata());
+      }
+    };
+    when(mockChannel.newCall(
+        ArgumentMatchers.<MethodDescriptor<Integer, Integer>>any(), any(CallOptions.class)))
+        .thenReturn(call);
+
+    Integer response = ClientCalls.blockingUnaryCall(mockChannel, UNARY_METHOD,
+        CallOptions.DEFAULT.withOption(ClientCalls.DIRECT_CALLBACKS_OPTION, true), 1);
+
+    assertEquals(Integer.valueOf(1), response);
+    verify(mockChannel).newCall(methodDescriptorCaptor.capture(), callOptionsCaptor.capture());
+    CallOptions capturedCallOption = callOptionsCaptor.getValue();
+    assertThat(capturedCallOption.getExecutor()).isSameInstanceAs(directExecutor());
+    assertThat(capturedCallOption.getOption(ClientCalls.STUB_TYPE_OPTION))
+        .isEquivalentAccordingToCompareTo(StubType.BLOCKING);
+  }
+
+  @Test
+  public void blockingUnaryCall2_directCallbacks_success() throws Exception {
+    server = InProcessServerBuilder.forName("simple-reply").directExecutor()
+        .addService(ServerServiceDefinition.builder("some")
+            .addMethod(UNARY_METHOD, ServerCalls.asyncUnaryCall(
+                new UnaryMethod<Integer, Integer>() {
+                  @Override
+                  public void invoke(Integer request, StreamObserver<Integer> responseObserver) {
+                    responseObserver.onNext(request + 1);
+                    responseObserver.onCompleted();
+                  }
+                }))
+            .build())
+        .build().start();
+    // Not a direct executor channel, so callbacks would otherwise go to the blocking stub's
+    // per-call executor
+    channel = InProcessChannelBuilder.forName("simple-reply").build();
+    Integer actualResponse = ClientCalls.blockingUnaryCall(channel, UNARY_METHOD,
+        CallOptions.DEFAULT.withOption(ClientCalls.DIRECT_CALLBACKS_OPTION, true), 2);
+    assertEquals(Integer.valueOf(3), actualResponse);
+  }
+
+  @Test
+  public void blockingUnaryCall2_directCallbacks_interruptedWaitsForOnClose() throws Exception {
+    class NoopUnaryMethod implements UnaryMethod<Integer, Integer> {
+      ServerCallStreamObserver<Integer> observer;
+
+      @Override public void invoke(Integer request, StreamObserver<Integer> responseObserver) {
+        observer = (ServerCallStreamObserver<Integer>) responseObserver;
+      }
+    }
+
+    NoopUnaryMethod methodImpl = new NoopUnaryMethod();
+    server = InProcessServerBuilder.forName("noop").directExecutor()
+        .addService(ServerServiceDefinition.builder("some")
+            .addMethod(UNARY_METHOD, ServerCalls.asyncUnaryCall(methodImpl))
+            .build())
+        .build().start();
+
+    InterruptInterceptor interceptor = new InterruptInterceptor();
+    channel = InProcessChannelBuilder.forName("noop")
+        .intercept(interceptor)
+        .build();
+    try {
+      ClientCalls.blockingUnaryCall(channel, UNARY_METHOD,
+          CallOptions.DEFAULT.withOption(ClientCalls.DIRECT_CALLBACKS_OPTION, true), 2);
+      fail();
+    } catch (StatusRuntimeException ex) {
+      assertTrue(Thread.interrupted());
+      assertTrue("interrupted", ex.getCause() instanceof InterruptedException);
+    }
+    assertTrue("onCloseCalled", interceptor.onCloseCalled);
+    assertTrue("context not cancelled", methodImpl.observer.isCancelled());
+  }
+
+  @Test
+  public void blockingServerStreamingCall2_directCallbacks_success() throws Exception {
+    server = InProcessServerBuilder.forName("simple-reply").directExecutor()
+        .addService(ServerServiceDefinition.builder("some")
+            .addMethod(SERVER_STREAMING_METHOD, ServerCalls.asyncServerStreamingCall(
+                new ServerStreamingMethod<Integer, Integer>() {
+                  @Override
+                  public void invoke(Integer request, StreamObserver<Integer> responseObserver) {
+                    responseObserver.onNext(request + 1);
+                    responseObserver.onNext(request + 2);
+                    responseObserver.onCompleted();
+                  }
+                }))
+            .build())
+        .build().start();
+    channel = InProcessChannelBuilder.forName("simple-reply").build();
+    Iterator<Integer> iter = ClientCalls.blockingServerStreamingCall(channel,
+        SERVER_STREAMING_METHOD,
+        CallOptions.DEFAULT.withOption(ClientCalls.DIRECT_CALLBACKS_OPTION, true), 2);
+    assertEquals(Integer.valueOf(3), iter.next());
+    assertTrue(iter.hasNext());
+    assertEquals(Integer.valueOf(4), iter.next());
+    assertFalse(iter.hasNext());
+  }
+
   @Test
   public void blockingServerStreamingCall2_success() throws Exception {
     Integer req = 2;
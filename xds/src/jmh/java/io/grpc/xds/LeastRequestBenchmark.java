@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ClientStreamTracer.StreamInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.grpc.xds.LeastRequestLoadBalancer.InFlightCounter;
+import io.grpc.xds.LeastRequestLoadBalancer.ReadyPicker;
+import io.grpc.xds.ThreadSafeRandom.ThreadSafeRandomImpl;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks for the picker of {@link LeastRequestLoadBalancer}.
+ *
+ * <p>Each operation picks a subchannel and then starts and finishes a stream on it, so that the
+ * in-flight counters read by the other picking threads keep changing. The benchmarks differ only
+ * in the number of threads sharing the picker.
+ */
+@State(Scope.Benchmark)
+public class LeastRequestBenchmark {
+
+  @Param({"10", "100", "500", "5000"})
+  public int endpoints;
+
+  @Param({"2"})
+  public int choiceCount;
+
+  private final StreamInfo streamInfo = StreamInfo.newBuilder().build();
+  private final Metadata headers = new Metadata();
+  private ReadyPicker picker;
+
+  @Setup
+  public void setUp() {
+    List<Subchannel> subchannels = new ArrayList<>(endpoints);
+    for (int i = 0; i < endpoints; i++) {
+      subchannels.add(new FakeSubchannel(new EquivalentAddressGroup(
+          InetSocketAddress.createUnresolved("10.0.0." + i, 8080))));
+    }
+    picker = new ReadyPicker(subchannels, choiceCount, ThreadSafeRandomImpl.instance);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(1)
+  public Subchannel pick1Thread() {
+    return pickAndStartStream();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(4)
+  public Subchannel pick4Threads() {
+    return pickAndStartStream();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(16)
+  public Subchannel pick16Threads() {
+    return pickAndStartStream();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(64)
+  public Subchannel pick64Threads() {
+    return pickAndStartStream();
+  }
+
+  private Subchannel pickAndStartStream() {
+    PickResult result = picker.pickSubchannel(PICK_ARGS);
+    ClientStreamTracer tracer =
+        result.getStreamTracerFactory().newClientStreamTracer(streamInfo, headers);
+    tracer.streamCreated(Attributes.EMPTY, headers);
+    tracer.streamClosed(Status.OK);
+    return result.getSubchannel();
+  }
+
+  private static final PickSubchannelArgs PICK_ARGS = new PickSubchannelArgs() {
+    @Override
+    public CallOptions getCallOptions() {
+      return CallOptions.DEFAULT;
+    }
+
+    @Override
+    public Metadata getHeaders() {
+      return new Metadata();
+    }
+
+    @Override
+    public MethodDescriptor<?, ?> getMethodDescriptor() {
+      return null;
+    }
+  };
+
+  private static final class FakeSubchannel extends Subchannel {
+    private final EquivalentAddressGroup eag;
+    private final Attributes attributes;
+
+    FakeSubchannel(EquivalentAddressGroup eag) {
+      this.eag = eag;
+      this.attributes = Attributes.newBuilder()
+          .set(LeastRequestLoadBalancer.IN_FLIGHTS, new InFlightCounter())
+          .build();
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public void requestConnection() {}
+
+    @Override
+    public List<EquivalentAddressGroup> getAllAddresses() {
+      return Collections.singletonList(eag);
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      return attributes;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import io.grpc.Status;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.xds.LoadStatsManager2.ClusterLocalityStats;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks recording the calls of one locality in {@link LoadStatsManager2}, while its load is
+ * reported every second like {@link LoadReportClient} does.
+ *
+ * <p>Each operation records a call started and then finished. The benchmarks differ only in the
+ * number of threads recording the calls.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class LoadStatsManager2Benchmark {
+  private static final String CLUSTER = "cluster";
+  private static final String EDS_SERVICE_NAME = "eds-service";
+
+  private ScheduledExecutorService reportingService;
+  private ClusterLocalityStats localityStats;
+
+  @Setup
+  public void setUp() {
+    final LoadStatsManager2 loadStatsManager = new LoadStatsManager2(GrpcUtil.STOPWATCH_SUPPLIER);
+    localityStats = loadStatsManager.getClusterLocalityStats(
+        CLUSTER, EDS_SERVICE_NAME, Locality.create("region", "zone", "subzone"));
+    reportingService = Executors.newSingleThreadScheduledExecutor();
+    reportingService.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        loadStatsManager.getClusterStatsReports(CLUSTER);
+      }
+    }, 1, 1, TimeUnit.SECONDS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    reportingService.shutdownNow();
+    localityStats.release();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(1)
+  public void record1Thread() {
+    recordCall();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(16)
+  public void record16Threads() {
+    recordCall();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(64)
+  public void record64Threads() {
+    recordCall();
+  }
+
+  private void recordCall() {
+    localityStats.recordCallStarted();
+    localityStats.recordCallFinished(Status.OK);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.xds.RingHashLoadBalancer.Ring;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the ring of {@link RingHashLoadBalancer}.
+ *
+ * <p>{@link #build} and {@link #rebuildOneEndpointReplaced} measure the time to build a ring from
+ * scratch, and from the previous ring when an EDS update replaces one endpoint. Run them with
+ * {@code -prof gc}: the normalized allocation rate per operation is the memory needed to build the
+ * ring, most of which is the ring itself. {@link #lookup} measures the latency of finding the
+ * position of an RPC's hash on the ring.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class RingHashBenchmark {
+
+  @Param({"10", "1000"})
+  public int endpoints;
+
+  @Param({"1024", "65536", "8388608"})
+  public int ringSize;
+
+  private EquivalentAddressGroup[] endpointAddresses;
+  private EquivalentAddressGroup[] updatedEndpointAddresses;
+  private int[] hashCounts;
+  private Ring ring;
+
+  @Setup
+  public void setUp() {
+    endpointAddresses = new EquivalentAddressGroup[endpoints];
+    hashCounts = new int[endpoints];
+    for (int i = 0; i < endpoints; i++) {
+      endpointAddresses[i] = newEndpoint(i);
+      hashCounts[i] = Math.max(1, ringSize / endpoints);
+    }
+    updatedEndpointAddresses = Arrays.copyOf(endpointAddresses, endpoints);
+    updatedEndpointAddresses[endpoints / 2] = newEndpoint(endpoints);
+    ring = Ring.build(endpointAddresses, hashCounts, null);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 3, time = 5)
+  @Measurement(iterations = 5, time = 5)
+  public Ring build() {
+    return Ring.build(endpointAddresses, hashCounts, null);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 3, time = 5)
+  @Measurement(iterations = 5, time = 5)
+  public Ring rebuildOneEndpointReplaced() {
+    return Ring.build(updatedEndpointAddresses, hashCounts, ring);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookup() {
+    return ring.lookup(ThreadLocalRandom.current().nextLong());
+  }
+
+  private static EquivalentAddressGroup newEndpoint(int i) {
+    return new EquivalentAddressGroup(
+        InetSocketAddress.createUnresolved("10.0." + (i / 256) + "." + (i % 256), 8080));
+  }
+}
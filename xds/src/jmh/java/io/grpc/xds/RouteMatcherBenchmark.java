@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.re2j.Pattern;
+import io.grpc.Metadata;
+import io.grpc.xds.Filter.FilterConfig;
+import io.grpc.xds.ThreadSafeRandom.ThreadSafeRandomImpl;
+import io.grpc.xds.VirtualHost.Route;
+import io.grpc.xds.VirtualHost.Route.RouteAction;
+import io.grpc.xds.VirtualHost.Route.RouteMatch;
+import io.grpc.xds.VirtualHost.Route.RouteMatch.PathMatcher;
+import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks selecting the route of an RPC with {@link RouteMatcher}.
+ *
+ * <p>The route table is shaped like the RDS configs of large services: mostly exact path routes
+ * for individual methods, with a header-matched canary route for every tenth service, a regex
+ * route, and a catch-all route at the end.
+ */
+@State(Scope.Benchmark)
+public class RouteMatcherBenchmark {
+  private static final int METHODS_PER_SERVICE = 5;
+
+  @Param({"10", "100", "500"})
+  public int routes;
+
+  private final ThreadSafeRandom random = ThreadSafeRandomImpl.instance;
+  private final Metadata headers = new Metadata();
+  private final Metadata canaryHeaders = new Metadata();
+  private RouteMatcher routeMatcher;
+  private String lastExactPathMethod;
+  private String canaryMethod;
+
+  @Setup
+  public void setUp() {
+    List<Route> routeList = new ArrayList<>(routes);
+    for (int i = 0; i < routes - 2; i++) {
+      int service = i / METHODS_PER_SERVICE;
+      if (service % 10 == 0 && i % METHODS_PER_SERVICE == 0) {
+        routeList.add(newRoute(RouteMatch.create(
+            PathMatcher.fromPrefix("/pkg.Service" + service + "/", true),
+            Collections.singletonList(HeaderMatcher.forExactValue("x-canary", "true", false)),
+            null)));
+      }
+      lastExactPathMethod = "pkg.Service" + service + "/Method" + (i % METHODS_PER_SERVICE);
+      routeList.add(newRoute(RouteMatch.create(
+          PathMatcher.fromPath("/" + lastExactPathMethod, true),
+          Collections.<HeaderMatcher>emptyList(),
+          null)));
+    }
+    routeList.add(newRoute(RouteMatch.create(
+        PathMatcher.fromRegEx(Pattern.compile("/pkg\\.Admin[0-9]+/.*")),
+        Collections.<HeaderMatcher>emptyList(),
+        null)));
+    routeList.add(newRoute(RouteMatch.create(
+        PathMatcher.fromPrefix("", true), Collections.<HeaderMatcher>emptyList(), null)));
+    routeMatcher = new RouteMatcher(routeList);
+
+    canaryMethod = "pkg.Service0/Method0";
+    headers.put(Metadata.Key.of("user-agent", Metadata.ASCII_STRING_MARSHALLER), "grpc-java");
+    canaryHeaders.put(Metadata.Key.of("user-agent", Metadata.ASCII_STRING_MARSHALLER), "grpc-java");
+    canaryHeaders.put(Metadata.Key.of("x-canary", Metadata.ASCII_STRING_MARSHALLER), "true");
+  }
+
+  /** An RPC matching an exact path route near the end of the table. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Route exactPath() {
+    return routeMatcher.match(lastExactPathMethod, headers, random);
+  }
+
+  /** An RPC matching a route with a header matcher, ahead of the route of its method. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Route headerMatched() {
+    return routeMatcher.match(canaryMethod, canaryHeaders, random);
+  }
+
+  /** An RPC without a route of its own, that falls through to the catch-all route. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public Route catchAll() {
+    return routeMatcher.match("pkg.Unknown/Method", headers, random);
+  }
+
+  private static Route newRoute(RouteMatch routeMatch) {
+    return Route.forAction(
+        routeMatch,
+        RouteAction.forCluster(
+            "cluster", Collections.<RouteAction.HashPolicy>emptyList(), null, null),
+        Collections.<String, FilterConfig>emptyMap());
+  }
+}
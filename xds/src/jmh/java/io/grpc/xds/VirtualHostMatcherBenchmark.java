@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.common.collect.ImmutableMap;
+import io.grpc.xds.Filter.FilterConfig;
+import io.grpc.xds.VirtualHost.Route;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks finding the virtual host for a host name with {@link VirtualHostMatcher}, and building
+ * the matcher for a route configuration.
+ *
+ * <p>Each virtual host has 10 domains: 8 exact domains, a suffix wildcard and a prefix wildcard.
+ */
+@State(Scope.Benchmark)
+public class VirtualHostMatcherBenchmark {
+  private static final int DOMAINS_PER_VIRTUAL_HOST = 10;
+
+  @Param({"10", "1000", "10000"})
+  public int domains;
+
+  private List<VirtualHost> virtualHosts;
+  private VirtualHostMatcher matcher;
+  private String exactHostName;
+  private String wildcardHostName;
+
+  @Setup
+  public void setUp() {
+    virtualHosts = new ArrayList<>();
+    for (int i = 0; i < domains; i += DOMAINS_PER_VIRTUAL_HOST) {
+      List<String> virtualHostDomains = new ArrayList<>(DOMAINS_PER_VIRTUAL_HOST);
+      for (int j = i; j < i + DOMAINS_PER_VIRTUAL_HOST - 2; j++) {
+        virtualHostDomains.add("service" + j + ".example.com");
+      }
+      virtualHostDomains.add("*.service" + i + ".example.com");
+      virtualHostDomains.add("service" + i + ".example.*");
+      virtualHosts.add(VirtualHost.create(
+          "virtualhost" + i, virtualHostDomains, Collections.<Route>emptyList(),
+          ImmutableMap.<String, FilterConfig>of()));
+    }
+    matcher = new VirtualHostMatcher(virtualHosts);
+    // Domains of the last virtual host, which take the longest to find with a linear search
+    int last = domains - DOMAINS_PER_VIRTUAL_HOST;
+    exactHostName = "service" + (last + 1) + ".example.com";
+    wildcardHostName = "canary.service" + last + ".example.com";
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public VirtualHost findExact() {
+    return matcher.find(exactHostName);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public VirtualHost findWildcard() {
+    return matcher.find(wildcardHostName);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public VirtualHostMatcher build() {
+    return new VirtualHostMatcher(virtualHosts);
+  }
+}
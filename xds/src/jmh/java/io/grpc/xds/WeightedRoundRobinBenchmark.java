@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.github.xds.data.orca.v3.OrcaLoadReport;
+import com.google.common.base.Ticker;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.EndpointWeight;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.StaticStrideScheduler;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Benchmarks for {@link WeightedRoundRobinLoadBalancer}.
+ *
+ * <p>The JMH benchmark measures the cost of a pick from the lock-free scheduler, shared by
+ * several threads, for equal and for skewed weights.
+ *
+ * <p>{@link #main} runs a simulation of heterogeneous backends, half of which are twice as slow
+ * as the others, and prints the latency distribution seen by clients using round robin and
+ * weighted round robin. Each backend serves one request at a time and reports its QPS and
+ * utilization once per second, as it would with out-of-band ORCA reporting. The offered load is
+ * within the total capacity, but round robin sends the slow backends more than they can serve.
+ */
+@State(Scope.Benchmark)
+public class WeightedRoundRobinBenchmark {
+
+  @Param({"10", "100"})
+  public int backends;
+
+  @Param({"false", "true"})
+  public boolean skewedWeights;
+
+  private StaticStrideScheduler scheduler;
+
+  @Setup
+  public void setUp() {
+    float[] weights = new float[backends];
+    for (int i = 0; i < backends; i++) {
+      weights[i] = skewedWeights ? i + 1 : 1;
+    }
+    scheduler = new StaticStrideScheduler(weights, 0);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.Throughput)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(4)
+  public int pick() {
+    return scheduler.pick();
+  }
+
+  /**
+   * Runs the simulation for both policies and prints the results.
+   */
+  public static void main(String[] args) {
+    for (boolean weighted : new boolean[] {false, true}) {
+      long[] latencies = new Simulation(weighted, 42).run();
+      System.out.printf(
+          "%-20s p50=%6.2fms p90=%8.2fms p99=%8.2fms p99.9=%8.2fms%n",
+          weighted ? "weighted_round_robin" : "round_robin",
+          percentileMillis(latencies, 0.5),
+          percentileMillis(latencies, 0.9),
+          percentileMillis(latencies, 0.99),
+          percentileMillis(latencies, 0.999));
+    }
+  }
+
+  private static double percentileMillis(long[] sortedLatencies, double percentile) {
+    int index = (int) Math.min(sortedLatencies.length - 1, sortedLatencies.length * percentile);
+    return sortedLatencies[index] / 1e6;
+  }
+
+  /**
+   * A discrete-event simulation of one client sending Poisson traffic to FIFO single-server
+   * backends.
+   */
+  static final class Simulation {
+    private static final int BACKENDS = 10;
+    private static final long MEAN_SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double LOAD_FACTOR = 0.8;
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(60);
+    // Excludes the blackout period, when both policies behave the same
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(20);
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long BLACKOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long EXPIRATION_NANOS = TimeUnit.MINUTES.toNanos(3);
+
+    private final boolean weighted;
+    private final Random random;
+    private final SimulatedTicker ticker = new SimulatedTicker();
+    private final double[] speeds = new double[BACKENDS];
+    private final long[] freeAtNanos = new long[BACKENDS];
+    private final long[] requestsInInterval = new long[BACKENDS];
+    private final long[] busyNanosInInterval = new long[BACKENDS];
+    private final EndpointWeight[] endpointWeights = new EndpointWeight[BACKENDS];
+
+    Simulation(boolean weighted, long seed) {
+      this.weighted = weighted;
+      this.random = new Random(seed);
+      for (int i = 0; i < BACKENDS; i++) {
+        speeds[i] = i < BACKENDS / 2 ? 1.0 : 0.5;
+        endpointWeights[i] = new EndpointWeight(ticker);
+      }
+    }
+
+    /**
+     * Returns the sorted latencies of the requests sent after the warmup.
+     */
+    long[] run() {
+      double capacityPerNano = 0;
+      for (double speed : speeds) {
+        capacityPerNano += speed / MEAN_SERVICE_NANOS;
+      }
+      double meanInterArrivalNanos = 1 / (capacityPerNano * LOAD_FACTOR);
+      long[] latencies = new long[(int) (DURATION_NANOS / meanInterArrivalNanos * 1.1)];
+      int numLatencies = 0;
+
+      StaticStrideScheduler scheduler = newScheduler();
+      long nextReportNanos = REPORT_INTERVAL_NANOS;
+      long nowNanos = 0;
+      while (nowNanos < DURATION_NANOS) {
+        nowNanos += (long) (-Math.log(1 - random.nextDouble()) * meanInterArrivalNanos);
+        while (nowNanos >= nextReportNanos) {
+          ticker.nowNanos = nextReportNanos;
+          report();
+          // Like the load balancer, which recalculates weights on a timer
+          scheduler = newScheduler();
+          nextReportNanos += REPORT_INTERVAL_NANOS;
+        }
+        ticker.nowNanos = nowNanos;
+
+        int backend = scheduler.pick();
+        long serviceNanos = (long) (-Math.log(1 - random.nextDouble())
+            * MEAN_SERVICE_NANOS / speeds[backend]);
+        long startNanos = Math.max(nowNanos, freeAtNanos[backend]);
+        freeAtNanos[backend] = startNanos + serviceNanos;
+        requestsInInterval[backend]++;
+        busyNanosInInterval[backend] += serviceNanos;
+        if (nowNanos >= WARMUP_NANOS && numLatencies < latencies.length) {
+          latencies[numLatencies++] = freeAtNanos[backend] - nowNanos;
+        }
+      }
+      long[] result = Arrays.copyOf(latencies, numLatencies);
+      Arrays.sort(result);
+      return result;
+    }
+
+    private void report() {
+      for (int i = 0; i < BACKENDS; i++) {
+        double seconds = (double) REPORT_INTERVAL_NANOS / TimeUnit.SECONDS.toNanos(1);
+        double utilization =
+            Math.min(1.0, (double) busyNanosInInterval[i] / REPORT_INTERVAL_NANOS);
+        endpointWeights[i].onLoadReport(OrcaLoadReport.newBuilder()
+            .setRps((long) (requestsInInterval[i] / seconds))
+            .setCpuUtilization(utilization)
+            .build());
+        requestsInInterval[i] = 0;
+        busyNanosInInterval[i] = 0;
+      }
+    }
+
+    private StaticStrideScheduler newScheduler() {
+      float[] weights = new float[BACKENDS];
+      if (weighted) {
+        for (int i = 0; i < BACKENDS; i++) {
+          weights[i] = (float) endpointWeights[i].getWeight(
+              ticker.nowNanos, BLACKOUT_NANOS, EXPIRATION_NANOS);
+        }
+      }
+      return new StaticStrideScheduler(weights, random.nextInt(Integer.MAX_VALUE));
+    }
+  }
+
+  private static final class SimulatedTicker extends Ticker {
+    long nowNanos;
+
+    @Override
+    public long read() {
+      return nowNanos;
+    }
+  }
+}
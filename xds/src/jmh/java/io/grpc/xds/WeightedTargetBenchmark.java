@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import io.grpc.Attributes;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancer.CreateSubchannelArgs;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.LoadBalancer.SubchannelStateListener;
+import io.grpc.LoadBalancerRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.xds.WeightedTargetLoadBalancerProvider.WeightedPolicySelection;
+import io.grpc.xds.WeightedTargetLoadBalancerProvider.WeightedTargetConfig;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks an EDS update that replaces a single endpoint, as seen by the weighted_target policy
+ * of a cluster and its per-locality round_robin children. Each locality has 100 endpoints, and
+ * all of them are READY.
+ *
+ * <p>The benchmark is single threaded, as updates run in the synchronization context, so the
+ * average time per update is the CPU time it costs.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class WeightedTargetBenchmark {
+  private static final int ENDPOINTS_PER_LOCALITY = 100;
+
+  @Param({"1000", "10000", "50000"})
+  public int endpoints;
+
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      new Thread.UncaughtExceptionHandler() {
+        @Override
+        public void uncaughtException(Thread t, Throwable e) {
+          throw new AssertionError(e);
+        }
+      });
+  private LoadBalancer weightedTargetLb;
+  private ResolvedAddresses[] updates;
+  private int nextUpdate;
+
+  @Setup
+  public void setUp() {
+    LoadBalancerRegistry registry = LoadBalancerRegistry.getDefaultRegistry();
+    PolicySelection roundRobin = new PolicySelection(registry.getProvider("round_robin"), null);
+    int localities = endpoints / ENDPOINTS_PER_LOCALITY;
+    Map<String, WeightedPolicySelection> targets = new HashMap<>();
+    for (int i = 0; i < localities; i++) {
+      targets.put("locality" + i, new WeightedPolicySelection(1, roundRobin));
+    }
+    WeightedTargetConfig config = new WeightedTargetConfig(targets);
+
+    List<EquivalentAddressGroup> addresses = new ArrayList<>(endpoints);
+    for (int i = 0; i < endpoints; i++) {
+      addresses.add(newEndpoint(i, i / ENDPOINTS_PER_LOCALITY));
+    }
+    // Alternates between the endpoint and a replacement in the same locality
+    List<EquivalentAddressGroup> updatedAddresses = new ArrayList<>(addresses);
+    updatedAddresses.set(endpoints / 2, newEndpoint(endpoints, localities / 2));
+    updates = new ResolvedAddresses[] {
+        ResolvedAddresses.newBuilder()
+            .setAddresses(Collections.unmodifiableList(addresses))
+            .setLoadBalancingPolicyConfig(config)
+            .build(),
+        ResolvedAddresses.newBuilder()
+            .setAddresses(Collections.unmodifiableList(updatedAddresses))
+            .setLoadBalancingPolicyConfig(config)
+            .build()};
+
+    weightedTargetLb = new WeightedTargetLoadBalancer(new FakeHelper());
+    handleNextUpdate();
+  }
+
+  @TearDown
+  public void tearDown() {
+    weightedTargetLb.shutdown();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void updateOneEndpoint() {
+    handleNextUpdate();
+  }
+
+  private void handleNextUpdate() {
+    final ResolvedAddresses update = updates[nextUpdate];
+    nextUpdate = (nextUpdate + 1) % updates.length;
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        weightedTargetLb.handleResolvedAddresses(update);
+      }
+    });
+  }
+
+  private static EquivalentAddressGroup newEndpoint(int endpoint, int locality) {
+    EquivalentAddressGroup eag = new EquivalentAddressGroup(InetSocketAddress.createUnresolved(
+        "10." + (endpoint >> 16) + "." + ((endpoint >> 8) & 0xff) + "." + (endpoint & 0xff),
+        8080));
+    return AddressFilter.setPathFilter(eag, Collections.singletonList("locality" + locality));
+  }
+
+  private final class FakeHelper extends Helper {
+    @Override
+    public Subchannel createSubchannel(CreateSubchannelArgs args) {
+      return new FakeSubchannel(args);
+    }
+
+    @Override
+    public ManagedChannel createOobChannel(EquivalentAddressGroup eag, String authority) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updateBalancingState(ConnectivityState newState, SubchannelPicker newPicker) {}
+
+    @Override
+    public String getAuthority() {
+      return "foo.googleapis.com";
+    }
+
+    @Override
+    public SynchronizationContext getSynchronizationContext() {
+      return syncContext;
+    }
+  }
+
+  private static final class FakeSubchannel extends Subchannel {
+    private final CreateSubchannelArgs args;
+    private SubchannelStateListener listener;
+    private boolean connected;
+
+    FakeSubchannel(CreateSubchannelArgs args) {
+      this.args = args;
+    }
+
+    @Override
+    public void start(SubchannelStateListener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public void requestConnection() {
+      if (!connected) {
+        connected = true;
+        listener.onSubchannelState(ConnectivityStateInfo.forNonError(ConnectivityState.READY));
+      }
+    }
+
+    @Override
+    public void shutdown() {}
+
+    @Override
+    public List<EquivalentAddressGroup> getAllAddresses() {
+      return args.getAddresses();
+    }
+
+    @Override
+    public void updateAddresses(List<EquivalentAddressGroup> addrs) {}
+
+    @Override
+    public Attributes getAttributes() {
+      return args.getAttributes();
+    }
+  }
+}
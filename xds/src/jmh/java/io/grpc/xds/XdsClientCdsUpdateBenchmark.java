@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.protobuf.Any;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.DiscoveryType;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.EdsClusterConfig;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.LbPolicy;
+import io.envoyproxy.envoy.config.core.v3.AggregatedConfigSource;
+import io.envoyproxy.envoy.config.core.v3.ConfigSource;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.grpc.Context;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.ExponentialBackoffPolicy;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.TimeProvider;
+import io.grpc.stub.StreamObserver;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.BootstrapInfo;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.CdsResourceWatcher;
+import io.grpc.xds.XdsClient.CdsUpdate;
+import io.grpc.xds.internal.sds.TlsContextManagerImpl;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks {@link ClientXdsClient} handling state-of-the-world CDS responses for many clusters,
+ * in which one or all of the clusters changed since the previous response.
+ *
+ * <p>Everything runs on the benchmark thread, so an operation includes the serialization of the
+ * response and of the ACK, their transfer over the in-process transport, and the processing by the
+ * client.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class XdsClientCdsUpdateBenchmark {
+
+  @Param({"10000"})
+  public int clusters;
+
+  private ScheduledExecutorService timeService;
+  private Server server;
+  private ManagedChannel channel;
+  private ClientXdsClient xdsClient;
+  private volatile StreamObserver<DiscoveryResponse> responses;
+  // The initial response, and the responses with one and all of the clusters changed.
+  private DiscoveryResponse initialResponse;
+  private DiscoveryResponse oneChangedResponse;
+  private DiscoveryResponse allChangedResponse;
+  private int updates;
+
+  @Setup
+  public void setUp() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(serverName)
+        .addService(new FakeControlPlane())
+        .directExecutor()
+        .build()
+        .start();
+    channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    XdsChannelFactory xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        return channel;
+      }
+    };
+    BootstrapInfo bootstrapInfo = BootstrapInfo.builder()
+        .servers(Collections.singletonList(ServerInfo.create(
+            "fake-control-plane", InsecureChannelCredentials.create(), true)))
+        .node(Node.newBuilder().setId("benchmark").build())
+        .build();
+    timeService = Executors.newSingleThreadScheduledExecutor();
+    xdsClient = new ClientXdsClient(
+        xdsChannelFactory,
+        bootstrapInfo,
+        Context.ROOT,
+        timeService,
+        new ExponentialBackoffPolicy.Provider(),
+        GrpcUtil.STOPWATCH_SUPPLIER,
+        TimeProvider.SYSTEM_TIME_PROVIDER,
+        new TlsContextManagerImpl(bootstrapInfo));
+    CdsResourceWatcher watcher = new NoopCdsResourceWatcher();
+    for (int i = 0; i < clusters; i++) {
+      xdsClient.watchCdsResource(clusterName(i), watcher);
+    }
+
+    DiscoveryResponse.Builder response =
+        DiscoveryResponse.newBuilder().setTypeUrl(ResourceType.CDS.typeUrl());
+    for (int i = 0; i < clusters; i++) {
+      response.addResources(cluster(i, 0));
+    }
+    initialResponse = response.setVersionInfo("0").setNonce("0").build();
+    oneChangedResponse = response.setResources(0, cluster(0, 1)).build();
+    for (int i = 0; i < clusters; i++) {
+      response.setResources(i, cluster(i, 1));
+    }
+    allChangedResponse = response.build();
+    responses.onNext(initialResponse);
+  }
+
+  @TearDown
+  public void tearDown() {
+    xdsClient.shutdown();
+    channel.shutdownNow();
+    server.shutdownNow();
+    timeService.shutdownNow();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void oneClusterChanged() {
+    responses.onNext((updates++ & 1) == 0 ? oneChangedResponse : initialResponse);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void allClustersChanged() {
+    responses.onNext((updates++ & 1) == 0 ? allChangedResponse : initialResponse);
+  }
+
+  private static String clusterName(int index) {
+    return "cluster-" + index;
+  }
+
+  private static Any cluster(int index, int version) {
+    return Any.pack(Cluster.newBuilder()
+        .setName(clusterName(index))
+        .setType(DiscoveryType.EDS)
+        .setEdsClusterConfig(EdsClusterConfig.newBuilder()
+            .setEdsConfig(
+                ConfigSource.newBuilder().setAds(AggregatedConfigSource.getDefaultInstance()))
+            .setServiceName("eds-service-" + index + "-" + version))
+        .setLbPolicy(LbPolicy.ROUND_ROBIN)
+        .build());
+  }
+
+  private final class FakeControlPlane extends AggregatedDiscoveryServiceImplBase {
+    @Override
+    public StreamObserver<DiscoveryRequest> streamAggregatedResources(
+        StreamObserver<DiscoveryResponse> responseObserver) {
+      responses = responseObserver;
+      return new IgnoringObserver<>();
+    }
+  }
+
+  private static final class IgnoringObserver<T> implements StreamObserver<T> {
+    @Override
+    public void onNext(T value) {}
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+
+  private static final class NoopCdsResourceWatcher implements CdsResourceWatcher {
+    @Override
+    public void onChanged(CdsUpdate update) {}
+
+    @Override
+    public void onError(Status error) {}
+
+    @Override
+    public void onResourceDoesNotExist(String resourceName) {}
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.UInt32Value;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.Locality;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
+import io.grpc.Context;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.ExponentialBackoffPolicy;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.TimeProvider;
+import io.grpc.stub.StreamObserver;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.BootstrapInfo;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.EdsResourceWatcher;
+import io.grpc.xds.XdsClient.EdsUpdate;
+import io.grpc.xds.internal.sds.TlsContextManagerImpl;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks {@link ClientXdsClient} handling an update of one of many EDS resources, pushed by a
+ * local fake control plane with the state-of-the-world and the delta variants of ADS.
+ *
+ * <p>Everything runs on the benchmark thread, so an operation includes the serialization of the
+ * update and of the ACK, their transfer over the in-process transport, and the processing by the
+ * client.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class XdsClientDeltaBenchmark {
+
+  @Param({"1000", "10000"})
+  public int resources;
+
+  @Param({"false", "true"})
+  public boolean delta;
+
+  private ScheduledExecutorService timeService;
+  private Server server;
+  private ManagedChannel channel;
+  private ClientXdsClient xdsClient;
+  private volatile StreamObserver<DiscoveryResponse> sotwResponses;
+  private volatile StreamObserver<DeltaDiscoveryResponse> deltaResponses;
+  private final DiscoveryResponse[] sotwUpdates = new DiscoveryResponse[2];
+  private final DeltaDiscoveryResponse[] deltaUpdates = new DeltaDiscoveryResponse[2];
+  private int updates;
+
+  @Setup
+  public void setUp() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(serverName)
+        .addService(new FakeControlPlane())
+        .directExecutor()
+        .build()
+        .start();
+    channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    XdsChannelFactory xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        return channel;
+      }
+    };
+    BootstrapInfo bootstrapInfo = BootstrapInfo.builder()
+        .servers(Collections.singletonList(ServerInfo.create(
+            "fake-control-plane", InsecureChannelCredentials.create(), true, delta)))
+        .node(Node.newBuilder().setId("benchmark").build())
+        .build();
+    timeService = Executors.newSingleThreadScheduledExecutor();
+    xdsClient = new ClientXdsClient(
+        xdsChannelFactory,
+        bootstrapInfo,
+        Context.ROOT,
+        timeService,
+        new ExponentialBackoffPolicy.Provider(),
+        GrpcUtil.STOPWATCH_SUPPLIER,
+        TimeProvider.SYSTEM_TIME_PROVIDER,
+        new TlsContextManagerImpl(bootstrapInfo));
+    EdsResourceWatcher watcher = new NoopEdsResourceWatcher();
+    for (int i = 0; i < resources; i++) {
+      xdsClient.watchEdsResource(resourceName(i), watcher);
+    }
+
+    DiscoveryResponse.Builder sotwSnapshot =
+        DiscoveryResponse.newBuilder().setTypeUrl(ResourceType.EDS.typeUrl());
+    DeltaDiscoveryResponse.Builder deltaSnapshot =
+        DeltaDiscoveryResponse.newBuilder().setTypeUrl(ResourceType.EDS.typeUrl());
+    for (int i = 0; i < resources; i++) {
+      Any assignment = clusterLoadAssignment(resourceName(i), 8080);
+      sotwSnapshot.addResources(assignment);
+      deltaSnapshot.addResources(resource(resourceName(i), "0", assignment));
+    }
+    DiscoveryResponse initialSotwSnapshot = sotwSnapshot.setVersionInfo("0").setNonce("0").build();
+    DeltaDiscoveryResponse initialDeltaSnapshot = deltaSnapshot.setNonce("0").build();
+    for (int i = 0; i < 2; i++) {
+      // The updates alternate between two versions of the first resource.
+      Any assignment = clusterLoadAssignment(resourceName(0), 9090 + i);
+      sotwUpdates[i] = sotwSnapshot.setResources(0, assignment).setVersionInfo("" + (i + 1))
+          .setNonce("" + (i + 1)).build();
+      deltaUpdates[i] = DeltaDiscoveryResponse.newBuilder()
+          .setTypeUrl(ResourceType.EDS.typeUrl())
+          .addResources(resource(resourceName(0), "" + (i + 1), assignment))
+          .setNonce("" + (i + 1))
+          .build();
+    }
+    if (delta) {
+      deltaResponses.onNext(initialDeltaSnapshot);
+    } else {
+      sotwResponses.onNext(initialSotwSnapshot);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    xdsClient.shutdown();
+    channel.shutdownNow();
+    server.shutdownNow();
+    timeService.shutdownNow();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void updateOneResource() {
+    int update = updates++ & 1;
+    if (delta) {
+      deltaResponses.onNext(deltaUpdates[update]);
+    } else {
+      sotwResponses.onNext(sotwUpdates[update]);
+    }
+  }
+
+  private static String resourceName(int index) {
+    return "cluster-load-assignment-" + index;
+  }
+
+  private static Resource resource(String name, String version, Any assignment) {
+    return Resource.newBuilder().setName(name).setVersion(version).setResource(assignment).build();
+  }
+
+  private static Any clusterLoadAssignment(String name, int port) {
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setLocality(Locality.newBuilder().setRegion("region").setZone("zone"))
+            .setLoadBalancingWeight(UInt32Value.of(1))
+            .addLbEndpoints(LbEndpoint.newBuilder()
+                .setEndpoint(Endpoint.newBuilder()
+                    .setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder()
+                            .setAddress("10.0.0.1").setPortValue(port))))))
+        .build());
+  }
+
+  private final class FakeControlPlane extends AggregatedDiscoveryServiceImplBase {
+    @Override
+    public StreamObserver<DiscoveryRequest> streamAggregatedResources(
+        StreamObserver<DiscoveryResponse> responseObserver) {
+      sotwResponses = responseObserver;
+      return new IgnoringObserver<>();
+    }
+
+    @Override
+    public StreamObserver<DeltaDiscoveryRequest> deltaAggregatedResources(
+        StreamObserver<DeltaDiscoveryResponse> responseObserver) {
+      deltaResponses = responseObserver;
+      return new IgnoringObserver<>();
+    }
+  }
+
+  private static final class IgnoringObserver<T> implements StreamObserver<T> {
+    @Override
+    public void onNext(T value) {}
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+
+  private static final class NoopEdsResourceWatcher implements EdsResourceWatcher {
+    @Override
+    public void onChanged(EdsUpdate update) {}
+
+    @Override
+    public void onError(Status error) {}
+
+    @Override
+    public void onResourceDoesNotExist(String resourceName) {}
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.UInt32Value;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.DiscoveryType;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.EdsClusterConfig;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.LbPolicy;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.AggregatedConfigSource;
+import io.envoyproxy.envoy.config.core.v3.ConfigSource;
+import io.envoyproxy.envoy.config.core.v3.Locality;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.grpc.Context;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.ExponentialBackoffPolicy;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.TimeProvider;
+import io.grpc.stub.StreamObserver;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.BootstrapInfo;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.CdsResourceWatcher;
+import io.grpc.xds.XdsClient.CdsUpdate;
+import io.grpc.xds.XdsClient.EdsResourceWatcher;
+import io.grpc.xds.XdsClient.EdsUpdate;
+import io.grpc.xds.internal.sds.TlsContextManagerImpl;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks {@link ClientXdsClient} handling large EDS responses, with the resources parsed in
+ * its synchronization context or in parallel with an executor.
+ *
+ * <p>{@link #push} measures the time until a response is ACKed. {@link #watchDuringPush} measures
+ * the time until a new watcher is notified of a cached CDS resource, when it is added right after a
+ * response was received.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class XdsClientParsingBenchmark {
+  private static final String CLUSTER = "cluster";
+
+  @Param({"10000"})
+  public int resources;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private ScheduledExecutorService timeService;
+  private ExecutorService parsingExecutor;
+  private Server server;
+  private ManagedChannel channel;
+  private ClientXdsClient xdsClient;
+  private volatile StreamObserver<DiscoveryResponse> responses;
+  private final BlockingQueue<String> ackedEdsNonces = new LinkedBlockingQueue<>();
+  // All the resources change from one update to the next.
+  private final DiscoveryResponse[] edsUpdates = new DiscoveryResponse[2];
+  private int updates;
+  private String pushedNonce;
+
+  @Setup
+  public void setUp() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(serverName)
+        .addService(new FakeControlPlane())
+        .directExecutor()
+        .build()
+        .start();
+    channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    XdsChannelFactory xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        return channel;
+      }
+    };
+    BootstrapInfo bootstrapInfo = BootstrapInfo.builder()
+        .servers(Collections.singletonList(ServerInfo.create(
+            "fake-control-plane", InsecureChannelCredentials.create(), true)))
+        .node(Node.newBuilder().setId("benchmark").build())
+        .build();
+    timeService = Executors.newSingleThreadScheduledExecutor();
+    if (parallel) {
+      parsingExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+    xdsClient = new ClientXdsClient(
+        xdsChannelFactory,
+        bootstrapInfo,
+        Context.ROOT,
+        timeService,
+        new ExponentialBackoffPolicy.Provider(),
+        GrpcUtil.STOPWATCH_SUPPLIER,
+        TimeProvider.SYSTEM_TIME_PROVIDER,
+        new TlsContextManagerImpl(bootstrapInfo),
+        parsingExecutor);
+    EdsResourceWatcher edsWatcher = new NoopEdsResourceWatcher();
+    for (int i = 0; i < resources; i++) {
+      xdsClient.watchEdsResource(resourceName(i), edsWatcher);
+    }
+    // Keeps the CDS resource subscribed and cached.
+    CdsWatcher cdsWatcher = new CdsWatcher();
+    xdsClient.watchCdsResource(CLUSTER, cdsWatcher);
+    responses.onNext(DiscoveryResponse.newBuilder()
+        .setTypeUrl(ResourceType.CDS.typeUrl())
+        .setVersionInfo("0")
+        .setNonce("cds")
+        .addResources(cluster())
+        .build());
+    cdsWatcher.await();
+
+    for (int update = 0; update < 2; update++) {
+      DiscoveryResponse.Builder response = DiscoveryResponse.newBuilder()
+          .setTypeUrl(ResourceType.EDS.typeUrl())
+          .setVersionInfo("" + update)
+          .setNonce("" + update);
+      for (int i = 0; i < resources; i++) {
+        response.addResources(clusterLoadAssignment(resourceName(i), 8080 + update));
+      }
+      edsUpdates[update] = response.build();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    xdsClient.shutdown();
+    channel.shutdownNow();
+    server.shutdownNow();
+    timeService.shutdownNow();
+    if (parsingExecutor != null) {
+      parsingExecutor.shutdownNow();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void push() throws InterruptedException {
+    responses.onNext(nextEdsUpdate());
+    awaitAck();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void watchDuringPush() throws InterruptedException {
+    responses.onNext(nextEdsUpdate());
+    CdsWatcher watcher = new CdsWatcher();
+    xdsClient.watchCdsResource(CLUSTER, watcher);
+    watcher.await();
+    xdsClient.cancelCdsResourceWatch(CLUSTER, watcher);
+  }
+
+  /** Waits for the response pushed by {@link #watchDuringPush} to be handled. */
+  @TearDown(Level.Invocation)
+  public void awaitPushedResponse() throws InterruptedException {
+    awaitAck();
+  }
+
+  private DiscoveryResponse nextEdsUpdate() {
+    DiscoveryResponse update = edsUpdates[updates++ & 1];
+    pushedNonce = update.getNonce();
+    return update;
+  }
+
+  private void awaitAck() throws InterruptedException {
+    if (pushedNonce == null) {
+      return;
+    }
+    while (!ackedEdsNonces.take().equals(pushedNonce)) {
+      // The ACK of an earlier response.
+    }
+    pushedNonce = null;
+  }
+
+  private static String resourceName(int index) {
+    return "cluster-load-assignment-" + index;
+  }
+
+  private static Any cluster() {
+    return Any.pack(Cluster.newBuilder()
+        .setName(CLUSTER)
+        .setType(DiscoveryType.EDS)
+        .setEdsClusterConfig(EdsClusterConfig.newBuilder()
+            .setEdsConfig(
+                ConfigSource.newBuilder().setAds(AggregatedConfigSource.getDefaultInstance())))
+        .setLbPolicy(LbPolicy.ROUND_ROBIN)
+        .build());
+  }
+
+  private static Any clusterLoadAssignment(String name, int port) {
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setLocality(Locality.newBuilder().setRegion("region").setZone("zone"))
+            .setLoadBalancingWeight(UInt32Value.of(1))
+            .addLbEndpoints(LbEndpoint.newBuilder()
+                .setEndpoint(Endpoint.newBuilder()
+                    .setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder()
+                            .setAddress("10.0.0.1").setPortValue(port))))))
+        .build());
+  }
+
+  private final class FakeControlPlane extends AggregatedDiscoveryServiceImplBase {
+    @Override
+    public StreamObserver<DiscoveryRequest> streamAggregatedResources(
+        StreamObserver<DiscoveryResponse> responseObserver) {
+      responses = responseObserver;
+      return new StreamObserver<DiscoveryRequest>() {
+        @Override
+        public void onNext(DiscoveryRequest request) {
+          if (request.getTypeUrl().equals(ResourceType.EDS.typeUrl())
+              && !request.getResponseNonce().isEmpty()) {
+            ackedEdsNonces.add(request.getResponseNonce());
+          }
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {}
+      };
+    }
+  }
+
+  private static final class CdsWatcher implements CdsResourceWatcher {
+    private final CountDownLatch updated = new CountDownLatch(1);
+
+    void await() throws InterruptedException {
+      updated.await();
+    }
+
+    @Override
+    public void onChanged(CdsUpdate update) {
+      updated.countDown();
+    }
+
+    @Override
+    public void onError(Status error) {}
+
+    @Override
+    public void onResourceDoesNotExist(String resourceName) {}
+  }
+
+  private static final class NoopEdsResourceWatcher implements EdsResourceWatcher {
+    @Override
+    public void onChanged(EdsUpdate update) {}
+
+    @Override
+    public void onError(Status error) {}
+
+    @Override
+    public void onResourceDoesNotExist(String resourceName) {}
+  }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Any;
+import com.google.protobuf.UInt32Value;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.Locality;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.grpc.Context;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.ExponentialBackoffPolicy;
+import io.grpc.internal.GrpcUtil;
+import io.grpc.internal.TimeProvider;
+import io.grpc.stub.StreamObserver;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.BootstrapInfo;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.EdsResourceWatcher;
+import io.grpc.xds.XdsClient.EdsUpdate;
+import io.grpc.xds.XdsSnapshotStore.Entry;
+import io.grpc.xds.internal.sds.TlsContextManagerImpl;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the time for a new {@link ClientXdsClient} to have the data of many EDS resources,
+ * with and without a snapshot of them, from a local fake control plane that takes some time to
+ * respond.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class XdsClientStartupBenchmark {
+
+  @Param({"10000"})
+  public int resources;
+
+  @Param({"false", "true"})
+  public boolean snapshot;
+
+  @Param({"0", "100"})
+  public int controlPlaneDelayMillis;
+
+  private ScheduledExecutorService timeService;
+  private Server server;
+  private File snapshotFile;
+  private BootstrapInfo bootstrapInfo;
+  private XdsChannelFactory xdsChannelFactory;
+  private DiscoveryResponse response;
+
+  @Setup
+  public void setUp() throws Exception {
+    timeService = Executors.newSingleThreadScheduledExecutor();
+    final String serverName = InProcessServerBuilder.generateName();
+    server = InProcessServerBuilder.forName(serverName)
+        .addService(new FakeControlPlane())
+        .directExecutor()
+        .build()
+        .start();
+    xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        // Shut down with the client.
+        return InProcessChannelBuilder.forName(serverName).directExecutor().build();
+      }
+    };
+    bootstrapInfo = BootstrapInfo.builder()
+        .servers(Collections.singletonList(ServerInfo.create(
+            "fake-control-plane", InsecureChannelCredentials.create(), true)))
+        .node(Node.newBuilder().setId("benchmark").build())
+        .build();
+
+    DiscoveryResponse.Builder response = DiscoveryResponse.newBuilder()
+        .setTypeUrl(ResourceType.EDS.typeUrl())
+        .setVersionInfo("0")
+        .setNonce("0");
+    List<Entry> entries = new ArrayList<>(resources);
+    long now = TimeProvider.SYSTEM_TIME_PROVIDER.currentTimeNanos();
+    for (int i = 0; i < resources; i++) {
+      Any assignment = clusterLoadAssignment(resourceName(i));
+      response.addResources(assignment);
+      entries.add(new Entry(ResourceType.EDS, resourceName(i), assignment, now));
+    }
+    this.response = response.build();
+    snapshotFile = File.createTempFile("xds-snapshot", null);
+    newSnapshotStore(MoreExecutors.directExecutor()).save(entries);
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.shutdownNow();
+    timeService.shutdownNow();
+    snapshotFile.delete();
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public void allResourcesAvailable() throws InterruptedException {
+    ClientXdsClient xdsClient = new ClientXdsClient(
+        xdsChannelFactory,
+        bootstrapInfo,
+        Context.ROOT,
+        timeService,
+        new ExponentialBackoffPolicy.Provider(),
+        GrpcUtil.STOPWATCH_SUPPLIER,
+        TimeProvider.SYSTEM_TIME_PROVIDER,
+        new TlsContextManagerImpl(bootstrapInfo),
+        null,
+        // Never saved again during the benchmark.
+        snapshot ? newSnapshotStore(new DiscardingExecutor()) : null);
+    CountingEdsResourceWatcher watcher = new CountingEdsResourceWatcher(resources);
+    for (int i = 0; i < resources; i++) {
+      xdsClient.watchEdsResource(resourceName(i), watcher);
+    }
+    watcher.await();
+    xdsClient.shutdown();
+  }
+
+  private XdsSnapshotStore newSnapshotStore(Executor executor) {
+    return new XdsSnapshotStore(snapshotFile, "benchmark", TimeUnit.DAYS.toNanos(1), executor);
+  }
+
+  private static String resourceName(int index) {
+    return "cluster-load-assignment-" + index;
+  }
+
+  private static Any clusterLoadAssignment(String name) {
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setLocality(Locality.newBuilder().setRegion("region").setZone("zone"))
+            .setLoadBalancingWeight(UInt32Value.of(1))
+            .addLbEndpoints(LbEndpoint.newBuilder()
+                .setEndpoint(Endpoint.newBuilder()
+                    .setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder()
+                            .setAddress("10.0.0.1").setPortValue(8080))))))
+        .build());
+  }
+
+  private final class FakeControlPlane extends AggregatedDiscoveryServiceImplBase {
+    @Override
+    public StreamObserver<DiscoveryRequest> streamAggregatedResources(
+        final StreamObserver<DiscoveryResponse> responseObserver) {
+      return new StreamObserver<DiscoveryRequest>() {
+        @Override
+        public void onNext(DiscoveryRequest request) {
+          // Responds once all the resources are requested.
+          if (request.getResponseNonce().isEmpty()
+              && request.getResourceNamesCount() == resources) {
+            timeService.schedule(new Runnable() {
+              @Override
+              public void run() {
+                responseObserver.onNext(response);
+              }
+            }, controlPlaneDelayMillis, TimeUnit.MILLISECONDS);
+          }
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onCompleted() {}
+      };
+    }
+  }
+
+  private static final class DiscardingExecutor implements Executor {
+    @Override
+    public void execute(Runnable command) {}
+  }
+
+  private static final class CountingEdsResourceWatcher implements EdsResourceWatcher {
+    private final CountDownLatch updated;
+
+    CountingEdsResourceWatcher(int resources) {
+      updated = new CountDownLatch(resources);
+    }
+
+    void await() throws InterruptedException {
+      updated.await();
+    }
+
+    @Override
+    public void onChanged(EdsUpdate update) {
+      updated.countDown();
+    }
+
+    @Override
+    public void onError(Status error) {}
+
+    @Override
+    public void onResourceDoesNotExist(String resourceName) {}
+  }
+}
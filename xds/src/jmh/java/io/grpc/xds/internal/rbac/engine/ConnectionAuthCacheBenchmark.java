@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds.internal.rbac.engine;
+
+import io.grpc.Attributes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.internal.testing.TestUtils;
+import io.grpc.xds.internal.Matchers.StringMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.Action;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthConfig;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthDecision;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthenticatedMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.OrMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PathMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PolicyMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngineBenchmark.FakeServerCall;
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
+import javax.security.cert.X509Certificate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks evaluating the calls of an mTLS peer against RBAC policies, with and without a
+ * {@link ConnectionAuthCache} in the transport attributes.
+ *
+ * <p>Each policy allows a few methods to one peer, identified by its certificate. The calls are
+ * from the peer of the last policy.
+ */
+@State(Scope.Benchmark)
+public class ConnectionAuthCacheBenchmark {
+  private static final int METHODS = 5;
+
+  @Param({"10", "100", "2000"})
+  public int policies;
+
+  private GrpcAuthorizationEngine engine;
+  private final Metadata headers = new Metadata();
+  private ServerCall<Void, Void> uncachedCall;
+  private ServerCall<Void, Void> cachedCall;
+
+  @Setup
+  public void setUp() throws Exception {
+    OrMatcher permissions = OrMatcher.create(
+        PathMatcher.create(StringMatcher.forPrefix("/pkg.Service/", false)));
+    List<PolicyMatcher> policyMatchers = new ArrayList<>(policies);
+    for (int i = 0; i < policies - 1; i++) {
+      OrMatcher principals = OrMatcher.create(AuthenticatedMatcher.create(
+          StringMatcher.forExact("spiffe://foo.test.google.fr/peer" + i, false)));
+      policyMatchers.add(PolicyMatcher.create("policy" + i, permissions, principals));
+    }
+    // The SAN of server1.pem.
+    OrMatcher principals = OrMatcher.create(AuthenticatedMatcher.create(
+        StringMatcher.forExact("*.test.google.fr", false)));
+    policyMatchers.add(PolicyMatcher.create("peer", permissions, principals));
+    engine = new GrpcAuthorizationEngine(AuthConfig.create(policyMatchers, Action.ALLOW));
+
+    Attributes attributes = Attributes.newBuilder()
+        .set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, new InetSocketAddress("10.1.2.3", 40000))
+        .set(Grpc.TRANSPORT_ATTR_LOCAL_ADDR, new InetSocketAddress("10.1.2.4", 443))
+        .set(Grpc.TRANSPORT_ATTR_SSL_SESSION,
+            new FakeSslSession(TestUtils.loadX509Cert("server1.pem")))
+        .build();
+    uncachedCall = new FakeServerCall("pkg.Service/Method" + (policies % METHODS), attributes);
+    cachedCall = new FakeServerCall(
+        "pkg.Service/Method" + (policies % METHODS),
+        ConnectionAuthCache.transportFilter().transportReady(attributes));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public AuthDecision perCall() {
+    return engine.evaluate(headers, uncachedCall);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public AuthDecision perConnection() {
+    return engine.evaluate(headers, cachedCall);
+  }
+
+  /** An SSL session with a peer certificate and values. */
+  private static final class FakeSslSession implements SSLSession {
+    private final Certificate peerCertificate;
+    private final Map<String, Object> values = new HashMap<>();
+
+    FakeSslSession(Certificate peerCertificate) {
+      this.peerCertificate = peerCertificate;
+    }
+
+    @Override
+    public Certificate[] getPeerCertificates() {
+      return new Certificate[] {peerCertificate};
+    }
+
+    @Override
+    public synchronized Object getValue(String name) {
+      return values.get(name);
+    }
+
+    @Override
+    public synchronized void putValue(String name, Object value) {
+      values.put(name, value);
+    }
+
+    @Override
+    public synchronized void removeValue(String name) {
+      values.remove(name);
+    }
+
+    @Override
+    public synchronized String[] getValueNames() {
+      return values.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public byte[] getId() {
+      return new byte[0];
+    }
+
+    @Override
+    public SSLSessionContext getSessionContext() {
+      return null;
+    }
+
+    @Override
+    public long getCreationTime() {
+      return 0;
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+      return 0;
+    }
+
+    @Override
+    public void invalidate() {}
+
+    @Override
+    public boolean isValid() {
+      return true;
+    }
+
+    @Override
+    public Certificate[] getLocalCertificates() {
+      return null;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public X509Certificate[] getPeerCertificateChain() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Principal getPeerPrincipal() {
+      return null;
+    }
+
+    @Override
+    public Principal getLocalPrincipal() {
+      return null;
+    }
+
+    @Override
+    public String getCipherSuite() {
+      return "TLS_AES_128_GCM_SHA256";
+    }
+
+    @Override
+    public String getProtocol() {
+      return "TLSv1.3";
+    }
+
+    @Override
+    public String getPeerHost() {
+      return null;
+    }
+
+    @Override
+    public int getPeerPort() {
+      return -1;
+    }
+
+    @Override
+    public int getPacketBufferSize() {
+      return 0;
+    }
+
+    @Override
+    public int getApplicationBufferSize() {
+      return 0;
+    }
+  }
+}
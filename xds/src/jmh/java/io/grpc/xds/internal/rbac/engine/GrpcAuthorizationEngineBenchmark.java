@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds.internal.rbac.engine;
+
+import io.grpc.Attributes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.Status;
+import io.grpc.xds.internal.Matchers.CidrMatcher;
+import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import io.grpc.xds.internal.Matchers.StringMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.Action;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AndMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthConfig;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthDecision;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthHeaderMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.EvaluateArgs;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.OrMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PathMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PolicyMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.SourceIpMatcher;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks evaluating a call against RBAC policies with {@link GrpcAuthorizationEngine}, and
+ * with the matcher trees of the policies, as the engine did before compiling them.
+ *
+ * <p>Each policy allows one method to one user, identified by a header, from the local network.
+ * The call matches the last policy.
+ */
+@State(Scope.Benchmark)
+public class GrpcAuthorizationEngineBenchmark {
+  private static final int METHODS_PER_SERVICE = 10;
+  private static final Metadata.Key<String> USER_KEY =
+      Metadata.Key.of("x-user", Metadata.ASCII_STRING_MARSHALLER);
+
+  @Param({"10", "100", "2000"})
+  public int policies;
+
+  private AuthConfig authConfig;
+  private GrpcAuthorizationEngine engine;
+  private final Metadata headers = new Metadata();
+  private ServerCall<Void, Void> serverCall;
+
+  @Setup
+  public void setUp() throws UnknownHostException {
+    CidrMatcher localNetwork = CidrMatcher.create(InetAddress.getByName("10.0.0.0"), 8);
+    List<PolicyMatcher> policyMatchers = new ArrayList<>(policies);
+    String fullMethodName = null;
+    for (int i = 0; i < policies; i++) {
+      fullMethodName =
+          "pkg.Service" + i / METHODS_PER_SERVICE + "/Method" + i % METHODS_PER_SERVICE;
+      OrMatcher permissions = OrMatcher.create(AndMatcher.create(
+          PathMatcher.create(StringMatcher.forExact("/" + fullMethodName, false)),
+          AuthHeaderMatcher.create(HeaderMatcher.forExactValue(":method", "POST", false))));
+      OrMatcher principals = OrMatcher.create(AndMatcher.create(
+          AuthHeaderMatcher.create(HeaderMatcher.forExactValue("x-user", "user" + i, false)),
+          SourceIpMatcher.create(localNetwork)));
+      policyMatchers.add(PolicyMatcher.create("policy" + i, permissions, principals));
+    }
+    authConfig = AuthConfig.create(policyMatchers, Action.ALLOW);
+    engine = new GrpcAuthorizationEngine(authConfig);
+    headers.put(USER_KEY, "user" + (policies - 1));
+    serverCall = new FakeServerCall(
+        fullMethodName,
+        Attributes.newBuilder()
+            .set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, new InetSocketAddress("10.1.2.3", 40000))
+            .set(Grpc.TRANSPORT_ATTR_LOCAL_ADDR, new InetSocketAddress("10.1.2.4", 443))
+            .build());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public AuthDecision compiled() {
+    return engine.evaluate(headers, serverCall);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public String matcherTrees() {
+    EvaluateArgs args = new EvaluateArgs(headers, serverCall);
+    for (PolicyMatcher policyMatcher : authConfig.policies()) {
+      if (policyMatcher.matches(args)) {
+        return policyMatcher.name();
+      }
+    }
+    return null;
+  }
+
+  static final class FakeServerCall extends ServerCall<Void, Void> {
+    private final MethodDescriptor<Void, Void> method;
+    private final Attributes attributes;
+
+    FakeServerCall(String fullMethodName, Attributes attributes) {
+      this.method = MethodDescriptor.<Void, Void>newBuilder()
+          .setType(MethodDescriptor.MethodType.UNARY)
+          .setFullMethodName(fullMethodName)
+          .setRequestMarshaller(VoidMarshaller.INSTANCE)
+          .setResponseMarshaller(VoidMarshaller.INSTANCE)
+          .build();
+      this.attributes = attributes;
+    }
+
+    @Override
+    public void request(int numMessages) {}
+
+    @Override
+    public void sendHeaders(Metadata headers) {}
+
+    @Override
+    public void sendMessage(Void message) {}
+
+    @Override
+    public void close(Status status, Metadata trailers) {}
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public Attributes getAttributes() {
+      return attributes;
+    }
+
+    @Override
+    public String getAuthority() {
+      return "foo.googleapis.com";
+    }
+
+    @Override
+    public MethodDescriptor<Void, Void> getMethodDescriptor() {
+      return method;
+    }
+  }
+
+  private static final class VoidMarshaller implements MethodDescriptor.Marshaller<Void> {
+    static final VoidMarshaller INSTANCE = new VoidMarshaller();
+
+    @Override
+    public InputStream stream(Void value) {
+      return new ByteArrayInputStream(new byte[0]);
+    }
+
+    @Override
+    public Void parse(InputStream stream) {
+      return null;
+    }
+  }
+}
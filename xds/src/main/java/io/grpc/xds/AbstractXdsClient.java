@@ -26,8 +26,11 @@ import com.google.common.base.Supplier;
 import com.google.protobuf.Any;
 import com.google.rpc.Code;
 import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
 import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
 import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
 import io.grpc.Channel;
 import io.grpc.Context;
 import io.grpc.InternalLogId;
@@ -43,9 +46,17 @@ import io.grpc.xds.EnvoyProtoData.Node;
 import io.grpc.xds.XdsClient.ResourceStore;
 import io.grpc.xds.XdsClient.XdsResponseHandler;
 import io.grpc.xds.XdsLogger.XdsLogLevel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
@@ -93,9 +104,21 @@ final class AbstractXdsClient {
   private String cdsVersion = "";
   private String edsVersion = "";
 
+  // With delta xDS, the versions of the resources received for each resource type, sent to the
+  // management server when the stream is recreated so that it only sends the resources that
+  // changed in the meantime.
+  private final Map<ResourceType, Map<String, String>> deltaResourceVersions =
+      new EnumMap<>(ResourceType.class);
+  // With delta xDS, the names of the resources in the responses of each resource type that have
+  // not been ACKed or NACKed yet, in the order they were received.
+  private final Map<ResourceType, Queue<List<String>>> unackedDeltaResponseResources =
+      new EnumMap<>(ResourceType.class);
+
   private boolean shutdown;
   @Nullable
   private AbstractAdsStream adsStream;
+  // The number of ADS streams started, which identifies the latest one.
+  private int streamCount;
   @Nullable
   private BackoffPolicy retryBackoffPolicy;
   @Nullable
@@ -170,17 +193,30 @@ final class AbstractXdsClient {
       startRpcStream();
     }
     Collection<String> resources = resourceStore.getSubscribedResources(serverInfo, type);
+    if (resources == null && serverInfo.useDeltaProtocol()) {
+      // Delta xDS explicitly unsubscribes from the resources no longer watched.
+      resources = Collections.emptyList();
+    }
     if (resources != null) {
       adsStream.sendDiscoveryRequest(type, resources);
     }
   }
 
+  /**
+   * Returns the identifier of the latest ADS stream, that the responses are received on.
+   */
+  // Must be synchronized.
+  int getStreamId() {
+    return streamCount;
+  }
+
   /**
    * Accepts the update for the given resource type by updating the latest resource version
-   * and sends an ACK request to the management server.
+   * and sends an ACK request to the management server, if the response was received on the
+   * stream with the given identifier and that stream is still open.
    */
   // Must be synchronized.
-  void ackResponse(ResourceType type, String versionInfo, String nonce) {
+  void ackResponse(ResourceType type, int streamId, String versionInfo, String nonce) {
     switch (type) {
       case LDS:
         ldsVersion = versionInfo;
@@ -200,6 +236,11 @@ final class AbstractXdsClient {
     }
     logger.log(XdsLogLevel.INFO, "Sending ACK for {0} update, nonce: {1}, current version: {2}",
         type, nonce, versionInfo);
+    pollUnackedDeltaResponseResources(type);
+    if (adsStream == null || streamId != streamCount) {
+      // The stream was closed while the response was being processed.
+      return;
+    }
     Collection<String> resources = resourceStore.getSubscribedResources(serverInfo, type);
     if (resources == null) {
       resources = Collections.emptyList();
@@ -209,13 +250,24 @@ final class AbstractXdsClient {
 
   /**
    * Rejects the update for the given resource type and sends an NACK request (request with last
-   * accepted version) to the management server.
+   * accepted version) to the management server, if the response was received on the stream with
+   * the given identifier and that stream is still open.
    */
   // Must be synchronized.
-  void nackResponse(ResourceType type, String nonce, String errorDetail) {
+  void nackResponse(ResourceType type, int streamId, String nonce, String errorDetail) {
     String versionInfo = getCurrentVersion(type);
     logger.log(XdsLogLevel.INFO, "Sending NACK for {0} update, nonce: {1}, current version: {2}",
         type, nonce, versionInfo);
+    List<String> rejectedResources = pollUnackedDeltaResponseResources(type);
+    if (rejectedResources != null) {
+      // Forget the versions of the rejected resources so that they are sent again on the next
+      // stream.
+      getDeltaResourceVersions(type).keySet().removeAll(rejectedResources);
+    }
+    if (adsStream == null || streamId != streamCount) {
+      // The stream was closed while the response was being processed.
+      return;
+    }
     Collection<String> resources = resourceStore.getSubscribedResources(serverInfo, type);
     if (resources == null) {
       resources = Collections.emptyList();
@@ -238,7 +290,10 @@ final class AbstractXdsClient {
   // Must be synchronized.
   private void startRpcStream() {
     checkState(adsStream == null, "Previous adsStream has not been cleared yet");
-    if (serverInfo.useProtocolV3()) {
+    streamCount++;
+    if (serverInfo.useDeltaProtocol()) {
+      adsStream = new DeltaAdsStreamV3();
+    } else if (serverInfo.useProtocolV3()) {
       adsStream = new AdsStreamV3();
     } else {
       adsStream = new AdsStreamV2();
@@ -277,6 +332,28 @@ final class AbstractXdsClient {
     return version;
   }
 
+  /** Returns the versions of the resources of the given type received with delta xDS. */
+  // Must be synchronized.
+  private Map<String, String> getDeltaResourceVersions(ResourceType type) {
+    Map<String, String> versions = deltaResourceVersions.get(type);
+    if (versions == null) {
+      versions = new HashMap<>();
+      deltaResourceVersions.put(type, versions);
+    }
+    return versions;
+  }
+
+  /**
+   * Returns the names of the resources in the oldest delta response of the given type that has not
+   * been ACKed or NACKed yet, or {@code null} if there is none.
+   */
+  // Must be synchronized.
+  @Nullable
+  private List<String> pollUnackedDeltaResponseResources(ResourceType type) {
+    Queue<List<String>> unackedResources = unackedDeltaResponseResources.get(type);
+    return unackedResources != null ? unackedResources.poll() : null;
+  }
+
   @VisibleForTesting
   final class RpcRetryTask implements Runnable {
     @Override
@@ -389,7 +466,7 @@ final class AbstractXdsClient {
     /**
      * Sends a client-initiated discovery request.
      */
-    final void sendDiscoveryRequest(ResourceType type, Collection<String> resources) {
+    void sendDiscoveryRequest(ResourceType type, Collection<String> resources) {
       String nonce;
       switch (type) {
         case LDS:
@@ -445,6 +522,34 @@ final class AbstractXdsClient {
       }
     }
 
+    final void handleDeltaRpcResponse(
+        ResourceType type, String systemVersionInfo, List<Resource> resources,
+        List<String> removedResources, String nonce) {
+      if (closed) {
+        return;
+      }
+      responseReceived = true;
+      if (type == ResourceType.UNKNOWN) {
+        logger.log(XdsLogLevel.WARNING, "Ignore an unknown type of DeltaDiscoveryResponse");
+        return;
+      }
+      Map<String, String> versions = getDeltaResourceVersions(type);
+      List<String> names = new ArrayList<>(resources.size());
+      for (Resource resource : resources) {
+        versions.put(resource.getName(), resource.getVersion());
+        names.add(resource.getName());
+      }
+      versions.keySet().removeAll(removedResources);
+      Queue<List<String>> unackedResources = unackedDeltaResponseResources.get(type);
+      if (unackedResources == null) {
+        unackedResources = new ArrayDeque<>();
+        unackedDeltaResponseResources.put(type, unackedResources);
+      }
+      unackedResources.add(names);
+      xdsResponseHandler.handleDeltaResponse(
+          serverInfo, type, systemVersionInfo, resources, removedResources, nonce);
+    }
+
     final void handleRpcError(Throwable t) {
       handleRpcStreamClosed(Status.fromThrowable(t));
     }
@@ -655,4 +760,140 @@ final class AbstractXdsClient {
       requestWriter.onError(error);
     }
   }
+
+  /**
+   * An ADS stream using the incremental variant of the protocol, where requests only carry the
+   * changes to the subscriptions and responses only carry the resources that changed.
+   */
+  private final class DeltaAdsStreamV3 extends AbstractAdsStream {
+    private StreamObserver<DeltaDiscoveryRequest> requestWriter;
+    private boolean nodeSent;
+    // Resources subscribed to on this stream, for each resource type.
+    private final Map<ResourceType, Set<String>> subscribedResources =
+        new EnumMap<>(ResourceType.class);
+
+    @Override
+    void start() {
+      AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceStub stub =
+          AggregatedDiscoveryServiceGrpc.newStub(channel);
+      StreamObserver<DeltaDiscoveryResponse> responseReader =
+          new StreamObserver<DeltaDiscoveryResponse>() {
+            @Override
+            public void onNext(final DeltaDiscoveryResponse response) {
+              syncContext.execute(new Runnable() {
+                @Override
+                public void run() {
+                  ResourceType type = ResourceType.fromTypeUrl(response.getTypeUrl());
+                  if (logger.isLoggable(XdsLogLevel.DEBUG)) {
+                    logger.log(
+                        XdsLogLevel.DEBUG, "Received {0} delta response:\n{1}", type,
+                        MessagePrinter.print(response));
+                  }
+                  handleDeltaRpcResponse(type, response.getSystemVersionInfo(),
+                      response.getResourcesList(), response.getRemovedResourcesList(),
+                      response.getNonce());
+                }
+              });
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+              syncContext.execute(new Runnable() {
+                @Override
+                public void run() {
+                  handleRpcError(t);
+                }
+              });
+            }
+
+            @Override
+            public void onCompleted() {
+              syncContext.execute(new Runnable() {
+                @Override
+                public void run() {
+                  handleRpcCompleted();
+                }
+              });
+            }
+          };
+      requestWriter = stub.withWaitForReady().deltaAggregatedResources(responseReader);
+    }
+
+    @Override
+    void sendDiscoveryRequest(ResourceType type, Collection<String> resources) {
+      // Client-initiated requests only change the subscription, they don't ACK any response.
+      logger.log(XdsLogLevel.INFO, "Sending {0} delta request for resources: {1}", type,
+          resources);
+      sendDiscoveryRequest(type, getCurrentVersion(type), resources, "", null);
+    }
+
+    @Override
+    void sendDiscoveryRequest(ResourceType type, String versionInfo, Collection<String> resources,
+        String nonce, @Nullable String errorDetail) {
+      checkState(requestWriter != null, "ADS stream has not been started");
+      Set<String> subscribed = subscribedResources.get(type);
+      boolean firstRequest = subscribed == null;
+      if (firstRequest) {
+        subscribed = new HashSet<>();
+        subscribedResources.put(type, subscribed);
+      }
+      Set<String> wanted = new HashSet<>(resources);
+      List<String> subscribe = new ArrayList<>();
+      for (String resource : wanted) {
+        if (!subscribed.contains(resource)) {
+          subscribe.add(resource);
+        }
+      }
+      List<String> unsubscribe = new ArrayList<>();
+      for (String resource : subscribed) {
+        if (!wanted.contains(resource)) {
+          unsubscribe.add(resource);
+        }
+      }
+      if (subscribe.isEmpty() && unsubscribe.isEmpty() && nonce.isEmpty()) {
+        return;
+      }
+      DeltaDiscoveryRequest.Builder builder =
+          DeltaDiscoveryRequest.newBuilder()
+              .setTypeUrl(type.typeUrl())
+              .addAllResourceNamesSubscribe(subscribe)
+              .addAllResourceNamesUnsubscribe(unsubscribe)
+              .setResponseNonce(nonce);
+      if (!nodeSent) {
+        builder.setNode(bootstrapNode.toEnvoyProtoNode());
+        nodeSent = true;
+      }
+      Map<String, String> versions = getDeltaResourceVersions(type);
+      if (firstRequest) {
+        for (String resource : subscribe) {
+          String version = versions.get(resource);
+          if (version != null) {
+            builder.putInitialResourceVersions(resource, version);
+          }
+        }
+      }
+      versions.keySet().removeAll(unsubscribe);
+      subscribed.addAll(subscribe);
+      subscribed.removeAll(unsubscribe);
+      if (errorDetail != null) {
+        com.google.rpc.Status error =
+            com.google.rpc.Status.newBuilder()
+                .setCode(Code.INVALID_ARGUMENT_VALUE)
+                .setMessage(errorDetail)
+                .build();
+        builder.setErrorDetail(error);
+      }
+      DeltaDiscoveryRequest request = builder.build();
+      requestWriter.onNext(request);
+      if (logger.isLoggable(XdsLogLevel.DEBUG)) {
+        logger.log(
+            XdsLogLevel.DEBUG, "Sent DeltaDiscoveryRequest\n{0}", MessagePrinter.print(request));
+      }
+    }
+
+    @Override
+    void sendError(Exception error) {
+      requestWriter.onError(error);
+    }
+  }
 }
@@ -23,7 +23,9 @@ import io.grpc.EquivalentAddressGroup;
 import io.grpc.NameResolver.ResolutionResultAttr;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 final class AddressFilter {
@@ -75,6 +77,36 @@ final class AddressFilter {
     return Collections.unmodifiableList(filteredAddresses);
   }
 
+  /**
+   * Returns the next level hierarchical addresses derived from the given hierarchical addresses,
+   * grouped by filter name. The addresses of each name are the same as {@link #filter} returns for
+   * it, but all the names are filtered in a single pass over the addresses. This method does not
+   * modify the input addresses.
+   */
+  static Map<String, List<EquivalentAddressGroup>> groupByName(
+      List<EquivalentAddressGroup> addresses) {
+    checkNotNull(addresses, "addresses");
+    Map<String, List<EquivalentAddressGroup>> groupedAddresses = new HashMap<>();
+    for (EquivalentAddressGroup address : addresses) {
+      PathChain pathChain = address.getAttributes().get(PATH_CHAIN_KEY);
+      if (pathChain != null) {
+        List<EquivalentAddressGroup> filteredAddresses = groupedAddresses.get(pathChain.name);
+        if (filteredAddresses == null) {
+          filteredAddresses = new ArrayList<>();
+          groupedAddresses.put(pathChain.name, filteredAddresses);
+        }
+        Attributes filteredAddressAttrs =
+            address.getAttributes().toBuilder().set(PATH_CHAIN_KEY, pathChain.next).build();
+        filteredAddresses.add(
+            new EquivalentAddressGroup(address.getAddresses(), filteredAddressAttrs));
+      }
+    }
+    for (Map.Entry<String, List<EquivalentAddressGroup>> entry : groupedAddresses.entrySet()) {
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    }
+    return groupedAddresses;
+  }
+
   private static final class PathChain {
     final String name;
     @Nullable PathChain next;
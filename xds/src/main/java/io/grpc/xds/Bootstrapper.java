@@ -62,10 +62,24 @@ public abstract class Bootstrapper {
 
     abstract boolean useProtocolV3();
 
+    /**
+     * Whether to use the incremental (delta) variant of the ADS protocol. Only supported with
+     * {@link #useProtocolV3()}.
+     */
+    abstract boolean useDeltaProtocol();
+
     @VisibleForTesting
     static ServerInfo create(
         String target, ChannelCredentials channelCredentials, boolean useProtocolV3) {
-      return new AutoValue_Bootstrapper_ServerInfo(target, channelCredentials, useProtocolV3);
+      return create(target, channelCredentials, useProtocolV3, false);
+    }
+
+    @VisibleForTesting
+    static ServerInfo create(
+        String target, ChannelCredentials channelCredentials, boolean useProtocolV3,
+        boolean useDeltaProtocol) {
+      return new AutoValue_Bootstrapper_ServerInfo(
+          target, channelCredentials, useProtocolV3, useDeltaProtocol);
     }
   }
 
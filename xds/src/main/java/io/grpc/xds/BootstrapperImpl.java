@@ -55,6 +55,7 @@ class BootstrapperImpl extends Bootstrapper {
   @VisibleForTesting
   static String bootstrapConfigFromSysProp = System.getProperty(BOOTSTRAP_CONFIG_SYS_PROPERTY);
   private static final String XDS_V3_SERVER_FEATURE = "xds_v3";
+  private static final String DELTA_XDS_SERVER_FEATURE = "delta_xds";
   @VisibleForTesting
   static final String CLIENT_FEATURE_DISABLE_OVERPROVISIONING =
       "envoy.lb.does_not_support_overprovisioning";
@@ -275,12 +276,20 @@ class BootstrapperImpl extends Bootstrapper {
       }
 
       boolean useProtocolV3 = false;
+      boolean useDeltaProtocol = false;
       List<String> serverFeatures = JsonUtil.getListOfStrings(serverConfig, "server_features");
       if (serverFeatures != null) {
         logger.log(XdsLogLevel.INFO, "Server features: {0}", serverFeatures);
         useProtocolV3 = serverFeatures.contains(XDS_V3_SERVER_FEATURE);
+        useDeltaProtocol = serverFeatures.contains(DELTA_XDS_SERVER_FEATURE);
+        if (useDeltaProtocol && !useProtocolV3) {
+          logger.log(
+              XdsLogLevel.WARNING, "Server {0}: delta xDS requires xds_v3, ignored", serverUri);
+          useDeltaProtocol = false;
+        }
       }
-      servers.add(ServerInfo.create(serverUri, channelCredentials, useProtocolV3));
+      servers.add(
+          ServerInfo.create(serverUri, channelCredentials, useProtocolV3, useDeltaProtocol));
     }
     return servers.build();
   }
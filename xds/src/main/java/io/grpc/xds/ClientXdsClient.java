@@ -18,6 +18,7 @@ package io.grpc.xds;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static io.grpc.xds.Bootstrapper.XDSTP_SCHEME;
 
 import com.github.udpa.udpa.type.v1.TypedStruct;
@@ -90,6 +91,7 @@ import io.grpc.xds.EnvoyServerProtoData.CidrRange;
 import io.grpc.xds.EnvoyServerProtoData.ConnectionSourceType;
 import io.grpc.xds.EnvoyServerProtoData.FilterChain;
 import io.grpc.xds.EnvoyServerProtoData.FilterChainMatch;
+import io.grpc.xds.EnvoyServerProtoData.OutlierDetection;
 import io.grpc.xds.EnvoyServerProtoData.UpstreamTlsContext;
 import io.grpc.xds.Filter.ClientInterceptorBuilder;
 import io.grpc.xds.Filter.FilterConfig;
@@ -109,9 +111,11 @@ import io.grpc.xds.XdsClient.XdsResponseHandler;
 import io.grpc.xds.XdsLogger.XdsLogLevel;
 import io.grpc.xds.internal.Matchers.FractionMatcher;
 import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -123,9 +127,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 
 /**
@@ -163,9 +171,28 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
           ? Boolean.parseBoolean(System.getenv("GRPC_EXPERIMENTAL_ENABLE_LEAST_REQUEST"))
           : Boolean.parseBoolean(System.getProperty("io.grpc.xds.experimentalEnableLeastRequest"));
   @VisibleForTesting
+  static boolean enableOutlierDetection =
+      !Strings.isNullOrEmpty(System.getenv("GRPC_EXPERIMENTAL_ENABLE_OUTLIER_DETECTION"))
+          ? Boolean.parseBoolean(System.getenv("GRPC_EXPERIMENTAL_ENABLE_OUTLIER_DETECTION"))
+          : Boolean.parseBoolean(
+              System.getProperty("io.grpc.xds.experimentalEnableOutlierDetection"));
+  @VisibleForTesting
   static boolean enableCustomLbConfig =
       Strings.isNullOrEmpty(System.getenv("GRPC_EXPERIMENTAL_XDS_CUSTOM_LB_CONFIG"))
           || Boolean.parseBoolean(System.getenv("GRPC_EXPERIMENTAL_XDS_CUSTOM_LB_CONFIG"));
+  @VisibleForTesting
+  static boolean enableParallelParsing =
+      !Strings.isNullOrEmpty(System.getenv("GRPC_EXPERIMENTAL_XDS_PARALLEL_PARSING"))
+          ? Boolean.parseBoolean(System.getenv("GRPC_EXPERIMENTAL_XDS_PARALLEL_PARSING"))
+          : Boolean.parseBoolean(System.getProperty("io.grpc.xds.experimentalParallelParsing"));
+  private static final int PARSING_PARALLELISM = Runtime.getRuntime().availableProcessors();
+  // Smaller responses are parsed with fewer tasks.
+  @VisibleForTesting
+  static final int MIN_RESOURCES_PER_PARSING_TASK = 64;
+  // Delay to save the snapshot after a response was applied, saving it once for a burst of
+  // responses.
+  @VisibleForTesting
+  static final int SNAPSHOT_SAVE_DELAY_SEC = 10;
   private static final String TYPE_URL_HTTP_CONNECTION_MANAGER_V2 =
       "type.googleapis.com/envoy.config.filter.network.http_connection_manager.v2"
           + ".HttpConnectionManager";
@@ -225,6 +252,22 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
   private final Supplier<Stopwatch> stopwatchSupplier;
   private final TimeProvider timeProvider;
   private boolean reportingLoad;
+  @Nullable
+  private final Executor parsingExecutor;
+  // The responses to parse with the parsing executor, in the order they were received. Only the
+  // first one is being parsed.
+  private final Queue<PendingResponse> pendingResponses = new ArrayDeque<>();
+  @Nullable
+  private final XdsSnapshotStore snapshotStore;
+  // The resources loaded when created, to use until they are received from the control plane.
+  // Released once they are all used or too old.
+  @Nullable
+  private XdsSnapshotStore.Snapshot snapshot;
+  @Nullable
+  private ScheduledHandle snapshotSaveTimer;
+  // The resources parsed and reused in all the responses, for tests.
+  private final AtomicLong resourcesParsed = new AtomicLong();
+  private final AtomicLong resourcesSkipped = new AtomicLong();
   private final TlsContextManager tlsContextManager;
   private final InternalLogId logId;
   private final XdsLogger logger;
@@ -240,6 +283,43 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
       Supplier<Stopwatch> stopwatchSupplier,
       TimeProvider timeProvider,
       TlsContextManager tlsContextManager) {
+    this(xdsChannelFactory, bootstrapInfo, context, timeService, backoffPolicyProvider,
+        stopwatchSupplier, timeProvider, tlsContextManager, null, null);
+  }
+
+  /**
+   * Creates a client that parses the resources of the responses with {@code parsingExecutor},
+   * instead of in its synchronization context, if not {@code null}.
+   */
+  ClientXdsClient(
+      XdsChannelFactory xdsChannelFactory,
+      Bootstrapper.BootstrapInfo bootstrapInfo,
+      Context context,
+      ScheduledExecutorService timeService,
+      BackoffPolicy.Provider backoffPolicyProvider,
+      Supplier<Stopwatch> stopwatchSupplier,
+      TimeProvider timeProvider,
+      TlsContextManager tlsContextManager,
+      @Nullable Executor parsingExecutor) {
+    this(xdsChannelFactory, bootstrapInfo, context, timeService, backoffPolicyProvider,
+        stopwatchSupplier, timeProvider, tlsContextManager, parsingExecutor, null);
+  }
+
+  /**
+   * Creates a client that also starts with the resources of the snapshot in {@code snapshotStore},
+   * and saves the accepted resources to it, if not {@code null}.
+   */
+  ClientXdsClient(
+      XdsChannelFactory xdsChannelFactory,
+      Bootstrapper.BootstrapInfo bootstrapInfo,
+      Context context,
+      ScheduledExecutorService timeService,
+      BackoffPolicy.Provider backoffPolicyProvider,
+      Supplier<Stopwatch> stopwatchSupplier,
+      TimeProvider timeProvider,
+      TlsContextManager tlsContextManager,
+      @Nullable Executor parsingExecutor,
+      @Nullable XdsSnapshotStore snapshotStore) {
     this.xdsChannelFactory = xdsChannelFactory;
     this.bootstrapInfo = bootstrapInfo;
     this.context = context;
@@ -249,9 +329,15 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     this.stopwatchSupplier = stopwatchSupplier;
     this.timeProvider = timeProvider;
     this.tlsContextManager = checkNotNull(tlsContextManager, "tlsContextManager");
+    this.parsingExecutor = parsingExecutor;
+    this.snapshotStore = snapshotStore;
     logId = InternalLogId.allocate("xds-client", null);
     logger = XdsLogger.withLogId(logId);
     logger.log(XdsLogLevel.INFO, "Created");
+    snapshot = snapshotStore == null ? null : snapshotStore.load(timeProvider.currentTimeNanos());
+    if (snapshot != null) {
+      logger.log(XdsLogLevel.INFO, "Loaded {0} resources from snapshot", snapshot.size());
+    }
   }
 
   private void maybeCreateXdsChannelWithLrs(ServerInfo serverInfo) {
@@ -291,62 +377,55 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
   @Override
   public void handleLdsResponse(
       ServerInfo serverInfo, String versionInfo, List<Any> resources, String nonce) {
-    syncContext.throwIfNotInThisSynchronizationContext();
-    Map<String, ParsedResource> parsedResources = new HashMap<>(resources.size());
-    Set<String> unpackedResources = new HashSet<>(resources.size());
-    Set<String> invalidResources = new HashSet<>();
-    List<String> errors = new ArrayList<>();
-    Set<String> retainedRdsResources = new HashSet<>();
+    handleResponse(serverInfo, ResourceType.LDS, versionInfo, resources, nonce, null);
+  }
 
-    for (int i = 0; i < resources.size(); i++) {
-      Any resource = resources.get(i);
+  private ResourceResult parseListener(PendingResponse response, int index) {
+    Any resource = response.resources.get(index);
 
-      boolean isResourceV3;
-      Listener listener;
-      try {
-        resource = maybeUnwrapResources(resource);
-        // Unpack the Listener.
-        isResourceV3 = resource.getTypeUrl().equals(ResourceType.LDS.typeUrl());
-        listener = unpackCompatibleType(resource, Listener.class, ResourceType.LDS.typeUrl(),
-            ResourceType.LDS.typeUrlV2());
-      } catch (InvalidProtocolBufferException e) {
-        errors.add("LDS response Resource index " + i + " - can't decode Listener: " + e);
-        continue;
-      }
-      if (!isResourceNameValid(listener.getName(), resource.getTypeUrl())) {
-        errors.add(
-            "Unsupported resource name: " + listener.getName() + " for type: " + ResourceType.LDS);
-        continue;
-      }
-      String listenerName = canonifyResourceName(listener.getName());
-      unpackedResources.add(listenerName);
+    boolean isResourceV3;
+    Listener listener;
+    try {
+      resource = maybeUnwrapResources(resource);
+      ResourceResult acceptedResult = findAcceptedResult(response, resource);
+      if (acceptedResult != null) {
+        return acceptedResult;
+      }
+      // Unpack the Listener.
+      isResourceV3 = resource.getTypeUrl().equals(ResourceType.LDS.typeUrl());
+      listener = unpackCompatibleType(resource, Listener.class, ResourceType.LDS.typeUrl(),
+          ResourceType.LDS.typeUrlV2());
+    } catch (InvalidProtocolBufferException e) {
+      return ResourceResult.forError(
+          "LDS response Resource index " + index + " - can't decode Listener: " + e);
+    }
+    if (!isResourceNameValid(listener.getName(), resource.getTypeUrl())) {
+      return ResourceResult.forError(
+          "Unsupported resource name: " + listener.getName() + " for type: " + ResourceType.LDS);
+    }
+    String listenerName = canonifyResourceName(listener.getName());
 
-      // Process Listener into LdsUpdate.
-      LdsUpdate ldsUpdate;
-      try {
-        if (listener.hasApiListener()) {
-          ldsUpdate = processClientSideListener(
-              listener, retainedRdsResources, enableFaultInjection && isResourceV3);
-        } else {
-          ldsUpdate = processServerSideListener(
-              listener, retainedRdsResources, enableRbac && isResourceV3);
-        }
-      } catch (ResourceInvalidException e) {
-        errors.add(
-            "LDS response Listener '" + listenerName + "' validation error: " + e.getMessage());
-        invalidResources.add(listenerName);
-        continue;
+    // Process Listener into LdsUpdate.
+    LdsUpdate ldsUpdate;
+    Set<String> rdsResources = new HashSet<>();
+    try {
+      if (listener.hasApiListener()) {
+        ldsUpdate = processClientSideListener(
+            listener, rdsResources, enableFaultInjection && isResourceV3);
+      } else {
+        ldsUpdate = processServerSideListener(
+            listener, rdsResources, enableRbac && isResourceV3);
       }
-
-      // LdsUpdate parsed successfully.
-      parsedResources.put(listenerName, new ParsedResource(ldsUpdate, resource));
+    } catch (ResourceInvalidException e) {
+      return ResourceResult.forInvalid(
+          listenerName,
+          "LDS response Listener '" + listenerName + "' validation error: " + e.getMessage(),
+          rdsResources);
     }
-    logger.log(XdsLogLevel.INFO,
-        "Received LDS Response version {0} nonce {1}. Parsed resources: {2}",
-        versionInfo, nonce, unpackedResources);
-    handleResourceUpdate(
-        serverInfo, ResourceType.LDS, parsedResources, invalidResources, retainedRdsResources,
-        versionInfo, nonce, errors);
+
+    // LdsUpdate parsed successfully.
+    return ResourceResult.forParsed(
+        listenerName, new ParsedResource(response, ldsUpdate, resource, rdsResources));
   }
 
   private LdsUpdate processClientSideListener(
@@ -1436,56 +1515,49 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
   @Override
   public void handleRdsResponse(
       ServerInfo serverInfo, String versionInfo, List<Any> resources, String nonce) {
-    syncContext.throwIfNotInThisSynchronizationContext();
-    Map<String, ParsedResource> parsedResources = new HashMap<>(resources.size());
-    Set<String> unpackedResources = new HashSet<>(resources.size());
-    Set<String> invalidResources = new HashSet<>();
-    List<String> errors = new ArrayList<>();
-
-    for (int i = 0; i < resources.size(); i++) {
-      Any resource = resources.get(i);
+    handleResponse(serverInfo, ResourceType.RDS, versionInfo, resources, nonce, null);
+  }
 
-      // Unpack the RouteConfiguration.
-      RouteConfiguration routeConfig;
-      try {
-        resource = maybeUnwrapResources(resource);
-        routeConfig = unpackCompatibleType(resource, RouteConfiguration.class,
-            ResourceType.RDS.typeUrl(), ResourceType.RDS.typeUrlV2());
-      } catch (InvalidProtocolBufferException e) {
-        errors.add("RDS response Resource index " + i + " - can't decode RouteConfiguration: " + e);
-        continue;
-      }
-      if (!isResourceNameValid(routeConfig.getName(), resource.getTypeUrl())) {
-        errors.add(
-            "Unsupported resource name: " + routeConfig.getName() + " for type: "
-                + ResourceType.RDS);
-        continue;
-      }
-      String routeConfigName = canonifyResourceName(routeConfig.getName());
-      unpackedResources.add(routeConfigName);
+  private ResourceResult parseRouteConfiguration(PendingResponse response, int index) {
+    Any resource = response.resources.get(index);
 
-      // Process RouteConfiguration into RdsUpdate.
-      RdsUpdate rdsUpdate;
-      boolean isResourceV3 = resource.getTypeUrl().equals(ResourceType.RDS.typeUrl());
-      try {
-        rdsUpdate = processRouteConfiguration(
-            routeConfig, filterRegistry, enableFaultInjection && isResourceV3);
-      } catch (ResourceInvalidException e) {
-        errors.add(
-            "RDS response RouteConfiguration '" + routeConfigName + "' validation error: " + e
-                .getMessage());
-        invalidResources.add(routeConfigName);
-        continue;
+    // Unpack the RouteConfiguration.
+    RouteConfiguration routeConfig;
+    try {
+      resource = maybeUnwrapResources(resource);
+      ResourceResult acceptedResult = findAcceptedResult(response, resource);
+      if (acceptedResult != null) {
+        return acceptedResult;
       }
+      routeConfig = unpackCompatibleType(resource, RouteConfiguration.class,
+          ResourceType.RDS.typeUrl(), ResourceType.RDS.typeUrlV2());
+    } catch (InvalidProtocolBufferException e) {
+      return ResourceResult.forError(
+          "RDS response Resource index " + index + " - can't decode RouteConfiguration: " + e);
+    }
+    if (!isResourceNameValid(routeConfig.getName(), resource.getTypeUrl())) {
+      return ResourceResult.forError(
+          "Unsupported resource name: " + routeConfig.getName() + " for type: "
+              + ResourceType.RDS);
+    }
+    String routeConfigName = canonifyResourceName(routeConfig.getName());
 
-      parsedResources.put(routeConfigName, new ParsedResource(rdsUpdate, resource));
+    // Process RouteConfiguration into RdsUpdate.
+    RdsUpdate rdsUpdate;
+    boolean isResourceV3 = resource.getTypeUrl().equals(ResourceType.RDS.typeUrl());
+    try {
+      rdsUpdate = processRouteConfiguration(
+          routeConfig, filterRegistry, enableFaultInjection && isResourceV3);
+    } catch (ResourceInvalidException e) {
+      return ResourceResult.forInvalid(
+          routeConfigName,
+          "RDS response RouteConfiguration '" + routeConfigName + "' validation error: " + e
+              .getMessage(),
+          Collections.<String>emptySet());
     }
-    logger.log(XdsLogLevel.INFO,
-        "Received RDS Response version {0} nonce {1}. Parsed resources: {2}",
-        versionInfo, nonce, unpackedResources);
-    handleResourceUpdate(
-        serverInfo, ResourceType.RDS, parsedResources, invalidResources,
-        Collections.<String>emptySet(), versionInfo, nonce, errors);
+
+    return ResourceResult.forParsed(
+        routeConfigName, new ParsedResource(response, rdsUpdate, resource));
   }
 
   private static RdsUpdate processRouteConfiguration(
@@ -1576,64 +1648,58 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
   @Override
   public void handleCdsResponse(
       ServerInfo serverInfo, String versionInfo, List<Any> resources, String nonce) {
-    syncContext.throwIfNotInThisSynchronizationContext();
-    Map<String, ParsedResource> parsedResources = new HashMap<>(resources.size());
-    Set<String> unpackedResources = new HashSet<>(resources.size());
-    Set<String> invalidResources = new HashSet<>();
-    List<String> errors = new ArrayList<>();
-    Set<String> retainedEdsResources = new HashSet<>();
+    handleResponse(serverInfo, ResourceType.CDS, versionInfo, resources, nonce, null);
+  }
 
-    for (int i = 0; i < resources.size(); i++) {
-      Any resource = resources.get(i);
+  @Nullable
+  private ResourceResult parseCluster(PendingResponse response, int index) {
+    Any resource = response.resources.get(index);
 
-      // Unpack the Cluster.
-      Cluster cluster;
-      try {
-        resource = maybeUnwrapResources(resource);
-        cluster = unpackCompatibleType(
-            resource, Cluster.class, ResourceType.CDS.typeUrl(), ResourceType.CDS.typeUrlV2());
-      } catch (InvalidProtocolBufferException e) {
-        errors.add("CDS response Resource index " + i + " - can't decode Cluster: " + e);
-        continue;
-      }
-      if (!isResourceNameValid(cluster.getName(), resource.getTypeUrl())) {
-        errors.add(
-            "Unsupported resource name: " + cluster.getName() + " for type: " + ResourceType.CDS);
-        continue;
+    // Unpack the Cluster.
+    Cluster cluster;
+    try {
+      resource = maybeUnwrapResources(resource);
+      ResourceResult acceptedResult = findAcceptedResult(response, resource);
+      if (acceptedResult != null) {
+        return acceptedResult;
       }
-      String clusterName = canonifyResourceName(cluster.getName());
+      cluster = unpackCompatibleType(
+          resource, Cluster.class, ResourceType.CDS.typeUrl(), ResourceType.CDS.typeUrlV2());
+    } catch (InvalidProtocolBufferException e) {
+      return ResourceResult.forError(
+          "CDS response Resource index " + index + " - can't decode Cluster: " + e);
+    }
+    if (!isResourceNameValid(cluster.getName(), resource.getTypeUrl())) {
+      return ResourceResult.forError(
+          "Unsupported resource name: " + cluster.getName() + " for type: " + ResourceType.CDS);
+    }
+    String clusterName = canonifyResourceName(cluster.getName());
 
-      // Management server is required to always send newly requested resources, even if they
-      // may have been sent previously (proactively). Thus, client does not need to cache
-      // unrequested resources.
-      if (!cdsResourceSubscribers.containsKey(clusterName)) {
-        continue;
-      }
-      unpackedResources.add(clusterName);
+    // Management server is required to always send newly requested resources, even if they
+    // may have been sent previously (proactively). Thus, client does not need to cache
+    // unrequested resources.
+    if (!response.subscribedResources.contains(clusterName)) {
+      return null;
+    }
 
-      // Process Cluster into CdsUpdate.
-      CdsUpdate cdsUpdate;
-      try {
-        Set<String> certProviderInstances = null;
-        if (getBootstrapInfo() != null && getBootstrapInfo().certProviders() != null) {
-          certProviderInstances = getBootstrapInfo().certProviders().keySet();
-        }
-        cdsUpdate = processCluster(cluster, retainedEdsResources, certProviderInstances, serverInfo,
-            loadBalancerRegistry);
-      } catch (ResourceInvalidException e) {
-        errors.add(
-            "CDS response Cluster '" + clusterName + "' validation error: " + e.getMessage());
-        invalidResources.add(clusterName);
-        continue;
+    // Process Cluster into CdsUpdate.
+    CdsUpdate cdsUpdate;
+    Set<String> edsResources = new HashSet<>();
+    try {
+      Set<String> certProviderInstances = null;
+      if (getBootstrapInfo() != null && getBootstrapInfo().certProviders() != null) {
+        certProviderInstances = getBootstrapInfo().certProviders().keySet();
       }
-      parsedResources.put(clusterName, new ParsedResource(cdsUpdate, resource));
+      cdsUpdate = processCluster(cluster, edsResources, certProviderInstances,
+          response.serverInfo, loadBalancerRegistry);
+    } catch (ResourceInvalidException e) {
+      return ResourceResult.forInvalid(
+          clusterName,
+          "CDS response Cluster '" + clusterName + "' validation error: " + e.getMessage(),
+          edsResources);
     }
-    logger.log(XdsLogLevel.INFO,
-        "Received CDS Response version {0} nonce {1}. Parsed resources: {2}",
-        versionInfo, nonce, unpackedResources);
-    handleResourceUpdate(
-        serverInfo, ResourceType.CDS, parsedResources, invalidResources, retainedEdsResources,
-        versionInfo, nonce, errors);
+    return ResourceResult.forParsed(
+        clusterName, new ParsedResource(response, cdsUpdate, resource, edsResources));
   }
 
   @VisibleForTesting
@@ -1674,9 +1740,63 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
 
     updateBuilder.lbPolicyConfig(lbPolicyConfig);
 
+    if (enableOutlierDetection && cluster.hasOutlierDetection()) {
+      io.envoyproxy.envoy.config.cluster.v3.OutlierDetection outlierDetection =
+          cluster.getOutlierDetection();
+      validateOutlierDetection(outlierDetection);
+      updateBuilder.outlierDetection(OutlierDetection.fromEnvoyOutlierDetection(outlierDetection));
+    }
+
     return updateBuilder.build();
   }
 
+  @VisibleForTesting
+  static void validateOutlierDetection(
+      io.envoyproxy.envoy.config.cluster.v3.OutlierDetection outlierDetection)
+      throws ResourceInvalidException {
+    if (outlierDetection.hasInterval()
+        && !isPositiveDuration(outlierDetection.getInterval())) {
+      throw new ResourceInvalidException("outlier_detection interval must be positive");
+    }
+    if (outlierDetection.hasBaseEjectionTime()
+        && !isPositiveDuration(outlierDetection.getBaseEjectionTime())) {
+      throw new ResourceInvalidException("outlier_detection base_ejection_time must be positive");
+    }
+    if (outlierDetection.hasMaxEjectionTime()
+        && !isPositiveDuration(outlierDetection.getMaxEjectionTime())) {
+      throw new ResourceInvalidException("outlier_detection max_ejection_time must be positive");
+    }
+    if (outlierDetection.hasMaxEjectionPercent()
+        && !isPercentage(outlierDetection.getMaxEjectionPercent().getValue())) {
+      throw new ResourceInvalidException(
+          "outlier_detection max_ejection_percent must be in [0, 100]");
+    }
+    if (outlierDetection.hasEnforcingSuccessRate()
+        && !isPercentage(outlierDetection.getEnforcingSuccessRate().getValue())) {
+      throw new ResourceInvalidException(
+          "outlier_detection enforcing_success_rate must be in [0, 100]");
+    }
+    if (outlierDetection.hasFailurePercentageThreshold()
+        && !isPercentage(outlierDetection.getFailurePercentageThreshold().getValue())) {
+      throw new ResourceInvalidException(
+          "outlier_detection failure_percentage_threshold must be in [0, 100]");
+    }
+    if (outlierDetection.hasEnforcingFailurePercentage()
+        && !isPercentage(outlierDetection.getEnforcingFailurePercentage().getValue())) {
+      throw new ResourceInvalidException(
+          "outlier_detection enforcing_failure_percentage must be in [0, 100]");
+    }
+  }
+
+  private static boolean isPositiveDuration(Duration duration) {
+    return Durations.isValid(duration) && Durations.toNanos(duration) > 0;
+  }
+
+  // UInt32Value fields above 2^31 read as negative ints.
+  private static boolean isPercentage(int value) {
+    return value >= 0 && value <= 100;
+  }
+
   private static StructOrError<CdsUpdate.Builder> parseAggregateCluster(Cluster cluster) {
     String clusterName = cluster.getName();
     CustomClusterType customType = cluster.getClusterType();
@@ -1807,61 +1927,55 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
   @Override
   public void handleEdsResponse(
       ServerInfo serverInfo, String versionInfo, List<Any> resources, String nonce) {
-    syncContext.throwIfNotInThisSynchronizationContext();
-    Map<String, ParsedResource> parsedResources = new HashMap<>(resources.size());
-    Set<String> unpackedResources = new HashSet<>(resources.size());
-    Set<String> invalidResources = new HashSet<>();
-    List<String> errors = new ArrayList<>();
+    handleResponse(serverInfo, ResourceType.EDS, versionInfo, resources, nonce, null);
+  }
 
-    for (int i = 0; i < resources.size(); i++) {
-      Any resource = resources.get(i);
+  @Nullable
+  private ResourceResult parseClusterLoadAssignment(PendingResponse response, int index) {
+    Any resource = response.resources.get(index);
 
-      // Unpack the ClusterLoadAssignment.
-      ClusterLoadAssignment assignment;
-      try {
-        resource = maybeUnwrapResources(resource);
-        assignment =
-            unpackCompatibleType(resource, ClusterLoadAssignment.class, ResourceType.EDS.typeUrl(),
-                ResourceType.EDS.typeUrlV2());
-      } catch (InvalidProtocolBufferException e) {
-        errors.add(
-            "EDS response Resource index " + i + " - can't decode ClusterLoadAssignment: " + e);
-        continue;
-      }
-      if (!isResourceNameValid(assignment.getClusterName(), resource.getTypeUrl())) {
-        errors.add("Unsupported resource name: " + assignment.getClusterName() + " for type: "
-            + ResourceType.EDS);
-        continue;
-      }
-      String clusterName = canonifyResourceName(assignment.getClusterName());
+    // Unpack the ClusterLoadAssignment.
+    ClusterLoadAssignment assignment;
+    try {
+      resource = maybeUnwrapResources(resource);
+      ResourceResult acceptedResult = findAcceptedResult(response, resource);
+      if (acceptedResult != null) {
+        return acceptedResult;
+      }
+      assignment =
+          unpackCompatibleType(resource, ClusterLoadAssignment.class, ResourceType.EDS.typeUrl(),
+              ResourceType.EDS.typeUrlV2());
+    } catch (InvalidProtocolBufferException e) {
+      return ResourceResult.forError(
+          "EDS response Resource index " + index + " - can't decode ClusterLoadAssignment: " + e);
+    }
+    if (!isResourceNameValid(assignment.getClusterName(), resource.getTypeUrl())) {
+      return ResourceResult.forError(
+          "Unsupported resource name: " + assignment.getClusterName() + " for type: "
+              + ResourceType.EDS);
+    }
+    String clusterName = canonifyResourceName(assignment.getClusterName());
 
-      // Skip information for clusters not requested.
-      // Management server is required to always send newly requested resources, even if they
-      // may have been sent previously (proactively). Thus, client does not need to cache
-      // unrequested resources.
-      if (!edsResourceSubscribers.containsKey(clusterName)) {
-        continue;
-      }
-      unpackedResources.add(clusterName);
+    // Skip information for clusters not requested.
+    // Management server is required to always send newly requested resources, even if they
+    // may have been sent previously (proactively). Thus, client does not need to cache
+    // unrequested resources.
+    if (!response.subscribedResources.contains(clusterName)) {
+      return null;
+    }
 
-      // Process ClusterLoadAssignment into EdsUpdate.
-      EdsUpdate edsUpdate;
-      try {
-        edsUpdate = processClusterLoadAssignment(assignment);
-      } catch (ResourceInvalidException e) {
-        errors.add("EDS response ClusterLoadAssignment '" + clusterName
-            + "' validation error: " + e.getMessage());
-        invalidResources.add(clusterName);
-        continue;
-      }
-      parsedResources.put(clusterName, new ParsedResource(edsUpdate, resource));
+    // Process ClusterLoadAssignment into EdsUpdate.
+    EdsUpdate edsUpdate;
+    try {
+      edsUpdate = processClusterLoadAssignment(assignment);
+    } catch (ResourceInvalidException e) {
+      return ResourceResult.forInvalid(
+          clusterName,
+          "EDS response ClusterLoadAssignment '" + clusterName + "' validation error: "
+              + e.getMessage(),
+          Collections.<String>emptySet());
     }
-    logger.log(
-        XdsLogLevel.INFO, "Received EDS Response version {0} nonce {1}. Parsed resources: {2}",
-        versionInfo, nonce, unpackedResources);
-    handleResourceUpdate(
-        serverInfo, ResourceType.EDS, parsedResources, invalidResources,
-        Collections.<String>emptySet(), versionInfo, nonce, errors);
+    return ResourceResult.forParsed(clusterName, new ParsedResource(response, edsUpdate, resource));
   }
 
   private static EdsUpdate processClusterLoadAssignment(ClusterLoadAssignment assignment)
@@ -1995,6 +2109,29 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     return numerator;
   }
 
+  @Override
+  public void handleDeltaResponse(
+      ServerInfo serverInfo, ResourceType type, String systemVersionInfo,
+      List<Resource> resources, List<String> removedResources, String nonce) {
+    syncContext.throwIfNotInThisSynchronizationContext();
+    List<Any> rawResources = new ArrayList<>(resources.size());
+    Map<String, String> versions = new HashMap<>(resources.size());
+    for (Resource resource : resources) {
+      rawResources.add(resource.getResource());
+      if (isResourceNameValid(resource.getName(), type.typeUrl())) {
+        versions.put(canonifyResourceName(resource.getName()), resource.getVersion());
+      }
+    }
+    Set<String> removed = new HashSet<>(removedResources.size());
+    for (String resourceName : removedResources) {
+      if (isResourceNameValid(resourceName, type.typeUrl())) {
+        removed.add(canonifyResourceName(resourceName));
+      }
+    }
+    handleResponse(serverInfo, type, systemVersionInfo, rawResources, nonce,
+        new DeltaUpdate(versions, removed));
+  }
+
   @Override
   public void handleStreamClosed(Status error) {
     syncContext.throwIfNotInThisSynchronizationContext();
@@ -2057,6 +2194,11 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
               }
             }
             cleanUpResourceTimers();
+            if (snapshotSaveTimer != null) {
+              snapshotSaveTimer.cancel();
+              snapshotSaveTimer = null;
+              saveSnapshot();
+            }
           }
         });
   }
@@ -2139,6 +2281,7 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
           logger.log(XdsLogLevel.INFO, "Subscribe LDS resource {0}", resourceName);
           subscriber = new ResourceSubscriber(ResourceType.LDS, resourceName);
           ldsResourceSubscribers.put(resourceName, subscriber);
+          maybeWarmStart(subscriber);
           subscriber.xdsChannel.adjustResourceSubscription(ResourceType.LDS);
         }
         subscriber.addWatcher(watcher);
@@ -2173,6 +2316,7 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
           logger.log(XdsLogLevel.INFO, "Subscribe RDS resource {0}", resourceName);
           subscriber = new ResourceSubscriber(ResourceType.RDS, resourceName);
           rdsResourceSubscribers.put(resourceName, subscriber);
+          maybeWarmStart(subscriber);
           subscriber.xdsChannel.adjustResourceSubscription(ResourceType.RDS);
         }
         subscriber.addWatcher(watcher);
@@ -2207,6 +2351,7 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
           logger.log(XdsLogLevel.INFO, "Subscribe CDS resource {0}", resourceName);
           subscriber = new ResourceSubscriber(ResourceType.CDS, resourceName);
           cdsResourceSubscribers.put(resourceName, subscriber);
+          maybeWarmStart(subscriber);
           subscriber.xdsChannel.adjustResourceSubscription(ResourceType.CDS);
         }
         subscriber.addWatcher(watcher);
@@ -2241,6 +2386,7 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
           logger.log(XdsLogLevel.INFO, "Subscribe EDS resource {0}", resourceName);
           subscriber = new ResourceSubscriber(ResourceType.EDS, resourceName);
           edsResourceSubscribers.put(resourceName, subscriber);
+          maybeWarmStart(subscriber);
           subscriber.xdsChannel.adjustResourceSubscription(ResourceType.EDS);
         }
         subscriber.addWatcher(watcher);
@@ -2325,32 +2471,329 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     }
   }
 
+  /**
+   * Parses the resources of a response and applies the result. Without a parsing executor, this is
+   * done right away. Otherwise the resources are parsed in parallel with the executor, while the
+   * other events keep being handled, and the responses are applied in the order they were
+   * received.
+   */
+  private void handleResponse(
+      ServerInfo serverInfo, ResourceType type, String versionInfo, List<Any> resources,
+      String nonce, @Nullable DeltaUpdate delta) {
+    syncContext.throwIfNotInThisSynchronizationContext();
+    PendingResponse response =
+        new PendingResponse(serverInfo, type, versionInfo, resources, nonce, delta);
+    if (parsingExecutor == null) {
+      response.prepare(false);
+      response.parse(0, resources.size());
+      applyResponse(response);
+      return;
+    }
+    pendingResponses.add(response);
+    if (pendingResponses.size() == 1) {
+      parseInParallel(response);
+    }
+  }
+
+  // Must be synchronized.
+  private void parseInParallel(final PendingResponse response) {
+    // The response is parsed with the results of the previous responses, so only once they have
+    // been applied.
+    response.prepare(true);
+    int resourceCount = response.resources.size();
+    int tasks = Math.max(1, Math.min(
+        PARSING_PARALLELISM,
+        (resourceCount + MIN_RESOURCES_PER_PARSING_TASK - 1) / MIN_RESOURCES_PER_PARSING_TASK));
+    final AtomicInteger remainingTasks = new AtomicInteger(tasks);
+    for (int i = 0; i < tasks; i++) {
+      final int from = resourceCount * i / tasks;
+      final int to = resourceCount * (i + 1) / tasks;
+      parsingExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            response.parse(from, to);
+          } catch (Throwable t) {
+            response.failure = t;
+          } finally {
+            if (remainingTasks.decrementAndGet() == 0) {
+              syncContext.execute(new Runnable() {
+                @Override
+                public void run() {
+                  handleParsedResponse(response);
+                }
+              });
+            }
+          }
+        }
+      });
+    }
+  }
+
+  // Must be synchronized.
+  private void handleParsedResponse(PendingResponse response) {
+    checkState(pendingResponses.poll() == response, "responses parsed out of order");
+    try {
+      if (isShutdown) {
+        pendingResponses.clear();
+        return;
+      }
+      if (response.failure != null) {
+        throw new IllegalStateException(
+            "Failed to parse " + response.type + " response", response.failure);
+      }
+      if (response.delta == null
+          && response.streamId != serverChannelMap.get(response.serverInfo).getStreamId()) {
+        // The stream was restarted while the response was being parsed, the new stream receives
+        // all the resources again. The resources of a delta response are still applied, since
+        // their versions were sent on the new stream, but not ACKed or NACKed.
+        logger.log(XdsLogLevel.INFO,
+            "Drop {0} Response version {1} nonce {2} received on a previous stream",
+            response.type, response.versionInfo, response.nonce);
+        return;
+      }
+      parseNewlySubscribed(response);
+      applyResponse(response);
+    } finally {
+      PendingResponse nextResponse = pendingResponses.peek();
+      if (nextResponse != null) {
+        parseInParallel(nextResponse);
+      }
+    }
+  }
+
+  /**
+   * Parses the resources not parsed because they were not subscribed when the parsing started,
+   * and are now.
+   */
+  // Must be synchronized.
+  private void parseNewlySubscribed(PendingResponse response) {
+    if (response.subscribedResources.containsAll(
+        getSubscribedResourcesMap(response.type).keySet())) {
+      return;
+    }
+    response.prepare(false);
+    for (int i = 0; i < response.results.length; i++) {
+      if (response.results[i] == null) {
+        response.parse(i, i + 1);
+      }
+    }
+  }
+
+  private void applyResponse(PendingResponse response) {
+    int resourceCount = response.resources.size();
+    Map<String, ParsedResource> parsedResources = new HashMap<>(resourceCount);
+    Set<String> unpackedResources = new HashSet<>(resourceCount);
+    Set<String> invalidResources = new HashSet<>();
+    List<String> errors = new ArrayList<>();
+    // The RDS/EDS resources referenced by the LDS/CDS resources.
+    Set<String> retainedResources = new HashSet<>();
+    for (ResourceResult result : response.results) {
+      if (result == null) {
+        // Not subscribed.
+        continue;
+      }
+      if (result.error != null) {
+        errors.add(result.error);
+      }
+      if (result.name == null) {
+        continue;
+      }
+      unpackedResources.add(result.name);
+      retainedResources.addAll(result.referencedResources);
+      if (result.parsedResource != null) {
+        parsedResources.put(result.name, result.parsedResource);
+      } else {
+        invalidResources.add(result.name);
+      }
+    }
+    logger.log(XdsLogLevel.INFO,
+        "Received {0} Response version {1} nonce {2}. Parsed resources: {3}",
+        response.type, response.versionInfo, response.nonce, unpackedResources);
+    int parsedCount = response.resourcesParsed.get();
+    int skippedCount = response.resourcesSkipped.get();
+    resourcesParsed.addAndGet(parsedCount);
+    resourcesSkipped.addAndGet(skippedCount);
+    logger.log(XdsLogLevel.DEBUG,
+        "{0} Response nonce {1}: parsed {2} resources, reused {3} unchanged resources",
+        response.type, response.nonce, parsedCount, skippedCount);
+    handleResourceUpdate(
+        response.serverInfo, response.streamId, response.type, parsedResources, invalidResources,
+        retainedResources, response.versionInfo, response.nonce, errors, response.delta);
+    maybeScheduleSnapshotSave();
+  }
+
+  /**
+   * Uses the resource of a new subscriber from the snapshot, if any, until it is received from the
+   * control plane. It is parsed and validated like a resource of a response.
+   */
+  private void maybeWarmStart(ResourceSubscriber subscriber) {
+    if (snapshot == null) {
+      return;
+    }
+    XdsSnapshotStore.Entry entry = snapshot.remove(
+        subscriber.type, subscriber.resource, timeProvider.currentTimeNanos());
+    if (snapshot.size() == 0) {
+      snapshot = null;
+    }
+    if (entry == null) {
+      return;
+    }
+    Any resource;
+    try {
+      resource = entry.getResource();
+    } catch (IOException e) {
+      logger.log(XdsLogLevel.WARNING, "Failed to decode {0} resource {1} from snapshot: {2}",
+          subscriber.type, subscriber.resource, e);
+      return;
+    }
+    PendingResponse response = new PendingResponse(
+        subscriber.serverInfo, subscriber.type, "", Collections.singletonList(resource), "",
+        null);
+    response.prepare(false);
+    response.parse(0, 1);
+    ResourceResult result = response.results[0];
+    if (result != null && result.parsedResource != null
+        && subscriber.resource.equals(result.name)) {
+      logger.log(XdsLogLevel.INFO, "Use {0} resource {1} from snapshot",
+          subscriber.type, subscriber.resource);
+      subscriber.onSnapshotData(result.parsedResource, entry.updateTimeNanos);
+    }
+  }
+
+  // Must be synchronized.
+  private void maybeScheduleSnapshotSave() {
+    if (snapshotStore == null || snapshotSaveTimer != null) {
+      return;
+    }
+    snapshotSaveTimer = syncContext.schedule(new Runnable() {
+      @Override
+      public void run() {
+        snapshotSaveTimer = null;
+        saveSnapshot();
+      }
+    }, SNAPSHOT_SAVE_DELAY_SEC, TimeUnit.SECONDS, timeService);
+  }
+
+  // Must be synchronized.
+  private void saveSnapshot() {
+    if (snapshot != null) {
+      snapshot.removeStale(timeProvider.currentTimeNanos());
+      if (snapshot.size() == 0) {
+        snapshot = null;
+      }
+    }
+    List<XdsSnapshotStore.Entry> entries = new ArrayList<>();
+    for (ResourceType type : ResourceType.values()) {
+      if (type == ResourceType.UNKNOWN) {
+        continue;
+      }
+      for (ResourceSubscriber subscriber : getSubscribedResourcesMap(type).values()) {
+        if (subscriber.parsedResource != null) {
+          entries.add(new XdsSnapshotStore.Entry(
+              type, subscriber.resource, subscriber.parsedResource.getRawResource(),
+              subscriber.dataTimeNanos));
+        }
+      }
+    }
+    // Merged with the resources of the other processes, that this client may not subscribe to.
+    snapshotStore.save(entries, timeProvider.currentTimeNanos());
+  }
+
+  @Nullable
+  private ResourceResult parseResource(PendingResponse response, int index) {
+    switch (response.type) {
+      case LDS:
+        return parseListener(response, index);
+      case RDS:
+        return parseRouteConfiguration(response, index);
+      case CDS:
+        return parseCluster(response, index);
+      case EDS:
+        return parseClusterLoadAssignment(response, index);
+      case UNKNOWN:
+      default:
+        throw new AssertionError("Unknown resource type: " + response.type);
+    }
+  }
+
+  /**
+   * Returns the result of a subscribed resource if the resource in the response is identical to
+   * the one its data was parsed from, so that it doesn't need to be unpacked and validated again.
+   */
+  @Nullable
+  private ResourceResult findAcceptedResult(PendingResponse response, Any resource) {
+    ResourceResult acceptedResult = response.acceptedResults.get(resource);
+    if (acceptedResult == null) {
+      response.resourcesParsed.incrementAndGet();
+    } else {
+      response.resourcesSkipped.incrementAndGet();
+    }
+    return acceptedResult;
+  }
+
+  // The experimental features that change how the resources are parsed, one bit each.
+  private static int getParsingFlags() {
+    boolean[] flags = {
+        enableFaultInjection, enableRetry, enableRbac, enableRouteLookup, enableLeastRequest,
+        enableOutlierDetection, enableCustomLbConfig};
+    int parsingFlags = 0;
+    for (int i = 0; i < flags.length; i++) {
+      if (flags[i]) {
+        parsingFlags |= 1 << i;
+      }
+    }
+    return parsingFlags;
+  }
+
+  @VisibleForTesting
+  long getResourcesParsed() {
+    return resourcesParsed.get();
+  }
+
+  @VisibleForTesting
+  long getResourcesSkipped() {
+    return resourcesSkipped.get();
+  }
+
   private void handleResourceUpdate(
-      ServerInfo serverInfo, ResourceType type, Map<String, ParsedResource> parsedResources,
-      Set<String> invalidResources, Set<String> retainedResources, String version, String nonce,
-      List<String> errors) {
+      ServerInfo serverInfo, int streamId, ResourceType type,
+      Map<String, ParsedResource> parsedResources, Set<String> invalidResources,
+      Set<String> retainedResources, String version, String nonce, List<String> errors,
+      @Nullable DeltaUpdate delta) {
     String errorDetail = null;
     if (errors.isEmpty()) {
       checkArgument(invalidResources.isEmpty(), "found invalid resources but missing errors");
-      serverChannelMap.get(serverInfo).ackResponse(type, version, nonce);
+      serverChannelMap.get(serverInfo).ackResponse(type, streamId, version, nonce);
     } else {
       errorDetail = Joiner.on('\n').join(errors);
       logger.log(XdsLogLevel.WARNING,
           "Failed processing {0} Response version {1} nonce {2}. Errors:\n{3}",
           type, version, nonce, errorDetail);
-      serverChannelMap.get(serverInfo).nackResponse(type, nonce, errorDetail);
+      serverChannelMap.get(serverInfo).nackResponse(type, streamId, nonce, errorDetail);
     }
     long updateTime = timeProvider.currentTimeNanos();
     for (Map.Entry<String, ResourceSubscriber> entry : getSubscribedResourcesMap(type).entrySet()) {
       String resourceName = entry.getKey();
       ResourceSubscriber subscriber = entry.getValue();
+      String resourceVersion = delta == null ? version : delta.getVersion(resourceName, version);
       // Attach error details to the subscribed resources that included in the ADS update.
       if (invalidResources.contains(resourceName)) {
-        subscriber.onRejected(version, updateTime, errorDetail);
+        subscriber.onRejected(resourceVersion, updateTime, errorDetail);
       }
       // Notify the watchers.
       if (parsedResources.containsKey(resourceName)) {
-        subscriber.onData(parsedResources.get(resourceName), version, updateTime);
+        subscriber.onData(parsedResources.get(resourceName), resourceVersion, updateTime);
+      } else if (delta != null) {
+        // Delta updates only carry the resources that changed, the others are only gone if
+        // explicitly removed.
+        if (delta.removedResources.contains(resourceName)) {
+          subscriber.stopTimer();
+          subscriber.onAbsent();
+        } else if (subscriber.data == null && invalidResources.contains(resourceName)
+            && (type == ResourceType.LDS || type == ResourceType.CDS)) {
+          subscriber.onError(Status.UNAVAILABLE.withDescription(errorDetail));
+        }
       } else if (type == ResourceType.LDS || type == ResourceType.CDS) {
         if (subscriber.data != null && invalidResources.contains(resourceName)) {
           // Update is rejected but keep using the cached data.
@@ -2382,7 +2825,7 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     }
     // LDS/CDS responses represents the state of the world, RDS/EDS resources not referenced in
     // LDS/CDS resources should be deleted.
-    if (type == ResourceType.LDS || type == ResourceType.CDS) {
+    if (delta == null && (type == ResourceType.LDS || type == ResourceType.CDS)) {
       Map<String, ResourceSubscriber> dependentSubscribers =
           type == ResourceType.LDS ? rdsResourceSubscribers : edsResourceSubscribers;
       for (String resource : dependentSubscribers.keySet()) {
@@ -2393,13 +2836,133 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     }
   }
 
+  /**
+   * A response of the given type, with what is needed to parse its resources outside of the
+   * synchronization context, and the results.
+   */
+  private final class PendingResponse {
+    private final ServerInfo serverInfo;
+    private final ResourceType type;
+    private final String versionInfo;
+    private final List<Any> resources;
+    private final String nonce;
+    @Nullable
+    private final DeltaUpdate delta;
+    // The ADS stream the response was received on.
+    private final int streamId;
+    private final ResourceResult[] results;
+    // The experimental features enabled when the response was received.
+    private final int parsingFlags = getParsingFlags();
+    // Taken from the subscribers when the parsing starts: the names of the subscribed resources,
+    // and the results for the resources their data was parsed from.
+    private Set<String> subscribedResources;
+    private Map<Any, ResourceResult> acceptedResults;
+    // The resources parsed, and the ones whose accepted result was reused instead.
+    private final AtomicInteger resourcesParsed = new AtomicInteger();
+    private final AtomicInteger resourcesSkipped = new AtomicInteger();
+    @Nullable
+    private volatile Throwable failure;
+
+    private PendingResponse(
+        ServerInfo serverInfo, ResourceType type, String versionInfo, List<Any> resources,
+        String nonce, @Nullable DeltaUpdate delta) {
+      this.serverInfo = serverInfo;
+      this.type = type;
+      this.versionInfo = versionInfo;
+      this.resources = resources;
+      this.nonce = nonce;
+      this.delta = delta;
+      this.streamId = serverChannelMap.get(serverInfo).getStreamId();
+      this.results = new ResourceResult[resources.size()];
+    }
+
+    // Must be synchronized.
+    private void prepare(boolean parsedConcurrently) {
+      Map<String, ResourceSubscriber> subscribers = getSubscribedResourcesMap(type);
+      subscribedResources = parsedConcurrently
+          ? ImmutableSet.copyOf(subscribers.keySet()) : subscribers.keySet();
+      acceptedResults = new HashMap<>(subscribers.size());
+      for (ResourceSubscriber subscriber : subscribers.values()) {
+        // The data also depends on the server, referenced by the LRS server of a cluster, and on
+        // the experimental features: only reuse it if they are the same as when it was parsed.
+        if (subscriber.parsedResource != null && subscriber.serverInfo.equals(serverInfo)
+            && subscriber.parsedResource.parsingFlags == parsingFlags) {
+          acceptedResults.put(
+              subscriber.parsedResource.getRawResource(),
+              ResourceResult.forParsed(subscriber.resource, subscriber.parsedResource));
+        }
+      }
+    }
+
+    private void parse(int from, int to) {
+      for (int i = from; i < to; i++) {
+        try {
+          results[i] = parseResource(this, i);
+        } catch (RuntimeException e) {
+          // An unexpected failure only rejects the resource, like an invalid one.
+          results[i] = ResourceResult.forError(
+              type + " response Resource index " + i + " - failed to parse: " + e);
+        }
+      }
+    }
+  }
+
+  /** The result of parsing one resource of a response. */
+  private static final class ResourceResult {
+    // Null if the resource could not be decoded or named.
+    @Nullable
+    private final String name;
+    // Null if the resource is invalid.
+    @Nullable
+    private final ParsedResource parsedResource;
+    @Nullable
+    private final String error;
+    // The RDS/EDS resources referenced by an LDS/CDS resource, even if invalid.
+    private final Set<String> referencedResources;
+
+    private ResourceResult(
+        @Nullable String name, @Nullable ParsedResource parsedResource, @Nullable String error,
+        Set<String> referencedResources) {
+      this.name = name;
+      this.parsedResource = parsedResource;
+      this.error = error;
+      this.referencedResources = referencedResources;
+    }
+
+    private static ResourceResult forParsed(String name, ParsedResource parsedResource) {
+      return new ResourceResult(name, parsedResource, null, parsedResource.referencedResources);
+    }
+
+    private static ResourceResult forInvalid(
+        String name, String error, Set<String> referencedResources) {
+      return new ResourceResult(name, null, error, referencedResources);
+    }
+
+    private static ResourceResult forError(String error) {
+      return new ResourceResult(null, null, error, Collections.<String>emptySet());
+    }
+  }
+
   private static final class ParsedResource {
     private final ResourceUpdate resourceUpdate;
     private final Any rawResource;
+    // The RDS/EDS resources referenced by an LDS/CDS resource.
+    private final Set<String> referencedResources;
+    // The experimental features enabled when parsed.
+    private final int parsingFlags;
 
-    private ParsedResource(ResourceUpdate resourceUpdate, Any rawResource) {
+    private ParsedResource(
+        PendingResponse response, ResourceUpdate resourceUpdate, Any rawResource) {
+      this(response, resourceUpdate, rawResource, Collections.<String>emptySet());
+    }
+
+    private ParsedResource(
+        PendingResponse response, ResourceUpdate resourceUpdate, Any rawResource,
+        Set<String> referencedResources) {
       this.resourceUpdate = checkNotNull(resourceUpdate, "resourceUpdate");
       this.rawResource = checkNotNull(rawResource, "rawResource");
+      this.referencedResources = checkNotNull(referencedResources, "referencedResources");
+      this.parsingFlags = response.parsingFlags;
     }
 
     private ResourceUpdate getResourceUpdate() {
@@ -2411,6 +2974,22 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     }
   }
 
+  /** The resource versions and removed resources of a delta (incremental) update. */
+  private static final class DeltaUpdate {
+    private final Map<String, String> resourceVersions;
+    private final Set<String> removedResources;
+
+    private DeltaUpdate(Map<String, String> resourceVersions, Set<String> removedResources) {
+      this.resourceVersions = checkNotNull(resourceVersions, "resourceVersions");
+      this.removedResources = checkNotNull(removedResources, "removedResources");
+    }
+
+    private String getVersion(String resourceName, String defaultVersion) {
+      String version = resourceVersions.get(resourceName);
+      return version != null ? version : defaultVersion;
+    }
+  }
+
   /**
    * Tracks a single subscribed resource.
    */
@@ -2421,6 +3000,13 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     private final String resource;
     private final Set<ResourceWatcher> watchers = new HashSet<>();
     private ResourceUpdate data;
+    // What the data was parsed from.
+    @Nullable
+    private ParsedResource parsedResource;
+    // When the data was received from the control plane.
+    private long dataTimeNanos;
+    // Whether the data comes from the snapshot, and was not received from the control plane yet.
+    private boolean fromSnapshot;
     private boolean absent;
     private ScheduledHandle respTimer;
     private ResourceMetadata metadata;
@@ -2470,7 +3056,8 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
     }
 
     void restartTimer() {
-      if (data != null || absent) {  // resource already resolved
+      // A resource from the snapshot is still fetched.
+      if ((data != null && !fromSnapshot) || absent) {  // resource already resolved
         return;
       }
       class ResourceNotFound implements Runnable {
@@ -2515,6 +3102,9 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
           .newResourceMetadataAcked(parsedResource.getRawResource(), version, updateTime);
       ResourceUpdate oldData = this.data;
       this.data = parsedResource.getResourceUpdate();
+      this.parsedResource = parsedResource;
+      dataTimeNanos = updateTime;
+      fromSnapshot = false;
       absent = false;
       if (!Objects.equals(oldData, data)) {
         for (ResourceWatcher watcher : watchers) {
@@ -2523,6 +3113,18 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
       }
     }
 
+    /**
+     * Uses the data of a new subscriber from the snapshot. Unlike other data, it is still concluded
+     * absent if not received from the control plane before the initial fetch timeout.
+     */
+    void onSnapshotData(ParsedResource parsedResource, long updateTime) {
+      checkState(watchers.isEmpty() && data == null, "subscriber already used");
+      this.data = parsedResource.getResourceUpdate();
+      this.parsedResource = parsedResource;
+      dataTimeNanos = updateTime;
+      fromSnapshot = true;
+    }
+
     void onAbsent() {
       if (respTimer != null && respTimer.isPending()) {  // too early to conclude absence
         return;
@@ -2530,6 +3132,8 @@ final class ClientXdsClient extends XdsClient implements XdsResponseHandler, Res
       logger.log(XdsLogLevel.INFO, "Conclude {0} resource {1} not exist", type, resource);
       if (!absent) {
         data = null;
+        parsedResource = null;
+        fromSnapshot = false;
         absent = true;
         metadata = ResourceMetadata.newResourceMetadataDoesNotExist();
         for (ResourceWatcher watcher : watchers) {
@@ -38,6 +38,10 @@ import io.grpc.internal.ObjectPool;
 import io.grpc.internal.ServiceConfigUtil.PolicySelection;
 import io.grpc.util.ForwardingLoadBalancerHelper;
 import io.grpc.util.GracefulSwitchLoadBalancer;
+import io.grpc.util.OutlierDetectionLoadBalancer.FailurePercentageEjection;
+import io.grpc.util.OutlierDetectionLoadBalancer.OutlierDetectionLoadBalancerConfig;
+import io.grpc.util.OutlierDetectionLoadBalancer.SuccessRateEjection;
+import io.grpc.util.OutlierDetectionLoadBalancerProvider;
 import io.grpc.xds.Bootstrapper.ServerInfo;
 import io.grpc.xds.ClusterImplLoadBalancerProvider.ClusterImplConfig;
 import io.grpc.xds.ClusterResolverLoadBalancerProvider.ClusterResolverConfig;
@@ -45,6 +49,7 @@ import io.grpc.xds.ClusterResolverLoadBalancerProvider.ClusterResolverConfig.Dis
 import io.grpc.xds.Endpoints.DropOverload;
 import io.grpc.xds.Endpoints.LbEndpoint;
 import io.grpc.xds.Endpoints.LocalityLbEndpoints;
+import io.grpc.xds.EnvoyServerProtoData.OutlierDetection;
 import io.grpc.xds.EnvoyServerProtoData.UpstreamTlsContext;
 import io.grpc.xds.PriorityLoadBalancerProvider.PriorityLbConfig;
 import io.grpc.xds.PriorityLoadBalancerProvider.PriorityLbConfig.PriorityChildConfig;
@@ -172,7 +177,8 @@ final class ClusterResolverLoadBalancer extends LoadBalancer {
         ClusterState state;
         if (instance.type == DiscoveryMechanism.Type.EDS) {
           state = new EdsClusterState(instance.cluster, instance.edsServiceName,
-              instance.lrsServerInfo, instance.maxConcurrentRequests, instance.tlsContext);
+              instance.lrsServerInfo, instance.maxConcurrentRequests, instance.tlsContext,
+              instance.outlierDetection);
         } else {  // logical DNS
           state = new LogicalDnsClusterState(instance.cluster, instance.dnsHostName,
               instance.lrsServerInfo, instance.maxConcurrentRequests, instance.tlsContext);
@@ -342,12 +348,15 @@ final class ClusterResolverLoadBalancer extends LoadBalancer {
     private final class EdsClusterState extends ClusterState implements EdsResourceWatcher {
       @Nullable
       private final String edsServiceName;
+      @Nullable
+      private final OutlierDetection outlierDetection;
 
       private EdsClusterState(String name, @Nullable String edsServiceName,
           @Nullable ServerInfo lrsServerInfo, @Nullable Long maxConcurrentRequests,
-          @Nullable UpstreamTlsContext tlsContext) {
+          @Nullable UpstreamTlsContext tlsContext, @Nullable OutlierDetection outlierDetection) {
         super(name, lrsServerInfo, maxConcurrentRequests, tlsContext);
         this.edsServiceName = edsServiceName;
+        this.outlierDetection = outlierDetection;
       }
 
       @Override
@@ -431,7 +440,8 @@ final class ClusterResolverLoadBalancer extends LoadBalancer {
             Map<String, PriorityChildConfig> priorityChildConfigs =
                 generateEdsBasedPriorityChildConfigs(
                     name, edsServiceName, lrsServerInfo, maxConcurrentRequests, tlsContext,
-                    endpointLbPolicy, lbRegistry, prioritizedLocalityWeights, dropOverloads);
+                    outlierDetection, endpointLbPolicy, lbRegistry, prioritizedLocalityWeights,
+                    dropOverloads);
             status = Status.OK;
             resolved = true;
             result = new ClusterResolutionResult(addresses, priorityChildConfigs, priorities,
@@ -687,20 +697,30 @@ final class ClusterResolverLoadBalancer extends LoadBalancer {
   /**
    * Generates configs to be used in the priority LB policy for priorities in an EDS cluster.
    *
-   * <p>priority LB -> cluster_impl LB (one per priority) -> (weighted_target LB
-   * -> round_robin / least_request_experimental (one per locality)) / ring_hash_experimental
+   * <p>priority LB -> cluster_impl LB (one per priority) -> [outlier_detection LB]
+   * -> (weighted_target LB -> round_robin / least_request_experimental (one per locality))
+   * / ring_hash_experimental
    */
   private static Map<String, PriorityChildConfig> generateEdsBasedPriorityChildConfigs(
       String cluster, @Nullable String edsServiceName, @Nullable ServerInfo lrsServerInfo,
       @Nullable Long maxConcurrentRequests, @Nullable UpstreamTlsContext tlsContext,
-      PolicySelection endpointLbPolicy, LoadBalancerRegistry lbRegistry,
+      @Nullable OutlierDetection outlierDetection, PolicySelection endpointLbPolicy,
+      LoadBalancerRegistry lbRegistry,
       Map<String, Map<Locality, Integer>> prioritizedLocalityWeights,
       List<DropOverload> dropOverloads) {
     Map<String, PriorityChildConfig> configs = new HashMap<>();
+    PolicySelection clusterImplChildPolicy = endpointLbPolicy;
+    if (outlierDetection != null) {
+      // Each priority tracks its own endpoints, as the endpoints of other priorities are not used
+      // at the same time.
+      clusterImplChildPolicy = new PolicySelection(
+          lbRegistry.getProvider(OutlierDetectionLoadBalancerProvider.POLICY_NAME),
+          buildOutlierDetectionLbConfig(outlierDetection, endpointLbPolicy));
+    }
     for (String priority : prioritizedLocalityWeights.keySet()) {
       ClusterImplConfig clusterImplConfig =
           new ClusterImplConfig(cluster, edsServiceName, lrsServerInfo, maxConcurrentRequests,
-              dropOverloads, endpointLbPolicy, tlsContext);
+              dropOverloads, clusterImplChildPolicy, tlsContext);
       LoadBalancerProvider clusterImplLbProvider =
           lbRegistry.getProvider(XdsLbPolicies.CLUSTER_IMPL_POLICY_NAME);
       PolicySelection clusterImplPolicy =
@@ -712,6 +732,67 @@ final class ClusterResolverLoadBalancer extends LoadBalancer {
     return configs;
   }
 
+  /**
+   * Converts the outlier detection settings of a cluster to the config of the outlier_detection
+   * LB policy. Settings absent from the cluster take the defaults of the policy.
+   */
+  private static OutlierDetectionLoadBalancerConfig buildOutlierDetectionLbConfig(
+      OutlierDetection outlierDetection, PolicySelection childPolicy) {
+    OutlierDetectionLoadBalancerConfig.Builder configBuilder =
+        OutlierDetectionLoadBalancerConfig.newBuilder().setChildPolicy(childPolicy);
+    if (outlierDetection.intervalNanos() != null) {
+      configBuilder.setIntervalNanos(outlierDetection.intervalNanos());
+    }
+    if (outlierDetection.baseEjectionTimeNanos() != null) {
+      configBuilder.setBaseEjectionTimeNanos(outlierDetection.baseEjectionTimeNanos());
+    }
+    if (outlierDetection.maxEjectionTimeNanos() != null) {
+      configBuilder.setMaxEjectionTimeNanos(outlierDetection.maxEjectionTimeNanos());
+    }
+    if (outlierDetection.maxEjectionPercent() != null) {
+      configBuilder.setMaxEjectionPercent(outlierDetection.maxEjectionPercent());
+    }
+
+    io.grpc.xds.EnvoyServerProtoData.SuccessRateEjection successRate =
+        outlierDetection.successRateEjection();
+    if (successRate != null) {
+      SuccessRateEjection.Builder builder = SuccessRateEjection.newBuilder();
+      if (successRate.stdevFactor() != null) {
+        builder.setStdevFactor(successRate.stdevFactor());
+      }
+      if (successRate.enforcementPercentage() != null) {
+        builder.setEnforcementPercentage(successRate.enforcementPercentage());
+      }
+      if (successRate.minimumHosts() != null) {
+        builder.setMinimumHosts(successRate.minimumHosts());
+      }
+      if (successRate.requestVolume() != null) {
+        builder.setRequestVolume(successRate.requestVolume());
+      }
+      configBuilder.setSuccessRateEjection(builder.build());
+    }
+
+    io.grpc.xds.EnvoyServerProtoData.FailurePercentageEjection failurePercentage =
+        outlierDetection.failurePercentageEjection();
+    if (failurePercentage != null) {
+      FailurePercentageEjection.Builder builder = FailurePercentageEjection.newBuilder();
+      if (failurePercentage.threshold() != null) {
+        builder.setThreshold(failurePercentage.threshold());
+      }
+      if (failurePercentage.enforcementPercentage() != null) {
+        builder.setEnforcementPercentage(failurePercentage.enforcementPercentage());
+      }
+      if (failurePercentage.minimumHosts() != null) {
+        builder.setMinimumHosts(failurePercentage.minimumHosts());
+      }
+      if (failurePercentage.requestVolume() != null) {
+        builder.setRequestVolume(failurePercentage.requestVolume());
+      }
+      configBuilder.setFailurePercentageEjection(builder.build());
+    }
+    return configBuilder.build();
+  }
+
   /**
    * Generates a string that represents the priority in the LB policy config. The string is unique
    * across priorities in all clusters and priorityName(c, p1) < priorityName(c, p2) iff p1 < p2.
@@ -19,6 +19,7 @@ package io.grpc.xds;
 import com.google.auto.value.AutoValue;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.protobuf.util.Durations;
 import io.envoyproxy.envoy.extensions.transport_sockets.tls.v3.CommonTlsContext;
 import io.grpc.Internal;
 import io.grpc.xds.internal.sds.SslContextProviderSupplier;
@@ -139,6 +140,138 @@ public final class EnvoyServerProtoData {
     }
   }
 
+  /**
+   * Corresponds to Envoy proto message
+   * {@link io.envoyproxy.envoy.config.cluster.v3.OutlierDetection}. Unset fields take the
+   * defaults of the outlier detection LB policy.
+   */
+  @AutoValue
+  abstract static class OutlierDetection {
+
+    @Nullable
+    abstract Long intervalNanos();
+
+    @Nullable
+    abstract Long baseEjectionTimeNanos();
+
+    @Nullable
+    abstract Long maxEjectionTimeNanos();
+
+    @Nullable
+    abstract Integer maxEjectionPercent();
+
+    // Null if disabled.
+    @Nullable
+    abstract SuccessRateEjection successRateEjection();
+
+    // Null if disabled.
+    @Nullable
+    abstract FailurePercentageEjection failurePercentageEjection();
+
+    static OutlierDetection create(
+        @Nullable Long intervalNanos,
+        @Nullable Long baseEjectionTimeNanos,
+        @Nullable Long maxEjectionTimeNanos,
+        @Nullable Integer maxEjectionPercent,
+        @Nullable SuccessRateEjection successRateEjection,
+        @Nullable FailurePercentageEjection failurePercentageEjection) {
+      return new AutoValue_EnvoyServerProtoData_OutlierDetection(intervalNanos,
+          baseEjectionTimeNanos, maxEjectionTimeNanos, maxEjectionPercent, successRateEjection,
+          failurePercentageEjection);
+    }
+
+    static OutlierDetection fromEnvoyOutlierDetection(
+        io.envoyproxy.envoy.config.cluster.v3.OutlierDetection proto) {
+      Long intervalNanos = proto.hasInterval() ? Durations.toNanos(proto.getInterval()) : null;
+      Long baseEjectionTimeNanos = proto.hasBaseEjectionTime()
+          ? Durations.toNanos(proto.getBaseEjectionTime()) : null;
+      Long maxEjectionTimeNanos = proto.hasMaxEjectionTime()
+          ? Durations.toNanos(proto.getMaxEjectionTime()) : null;
+      Integer maxEjectionPercent = proto.hasMaxEjectionPercent()
+          ? proto.getMaxEjectionPercent().getValue() : null;
+
+      // Success rate ejection is enabled unless it is enforced 0% of the time.
+      SuccessRateEjection successRateEjection = null;
+      if (!proto.hasEnforcingSuccessRate() || proto.getEnforcingSuccessRate().getValue() != 0) {
+        successRateEjection = SuccessRateEjection.create(
+            proto.hasSuccessRateStdevFactor()
+                ? proto.getSuccessRateStdevFactor().getValue() : null,
+            proto.hasEnforcingSuccessRate() ? proto.getEnforcingSuccessRate().getValue() : null,
+            proto.hasSuccessRateMinimumHosts()
+                ? proto.getSuccessRateMinimumHosts().getValue() : null,
+            proto.hasSuccessRateRequestVolume()
+                ? proto.getSuccessRateRequestVolume().getValue() : null);
+      }
+
+      // Failure percentage ejection is enforced 0% of the time, i.e. disabled, by default.
+      FailurePercentageEjection failurePercentageEjection = null;
+      if (proto.hasEnforcingFailurePercentage()
+          && proto.getEnforcingFailurePercentage().getValue() != 0) {
+        failurePercentageEjection = FailurePercentageEjection.create(
+            proto.hasFailurePercentageThreshold()
+                ? proto.getFailurePercentageThreshold().getValue() : null,
+            proto.getEnforcingFailurePercentage().getValue(),
+            proto.hasFailurePercentageMinimumHosts()
+                ? proto.getFailurePercentageMinimumHosts().getValue() : null,
+            proto.hasFailurePercentageRequestVolume()
+                ? proto.getFailurePercentageRequestVolume().getValue() : null);
+      }
+
+      return create(intervalNanos, baseEjectionTimeNanos, maxEjectionTimeNanos,
+          maxEjectionPercent, successRateEjection, failurePercentageEjection);
+    }
+  }
+
+  @AutoValue
+  abstract static class SuccessRateEjection {
+
+    @Nullable
+    abstract Integer stdevFactor();
+
+    @Nullable
+    abstract Integer enforcementPercentage();
+
+    @Nullable
+    abstract Integer minimumHosts();
+
+    @Nullable
+    abstract Integer requestVolume();
+
+    static SuccessRateEjection create(
+        @Nullable Integer stdevFactor,
+        @Nullable Integer enforcementPercentage,
+        @Nullable Integer minimumHosts,
+        @Nullable Integer requestVolume) {
+      return new AutoValue_EnvoyServerProtoData_SuccessRateEjection(stdevFactor,
+          enforcementPercentage, minimumHosts, requestVolume);
+    }
+  }
+
+  @AutoValue
+  abstract static class FailurePercentageEjection {
+
+    @Nullable
+    abstract Integer threshold();
+
+    @Nullable
+    abstract Integer enforcementPercentage();
+
+    @Nullable
+    abstract Integer minimumHosts();
+
+    @Nullable
+    abstract Integer requestVolume();
+
+    static FailurePercentageEjection create(
+        @Nullable Integer threshold,
+        @Nullable Integer enforcementPercentage,
+        @Nullable Integer minimumHosts,
+        @Nullable Integer requestVolume) {
+      return new AutoValue_EnvoyServerProtoData_FailurePercentageEjection(threshold,
+          enforcementPercentage, minimumHosts, requestVolume);
+    }
+  }
+
   @AutoValue
   abstract static class CidrRange {
 
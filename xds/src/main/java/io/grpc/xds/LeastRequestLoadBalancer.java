@@ -49,7 +49,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import javax.annotation.Nonnull;
 
 /**
@@ -65,7 +65,7 @@ final class LeastRequestLoadBalancer extends LoadBalancer {
   static final Attributes.Key<Ref<ConnectivityStateInfo>> STATE_INFO =
       Attributes.Key.create("state-info");
   @VisibleForTesting
-  static final Attributes.Key<AtomicInteger> IN_FLIGHTS =
+  static final Attributes.Key<InFlightCounter> IN_FLIGHTS =
       Attributes.Key.create("in-flights");
 
   private final Helper helper;
@@ -115,7 +115,7 @@ final class LeastRequestLoadBalancer extends LoadBalancer {
       Attributes.Builder subchannelAttrs = Attributes.newBuilder()
           .set(STATE_INFO, new Ref<>(ConnectivityStateInfo.forNonError(IDLE)))
           // Used to track the in flight requests on this particular subchannel
-          .set(IN_FLIGHTS, new AtomicInteger(0));
+          .set(IN_FLIGHTS, new InFlightCounter());
 
       final Subchannel subchannel = checkNotNull(
           helper.createSubchannel(CreateSubchannelArgs.newBuilder()
@@ -271,7 +271,7 @@ final class LeastRequestLoadBalancer extends LoadBalancer {
     return checkNotNull(subchannel.getAttributes().get(STATE_INFO), "STATE_INFO");
   }
 
-  private static AtomicInteger getInFlights(Subchannel subchannel) {
+  private static InFlightCounter getInFlights(Subchannel subchannel) {
     return checkNotNull(subchannel.getAttributes().get(IN_FLIGHTS), "IN_FLIGHTS");
   }
 
@@ -294,22 +294,29 @@ final class LeastRequestLoadBalancer extends LoadBalancer {
   @VisibleForTesting
   static final class ReadyPicker extends LeastRequestPicker {
     private final List<Subchannel> list; // non-empty
+    // Parallel to list, so that sampling doesn't look up the subchannel attributes
+    private final Subchannel[] subchannels;
+    private final InFlightCounter[] inFlights;
     private final int choiceCount;
     private final ThreadSafeRandom random;
 
     ReadyPicker(List<Subchannel> list, int choiceCount, ThreadSafeRandom random) {
       checkArgument(!list.isEmpty(), "empty list");
       this.list = list;
+      this.subchannels = list.toArray(new Subchannel[0]);
+      this.inFlights = new InFlightCounter[subchannels.length];
+      for (int i = 0; i < subchannels.length; i++) {
+        inFlights[i] = getInFlights(subchannels[i]);
+      }
       this.choiceCount = choiceCount;
       this.random = checkNotNull(random, "random");
     }
 
     @Override
     public PickResult pickSubchannel(PickSubchannelArgs args) {
-      final Subchannel subchannel = nextSubchannel();
-      final OutstandingRequestsTracingFactory factory =
-          new OutstandingRequestsTracingFactory(getInFlights(subchannel));
-      return PickResult.withSubchannel(subchannel, factory);
+      int index = nextIndex();
+      // The counter is its own tracer factory, so picking allocates nothing
+      return PickResult.withSubchannel(subchannels[index], inFlights[index]);
     }
 
     @Override
@@ -320,12 +327,16 @@ final class LeastRequestLoadBalancer extends LoadBalancer {
                         .toString();
     }
 
-    private Subchannel nextSubchannel() {
-      Subchannel candidate = list.get(random.nextInt(list.size()));
+    private int nextIndex() {
+      int size = subchannels.length;
+      int candidate = random.nextInt(size);
+      int candidateInFlights = inFlights[candidate].get();
       for (int i = 0; i < choiceCount - 1; ++i) {
-        Subchannel sampled = list.get(random.nextInt(list.size()));
-        if (getInFlights(sampled).get() < getInFlights(candidate).get()) {
+        int sampled = random.nextInt(size);
+        int sampledInFlights = inFlights[sampled].get();
+        if (sampledInFlights < candidateInFlights) {
           candidate = sampled;
+          candidateInFlights = sampledInFlights;
         }
       }
       return candidate;
@@ -386,30 +397,74 @@ final class LeastRequestLoadBalancer extends LoadBalancer {
     }
   }
 
-  private static final class OutstandingRequestsTracingFactory extends
-      ClientStreamTracer.Factory {
-    private final AtomicInteger inFlights;
+  /**
+   * Counts the outstanding requests of a subchannel, and is the tracer factory of the picks
+   * that choose it. Each stream only increments and decrements the count, so all the streams of
+   * the subchannel share a single tracer.
+   *
+   * <p>Every pick reads the counters of several subchannels while other threads update them, so
+   * the count is padded onto a cache line of its own to avoid false sharing between the
+   * counters of neighbouring subchannels.
+   */
+  static final class InFlightCounter extends InFlightCounterRhsPadding {
+    private static final AtomicIntegerFieldUpdater<InFlightCounterValue> UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(InFlightCounterValue.class, "value");
+
+    private final ClientStreamTracer tracer = new ClientStreamTracer() {
+      @Override
+      public void streamCreated(Attributes transportAttrs, Metadata headers) {
+        UPDATER.incrementAndGet(InFlightCounter.this);
+      }
+
+      @Override
+      public void streamClosed(Status status) {
+        UPDATER.decrementAndGet(InFlightCounter.this);
+      }
+    };
 
-    private OutstandingRequestsTracingFactory(AtomicInteger inFlights) {
-      this.inFlights = checkNotNull(inFlights, "inFlights");
+    int get() {
+      return value;
     }
 
     @Override
     public ClientStreamTracer newClientStreamTracer(StreamInfo info, Metadata headers) {
-      return new ClientStreamTracer() {
-        @Override
-        public void streamCreated(Attributes transportAttrs, Metadata headers) {
-          inFlights.incrementAndGet();
-        }
+      return tracer;
+    }
 
-        @Override
-        public void streamClosed(Status status) {
-          inFlights.decrementAndGet();
-        }
-      };
+    @Override
+    public String toString() {
+      return Integer.toString(value);
     }
   }
 
+  // The padding fields are laid out before and after the value by the class hierarchy, since the
+  // JVM is free to reorder the fields of a single class.
+  @SuppressWarnings("unused")
+  private abstract static class InFlightCounterLhsPadding extends ClientStreamTracer.Factory {
+    private long p01;
+    private long p02;
+    private long p03;
+    private long p04;
+    private long p05;
+    private long p06;
+    private long p07;
+  }
+
+  abstract static class InFlightCounterValue extends InFlightCounterLhsPadding {
+    volatile int value;
+  }
+
+  @SuppressWarnings("unused")
+  private abstract static class InFlightCounterRhsPadding extends InFlightCounterValue {
+    private long p11;
+    private long p12;
+    private long p13;
+    private long p14;
+    private long p15;
+    private long p16;
+    private long p17;
+  }
+
   static final class LeastRequestConfig {
     final int choiceCount;
 
@@ -23,6 +23,7 @@ import com.google.common.base.Stopwatch;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Sets;
 import io.grpc.Status;
+import io.grpc.internal.StripedLongCounters;
 import io.grpc.xds.Stats.ClusterStats;
 import io.grpc.xds.Stats.DroppedRequests;
 import io.grpc.xds.Stats.UpstreamLocalityStats;
@@ -241,8 +242,10 @@ final class LoadStatsManager2 {
     private final String clusterName;
     @Nullable
     private final String edsServiceName;
-    private final AtomicLong uncategorizedDrops = new AtomicLong();
-    private final ConcurrentMap<String, AtomicLong> categorizedDrops = new ConcurrentHashMap<>();
+    // Drops are recorded in the active counters while the previous ones are being reported.
+    private volatile DropCounters activeCounters = new DropCounters();
+    // Guarded by LoadStatsManager2.this.
+    private DropCounters inactiveCounters = new DropCounters();
     private final Stopwatch stopwatch;
 
     private ClusterDropStats(
@@ -257,19 +260,23 @@ final class LoadStatsManager2 {
      * Records a dropped request with the specified category.
      */
     void recordDroppedRequest(String category) {
-      // There is a race between this method and snapshot(), causing one drop recorded but may not
-      // be included in any snapshot. This is acceptable and the race window is extremely small.
-      AtomicLong counter = categorizedDrops.putIfAbsent(category, new AtomicLong(1L));
-      if (counter != null) {
-        counter.getAndIncrement();
+      ConcurrentMap<String, AtomicLong> categorizedDrops = activeCounters.categorizedDrops;
+      AtomicLong counter = categorizedDrops.get(category);
+      if (counter == null) {
+        AtomicLong newCounter = new AtomicLong();
+        counter = categorizedDrops.putIfAbsent(category, newCounter);
+        if (counter == null) {
+          counter = newCounter;
+        }
       }
+      counter.getAndIncrement();
     }
 
     /**
      * Records a dropped request without category.
      */
     void recordDroppedRequest() {
-      uncategorizedDrops.getAndIncrement();
+      activeCounters.uncategorizedDrops.increment(0);
     }
 
     /**
@@ -283,17 +290,40 @@ final class LoadStatsManager2 {
     }
 
     private ClusterDropStatsSnapshot snapshot() {
+      DropCounters counters = swapCounters();
       Map<String, Long> drops = new HashMap<>();
-      for (Map.Entry<String, AtomicLong> entry : categorizedDrops.entrySet()) {
-        drops.put(entry.getKey(), entry.getValue().get());
+      for (Map.Entry<String, AtomicLong> entry : counters.categorizedDrops.entrySet()) {
+        long count = entry.getValue().getAndSet(0);
+        if (count > 0) {
+          drops.put(entry.getKey(), count);
+        }
       }
-      categorizedDrops.clear();
       long duration = stopwatch.elapsed(TimeUnit.NANOSECONDS);
       stopwatch.reset().start();
-      return new ClusterDropStatsSnapshot(drops, uncategorizedDrops.getAndSet(0), duration);
+      return new ClusterDropStatsSnapshot(
+          drops, counters.uncategorizedDrops.sumThenReset(0), duration);
+    }
+
+    /**
+     * Makes the inactive counters active, and returns the previously active ones. Drops recorded
+     * in them by threads that have not seen the swap yet stay in them after they are read, and are
+     * only reported when they are read again, in the snapshot after the next one: they are delayed
+     * by one reporting interval, but not lost.
+     */
+    private DropCounters swapCounters() {
+      DropCounters counters = activeCounters;
+      activeCounters = inactiveCounters;
+      inactiveCounters = counters;
+      return counters;
     }
   }
 
+  private static final class DropCounters {
+    private final StripedLongCounters uncategorizedDrops = new StripedLongCounters(1);
+    // The categories are kept once recorded, there are only a few of them.
+    private final ConcurrentMap<String, AtomicLong> categorizedDrops = new ConcurrentHashMap<>();
+  }
+
   private static final class ClusterDropStatsSnapshot {
     private final Map<String, Long> categorizedDrops;
     private final long uncategorizedDrops;
@@ -313,15 +343,20 @@ final class LoadStatsManager2 {
    */
   @ThreadSafe
   final class ClusterLocalityStats {
+    private static final int CALLS_ISSUED = 0;
+    private static final int CALLS_SUCCEEDED = 1;
+    private static final int CALLS_FAILED = 2;
+
     private final String clusterName;
     @Nullable
     private final String edsServiceName;
     private final Locality locality;
     private final Stopwatch stopwatch;
-    private final AtomicLong callsInProgress = new AtomicLong();
-    private final AtomicLong callsSucceeded = new AtomicLong();
-    private final AtomicLong callsFailed = new AtomicLong();
-    private final AtomicLong callsIssued = new AtomicLong();
+    private final StripedLongCounters callsInProgress = new StripedLongCounters(1);
+    // Calls are recorded in the active counters while the previous ones are being reported.
+    private volatile StripedLongCounters activeCounters = new StripedLongCounters(3);
+    // Guarded by LoadStatsManager2.this.
+    private StripedLongCounters inactiveCounters = new StripedLongCounters(3);
 
     private ClusterLocalityStats(
         String clusterName, @Nullable String edsServiceName, Locality locality,
@@ -337,20 +372,16 @@ final class LoadStatsManager2 {
      * Records a request being issued.
      */
     void recordCallStarted() {
-      callsIssued.getAndIncrement();
-      callsInProgress.getAndIncrement();
+      activeCounters.increment(CALLS_ISSUED);
+      callsInProgress.increment(0);
     }
 
     /**
      * Records a request finished with the given status.
      */
     void recordCallFinished(Status status) {
-      callsInProgress.getAndDecrement();
-      if (status.isOk()) {
-        callsSucceeded.getAndIncrement();
-      } else {
-        callsFailed.getAndIncrement();
-      }
+      callsInProgress.decrement(0);
+      activeCounters.increment(status.isOk() ? CALLS_SUCCEEDED : CALLS_FAILED);
     }
 
     /**
@@ -365,10 +396,17 @@ final class LoadStatsManager2 {
     }
 
     private ClusterLocalityStatsSnapshot snapshot() {
+      // Calls recorded in the previously active counters by threads that have not seen the swap
+      // yet stay in them after they are read, until they are read again in the snapshot after the
+      // next one. They are delayed by one reporting interval, but not lost.
+      StripedLongCounters counters = activeCounters;
+      activeCounters = inactiveCounters;
+      inactiveCounters = counters;
       long duration = stopwatch.elapsed(TimeUnit.NANOSECONDS);
       stopwatch.reset().start();
-      return new ClusterLocalityStatsSnapshot(callsSucceeded.getAndSet(0), callsInProgress.get(),
-          callsFailed.getAndSet(0), callsIssued.getAndSet(0), duration);
+      return new ClusterLocalityStatsSnapshot(counters.sumThenReset(CALLS_SUCCEEDED),
+          callsInProgress.sum(0), counters.sumThenReset(CALLS_FAILED),
+          counters.sumThenReset(CALLS_ISSUED), duration);
     }
   }
 
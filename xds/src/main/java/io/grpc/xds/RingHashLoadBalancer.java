@@ -25,6 +25,7 @@ import static io.grpc.ConnectivityState.READY;
 import static io.grpc.ConnectivityState.SHUTDOWN;
 import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Sets;
 import io.grpc.Attributes;
@@ -38,6 +39,7 @@ import io.grpc.SynchronizationContext;
 import io.grpc.xds.XdsLogger.XdsLogLevel;
 import io.grpc.xds.XdsSubchannelPickers.ErrorPicker;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -68,7 +70,7 @@ final class RingHashLoadBalancer extends LoadBalancer {
   private final Map<EquivalentAddressGroup, Subchannel> subchannels = new HashMap<>();
   private final Helper helper;
 
-  private List<RingEntry> ring;
+  private Ring ring;
   private ConnectivityState currentState;
   private Iterator<Subchannel> connectionAttemptIterator = subchannels.values().iterator();
   private final Random random = new Random();
@@ -140,7 +142,7 @@ final class RingHashLoadBalancer extends LoadBalancer {
     double scale = Math.min(
         Math.ceil(normalizedMinWeight * config.minRingSize) / normalizedMinWeight,
         (double) config.maxRingSize);
-    ring = buildRing(serverWeights, totalWeight, scale);
+    ring = buildRing(serverWeights, totalWeight, scale, ring);
 
     // Shut down subchannels for delisted addresses.
     List<Subchannel> removedSubchannels = new ArrayList<>();
@@ -164,30 +166,27 @@ final class RingHashLoadBalancer extends LoadBalancer {
     }
   }
 
-  private static List<RingEntry> buildRing(
-      Map<EquivalentAddressGroup, Long> serverWeights, long totalWeight, double scale) {
-    List<RingEntry> ring = new ArrayList<>();
+  private static Ring buildRing(
+      Map<EquivalentAddressGroup, Long> serverWeights, long totalWeight, double scale,
+      @Nullable Ring previous) {
+    EquivalentAddressGroup[] endpoints = new EquivalentAddressGroup[serverWeights.size()];
+    int[] hashCounts = new int[serverWeights.size()];
     double currentHashes = 0.0;
     double targetHashes = 0.0;
+    int endpointIndex = 0;
     for (Map.Entry<EquivalentAddressGroup, Long> entry : serverWeights.entrySet()) {
-      EquivalentAddressGroup addrKey = entry.getKey();
       double normalizedWeight = (double) entry.getValue() / totalWeight;
-      // TODO(chengyuanzhang): is using the list of socket address correct?
-      StringBuilder sb = new StringBuilder(addrKey.getAddresses().toString());
-      sb.append('_');
       targetHashes += scale * normalizedWeight;
-      long i = 0L;
+      int hashCount = 0;
       while (currentHashes < targetHashes) {
-        sb.append(i);
-        long hash = hashFunc.hashAsciiString(sb.toString());
-        ring.add(new RingEntry(hash, addrKey));
-        i++;
+        hashCount++;
         currentHashes++;
-        sb.setLength(sb.length() - 1);
       }
+      endpoints[endpointIndex] = entry.getKey();
+      hashCounts[endpointIndex] = hashCount;
+      endpointIndex++;
     }
-    Collections.sort(ring);
-    return Collections.unmodifiableList(ring);
+    return Ring.build(endpoints, hashCounts, previous);
   }
 
   @Override
@@ -344,23 +343,21 @@ final class RingHashLoadBalancer extends LoadBalancer {
 
   private static final class RingHashPicker extends SubchannelPicker {
     private final SynchronizationContext syncContext;
-    private final List<RingEntry> ring;
+    private final Ring ring;
     // Avoid synchronization between pickSubchannel and subchannel's connectivity state change,
-    // freeze picker's view of subchannel's connectivity state.
-    // TODO(chengyuanzhang): can be more performance-friendly with
-    //  IdentityHashMap<Subchannel, ConnectivityStateInfo> and RingEntry contains Subchannel.
-    private final Map<EquivalentAddressGroup, SubchannelView> pickableSubchannels;  // read-only
+    // freeze picker's view of subchannel's connectivity state. Indexed like ring.endpoints.
+    private final SubchannelView[] pickableSubchannels;  // read-only
 
     private RingHashPicker(
-        SynchronizationContext syncContext, List<RingEntry> ring,
+        SynchronizationContext syncContext, Ring ring,
         Map<EquivalentAddressGroup, Subchannel> subchannels) {
       this.syncContext = syncContext;
       this.ring = ring;
-      pickableSubchannels = new HashMap<>(subchannels.size());
-      for (Map.Entry<EquivalentAddressGroup, Subchannel> entry : subchannels.entrySet()) {
-        Subchannel subchannel = entry.getValue();
+      pickableSubchannels = new SubchannelView[ring.endpoints.length];
+      for (int i = 0; i < ring.endpoints.length; i++) {
+        Subchannel subchannel = subchannels.get(ring.endpoints[i]);
         ConnectivityStateInfo stateInfo = subchannel.getAttributes().get(STATE_INFO).value;
-        pickableSubchannels.put(entry.getKey(), new SubchannelView(subchannel, stateInfo));
+        pickableSubchannels[i] = new SubchannelView(subchannel, stateInfo);
       }
     }
 
@@ -372,30 +369,7 @@ final class RingHashLoadBalancer extends LoadBalancer {
       }
 
       // Find the ring entry with hash next to (clockwise) the RPC's hash.
-      int low = 0;
-      int high = ring.size();
-      int mid;
-      while (true) {
-        mid = (low + high) / 2;
-        if (mid == ring.size()) {
-          mid = 0;
-          break;
-        }
-        long midVal = ring.get(mid).hash;
-        long midValL = mid == 0 ? 0 : ring.get(mid - 1).hash;
-        if (requestHash <= midVal && requestHash > midValL) {
-          break;
-        }
-        if (midVal < requestHash) {
-          low = mid + 1;
-        } else {
-          high =  mid - 1;
-        }
-        if (low > high) {
-          mid = 0;
-          break;
-        }
-      }
+      int mid = ring.lookup(requestHash);
 
       // Try finding a READY subchannel. Starting from the ring entry next to the RPC's hash.
       // If the one of the first two subchannels is not in TRANSIENT_FAILURE, return result
@@ -408,10 +382,12 @@ final class RingHashLoadBalancer extends LoadBalancer {
       boolean foundFirstNonFailed = false;  // true if having subchannel(s) in CONNECTING or IDLE
       Subchannel firstSubchannel = null;
       Subchannel secondSubchannel = null;
-      for (int i = 0; i < ring.size(); i++) {
-        int index = (mid + i) % ring.size();
-        EquivalentAddressGroup addrKey = ring.get(index).addrKey;
-        SubchannelView subchannel = pickableSubchannels.get(addrKey);
+      int ringSize = ring.hashes.length;
+      for (int i = 0, index = mid; i < ringSize; i++, index++) {
+        if (index == ringSize) {
+          index = 0;
+        }
+        SubchannelView subchannel = pickableSubchannels[ring.endpointIndices[index]];
         if (subchannel.stateInfo.getState() == READY) {
           return PickResult.withSubchannel(subchannel.subchannel);
         }
@@ -441,7 +417,7 @@ final class RingHashLoadBalancer extends LoadBalancer {
         }
       }
       // Fail the pick with error status of the original subchannel hit by hash.
-      SubchannelView originalSubchannel = pickableSubchannels.get(ring.get(mid).addrKey);
+      SubchannelView originalSubchannel = pickableSubchannels[ring.endpointIndices[mid]];
       return PickResult.withError(originalSubchannel.stateInfo.getStatus());
     }
 
@@ -480,18 +456,208 @@ final class RingHashLoadBalancer extends LoadBalancer {
     }
   }
 
-  private static final class RingEntry implements Comparable<RingEntry> {
-    private final long hash;
-    private final EquivalentAddressGroup addrKey;
+  /**
+   * The hash ring, as parallel primitive arrays sorted by hash. Position {@code i} of the ring
+   * has hash {@code hashes[i]} and belongs to {@code endpoints[endpointIndices[i]]}. Hashes are
+   * ordered as signed longs.
+   *
+   * <p>A ring is immutable. When the endpoints change, {@link #build} keeps the positions of the
+   * endpoints whose number of hashes is unchanged, and only hashes and sorts the others, so a
+   * small EDS update doesn't rehash the whole ring.
+   */
+  @VisibleForTesting
+  static final class Ring {
+    // Caps the lookup table at 4 MiB
+    private static final int MAX_LOOKUP_BITS = 20;
+
+    final EquivalentAddressGroup[] endpoints;
+    final int[] hashCounts;
+    final long[] hashes;
+    final int[] endpointIndices;
+    // Maps the top bits of a hash to the first position whose hash has the same or greater top
+    // bits, so that a lookup only searches the few positions sharing the top bits of its hash.
+    private final int lookupShift;
+    private final int[] lookupTable;
+
+    private Ring(
+        EquivalentAddressGroup[] endpoints, int[] hashCounts, long[] hashes,
+        int[] endpointIndices) {
+      this.endpoints = endpoints;
+      this.hashCounts = hashCounts;
+      this.hashes = hashes;
+      this.endpointIndices = endpointIndices;
+      // About two positions per table entry
+      int lookupBits = Math.max(1, Math.min(
+          MAX_LOOKUP_BITS, 31 - Integer.numberOfLeadingZeros(Math.max(hashes.length, 1)) - 1));
+      lookupShift = Long.SIZE - lookupBits;
+      lookupTable = new int[(1 << lookupBits) + 1];
+      int position = 0;
+      for (int bucket = 0; bucket < lookupTable.length - 1; bucket++) {
+        while (position < hashes.length && bucket(hashes[position]) < bucket) {
+          position++;
+        }
+        lookupTable[bucket] = position;
+      }
+      lookupTable[lookupTable.length - 1] = hashes.length;
+    }
+
+    /**
+     * Builds the ring of the given endpoints, reusing the positions of {@code previous} for the
+     * endpoints that have the same number of hashes in both rings.
+     */
+    static Ring build(
+        EquivalentAddressGroup[] endpoints, int[] hashCounts, @Nullable Ring previous) {
+      checkArgument(endpoints.length == hashCounts.length, "endpoints and hashCounts differ");
+      // Maps the endpoint indices of the previous ring to those of the new one, -1 if the
+      // endpoint's positions have to be recomputed.
+      int[] previousToCurrent = new int[0];
+      Map<EquivalentAddressGroup, Integer> previousIndices = Collections.emptyMap();
+      if (previous != null) {
+        previousToCurrent = new int[previous.endpoints.length];
+        Arrays.fill(previousToCurrent, -1);
+        previousIndices = new HashMap<>(previous.endpoints.length * 2);
+        for (int i = 0; i < previous.endpoints.length; i++) {
+          previousIndices.put(previous.endpoints[i], i);
+        }
+      }
+      int ringSize = 0;
+      int addedSize = 0;
+      boolean[] added = new boolean[endpoints.length];
+      for (int i = 0; i < endpoints.length; i++) {
+        ringSize += hashCounts[i];
+        Integer previousIndex = previousIndices.get(endpoints[i]);
+        if (previousIndex != null && previous.hashCounts[previousIndex] == hashCounts[i]) {
+          previousToCurrent[previousIndex] = i;
+        } else {
+          added[i] = true;
+          addedSize += hashCounts[i];
+        }
+      }
+
+      long[] addedHashes = new long[addedSize];
+      int[] addedIndices = new int[addedSize];
+      int offset = 0;
+      for (int i = 0; i < endpoints.length; i++) {
+        if (added[i]) {
+          offset = addHashes(endpoints[i], i, hashCounts[i], addedHashes, addedIndices, offset);
+        }
+      }
+      sortByHash(addedHashes, addedIndices);
+
+      // Merge the kept positions of the previous ring with the added ones.
+      long[] hashes = new long[ringSize];
+      int[] endpointIndices = new int[ringSize];
+      int previousSize = previous == null ? 0 : previous.hashes.length;
+      int previousPosition = 0;
+      int addedPosition = 0;
+      for (int position = 0; position < ringSize; position++) {
+        while (previousPosition < previousSize
+            && previousToCurrent[previous.endpointIndices[previousPosition]] == -1) {
+          previousPosition++;
+        }
+        if (previousPosition < previousSize && (addedPosition == addedSize
+            || previous.hashes[previousPosition] <= addedHashes[addedPosition])) {
+          hashes[position] = previous.hashes[previousPosition];
+          endpointIndices[position] =
+              previousToCurrent[previous.endpointIndices[previousPosition]];
+          previousPosition++;
+        } else {
+          hashes[position] = addedHashes[addedPosition];
+          endpointIndices[position] = addedIndices[addedPosition];
+          addedPosition++;
+        }
+      }
+      return new Ring(endpoints, hashCounts, hashes, endpointIndices);
+    }
+
+    /**
+     * Returns the position of the first hash that is not less than the given hash, wrapping
+     * around to 0 past the last position.
+     */
+    int lookup(long hash) {
+      int bucket = bucket(hash);
+      int low = lookupTable[bucket];
+      int high = lookupTable[bucket + 1];
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (hashes[mid] < hash) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low == hashes.length ? 0 : low;
+    }
 
-    private RingEntry(long hash, EquivalentAddressGroup addrKey) {
-      this.hash = hash;
-      this.addrKey = addrKey;
+    private int bucket(long hash) {
+      // Flipping the sign bit orders the buckets like the signed hashes
+      return (int) ((hash ^ Long.MIN_VALUE) >>> lookupShift);
     }
 
-    @Override
-    public int compareTo(RingEntry entry) {
-      return Long.compare(hash, entry.hash);
+    private static int addHashes(
+        EquivalentAddressGroup addrKey, int endpointIndex, int hashCount, long[] hashes,
+        int[] endpointIndices, int offset) {
+      // TODO(chengyuanzhang): is using the list of socket address correct?
+      StringBuilder sb = new StringBuilder(addrKey.getAddresses().toString());
+      sb.append('_');
+      int lengthWithoutCounter = sb.length();
+      for (int i = 0; i < hashCount; i++) {
+        sb.append(i);
+        hashes[offset] = hashFunc.hashAsciiString(sb.toString());
+        endpointIndices[offset] = endpointIndex;
+        offset++;
+        sb.setLength(lengthWithoutCounter);
+      }
+      return offset;
+    }
+
+    /**
+     * Sorts the hashes along with their endpoint indices, with an LSD radix sort over the bytes
+     * of the hashes. Unlike sorting boxed entries, it runs in linear time and only allocates one
+     * buffer of each array.
+     */
+    @VisibleForTesting
+    static void sortByHash(long[] hashes, int[] endpointIndices) {
+      int size = hashes.length;
+      if (size < 2) {
+        return;
+      }
+      long[] srcHashes = hashes;
+      int[] srcIndices = endpointIndices;
+      long[] dstHashes = new long[size];
+      int[] dstIndices = new int[size];
+      int[] offsets = new int[257];
+      for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+        Arrays.fill(offsets, 0);
+        for (int i = 0; i < size; i++) {
+          offsets[digit(srcHashes[i], shift) + 1]++;
+        }
+        if (offsets[digit(srcHashes[0], shift) + 1] == size) {
+          continue;  // All the hashes have the same byte here
+        }
+        for (int i = 1; i < offsets.length; i++) {
+          offsets[i] += offsets[i - 1];
+        }
+        for (int i = 0; i < size; i++) {
+          int position = offsets[digit(srcHashes[i], shift)]++;
+          dstHashes[position] = srcHashes[i];
+          dstIndices[position] = srcIndices[i];
+        }
+        long[] swapHashes = srcHashes;
+        srcHashes = dstHashes;
+        dstHashes = swapHashes;
+        int[] swapIndices = srcIndices;
+        srcIndices = dstIndices;
+        dstIndices = swapIndices;
+      }
+      if (srcHashes != hashes) {
+        System.arraycopy(srcHashes, 0, hashes, 0, size);
+        System.arraycopy(srcIndices, 0, endpointIndices, 0, size);
+      }
+    }
+
+    private static int digit(long hash, int shift) {
+      return (int) ((hash ^ Long.MIN_VALUE) >>> shift) & 0xff;
     }
   }
 
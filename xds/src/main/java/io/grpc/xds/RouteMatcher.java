@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.re2j.Pattern;
+import io.grpc.Metadata;
+import io.grpc.xds.VirtualHost.Route;
+import io.grpc.xds.VirtualHost.Route.RouteMatch;
+import io.grpc.xds.VirtualHost.Route.RouteMatch.PathMatcher;
+import io.grpc.xds.internal.Matchers.FractionMatcher;
+import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Selects the first route of a virtual host that matches an RPC.
+ *
+ * <p>The routes are compiled once per route table. Only the path matchers depend on the method
+ * of an RPC, so the routes whose path matches a method are computed once per method and cached.
+ * The candidates end at the first route without header or fraction matchers, as no route after it
+ * can be selected. For most methods, that is the first candidate, and selecting the route of an
+ * RPC is then a single lookup.
+ */
+final class RouteMatcher {
+  // Bounds the memory of the cache when a channel is used with arbitrary method names, for
+  // example by a proxy. The candidates of the other methods are computed on each RPC.
+  @VisibleForTesting
+  static final int MAX_CACHED_METHODS = 1000;
+
+  private final Route[] routes;
+  private final CompiledRoute[] compiledRoutes;
+  // Indices of the routes matching an exact, case-sensitive path, keyed by the path.
+  private final Map<String, int[]> exactPathRoutes;
+  // Indices of the routes with other path matchers.
+  private final int[] otherRoutes;
+  // Keyed by the full method name, without the leading slash.
+  private final ConcurrentHashMap<String, int[]> candidatesByMethod = new ConcurrentHashMap<>();
+
+  RouteMatcher(List<Route> routes) {
+    this.routes = routes.toArray(new Route[0]);
+    this.compiledRoutes = new CompiledRoute[routes.size()];
+    Map<String, List<Integer>> exactPaths = new HashMap<>();
+    List<Integer> others = new ArrayList<>();
+    for (int i = 0; i < routes.size(); i++) {
+      CompiledRoute route = new CompiledRoute(routes.get(i).routeMatch());
+      compiledRoutes[i] = route;
+      if (route.path != null && route.caseSensitive) {
+        List<Integer> indices = exactPaths.get(route.path);
+        if (indices == null) {
+          indices = new ArrayList<>();
+          exactPaths.put(route.path, indices);
+        }
+        indices.add(i);
+      } else {
+        others.add(i);
+      }
+    }
+    exactPathRoutes = new HashMap<>(exactPaths.size() * 2);
+    for (Map.Entry<String, List<Integer>> entry : exactPaths.entrySet()) {
+      exactPathRoutes.put(entry.getKey(), toArray(entry.getValue()));
+    }
+    otherRoutes = toArray(others);
+  }
+
+  /**
+   * Returns the first route that matches the RPC, or {@code null} if none does.
+   *
+   * @param fullMethodName the full method name of the RPC, without the leading slash
+   */
+  @Nullable
+  Route match(String fullMethodName, Metadata headers, ThreadSafeRandom random) {
+    int[] candidates = candidatesByMethod.get(fullMethodName);
+    if (candidates == null) {
+      candidates = findCandidates("/" + fullMethodName);
+      if (candidatesByMethod.size() < MAX_CACHED_METHODS) {
+        candidatesByMethod.putIfAbsent(fullMethodName, candidates);
+      }
+    }
+    for (int index : candidates) {
+      if (compiledRoutes[index].matchesHeadersAndFraction(headers, random)) {
+        return routes[index];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the indices of the routes whose path matcher matches {@code path}, in order, up to the
+   * first one that matches all the RPCs with that path.
+   */
+  private int[] findCandidates(String path) {
+    int[] exactPath = exactPathRoutes.get(path);
+    if (exactPath == null) {
+      exactPath = new int[0];
+    }
+    int[] candidates = new int[exactPath.length + otherRoutes.length];
+    int count = 0;
+    int exactPathPos = 0;
+    int otherPos = 0;
+    // Merges the exact path routes for the path with the other routes matching it, in order.
+    while (exactPathPos < exactPath.length || otherPos < otherRoutes.length) {
+      int index;
+      if (otherPos == otherRoutes.length
+          || (exactPathPos < exactPath.length && exactPath[exactPathPos] < otherRoutes[otherPos])) {
+        index = exactPath[exactPathPos++];
+      } else {
+        index = otherRoutes[otherPos++];
+        if (!compiledRoutes[index].matchesPath(path)) {
+          continue;
+        }
+      }
+      candidates[count++] = index;
+      if (compiledRoutes[index].isPathOnly()) {
+        break;
+      }
+    }
+    return Arrays.copyOf(candidates, count);
+  }
+
+  /**
+   * Returns {@code true} iff the given {@link RouteMatch} matches the RPC's path and headers.
+   */
+  static boolean matchRoute(
+      RouteMatch routeMatch, String path, Metadata headers, ThreadSafeRandom random) {
+    CompiledRoute route = new CompiledRoute(routeMatch);
+    return route.matchesPath(path) && route.matchesHeadersAndFraction(headers, random);
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    Iterator<Integer> it = list.iterator();
+    for (int i = 0; i < array.length; i++) {
+      array[i] = it.next();
+    }
+    return array;
+  }
+
+  private static final class CompiledRoute {
+    @Nullable
+    final String path;
+    @Nullable
+    final String prefix;
+    @Nullable
+    final Pattern regEx;
+    final boolean caseSensitive;
+    final HeaderMatcher[] headerMatchers;
+    final CompiledHeader[] headers;
+    @Nullable
+    final FractionMatcher fraction;
+
+    CompiledRoute(RouteMatch routeMatch) {
+      PathMatcher pathMatcher = routeMatch.pathMatcher();
+      path = pathMatcher.path();
+      prefix = pathMatcher.prefix();
+      regEx = pathMatcher.regEx();
+      caseSensitive = pathMatcher.caseSensitive();
+      headerMatchers = routeMatch.headerMatchers().toArray(new HeaderMatcher[0]);
+      headers = new CompiledHeader[headerMatchers.length];
+      for (int i = 0; i < headerMatchers.length; i++) {
+        headers[i] = new CompiledHeader(headerMatchers[i].name());
+      }
+      fraction = routeMatch.fractionMatcher();
+    }
+
+    boolean matchesPath(String fullPath) {
+      if (path != null) {
+        return caseSensitive ? path.equals(fullPath) : path.equalsIgnoreCase(fullPath);
+      } else if (prefix != null) {
+        return caseSensitive
+            ? fullPath.startsWith(prefix)
+            : fullPath.regionMatches(true, 0, prefix, 0, prefix.length());
+      }
+      return regEx.matches(fullPath);
+    }
+
+    boolean isPathOnly() {
+      return headerMatchers.length == 0 && fraction == null;
+    }
+
+    boolean matchesHeadersAndFraction(Metadata metadata, ThreadSafeRandom random) {
+      for (int i = 0; i < headerMatchers.length; i++) {
+        if (!headerMatchers[i].matches(headers[i].getValue(metadata))) {
+          return false;
+        }
+      }
+      return fraction == null || random.nextInt(fraction.denominator()) < fraction.numerator();
+    }
+  }
+
+  /** Reads the value of a header, with a key validated once per route table. */
+  private static final class CompiledHeader {
+    @Nullable
+    private final Metadata.Key<String> key;
+    // The value of headers that are not read from the metadata.
+    @Nullable
+    private final String fixedValue;
+
+    CompiledHeader(String name) {
+      Metadata.Key<String> key = null;
+      String fixedValue = null;
+      if (name.equals("content-type")) {
+        fixedValue = "application/grpc";
+      } else if (!name.endsWith(Metadata.BINARY_HEADER_SUFFIX)) {
+        try {
+          key = Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER);
+        } catch (IllegalArgumentException e) {
+          // The header can't be sent, so it never matches.
+        }
+      }
+      this.key = key;
+      this.fixedValue = fixedValue;
+    }
+
+    /** Returns the values of the header joined with commas, or {@code null} if not present. */
+    @Nullable
+    String getValue(Metadata metadata) {
+      if (key == null) {
+        return fixedValue;
+      }
+      Iterable<String> values = metadata.getAll(key);
+      if (values == null) {
+        return null;
+      }
+      Iterator<String> it = values.iterator();
+      String value = it.next();
+      if (!it.hasNext()) {
+        return value;
+      }
+      StringBuilder sb = new StringBuilder(value);
+      while (it.hasNext()) {
+        sb.append(',').append(it.next());
+      }
+      return sb.toString();
+    }
+  }
+}
@@ -30,6 +30,7 @@ import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
 import io.grpc.xds.XdsNameResolverProvider.XdsClientPoolFactory;
 import io.grpc.xds.internal.sds.TlsContextManagerImpl;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
@@ -108,6 +109,10 @@ final class SharedXdsClientPoolProvider implements XdsClientPoolFactory {
     private final Object lock = new Object();
     @GuardedBy("lock")
     private ScheduledExecutorService scheduler;
+    // For parsing the responses and saving the snapshot, if enabled.
+    @GuardedBy("lock")
+    @Nullable
+    private Executor executor;
     @GuardedBy("lock")
     private XdsClient xdsClient;
     @GuardedBy("lock")
@@ -123,6 +128,10 @@ final class SharedXdsClientPoolProvider implements XdsClientPoolFactory {
       synchronized (lock) {
         if (refCount == 0) {
           scheduler = SharedResourceHolder.get(GrpcUtil.TIMER_SERVICE);
+          if (ClientXdsClient.enableParallelParsing
+              || XdsSnapshotStore.snapshotDirectory != null) {
+            executor = SharedResourceHolder.get(GrpcUtil.SHARED_CHANNEL_EXECUTOR);
+          }
           xdsClient = new ClientXdsClient(
               XdsChannelFactory.DEFAULT_XDS_CHANNEL_FACTORY,
               bootstrapInfo,
@@ -131,7 +140,9 @@ final class SharedXdsClientPoolProvider implements XdsClientPoolFactory {
               new ExponentialBackoffPolicy.Provider(),
               GrpcUtil.STOPWATCH_SUPPLIER,
               TimeProvider.SYSTEM_TIME_PROVIDER,
-              new TlsContextManagerImpl(bootstrapInfo));
+              new TlsContextManagerImpl(bootstrapInfo),
+              ClientXdsClient.enableParallelParsing ? executor : null,
+              executor == null ? null : XdsSnapshotStore.forBootstrap(bootstrapInfo, executor));
         }
         refCount++;
         return xdsClient;
@@ -146,6 +157,9 @@ final class SharedXdsClientPoolProvider implements XdsClientPoolFactory {
           xdsClient.shutdown();
           xdsClient = null;
           scheduler = SharedResourceHolder.release(GrpcUtil.TIMER_SERVICE, scheduler);
+          if (executor != null) {
+            executor = SharedResourceHolder.release(GrpcUtil.SHARED_CHANNEL_EXECUTOR, executor);
+          }
         }
         return null;
       }
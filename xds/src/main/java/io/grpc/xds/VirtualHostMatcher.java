@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * Finds the {@link VirtualHost} with the best match domain for a host name, using an index of the
+ * domains built once per route configuration. Domains are matched case-insensitively, in this
+ * order:
+ * <ol>
+ * <li>Exact domain names: {@code www.foo.com}.</li>
+ * <li>Suffix domain wildcards: {@code *.foo.com} or {@code *-bar.foo.com}.</li>
+ * <li>Prefix domain wildcards: {@code foo.*} or {@code foo-*}.</li>
+ * <li>Special wildcard {@code *} matching any domain.</li>
+ * </ol>
+ * The longest wildcards match first, and the asterisk has to match at least one character.
+ *
+ * <p>Exact domains are kept in a hash map. Suffix wildcards ({@code *.foo.com}) are kept in a trie
+ * of their reversed suffixes, and prefix wildcards ({@code foo.*}) in a trie of their prefixes, so
+ * that the longest matching wildcard is found by walking the host name once from each end. A
+ * lookup costs O(length of the host name), regardless of the number of domains.
+ *
+ * <p>Domains that can't match any valid host name, like ones with an asterisk in the middle or at
+ * both ends, are not indexed.
+ */
+final class VirtualHostMatcher {
+  private final Map<String, VirtualHost> exactDomains = new HashMap<>();
+  private final TrieNode suffixWildcards = new TrieNode();
+  private final TrieNode prefixWildcards = new TrieNode();
+
+  VirtualHostMatcher(List<VirtualHost> virtualHosts) {
+    for (VirtualHost virtualHost : virtualHosts) {
+      for (String domain : virtualHost.domains()) {
+        if (domain.isEmpty() || domain.startsWith(".") || domain.endsWith(".")) {
+          continue;
+        }
+        domain = domain.toLowerCase(Locale.US);
+        int index = domain.indexOf('*');
+        if (index == -1) {
+          // The first virtual host with an exact domain wins.
+          if (!exactDomains.containsKey(domain)) {
+            exactDomains.put(domain, virtualHost);
+          }
+        } else if (domain.indexOf('*', index + 1) != -1) {
+          continue;
+        } else if (index == 0) {
+          // Of suffix wildcards with the same length, the last one wins.
+          TrieNode node = suffixWildcards;
+          for (int i = domain.length() - 1; i > 0; i--) {
+            node = node.getOrAddChild(domain.charAt(i));
+          }
+          node.virtualHost = virtualHost;
+        } else if (index == domain.length() - 1) {
+          // Of prefix wildcards with the same length, the first one wins.
+          TrieNode node = prefixWildcards;
+          for (int i = 0; i < index; i++) {
+            node = node.getOrAddChild(domain.charAt(i));
+          }
+          if (node.virtualHost == null) {
+            node.virtualHost = virtualHost;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the {@link VirtualHost} with the best match domain for the given host name, or
+   * {@code null} if no domain matches.
+   */
+  @Nullable
+  VirtualHost find(String hostName) {
+    checkArgument(hostName.length() != 0 && !hostName.startsWith(".") && !hostName.endsWith("."),
+        "Invalid host name");
+    hostName = hostName.toLowerCase(Locale.US);
+    VirtualHost virtualHost = exactDomains.get(hostName);
+    if (virtualHost != null) {
+      return virtualHost;
+    }
+    // The asterisk has to match at least one character, so the last character of the host name
+    // can't be part of a prefix, and the first one can't be part of a suffix.
+    int prefixLength = -1;
+    VirtualHost prefixMatch = null;
+    TrieNode node = prefixWildcards;
+    for (int i = 0; node != null; i++) {
+      if (node.virtualHost != null) {
+        prefixLength = i;
+        prefixMatch = node.virtualHost;
+      }
+      node = i < hostName.length() - 1 ? node.getChild(hostName.charAt(i)) : null;
+    }
+    int suffixLength = -1;
+    VirtualHost suffixMatch = null;
+    node = suffixWildcards;
+    for (int i = hostName.length() - 1; node != null; i--) {
+      if (node.virtualHost != null) {
+        suffixLength = hostName.length() - 1 - i;
+        suffixMatch = node.virtualHost;
+      }
+      node = i > 0 ? node.getChild(hostName.charAt(i)) : null;
+    }
+    // Suffix wildcards win over prefix wildcards of the same length.
+    return suffixLength >= prefixLength ? suffixMatch : prefixMatch;
+  }
+
+  private static final class TrieNode {
+    private static final char[] NO_KEYS = new char[0];
+    private static final TrieNode[] NO_CHILDREN = new TrieNode[0];
+
+    // Sorted, so that children are found by binary search.
+    private char[] keys = NO_KEYS;
+    private TrieNode[] children = NO_CHILDREN;
+    @Nullable
+    VirtualHost virtualHost;
+
+    @Nullable
+    TrieNode getChild(char c) {
+      int index = Arrays.binarySearch(keys, c);
+      return index >= 0 ? children[index] : null;
+    }
+
+    TrieNode getOrAddChild(char c) {
+      int index = Arrays.binarySearch(keys, c);
+      if (index >= 0) {
+        return children[index];
+      }
+      index = -index - 1;
+      char[] newKeys = new char[keys.length + 1];
+      TrieNode[] newChildren = new TrieNode[keys.length + 1];
+      System.arraycopy(keys, 0, newKeys, 0, index);
+      System.arraycopy(children, 0, newChildren, 0, index);
+      System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+      System.arraycopy(children, index, newChildren, index + 1, keys.length - index);
+      TrieNode child = new TrieNode();
+      newKeys[index] = c;
+      newChildren[index] = child;
+      keys = newKeys;
+      children = newChildren;
+      return child;
+    }
+  }
+}
@@ -0,0 +1,664 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.IDLE;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.ConnectivityState.SHUTDOWN;
+import static io.grpc.ConnectivityState.TRANSIENT_FAILURE;
+
+import com.github.xds.data.orca.v3.OrcaLoadReport;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.base.Ticker;
+import io.grpc.Attributes;
+import io.grpc.ClientStreamTracer;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer;
+import io.grpc.Status;
+import io.grpc.SynchronizationContext;
+import io.grpc.SynchronizationContext.ScheduledHandle;
+import io.grpc.xds.ThreadSafeRandom.ThreadSafeRandomImpl;
+import io.grpc.xds.orca.OrcaOobUtil;
+import io.grpc.xds.orca.OrcaOobUtil.OrcaOobReportListener;
+import io.grpc.xds.orca.OrcaOobUtil.OrcaReportingConfig;
+import io.grpc.xds.orca.OrcaPerRequestUtil;
+import io.grpc.xds.orca.OrcaPerRequestUtil.OrcaPerRequestReportListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * A {@link LoadBalancer} that provides weighted round robin load balancing, with weights derived
+ * from the load reports of the backends. Each backend's weight is its queries per second divided
+ * by its CPU utilization, as reported using Open Request Cost Aggregation (ORCA), either
+ * per-request in the trailers or out-of-band on a separate stream.
+ *
+ * <p>Weights are recalculated periodically and published in a new picker. A backend that has
+ * only just started reporting (the blackout period), or that has stopped reporting (the
+ * expiration period), is given the mean weight of the others, and if no backend has a usable
+ * weight the policy behaves like round robin.
+ */
+final class WeightedRoundRobinLoadBalancer extends LoadBalancer {
+  @VisibleForTesting
+  static final Attributes.Key<Ref<ConnectivityStateInfo>> STATE_INFO =
+      Attributes.Key.create("state-info");
+  @VisibleForTesting
+  static final Attributes.Key<EndpointWeight> ENDPOINT_WEIGHT =
+      Attributes.Key.create("endpoint-weight");
+
+  private final Helper helper;
+  private final SynchronizationContext syncContext;
+  private final ScheduledExecutorService timeService;
+  private final Ticker ticker;
+  private final ThreadSafeRandom random;
+  private final Map<EquivalentAddressGroup, Subchannel> subchannels =
+      new HashMap<>();
+  private final Runnable updateWeightTask = new UpdateWeightTask();
+
+  private ConnectivityState currentState;
+  private WeightedRoundRobinPicker currentPicker = new EmptyPicker(EMPTY_OK);
+  private WeightedRoundRobinConfig config = WeightedRoundRobinConfig.DEFAULT;
+  @Nullable
+  private ScheduledHandle weightUpdateTimer;
+
+  WeightedRoundRobinLoadBalancer(Helper helper, Ticker ticker) {
+    this(OrcaOobUtil.newOrcaReportingHelper(helper), ticker, ThreadSafeRandomImpl.instance);
+  }
+
+  @VisibleForTesting
+  WeightedRoundRobinLoadBalancer(Helper orcaHelper, Ticker ticker, ThreadSafeRandom random) {
+    this.helper = checkNotNull(orcaHelper, "orcaHelper");
+    this.syncContext = checkNotNull(helper.getSynchronizationContext(), "syncContext");
+    this.timeService =
+        checkNotNull(helper.getScheduledExecutorService(), "timeService");
+    this.ticker = checkNotNull(ticker, "ticker");
+    this.random = checkNotNull(random, "random");
+  }
+
+  @Override
+  public void handleResolvedAddresses(ResolvedAddresses resolvedAddresses) {
+    WeightedRoundRobinConfig newConfig =
+        (WeightedRoundRobinConfig) resolvedAddresses.getLoadBalancingPolicyConfig();
+    // Config may be null if weighted_round_robin is used outside xDS
+    if (newConfig == null) {
+      newConfig = WeightedRoundRobinConfig.DEFAULT;
+    }
+    boolean oobConfigChanged = newConfig.enableOobLoadReport
+        && (!config.enableOobLoadReport
+            || newConfig.oobReportingPeriodNanos != config.oobReportingPeriodNanos);
+    boolean oobDisabled = config.enableOobLoadReport && !newConfig.enableOobLoadReport;
+    config = newConfig;
+    if (oobConfigChanged) {
+      for (Subchannel subchannel : getSubchannels()) {
+        setOobListener(subchannel);
+      }
+    } else if (oobDisabled) {
+      // Reports now come per-request, stop the Out-of-Band streams if no other policy uses them
+      for (Subchannel subchannel : getSubchannels()) {
+        OrcaOobUtil.removeListener(subchannel);
+      }
+    }
+
+    List<EquivalentAddressGroup> servers = resolvedAddresses.getAddresses();
+    Set<EquivalentAddressGroup> currentAddrs = subchannels.keySet();
+    Map<EquivalentAddressGroup, EquivalentAddressGroup> latestAddrs = stripAttrs(servers);
+    Set<EquivalentAddressGroup> removedAddrs = setsDifference(currentAddrs, latestAddrs.keySet());
+
+    for (Map.Entry<EquivalentAddressGroup, EquivalentAddressGroup> latestEntry :
+        latestAddrs.entrySet()) {
+      EquivalentAddressGroup strippedAddressGroup = latestEntry.getKey();
+      EquivalentAddressGroup originalAddressGroup = latestEntry.getValue();
+      Subchannel existingSubchannel = subchannels.get(strippedAddressGroup);
+      if (existingSubchannel != null) {
+        // EAG's Attributes may have changed.
+        existingSubchannel.updateAddresses(Collections.singletonList(originalAddressGroup));
+        continue;
+      }
+      // Create new subchannels for new addresses.
+      Attributes.Builder subchannelAttrs = Attributes.newBuilder()
+          .set(STATE_INFO, new Ref<>(ConnectivityStateInfo.forNonError(IDLE)))
+          // Receives the load reports of this particular subchannel
+          .set(ENDPOINT_WEIGHT, new EndpointWeight(ticker));
+
+      final Subchannel subchannel = checkNotNull(
+          helper.createSubchannel(CreateSubchannelArgs.newBuilder()
+              .setAddresses(originalAddressGroup)
+              .setAttributes(subchannelAttrs.build())
+              .build()),
+          "subchannel");
+      subchannel.start(new SubchannelStateListener() {
+        @Override
+        public void onSubchannelState(ConnectivityStateInfo state) {
+          processSubchannelState(subchannel, state);
+        }
+      });
+      if (config.enableOobLoadReport) {
+        setOobListener(subchannel);
+      }
+      subchannels.put(strippedAddressGroup, subchannel);
+      subchannel.requestConnection();
+    }
+
+    ArrayList<Subchannel> removedSubchannels = new ArrayList<>();
+    for (EquivalentAddressGroup addressGroup : removedAddrs) {
+      removedSubchannels.add(subchannels.remove(addressGroup));
+    }
+
+    // Update the picker before shutting down the subchannels, to reduce the chance of the race
+    // between picking a subchannel and shutting it down.
+    updateBalancingState();
+
+    // Shutdown removed subchannels
+    for (Subchannel removedSubchannel : removedSubchannels) {
+      shutdownSubchannel(removedSubchannel);
+    }
+
+    if (weightUpdateTimer != null) {
+      weightUpdateTimer.cancel();
+    }
+    weightUpdateTimer = syncContext.schedule(
+        updateWeightTask, config.weightUpdatePeriodNanos, TimeUnit.NANOSECONDS, timeService);
+  }
+
+  @Override
+  public void handleNameResolutionError(Status error) {
+    if (currentState != READY)  {
+      updateBalancingState(TRANSIENT_FAILURE, new EmptyPicker(error));
+    }
+  }
+
+  private void setOobListener(Subchannel subchannel) {
+    OrcaOobUtil.setListener(
+        subchannel,
+        getEndpointWeight(subchannel),
+        OrcaReportingConfig.newBuilder()
+            .setReportInterval(config.oobReportingPeriodNanos, TimeUnit.NANOSECONDS)
+            .build());
+  }
+
+  private void processSubchannelState(Subchannel subchannel, ConnectivityStateInfo stateInfo) {
+    if (subchannels.get(stripAttrs(subchannel.getAddresses())) != subchannel) {
+      return;
+    }
+    if (stateInfo.getState() == TRANSIENT_FAILURE || stateInfo.getState() == IDLE) {
+      helper.refreshNameResolution();
+    }
+    if (stateInfo.getState() == IDLE) {
+      subchannel.requestConnection();
+    }
+    Ref<ConnectivityStateInfo> subchannelStateRef = getSubchannelStateInfoRef(subchannel);
+    if (subchannelStateRef.value.getState().equals(TRANSIENT_FAILURE)) {
+      if (stateInfo.getState().equals(CONNECTING) || stateInfo.getState().equals(IDLE)) {
+        return;
+      }
+    }
+    if (stateInfo.getState() == READY && subchannelStateRef.value.getState() != READY) {
+      // Reports from a previous connection may no longer describe the backend
+      getEndpointWeight(subchannel).resetBlackout();
+    }
+    subchannelStateRef.value = stateInfo;
+    updateBalancingState();
+  }
+
+  private void shutdownSubchannel(Subchannel subchannel) {
+    subchannel.shutdown();
+    getSubchannelStateInfoRef(subchannel).value =
+        ConnectivityStateInfo.forNonError(SHUTDOWN);
+  }
+
+  @Override
+  public void shutdown() {
+    if (weightUpdateTimer != null) {
+      weightUpdateTimer.cancel();
+      weightUpdateTimer = null;
+    }
+    for (Subchannel subchannel : getSubchannels()) {
+      shutdownSubchannel(subchannel);
+    }
+    subchannels.clear();
+  }
+
+  private static final Status EMPTY_OK = Status.OK.withDescription("no subchannels ready");
+
+  /**
+   * Updates picker with the list of active subchannels (state == READY), weighted by their
+   * current load reports.
+   */
+  @SuppressWarnings("ReferenceEquality")
+  private void updateBalancingState() {
+    List<Subchannel> activeList = filterNonFailingSubchannels(getSubchannels());
+    if (activeList.isEmpty()) {
+      // No READY subchannels, determine aggregate state and error status
+      boolean isConnecting = false;
+      Status aggStatus = EMPTY_OK;
+      for (Subchannel subchannel : getSubchannels()) {
+        ConnectivityStateInfo stateInfo = getSubchannelStateInfoRef(subchannel).value;
+        // This subchannel IDLE is not because of channel IDLE_TIMEOUT,
+        // in which case LB is already shutdown.
+        // WRR will request connection immediately on subchannel IDLE.
+        if (stateInfo.getState() == CONNECTING || stateInfo.getState() == IDLE) {
+          isConnecting = true;
+        }
+        if (aggStatus == EMPTY_OK || !aggStatus.isOk()) {
+          aggStatus = stateInfo.getStatus();
+        }
+      }
+      updateBalancingState(isConnecting ? CONNECTING : TRANSIENT_FAILURE,
+          // If all subchannels are TRANSIENT_FAILURE, return the Status associated with
+          // an arbitrary subchannel, otherwise return OK.
+          new EmptyPicker(aggStatus));
+    } else {
+      long nowNanos = ticker.read();
+      float[] weights = new float[activeList.size()];
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = (float) getEndpointWeight(activeList.get(i)).getWeight(
+            nowNanos, config.blackoutPeriodNanos, config.weightExpirationPeriodNanos);
+      }
+      updateBalancingState(READY, new ReadyPicker(
+          activeList,
+          new StaticStrideScheduler(weights, random.nextInt(Integer.MAX_VALUE)),
+          config.enableOobLoadReport));
+    }
+  }
+
+  private void updateBalancingState(ConnectivityState state, WeightedRoundRobinPicker picker) {
+    if (state != currentState || !picker.isEquivalentTo(currentPicker)) {
+      helper.updateBalancingState(state, picker);
+      currentState = state;
+      currentPicker = picker;
+    }
+  }
+
+  /**
+   * Filters out non-ready subchannels.
+   */
+  private static List<Subchannel> filterNonFailingSubchannels(
+      Collection<Subchannel> subchannels) {
+    List<Subchannel> readySubchannels = new ArrayList<>(subchannels.size());
+    for (Subchannel subchannel : subchannels) {
+      if (isReady(subchannel)) {
+        readySubchannels.add(subchannel);
+      }
+    }
+    return readySubchannels;
+  }
+
+  /**
+   * Converts list of {@link EquivalentAddressGroup} to {@link EquivalentAddressGroup} set and
+   * remove all attributes. The values are the original EAGs.
+   */
+  private static Map<EquivalentAddressGroup, EquivalentAddressGroup> stripAttrs(
+      List<EquivalentAddressGroup> groupList) {
+    Map<EquivalentAddressGroup, EquivalentAddressGroup> addrs = new HashMap<>(groupList.size() * 2);
+    for (EquivalentAddressGroup group : groupList) {
+      addrs.put(stripAttrs(group), group);
+    }
+    return addrs;
+  }
+
+  private static EquivalentAddressGroup stripAttrs(EquivalentAddressGroup eag) {
+    return new EquivalentAddressGroup(eag.getAddresses());
+  }
+
+  @VisibleForTesting
+  Collection<Subchannel> getSubchannels() {
+    return subchannels.values();
+  }
+
+  private static Ref<ConnectivityStateInfo> getSubchannelStateInfoRef(
+      Subchannel subchannel) {
+    return checkNotNull(subchannel.getAttributes().get(STATE_INFO), "STATE_INFO");
+  }
+
+  private static EndpointWeight getEndpointWeight(Subchannel subchannel) {
+    return checkNotNull(subchannel.getAttributes().get(ENDPOINT_WEIGHT), "ENDPOINT_WEIGHT");
+  }
+
+  // package-private to avoid synthetic access
+  static boolean isReady(Subchannel subchannel) {
+    return getSubchannelStateInfoRef(subchannel).value.getState() == READY;
+  }
+
+  private static <T> Set<T> setsDifference(Set<T> a, Set<T> b) {
+    Set<T> aCopy = new HashSet<>(a);
+    aCopy.removeAll(b);
+    return aCopy;
+  }
+
+  private final class UpdateWeightTask implements Runnable {
+    @Override
+    public void run() {
+      updateBalancingState();
+      weightUpdateTimer = syncContext.schedule(
+          this, config.weightUpdatePeriodNanos, TimeUnit.NANOSECONDS, timeService);
+    }
+  }
+
+  // Only subclasses are ReadyPicker or EmptyPicker
+  private abstract static class WeightedRoundRobinPicker extends SubchannelPicker {
+    abstract boolean isEquivalentTo(WeightedRoundRobinPicker picker);
+  }
+
+  @VisibleForTesting
+  static final class ReadyPicker extends WeightedRoundRobinPicker {
+    private final List<Subchannel> list; // non-empty
+    private final StaticStrideScheduler scheduler;
+    private final boolean enableOobLoadReport;
+
+    ReadyPicker(
+        List<Subchannel> list, StaticStrideScheduler scheduler, boolean enableOobLoadReport) {
+      checkArgument(!list.isEmpty(), "empty list");
+      checkArgument(list.size() == scheduler.size(), "scheduler size mismatch");
+      this.list = list;
+      this.scheduler = checkNotNull(scheduler, "scheduler");
+      this.enableOobLoadReport = enableOobLoadReport;
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      Subchannel subchannel = list.get(scheduler.pick());
+      if (enableOobLoadReport) {
+        return PickResult.withSubchannel(subchannel);
+      }
+      return PickResult.withSubchannel(
+          subchannel, getEndpointWeight(subchannel).perRequestTracerFactory);
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(ReadyPicker.class)
+                        .add("list", list)
+                        .add("scheduler", scheduler)
+                        .toString();
+    }
+
+    @VisibleForTesting
+    List<Subchannel> getList() {
+      return list;
+    }
+
+    @Override
+    boolean isEquivalentTo(WeightedRoundRobinPicker picker) {
+      if (!(picker instanceof ReadyPicker)) {
+        return false;
+      }
+      ReadyPicker other = (ReadyPicker) picker;
+      // The scheduler's weights are in list order
+      return other == this
+          || (list.equals(other.list)
+              && scheduler.hasSameWeights(other.scheduler)
+              && enableOobLoadReport == other.enableOobLoadReport);
+    }
+  }
+
+  @VisibleForTesting
+  static final class EmptyPicker extends WeightedRoundRobinPicker {
+
+    private final Status status;
+
+    EmptyPicker(@Nonnull Status status) {
+      this.status = checkNotNull(status, "status");
+    }
+
+    @Override
+    public PickResult pickSubchannel(PickSubchannelArgs args) {
+      return status.isOk() ? PickResult.withNoResult() : PickResult.withError(status);
+    }
+
+    @Override
+    boolean isEquivalentTo(WeightedRoundRobinPicker picker) {
+      return picker instanceof EmptyPicker && (Objects.equal(status, ((EmptyPicker) picker).status)
+          || (status.isOk() && ((EmptyPicker) picker).status.isOk()));
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(EmptyPicker.class).add("status", status).toString();
+    }
+  }
+
+  /**
+   * A lock-free weighted round robin scheduler with fixed weights. Every pick takes the next
+   * value of a shared sequence; within each pass over the backends ("generation"), backend
+   * {@code i} accepts the pick with probability {@code weight[i] / max(weight)} and otherwise
+   * the next sequence value is tried. The acceptance pattern is deterministic and staggered
+   * between backends, so picks are spread smoothly instead of in bursts. Picks cost a single
+   * atomic increment in the common case, unlike an earliest-deadline-first scheduler, which
+   * needs a priority queue guarded by a lock.
+   */
+  @VisibleForTesting
+  static final class StaticStrideScheduler {
+    @VisibleForTesting
+    static final int MAX_WEIGHT = 0xFFFF;
+
+    private final int[] scaledWeights;
+    private final AtomicInteger sequence;
+
+    /**
+     * Creates a scheduler for the given weights. Backends without a weight (zero) are given the
+     * mean of the others; if there are no weights at all, every backend is picked equally often.
+     */
+    StaticStrideScheduler(float[] weights, int initialSequence) {
+      checkArgument(weights.length >= 1, "Couldn't build scheduler: requires at least one weight");
+      int numWeightedChannels = 0;
+      double sumWeight = 0;
+      float maxWeight = 0;
+      for (float weight : weights) {
+        if (weight > 0) {
+          sumWeight += weight;
+          maxWeight = Math.max(weight, maxWeight);
+          numWeightedChannels++;
+        }
+      }
+      double meanWeight;
+      if (numWeightedChannels == 0) {
+        meanWeight = 1;
+        maxWeight = 1;
+      } else {
+        meanWeight = sumWeight / numWeightedChannels;
+      }
+      double scalingFactor = MAX_WEIGHT / (double) maxWeight;
+      this.scaledWeights = new int[weights.length];
+      for (int i = 0; i < weights.length; i++) {
+        double weight = weights[i] > 0 ? weights[i] : meanWeight;
+        // Every backend keeps a little traffic, so its weight can still be measured
+        scaledWeights[i] =
+            Math.min(MAX_WEIGHT, Math.max(1, (int) Math.round(weight * scalingFactor)));
+      }
+      this.sequence = new AtomicInteger(initialSequence);
+    }
+
+    int size() {
+      return scaledWeights.length;
+    }
+
+    /**
+     * Returns the index of the next backend to use.
+     */
+    int pick() {
+      while (true) {
+        // Treat the sequence as unsigned, so it keeps counting up after overflow
+        long sequence = this.sequence.getAndIncrement() & 0xFFFFFFFFL;
+        int backendIndex = (int) (sequence % scaledWeights.length);
+        long generation = sequence / scaledWeights.length;
+        int weight = scaledWeights[backendIndex];
+        // Staggers the backends' acceptance, so they don't all skip the same generations
+        long offset = (long) MAX_WEIGHT / 2 * backendIndex;
+        if ((weight * generation + offset) % MAX_WEIGHT < MAX_WEIGHT - weight) {
+          continue;
+        }
+        return backendIndex;
+      }
+    }
+
+    boolean hasSameWeights(StaticStrideScheduler other) {
+      return Arrays.equals(scaledWeights, other.scaledWeights);
+    }
+
+    @VisibleForTesting
+    int[] getScaledWeights() {
+      return scaledWeights;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("scaledWeights", Arrays.toString(scaledWeights))
+          .toString();
+    }
+  }
+
+  /**
+   * Tracks the weight of one backend from its ORCA load reports, which arrive either per-request
+   * on arbitrary threads or out-of-band in the synchronization context.
+   */
+  @VisibleForTesting
+  static final class EndpointWeight
+      implements OrcaOobReportListener, OrcaPerRequestReportListener {
+    private final Ticker ticker;
+    final ClientStreamTracer.Factory perRequestTracerFactory;
+    @GuardedBy("this")
+    private double weight;
+    @GuardedBy("this")
+    private long lastUpdatedNanos;
+    // Start of the current run of reports, or null if there isn't one
+    @GuardedBy("this")
+    @Nullable
+    private Long nonEmptySinceNanos;
+
+    EndpointWeight(Ticker ticker) {
+      this.ticker = checkNotNull(ticker, "ticker");
+      this.perRequestTracerFactory =
+          OrcaPerRequestUtil.getInstance().newOrcaClientStreamTracerFactory(this);
+    }
+
+    @Override
+    public void onLoadReport(OrcaLoadReport report) {
+      double utilization = report.getCpuUtilization();
+      if (utilization <= 0 || report.getRps() <= 0) {
+        // Not enough information to derive a weight
+        return;
+      }
+      double newWeight = report.getRps() / utilization;
+      long nowNanos = ticker.read();
+      synchronized (this) {
+        if (nonEmptySinceNanos == null) {
+          nonEmptySinceNanos = nowNanos;
+        }
+        lastUpdatedNanos = nowNanos;
+        weight = newWeight;
+      }
+    }
+
+    /**
+     * Restarts the blackout period, so that the weight is only used again after a fresh run of
+     * reports.
+     */
+    synchronized void resetBlackout() {
+      nonEmptySinceNanos = null;
+    }
+
+    /**
+     * Returns the current weight, or zero if there is none: either because the backend has not
+     * been reporting for longer than the blackout period, or because its last report expired.
+     */
+    synchronized double getWeight(long nowNanos, long blackoutPeriodNanos,
+        long weightExpirationPeriodNanos) {
+      if (nonEmptySinceNanos == null) {
+        return 0;
+      }
+      if (nowNanos - lastUpdatedNanos >= weightExpirationPeriodNanos) {
+        nonEmptySinceNanos = null;
+        return 0;
+      }
+      if (nowNanos - nonEmptySinceNanos < blackoutPeriodNanos) {
+        return 0;
+      }
+      return weight;
+    }
+  }
+
+  /**
+   * A lighter weight Reference than AtomicReference.
+   */
+  static final class Ref<T> {
+    T value;
+
+    Ref(T value) {
+      this.value = value;
+    }
+  }
+
+  static final class WeightedRoundRobinConfig {
+    static final WeightedRoundRobinConfig DEFAULT = new WeightedRoundRobinConfig(
+        false,
+        TimeUnit.SECONDS.toNanos(10),
+        TimeUnit.SECONDS.toNanos(10),
+        TimeUnit.MINUTES.toNanos(3),
+        TimeUnit.SECONDS.toNanos(1));
+
+    final boolean enableOobLoadReport;
+    final long oobReportingPeriodNanos;
+    final long blackoutPeriodNanos;
+    final long weightExpirationPeriodNanos;
+    final long weightUpdatePeriodNanos;
+
+    WeightedRoundRobinConfig(boolean enableOobLoadReport, long oobReportingPeriodNanos,
+        long blackoutPeriodNanos, long weightExpirationPeriodNanos,
+        long weightUpdatePeriodNanos) {
+      checkArgument(oobReportingPeriodNanos > 0, "oobReportingPeriod must be positive");
+      checkArgument(blackoutPeriodNanos >= 0, "blackoutPeriod must be non-negative");
+      checkArgument(weightExpirationPeriodNanos > 0, "weightExpirationPeriod must be positive");
+      checkArgument(weightUpdatePeriodNanos > 0, "weightUpdatePeriod must be positive");
+      this.enableOobLoadReport = enableOobLoadReport;
+      this.oobReportingPeriodNanos = oobReportingPeriodNanos;
+      this.blackoutPeriodNanos = blackoutPeriodNanos;
+      this.weightExpirationPeriodNanos = weightExpirationPeriodNanos;
+      this.weightUpdatePeriodNanos = weightUpdatePeriodNanos;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("enableOobLoadReport", enableOobLoadReport)
+          .add("oobReportingPeriodNanos", oobReportingPeriodNanos)
+          .add("blackoutPeriodNanos", blackoutPeriodNanos)
+          .add("weightExpirationPeriodNanos", weightExpirationPeriodNanos)
+          .add("weightUpdatePeriodNanos", weightUpdatePeriodNanos)
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import com.google.common.base.Ticker;
+import io.grpc.Internal;
+import io.grpc.LoadBalancer;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status;
+import io.grpc.internal.JsonUtil;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.WeightedRoundRobinConfig;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provider for the "weighted_round_robin_experimental" balancing policy.
+ */
+@Internal
+public final class WeightedRoundRobinLoadBalancerProvider extends LoadBalancerProvider {
+  // Weights are not recalculated more often than this.
+  static final long MIN_WEIGHT_UPDATE_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Override
+  public LoadBalancer newLoadBalancer(LoadBalancer.Helper helper) {
+    return new WeightedRoundRobinLoadBalancer(helper, Ticker.systemTicker());
+  }
+
+  @Override
+  public boolean isAvailable() {
+    return true;
+  }
+
+  @Override
+  public int getPriority() {
+    return 5;
+  }
+
+  @Override
+  public String getPolicyName() {
+    return "weighted_round_robin_experimental";
+  }
+
+  @Override
+  public ConfigOrError parseLoadBalancingPolicyConfig(Map<String, ?> rawConfig) {
+    try {
+      WeightedRoundRobinConfig defaults = WeightedRoundRobinConfig.DEFAULT;
+      Boolean enableOobLoadReport = JsonUtil.getBoolean(rawConfig, "enableOobLoadReport");
+      if (enableOobLoadReport == null) {
+        enableOobLoadReport = defaults.enableOobLoadReport;
+      }
+      Long oobReportingPeriodNanos = JsonUtil.getStringAsDuration(rawConfig, "oobReportingPeriod");
+      if (oobReportingPeriodNanos == null) {
+        oobReportingPeriodNanos = defaults.oobReportingPeriodNanos;
+      }
+      Long blackoutPeriodNanos = JsonUtil.getStringAsDuration(rawConfig, "blackoutPeriod");
+      if (blackoutPeriodNanos == null) {
+        blackoutPeriodNanos = defaults.blackoutPeriodNanos;
+      }
+      Long weightExpirationPeriodNanos =
+          JsonUtil.getStringAsDuration(rawConfig, "weightExpirationPeriod");
+      if (weightExpirationPeriodNanos == null) {
+        weightExpirationPeriodNanos = defaults.weightExpirationPeriodNanos;
+      }
+      Long weightUpdatePeriodNanos = JsonUtil.getStringAsDuration(rawConfig, "weightUpdatePeriod");
+      if (weightUpdatePeriodNanos == null) {
+        weightUpdatePeriodNanos = defaults.weightUpdatePeriodNanos;
+      }
+      if (oobReportingPeriodNanos <= 0 || blackoutPeriodNanos < 0
+          || weightExpirationPeriodNanos <= 0 || weightUpdatePeriodNanos <= 0) {
+        return ConfigOrError.fromError(Status.INVALID_ARGUMENT.withDescription(
+            "Invalid weighted_round_robin_experimental period: " + rawConfig));
+      }
+      return ConfigOrError.fromConfig(new WeightedRoundRobinConfig(
+          enableOobLoadReport,
+          oobReportingPeriodNanos,
+          blackoutPeriodNanos,
+          weightExpirationPeriodNanos,
+          Math.max(weightUpdatePeriodNanos, MIN_WEIGHT_UPDATE_PERIOD_NANOS)));
+    } catch (RuntimeException e) {
+      return ConfigOrError.fromError(
+          Status.fromThrowable(e).withDescription(
+              "Failed to parse weighted_round_robin_experimental LB config: " + rawConfig));
+    }
+  }
+}
@@ -25,6 +25,7 @@ import static io.grpc.xds.XdsSubchannelPickers.BUFFER_PICKER;
 
 import com.google.common.collect.ImmutableMap;
 import io.grpc.ConnectivityState;
+import io.grpc.EquivalentAddressGroup;
 import io.grpc.InternalLogId;
 import io.grpc.LoadBalancer;
 import io.grpc.Status;
@@ -37,6 +38,7 @@ import io.grpc.xds.WeightedTargetLoadBalancerProvider.WeightedTargetConfig;
 import io.grpc.xds.XdsLogger.XdsLogLevel;
 import io.grpc.xds.XdsSubchannelPickers.ErrorPicker;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +54,7 @@ final class WeightedTargetLoadBalancer extends LoadBalancer {
   private final SynchronizationContext syncContext;
 
   private Map<String, WeightedPolicySelection> targets = ImmutableMap.of();
+  private boolean overallBalancingStateUpdatePending;
 
   WeightedTargetLoadBalancer(Helper helper) {
     this.helper = checkNotNull(helper, "helper");
@@ -80,15 +83,26 @@ final class WeightedTargetLoadBalancer extends LoadBalancer {
           targets.get(targetName).policySelection.getProvider())) {
         childBalancers.get(targetName)
             .switchTo(weightedChildLbConfig.policySelection.getProvider());
+        childHelpers.get(targetName).resolvedAddresses = null;
       }
     }
     targets = newTargets;
+    Map<String, List<EquivalentAddressGroup>> addressesByTarget =
+        AddressFilter.groupByName(resolvedAddresses.getAddresses());
     for (String targetName : targets.keySet()) {
-      childBalancers.get(targetName).handleResolvedAddresses(
-          resolvedAddresses.toBuilder()
-              .setAddresses(AddressFilter.filter(resolvedAddresses.getAddresses(), targetName))
-              .setLoadBalancingPolicyConfig(targets.get(targetName).policySelection.getConfig())
-              .build());
+      List<EquivalentAddressGroup> addresses = addressesByTarget.get(targetName);
+      ResolvedAddresses childResolvedAddresses = resolvedAddresses.toBuilder()
+          .setAddresses(
+              addresses != null ? addresses : Collections.<EquivalentAddressGroup>emptyList())
+          .setLoadBalancingPolicyConfig(targets.get(targetName).policySelection.getConfig())
+          .build();
+      // Endpoint updates usually change a few targets. The others keep their pickers.
+      ChildHelper childHelper = childHelpers.get(targetName);
+      if (childResolvedAddresses.equals(childHelper.resolvedAddresses)) {
+        continue;
+      }
+      childHelper.resolvedAddresses = childResolvedAddresses;
+      childBalancers.get(targetName).handleResolvedAddresses(childResolvedAddresses);
     }
 
     // Cleanup removed targets.
@@ -100,7 +114,8 @@ final class WeightedTargetLoadBalancer extends LoadBalancer {
     }
     childBalancers.keySet().retainAll(targets.keySet());
     childHelpers.keySet().retainAll(targets.keySet());
-    updateOverallBalancingState();
+    // Along with the updates of the children, if any.
+    scheduleOverallBalancingStateUpdate();
   }
 
   @Override
@@ -112,6 +127,10 @@ final class WeightedTargetLoadBalancer extends LoadBalancer {
     for (LoadBalancer childBalancer : childBalancers.values()) {
       childBalancer.handleNameResolutionError(error);
     }
+    // A child may have switched to an error picker, it needs the next addresses even if unchanged.
+    for (ChildHelper childHelper : childHelpers.values()) {
+      childHelper.resolvedAddresses = null;
+    }
   }
 
   @Override
@@ -179,10 +198,33 @@ final class WeightedTargetLoadBalancer extends LoadBalancer {
     return overallState;
   }
 
+  /**
+   * Updates the overall balancing state once all the pending updates of the children are
+   * processed, instead of once per child, as updating the addresses usually updates several
+   * children at a time.
+   */
+  private void scheduleOverallBalancingStateUpdate() {
+    if (overallBalancingStateUpdatePending) {
+      return;
+    }
+    overallBalancingStateUpdatePending = true;
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        overallBalancingStateUpdatePending = false;
+        if (!childBalancers.isEmpty()) {
+          updateOverallBalancingState();
+        }
+      }
+    });
+  }
+
   private final class ChildHelper extends ForwardingLoadBalancerHelper {
     String name;
     ConnectivityState currentState = CONNECTING;
     SubchannelPicker currentPicker = BUFFER_PICKER;
+    // The addresses last passed to the child, null if it needs to be updated regardless
+    @Nullable ResolvedAddresses resolvedAddresses;
 
     private ChildHelper(String name) {
       this.name = name;
@@ -199,7 +241,7 @@ final class WeightedTargetLoadBalancer extends LoadBalancer {
           }
           currentState = newState;
           currentPicker = newPicker;
-          updateOverallBalancingState();
+          scheduleOverallBalancingStateUpdate();
         }
       });
     }
@@ -28,12 +28,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.net.UrlEscapers;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.Any;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
 import io.grpc.Status;
 import io.grpc.xds.AbstractXdsClient.ResourceType;
 import io.grpc.xds.Bootstrapper.ServerInfo;
 import io.grpc.xds.Endpoints.DropOverload;
 import io.grpc.xds.Endpoints.LocalityLbEndpoints;
 import io.grpc.xds.EnvoyServerProtoData.Listener;
+import io.grpc.xds.EnvoyServerProtoData.OutlierDetection;
 import io.grpc.xds.EnvoyServerProtoData.UpstreamTlsContext;
 import io.grpc.xds.LoadStatsManager2.ClusterDropStats;
 import io.grpc.xds.LoadStatsManager2.ClusterLocalityStats;
@@ -221,6 +223,11 @@ abstract class XdsClient {
     @Nullable
     abstract ImmutableList<String> prioritizedClusterNames();
 
+    // Outlier detection for the endpoints of this cluster. Null if not enabled.
+    // Only valid for EDS cluster.
+    @Nullable
+    abstract OutlierDetection outlierDetection();
+
     static Builder forAggregate(String clusterName, List<String> prioritizedClusterNames) {
       checkNotNull(prioritizedClusterNames, "prioritizedClusterNames");
       return new AutoValue_XdsClient_CdsUpdate.Builder()
@@ -286,6 +293,7 @@ abstract class XdsClient {
           .add("maxConcurrentRequests", maxConcurrentRequests())
           // Exclude upstreamTlsContext as its string representation is cumbersome.
           .add("prioritizedClusterNames", prioritizedClusterNames())
+          .add("outlierDetection", outlierDetection())
           .toString();
     }
 
@@ -341,6 +349,8 @@ abstract class XdsClient {
       // Private, use CdsUpdate.forAggregate() instead.
       protected abstract Builder prioritizedClusterNames(List<String> prioritizedClusterNames);
 
+      abstract Builder outlierDetection(OutlierDetection outlierDetection);
+
       abstract CdsUpdate build();
     }
   }
@@ -697,6 +707,15 @@ abstract class XdsClient {
     void handleEdsResponse(
         ServerInfo serverInfo, String versionInfo, List<Any> resources, String nonce);
 
+    /**
+     * Called when a delta (incremental) response is received. Unlike the state-of-the-world
+     * responses, the resources not in {@code resources} are unchanged unless listed in
+     * {@code removedResources}.
+     */
+    void handleDeltaResponse(
+        ServerInfo serverInfo, ResourceType type, String systemVersionInfo,
+        List<Resource> resources, List<String> removedResources, String nonce);
+
     /** Called when the ADS stream is closed passively. */
     // Must be synchronized.
     void handleStreamClosed(Status error);
@@ -37,6 +37,7 @@ import io.grpc.netty.InternalProtocolNegotiator;
 import io.grpc.netty.NettyServerBuilder;
 import io.grpc.xds.FilterChainMatchingProtocolNegotiators.FilterChainMatchingNegotiatorServerFactory;
 import io.grpc.xds.XdsNameResolverProvider.XdsClientPoolFactory;
+import io.grpc.xds.internal.rbac.engine.ConnectionAuthCache;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -127,6 +128,7 @@ public final class XdsServerBuilder extends ForwardingServerBuilder<XdsServerBui
       builder.set(ATTR_DRAIN_GRACE_NANOS, drainGraceTimeUnit.toNanos(drainGraceTime));
     }
     InternalNettyServerBuilder.eagAttributes(delegate, builder.build());
+    delegate.addTransportFilter(ConnectionAuthCache.transportFilter());
     return new XdsServerWrapper("0.0.0.0:" + port, delegate, xdsServingStatusListener,
             filterChainSelectorManager, xdsClientPoolFactory, filterRegistry);
   }
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static io.grpc.xds.Bootstrapper.XDSTP_SCHEME;
 
 import com.google.auto.value.AutoValue;
+import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -753,9 +754,7 @@ final class XdsServerWrapper extends Server {
         call.close(Status.UNAVAILABLE.withDescription(errorMsg), new Metadata());
         return new Listener<ReqT>() {};
       }
-      List<VirtualHost> virtualHosts = routingConfig.virtualHosts();
-      VirtualHost virtualHost = RoutingUtils.findVirtualHostForHostName(
-          virtualHosts, call.getAuthority());
+      VirtualHost virtualHost = routingConfig.virtualHostMatcher().find(call.getAuthority());
       if (virtualHost == null) {
         call.close(
             Status.UNAVAILABLE.withDescription("Could not find xDS virtual host matching RPC"),
@@ -804,6 +803,11 @@ final class XdsServerWrapper extends Server {
     // Prebuilt per route server interceptors from http filter configs.
     abstract ImmutableMap<Route, ServerInterceptor> interceptors();
 
+    @Memoized
+    VirtualHostMatcher virtualHostMatcher() {
+      return new VirtualHostMatcher(virtualHosts());
+    }
+
     /**
      * Server routing configuration.
      * */
@@ -812,7 +816,11 @@ final class XdsServerWrapper extends Server {
         ImmutableMap<Route, ServerInterceptor> interceptors) {
       checkNotNull(virtualHosts, "virtualHosts");
       checkNotNull(interceptors, "interceptors");
-      return new AutoValue_XdsServerWrapper_ServerRoutingConfig(virtualHosts, interceptors);
+      ServerRoutingConfig config =
+          new AutoValue_XdsServerWrapper_ServerRoutingConfig(virtualHosts, interceptors);
+      // Builds the index with the config rather than on the first call.
+      config.virtualHostMatcher();
+      return config;
     }
   }
 }
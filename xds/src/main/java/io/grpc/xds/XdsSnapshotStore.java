@@ -0,0 +1,461 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.io.BaseEncoding;
+import com.google.protobuf.Any;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.BootstrapInfo;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * Stores the last accepted xDS resources of a client in a local file, so that a client with the
+ * same bootstrap, in this or another process, can use them right after it starts while its ADS
+ * stream is being established.
+ *
+ * <p>The file is read in full when loaded, but a resource is only decoded when it gets subscribed
+ * to. It is replaced atomically when saved. The clients of all the processes with the same
+ * bootstrap share the file: the saved resources are merged with the ones already in the file, so
+ * that each process keeps the resources it does not subscribe to, until they are too old. The
+ * resources of the file are kept in memory, and the file is only read again when saving if
+ * another process replaced it.
+ *
+ * <p>The resources of the file are used as if received from the control plane. The directory must
+ * only be writable by trusted users, and the files are only readable by their owner.
+ */
+final class XdsSnapshotStore {
+  private static final Logger logger = Logger.getLogger(XdsSnapshotStore.class.getName());
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final int MAGIC = 0x78445353;
+  private static final int FORMAT_VERSION = 1;
+
+  @VisibleForTesting
+  @Nullable
+  static String snapshotDirectory = Strings.emptyToNull(
+      !Strings.isNullOrEmpty(System.getenv("GRPC_EXPERIMENTAL_XDS_SNAPSHOT_DIR"))
+          ? System.getenv("GRPC_EXPERIMENTAL_XDS_SNAPSHOT_DIR")
+          : System.getProperty("io.grpc.xds.experimentalSnapshotDir"));
+  @VisibleForTesting
+  static long snapshotMaxAgeSeconds =
+      !Strings.isNullOrEmpty(System.getenv("GRPC_EXPERIMENTAL_XDS_SNAPSHOT_MAX_AGE_SECONDS"))
+          ? Long.parseLong(System.getenv("GRPC_EXPERIMENTAL_XDS_SNAPSHOT_MAX_AGE_SECONDS"))
+          : Long.getLong("io.grpc.xds.experimentalSnapshotMaxAgeSeconds", 600L);
+
+  private final File file;
+  private final String key;
+  private final long maxAgeNanos;
+  private final Executor executor;
+  // The latest entries to save, if not saved yet.
+  private final AtomicReference<PendingSave> pendingSave = new AtomicReference<>();
+  private final AtomicBoolean writing = new AtomicBoolean();
+  // The resources of the file, as last read or written, and the version of the file then. Only
+  // accessed by load() and by the writes, which do not run concurrently.
+  @Nullable
+  private Map<ResourceType, Map<String, Entry>> fileEntries;
+  @Nullable
+  private List<Object> fileVersion;
+
+  @VisibleForTesting
+  XdsSnapshotStore(File file, String key, long maxAgeNanos, Executor executor) {
+    this.file = checkNotNull(file, "file");
+    this.key = checkNotNull(key, "key");
+    this.maxAgeNanos = maxAgeNanos;
+    this.executor = checkNotNull(executor, "executor");
+  }
+
+  /**
+   * Returns the store for the clients created with the given bootstrap, or {@code null} if no
+   * snapshot directory is configured. The file is named after the node and the xDS servers of the
+   * bootstrap.
+   */
+  @Nullable
+  static XdsSnapshotStore forBootstrap(BootstrapInfo bootstrapInfo, Executor executor) {
+    if (snapshotDirectory == null) {
+      return null;
+    }
+    StringBuilder key = new StringBuilder()
+        .append(bootstrapInfo.node().getId()).append('\n')
+        .append(bootstrapInfo.node().getCluster());
+    for (ServerInfo serverInfo : bootstrapInfo.servers()) {
+      key.append('\n').append(serverInfo.target());
+    }
+    byte[] hash;
+    try {
+      hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+    File file = new File(
+        snapshotDirectory, "xds-snapshot-" + BaseEncoding.base16().lowerCase().encode(hash));
+    return new XdsSnapshotStore(
+        file, key.toString(), TimeUnit.SECONDS.toNanos(snapshotMaxAgeSeconds), executor);
+  }
+
+  /**
+   * Reads the snapshot file. Returns {@code null} if there is no usable snapshot. Must not be
+   * called while saving.
+   */
+  @Nullable
+  Snapshot load(long nowNanos) {
+    fileVersion = readFileVersion();
+    fileEntries = read(nowNanos);
+    if (fileEntries == null) {
+      return null;
+    }
+    Map<ResourceType, Map<String, Entry>> entries = new EnumMap<>(ResourceType.class);
+    for (Map.Entry<ResourceType, Map<String, Entry>> typeEntries : fileEntries.entrySet()) {
+      entries.put(typeEntries.getKey(), new HashMap<>(typeEntries.getValue()));
+    }
+    return new Snapshot(entries, maxAgeNanos);
+  }
+
+  // The key, modification time and size of the file, which change when it is replaced, or null if
+  // there is no file.
+  @Nullable
+  private List<Object> readFileVersion() {
+    try {
+      BasicFileAttributes attributes =
+          Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+      return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @Nullable
+  private Map<ResourceType, Map<String, Entry>> read(long nowNanos) {
+    if (!file.exists()) {
+      return null;
+    }
+    try {
+      byte[] bytes = Files.readAllBytes(file.toPath());
+      CodedInputStream input = CodedInputStream.newInstance(bytes);
+      if (input.readFixed32() != MAGIC || input.readUInt32() != FORMAT_VERSION
+          || !input.readString().equals(key)) {
+        logger.log(Level.WARNING, "Ignoring incompatible xDS snapshot {0}", file);
+        return null;
+      }
+      int entryCount = input.readUInt32();
+      if (entryCount < 0 || entryCount > bytes.length) {
+        throw new IOException("Invalid xDS snapshot entry count: " + entryCount);
+      }
+      ResourceType[] types = new ResourceType[entryCount];
+      String[] names = new String[entryCount];
+      long[] updateTimesNanos = new long[entryCount];
+      int[] sizes = new int[entryCount];
+      for (int i = 0; i < entryCount; i++) {
+        types[i] = ResourceType.fromTypeUrl(input.readString());
+        names[i] = input.readString();
+        updateTimesNanos[i] = input.readInt64();
+        sizes[i] = input.readUInt32();
+      }
+      // The resources follow the index, in the same order.
+      long offset = input.getTotalBytesRead();
+      Map<ResourceType, Map<String, Entry>> entries = new EnumMap<>(ResourceType.class);
+      int stale = 0;
+      for (int i = 0; i < entryCount; i++) {
+        if (sizes[i] < 0 || offset + sizes[i] > bytes.length) {
+          throw new IOException("Truncated xDS snapshot");
+        }
+        if (nowNanos - updateTimesNanos[i] > maxAgeNanos) {
+          stale++;
+        } else if (types[i] != ResourceType.UNKNOWN) {
+          // Copied, so that the file content is not retained by the entries kept.
+          put(entries, new Entry(
+              types[i], names[i], null,
+              Arrays.copyOfRange(bytes, (int) offset, (int) offset + sizes[i]),
+              updateTimesNanos[i]));
+        }
+        offset += sizes[i];
+      }
+      logger.log(Level.FINE, "Read xDS snapshot {0}: {1} resources, {2} stale",
+          new Object[] {file, entryCount - stale, stale});
+      return entries;
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to read xDS snapshot " + file, e);
+      return null;
+    }
+  }
+
+  private static void put(Map<ResourceType, Map<String, Entry>> entries, Entry entry) {
+    Map<String, Entry> typeEntries = entries.get(entry.type);
+    if (typeEntries == null) {
+      typeEntries = new HashMap<>();
+      entries.put(entry.type, typeEntries);
+    }
+    typeEntries.put(entry.name, entry);
+  }
+
+  /**
+   * Saves the entries asynchronously, with the entries of the file that are not too old and not
+   * replaced by more recent ones. If entries are saved again before they are written, only the
+   * latest ones are written.
+   */
+  void save(List<Entry> entries, long nowNanos) {
+    pendingSave.set(new PendingSave(checkNotNull(entries, "entries"), nowNanos));
+    maybeScheduleWrite();
+  }
+
+  private void maybeScheduleWrite() {
+    if (pendingSave.get() != null && writing.compareAndSet(false, true)) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            PendingSave save = pendingSave.getAndSet(null);
+            if (save != null) {
+              write(merge(save.entries, save.nowNanos));
+            }
+          } finally {
+            writing.set(false);
+          }
+          // The entries saved while writing.
+          maybeScheduleWrite();
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the given entries, with the ones of the file written by the other processes that are
+   * not too old. The file is only read again if it was replaced since last read or written. Races
+   * with the other processes may lose the entries they just saved, until they save them again.
+   */
+  private List<Entry> merge(List<Entry> entries, long nowNanos) {
+    List<Object> version = readFileVersion();
+    if (fileEntries == null || version == null || !version.equals(fileVersion)) {
+      fileVersion = version;
+      fileEntries = read(nowNanos);
+      if (fileEntries == null) {
+        fileEntries = new EnumMap<>(ResourceType.class);
+      }
+    }
+    for (Entry entry : entries) {
+      Map<String, Entry> typeEntries = fileEntries.get(entry.type);
+      Entry fileEntry = typeEntries == null ? null : typeEntries.get(entry.name);
+      if (fileEntry == null || fileEntry.updateTimeNanos <= entry.updateTimeNanos) {
+        put(fileEntries, entry);
+      }
+    }
+    List<Entry> mergedEntries = new ArrayList<>();
+    for (Map<String, Entry> typeEntries : fileEntries.values()) {
+      Iterator<Entry> iterator = typeEntries.values().iterator();
+      while (iterator.hasNext()) {
+        Entry entry = iterator.next();
+        if (nowNanos - entry.updateTimeNanos > maxAgeNanos) {
+          iterator.remove();
+        } else {
+          mergedEntries.add(entry);
+        }
+      }
+    }
+    return mergedEntries;
+  }
+
+  private void write(List<Entry> entries) {
+    Path tempFile = null;
+    try {
+      Path directory = file.getAbsoluteFile().toPath().getParent();
+      boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+      if (!Files.exists(directory)) {
+        if (posix) {
+          Files.createDirectories(
+              directory, PosixFilePermissions.asFileAttribute(
+                  PosixFilePermissions.fromString("rwx------")));
+        } else {
+          Files.createDirectories(directory);
+        }
+      }
+      // Only readable by the owner, since the resources may be sensitive.
+      tempFile = posix
+          ? Files.createTempFile(directory, file.getName(), ".tmp",
+              PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+          : Files.createTempFile(directory, file.getName(), ".tmp");
+      try (OutputStream out = Files.newOutputStream(tempFile)) {
+        CodedOutputStream output = CodedOutputStream.newInstance(out);
+        output.writeFixed32NoTag(MAGIC);
+        output.writeUInt32NoTag(FORMAT_VERSION);
+        output.writeStringNoTag(key);
+        output.writeUInt32NoTag(entries.size());
+        for (Entry entry : entries) {
+          output.writeStringNoTag(entry.type.typeUrl());
+          output.writeStringNoTag(entry.name);
+          output.writeInt64NoTag(entry.updateTimeNanos);
+          output.writeUInt32NoTag(entry.getSerializedSize());
+        }
+        for (Entry entry : entries) {
+          entry.writeTo(output);
+        }
+        output.flush();
+      }
+      Files.move(tempFile, file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      fileVersion = readFileVersion();
+      logger.log(Level.FINE, "Saved xDS snapshot {0}: {1} resources",
+          new Object[] {file, entries.size()});
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Failed to save xDS snapshot " + file, e);
+      if (tempFile != null) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException ignored) {
+          // Best effort.
+        }
+      }
+    }
+  }
+
+  private static final class PendingSave {
+    final List<Entry> entries;
+    final long nowNanos;
+
+    PendingSave(List<Entry> entries, long nowNanos) {
+      this.entries = entries;
+      this.nowNanos = nowNanos;
+    }
+  }
+
+  /** The resources of a loaded snapshot that were not used yet. Not thread-safe. */
+  static final class Snapshot {
+    private final Map<ResourceType, Map<String, Entry>> entries;
+    private final long maxAgeNanos;
+
+    private Snapshot(Map<ResourceType, Map<String, Entry>> entries, long maxAgeNanos) {
+      this.entries = entries;
+      this.maxAgeNanos = maxAgeNanos;
+    }
+
+    /**
+     * Removes the resource from the snapshot, and returns it if it is not too old. Each resource
+     * is only used once, until it is received from the control plane.
+     */
+    @Nullable
+    Entry remove(ResourceType type, String name, long nowNanos) {
+      Map<String, Entry> typeEntries = entries.get(type);
+      Entry entry = typeEntries == null ? null : typeEntries.remove(name);
+      if (entry == null || nowNanos - entry.updateTimeNanos > maxAgeNanos) {
+        return null;
+      }
+      return entry;
+    }
+
+    /** Removes the resources that became too old. */
+    void removeStale(long nowNanos) {
+      for (Map<String, Entry> typeEntries : entries.values()) {
+        Iterator<Entry> iterator = typeEntries.values().iterator();
+        while (iterator.hasNext()) {
+          if (nowNanos - iterator.next().updateTimeNanos > maxAgeNanos) {
+            iterator.remove();
+          }
+        }
+      }
+    }
+
+    int size() {
+      int size = 0;
+      for (Map<String, Entry> typeEntries : entries.values()) {
+        size += typeEntries.size();
+      }
+      return size;
+    }
+  }
+
+  /** A resource, with the time it was last received from the control plane. */
+  static final class Entry {
+    final ResourceType type;
+    final String name;
+    // Either the resource, or its encoding in the file.
+    @Nullable
+    private volatile Any resource;
+    @Nullable
+    private final byte[] encodedResource;
+    final long updateTimeNanos;
+
+    Entry(ResourceType type, String name, Any resource, long updateTimeNanos) {
+      this(type, name, checkNotNull(resource, "resource"), null, updateTimeNanos);
+    }
+
+    private Entry(
+        ResourceType type, String name, @Nullable Any resource,
+        @Nullable byte[] encodedResource, long updateTimeNanos) {
+      this.type = checkNotNull(type, "type");
+      this.name = checkNotNull(name, "name");
+      this.resource = resource;
+      this.encodedResource = encodedResource;
+      this.updateTimeNanos = updateTimeNanos;
+    }
+
+    /** Returns the resource, decoding it from the snapshot file the first time. */
+    Any getResource() throws IOException {
+      Any resource = this.resource;
+      if (resource == null) {
+        resource = Any.parseFrom(encodedResource);
+        this.resource = resource;
+      }
+      return resource;
+    }
+
+    private int getSerializedSize() {
+      return encodedResource != null ? encodedResource.length : resource.getSerializedSize();
+    }
+
+    // Writes the resource as read from the file, if it was, without decoding it.
+    private void writeTo(CodedOutputStream output) throws IOException {
+      if (encodedResource != null) {
+        output.writeRawBytes(encodedResource);
+      } else {
+        resource.writeTo(output);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  File getFile() {
+    return file;
+  }
+}
@@ -0,0 +1,921 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds.internal.rbac.engine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.BaseEncoding;
+import io.grpc.Attributes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.internal.StripedLongCounters;
+import io.grpc.xds.internal.Matchers.CidrMatcher;
+import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import io.grpc.xds.internal.Matchers.StringMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.Action;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AlwaysTrueMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AndMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthConfig;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthDecision;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthHeaderMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthenticatedMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.DestinationIpMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.DestinationPortMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.DestinationPortRangeMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.EvaluateArgs;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.InvertMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.Matcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.OrMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PathMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PolicyMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.RequestedServerNameMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.SourceIpMatcher;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.security.cert.CertificateParsingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+
+/**
+ * The policies of an {@link AuthConfig}, compiled once for evaluating calls.
+ *
+ * <p>The matcher trees are flattened: nested any and all matchers are merged, and matchers that
+ * don't depend on the call are folded into constants. Each header is read from the metadata at
+ * most once per call, however many matchers use it. The principal names of a peer are read from
+ * its certificate once per SSL session, and kept in the session.
+ *
+ * <p>Only the path matchers depend on the method of a call, so they are evaluated once per method.
+ * The policies that can't match a method are skipped for its calls, as are the policies after the
+ * first one that matches all of them.
+ *
+ * <p>Likewise, the principal and address matchers only depend on the connection of a call. When
+ * the transport attributes have a {@link ConnectionAuthCache}, they are evaluated once per
+ * connection, and only the rest of the policies that can match the connection is evaluated for its
+ * calls.
+ */
+final class CompiledAuthConfig {
+  private static final Logger log = Logger.getLogger(CompiledAuthConfig.class.getName());
+
+  // Bounds the memory of the cache when a server handles arbitrary method names, for example with
+  // a fallback handler registry. The policies of the other methods are found on each call.
+  @VisibleForTesting
+  static final int MAX_CACHED_METHODS = 1000;
+
+  // The name under which the principal names of the peer are kept in its SSL session.
+  private static final String PRINCIPAL_NAMES_KEY =
+      CompiledAuthConfig.class.getName() + ".principalNames";
+
+  // Results of matching the path of a call, without the rest of the call.
+  private static final int FALSE = 0;
+  private static final int TRUE = 1;
+  private static final int UNKNOWN = 2;
+
+  // Counters of connectionCacheCounters.
+  private static final int CONNECTION_CACHE_HITS = 0;
+  private static final int CONNECTION_CACHE_MISSES = 1;
+
+  private static final Node FALSE_NODE = new ConstantNode(false);
+  private static final Node TRUE_NODE = new ConstantNode(true);
+
+  private final Node[] policies;
+  private final AuthDecision[] decisions;
+  private final AuthDecision noMatchDecision;
+  private final PathNode[] pathNodes;
+  private final ConnectionNode[] connectionNodes;
+  private final int headerCount;
+  // Keyed by the full method name, without the leading slash.
+  private final ConcurrentHashMap<String, MethodPolicies> policiesByMethod =
+      new ConcurrentHashMap<>();
+  // The calls whose connection had, or had not, the results of the connection matchers cached.
+  // Striped, as they are updated on every call.
+  private final StripedLongCounters connectionCacheCounters = new StripedLongCounters(2);
+
+  CompiledAuthConfig(AuthConfig authConfig) {
+    Action action = authConfig.action();
+    Compiler compiler = new Compiler();
+    List<Node> policies = new ArrayList<>();
+    List<AuthDecision> decisions = new ArrayList<>();
+    for (PolicyMatcher policy : authConfig.policies()) {
+      Node node = compiler.compile(policy);
+      if (node == FALSE_NODE) {
+        continue;
+      }
+      policies.add(node);
+      decisions.add(AuthDecision.create(action, policy.name()));
+      if (node == TRUE_NODE) {
+        // The policies after it are never examined.
+        break;
+      }
+    }
+    this.policies = policies.toArray(new Node[0]);
+    this.decisions = decisions.toArray(new AuthDecision[0]);
+    this.noMatchDecision =
+        AuthDecision.create(Action.DENY.equals(action) ? Action.ALLOW : Action.DENY, null);
+    this.pathNodes = compiler.pathNodes.values().toArray(new PathNode[0]);
+    this.connectionNodes = compiler.connectionNodes.values().toArray(new ConnectionNode[0]);
+    this.headerCount = compiler.headers.size();
+  }
+
+  /** Returns the auth decision for the call. */
+  AuthDecision evaluate(Metadata metadata, ServerCall<?, ?> serverCall) {
+    String fullMethodName = serverCall.getMethodDescriptor().getFullMethodName();
+    MethodPolicies method = policiesByMethod.get(fullMethodName);
+    if (method == null) {
+      method = findPolicies("/" + fullMethodName);
+      if (policiesByMethod.size() < MAX_CACHED_METHODS) {
+        policiesByMethod.putIfAbsent(fullMethodName, method);
+      }
+    }
+    Attributes attributes = serverCall.getAttributes();
+    ConnectionAuthCache cache = attributes.get(ConnectionAuthCache.ATTR_CONNECTION_AUTH_CACHE);
+    if (cache == null) {
+      Call call = new Call(metadata, serverCall, method.pathMatches, new Connection(attributes),
+          null, headerCount);
+      for (int index : method.policies) {
+        if (policies[index].matches(call)) {
+          return decisions[index];
+        }
+      }
+      return noMatchDecision;
+    }
+    ConnectionPolicies connection = cache.get(this);
+    if (connection == null) {
+      connectionCacheCounters.increment(CONNECTION_CACHE_MISSES);
+      connection = findPolicies(new Connection(attributes));
+      cache.put(this, connection);
+    } else {
+      connectionCacheCounters.increment(CONNECTION_CACHE_HITS);
+    }
+    Call call = new Call(metadata, serverCall, method.pathMatches, null,
+        connection.connectionMatches, headerCount);
+    // The policies that can match the call are in both lists, so it's enough to iterate over the
+    // shortest one.
+    int[] candidates = connection.policies.length < method.policies.length
+        ? connection.policies : method.policies;
+    for (int index : candidates) {
+      int result = connection.results[index];
+      if (result == FALSE || !method.isCandidate.get(index)) {
+        continue;
+      }
+      if (result == TRUE || policies[index].matches(call)) {
+        return decisions[index];
+      }
+    }
+    return noMatchDecision;
+  }
+
+  /**
+   * Returns the number of calls whose connection had the results of the connection matchers in its
+   * {@link ConnectionAuthCache}.
+   */
+  long getConnectionCacheHits() {
+    return connectionCacheCounters.sum(CONNECTION_CACHE_HITS);
+  }
+
+  /**
+   * Returns the number of calls whose connection had a {@link ConnectionAuthCache} without the
+   * results of the connection matchers.
+   */
+  long getConnectionCacheMisses() {
+    return connectionCacheCounters.sum(CONNECTION_CACHE_MISSES);
+  }
+
+  /**
+   * Evaluates the path matchers for {@code path}, and returns them with the indices of the
+   * policies that may match a call with that path, in order.
+   */
+  private MethodPolicies findPolicies(String path) {
+    boolean[] pathMatches = new boolean[pathNodes.length];
+    for (int i = 0; i < pathNodes.length; i++) {
+      pathMatches[i] = pathNodes[i].matchesPath(path);
+    }
+    int[] candidates = new int[policies.length];
+    int count = 0;
+    BitSet isCandidate = new BitSet(policies.length);
+    for (int i = 0; i < policies.length; i++) {
+      int result = policies[i].matchesPartially(pathMatches, null);
+      if (result == FALSE) {
+        continue;
+      }
+      candidates[count++] = i;
+      isCandidate.set(i);
+      if (result == TRUE) {
+        break;
+      }
+    }
+    return new MethodPolicies(Arrays.copyOf(candidates, count), isCandidate, pathMatches);
+  }
+
+  /**
+   * Evaluates the connection matchers for {@code connection}, and returns them with the results
+   * of the policies for any call on the connection.
+   */
+  private ConnectionPolicies findPolicies(Connection connection) {
+    boolean[] connectionMatches = new boolean[connectionNodes.length];
+    for (int i = 0; i < connectionNodes.length; i++) {
+      connectionMatches[i] = connectionNodes[i].matchesConnection(connection);
+    }
+    int[] candidates = new int[policies.length];
+    int count = 0;
+    byte[] results = new byte[policies.length];
+    Arrays.fill(results, (byte) FALSE);
+    for (int i = 0; i < policies.length; i++) {
+      int result = policies[i].matchesPartially(null, connectionMatches);
+      results[i] = (byte) result;
+      if (result == FALSE) {
+        continue;
+      }
+      candidates[count++] = i;
+      if (result == TRUE) {
+        break;
+      }
+    }
+    return new ConnectionPolicies(Arrays.copyOf(candidates, count), results, connectionMatches);
+  }
+
+  private static final class MethodPolicies {
+    // The indices of the policies that may match the calls of the method, in order.
+    final int[] policies;
+    final BitSet isCandidate;
+    // The results of the path matchers, indexed by PathNode.index.
+    final boolean[] pathMatches;
+
+    MethodPolicies(int[] policies, BitSet isCandidate, boolean[] pathMatches) {
+      this.policies = policies;
+      this.isCandidate = isCandidate;
+      this.pathMatches = pathMatches;
+    }
+  }
+
+  /** The policies that may match the calls on a connection, kept in its ConnectionAuthCache. */
+  static final class ConnectionPolicies {
+    // The indices of the policies that may match the calls on the connection, in order.
+    final int[] policies;
+    // The results of the policies for any call on the connection, indexed like the policies.
+    final byte[] results;
+    // The results of the connection matchers, indexed by ConnectionNode.index.
+    final boolean[] connectionMatches;
+
+    ConnectionPolicies(int[] policies, byte[] results, boolean[] connectionMatches) {
+      this.policies = policies;
+      this.results = results;
+      this.connectionMatches = connectionMatches;
+    }
+  }
+
+  /** Compiles matchers into nodes, sharing the path matchers and headers among them. */
+  private static final class Compiler {
+    // Keyed by the StringMatcher of a path matcher, or the HeaderMatcher of a :path header matcher.
+    final Map<Object, PathNode> pathNodes = new LinkedHashMap<>();
+    // Keyed by the matcher.
+    final Map<Matcher, ConnectionNode> connectionNodes = new LinkedHashMap<>();
+    // Keyed by the lower case header name.
+    final Map<String, HeaderSource> headers = new HashMap<>();
+
+    Node compile(Matcher matcher) {
+      if (matcher instanceof PolicyMatcher) {
+        PolicyMatcher policy = (PolicyMatcher) matcher;
+        return all(Arrays.asList(policy.permissions(), policy.principals()));
+      } else if (matcher instanceof OrMatcher) {
+        return any(((OrMatcher) matcher).anyMatch());
+      } else if (matcher instanceof AndMatcher) {
+        return all(((AndMatcher) matcher).allMatch());
+      } else if (matcher instanceof InvertMatcher) {
+        Node node = compile(((InvertMatcher) matcher).toInvertMatcher());
+        if (node instanceof ConstantNode) {
+          return node == TRUE_NODE ? FALSE_NODE : TRUE_NODE;
+        } else if (node instanceof NotNode) {
+          return ((NotNode) node).node;
+        }
+        return new NotNode(node);
+      } else if (matcher instanceof AlwaysTrueMatcher) {
+        return TRUE_NODE;
+      } else if (matcher instanceof PathMatcher) {
+        return path(((PathMatcher) matcher).delegate());
+      } else if (matcher instanceof AuthHeaderMatcher) {
+        return header(((AuthHeaderMatcher) matcher).delegate());
+      } else if (matcher instanceof AuthenticatedMatcher
+          || matcher instanceof SourceIpMatcher
+          || matcher instanceof DestinationIpMatcher
+          || matcher instanceof DestinationPortMatcher
+          || matcher instanceof DestinationPortRangeMatcher) {
+        return connection(matcher);
+      } else if (matcher instanceof RequestedServerNameMatcher) {
+        // The requested server name is always empty, see EvaluateArgs.
+        return constant(((RequestedServerNameMatcher) matcher).delegate().matches(""));
+      }
+      return new OpaqueNode(matcher);
+    }
+
+    private Node any(List<? extends Matcher> matchers) {
+      List<Node> nodes = new ArrayList<>();
+      for (Matcher matcher : matchers) {
+        Node node = compile(matcher);
+        if (node == TRUE_NODE) {
+          return TRUE_NODE;
+        } else if (node instanceof AnyNode) {
+          nodes.addAll(Arrays.asList(((AnyNode) node).nodes));
+        } else if (node != FALSE_NODE) {
+          nodes.add(node);
+        }
+      }
+      if (nodes.isEmpty()) {
+        return FALSE_NODE;
+      }
+      return nodes.size() == 1 ? nodes.get(0) : new AnyNode(nodes.toArray(new Node[0]));
+    }
+
+    private Node all(List<? extends Matcher> matchers) {
+      List<Node> nodes = new ArrayList<>();
+      for (Matcher matcher : matchers) {
+        Node node = compile(matcher);
+        if (node == FALSE_NODE) {
+          return FALSE_NODE;
+        } else if (node instanceof AllNode) {
+          nodes.addAll(Arrays.asList(((AllNode) node).nodes));
+        } else if (node != TRUE_NODE) {
+          nodes.add(node);
+        }
+      }
+      if (nodes.isEmpty()) {
+        return TRUE_NODE;
+      }
+      return nodes.size() == 1 ? nodes.get(0) : new AllNode(nodes.toArray(new Node[0]));
+    }
+
+    private Node connection(Matcher matcher) {
+      ConnectionNode node = connectionNodes.get(matcher);
+      if (node != null) {
+        return node;
+      }
+      int index = connectionNodes.size();
+      if (matcher instanceof AuthenticatedMatcher) {
+        node = new AuthenticatedNode(index, ((AuthenticatedMatcher) matcher).delegate());
+      } else if (matcher instanceof SourceIpMatcher) {
+        node = new SourceIpNode(index, ((SourceIpMatcher) matcher).delegate());
+      } else if (matcher instanceof DestinationIpMatcher) {
+        node = new DestinationIpNode(index, ((DestinationIpMatcher) matcher).delegate());
+      } else if (matcher instanceof DestinationPortMatcher) {
+        int port = ((DestinationPortMatcher) matcher).port();
+        node = new DestinationPortNode(index, port, port + 1);
+      } else {
+        DestinationPortRangeMatcher range = (DestinationPortRangeMatcher) matcher;
+        node = new DestinationPortNode(index, range.start(), range.end());
+      }
+      connectionNodes.put(matcher, node);
+      return node;
+    }
+
+    private Node path(Object matcher) {
+      PathNode node = pathNodes.get(matcher);
+      if (node == null) {
+        node = new PathNode(pathNodes.size(), matcher);
+        pathNodes.put(matcher, node);
+      }
+      return node;
+    }
+
+    // Mirrors EvaluateArgs.getHeader().
+    private Node header(HeaderMatcher matcher) {
+      String name = matcher.name().toLowerCase(Locale.ROOT);
+      switch (name) {
+        case "te":
+          return constant(matcher.matches(null));
+        case ":authority":
+        case "host":
+          return new AuthorityNode(matcher);
+        case ":path":
+          return path(matcher);
+        case ":method":
+          return constant(matcher.matches("POST"));
+        default:
+          break;
+      }
+      HeaderSource header = headers.get(name);
+      if (header == null) {
+        header = HeaderSource.create(name, headers.size());
+        if (header == null) {
+          // Headers with invalid names are never present.
+          return constant(matcher.matches(null));
+        }
+        headers.put(name, header);
+      }
+      return new HeaderNode(header, matcher);
+    }
+
+    private static Node constant(boolean value) {
+      return value ? TRUE_NODE : FALSE_NODE;
+    }
+  }
+
+  /** The state of a call being evaluated, with the values read for the matchers. */
+  private static final class Call {
+    private final Metadata metadata;
+    private final ServerCall<?, ?> serverCall;
+    private final boolean[] pathMatches;
+    // Exactly one of connection and connectionMatches is set.
+    @Nullable
+    private final Connection connection;
+    @Nullable
+    private final boolean[] connectionMatches;
+    private final int headerCount;
+    @Nullable
+    private String[] headerValues;
+    @Nullable
+    private boolean[] headersRead;
+    @Nullable
+    private EvaluateArgs args;
+
+    Call(Metadata metadata, ServerCall<?, ?> serverCall, boolean[] pathMatches,
+        @Nullable Connection connection, @Nullable boolean[] connectionMatches,
+        int headerCount) {
+      this.metadata = metadata;
+      this.serverCall = serverCall;
+      this.pathMatches = pathMatches;
+      this.connection = connection;
+      this.connectionMatches = connectionMatches;
+      this.headerCount = headerCount;
+    }
+
+    @Nullable
+    String getHeader(HeaderSource header) {
+      if (headerValues == null) {
+        headerValues = new String[headerCount];
+        headersRead = new boolean[headerCount];
+      }
+      if (!headersRead[header.index]) {
+        headerValues[header.index] = header.read(metadata);
+        headersRead[header.index] = true;
+      }
+      return headerValues[header.index];
+    }
+
+    EvaluateArgs getEvaluateArgs() {
+      if (args == null) {
+        args = new EvaluateArgs(metadata, serverCall);
+      }
+      return args;
+    }
+  }
+
+  /** The transport attributes of a call, with the values read for the matchers. */
+  private static final class Connection {
+    private final Attributes attributes;
+    private boolean principalNamesRead;
+    @Nullable
+    private Collection<String> principalNames;
+
+    Connection(Attributes attributes) {
+      this.attributes = attributes;
+    }
+
+    /** Returns null for unauthenticated connection, see EvaluateArgs.getPrincipalNames(). */
+    @Nullable
+    Collection<String> getPrincipalNames() {
+      if (!principalNamesRead) {
+        SSLSession sslSession = attributes.get(Grpc.TRANSPORT_ATTR_SSL_SESSION);
+        principalNames =
+            sslSession == null ? null : CompiledAuthConfig.getPrincipalNames(sslSession);
+        principalNamesRead = true;
+      }
+      return principalNames;
+    }
+
+    @Nullable
+    InetAddress getSourceIp() {
+      SocketAddress addr = attributes.get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+      return addr == null ? null : ((InetSocketAddress) addr).getAddress();
+    }
+
+    @Nullable
+    InetAddress getDestinationIp() {
+      SocketAddress addr = attributes.get(Grpc.TRANSPORT_ATTR_LOCAL_ADDR);
+      return addr == null ? null : ((InetSocketAddress) addr).getAddress();
+    }
+
+    int getDestinationPort() {
+      SocketAddress addr = attributes.get(Grpc.TRANSPORT_ATTR_LOCAL_ADDR);
+      return addr == null ? -1 : ((InetSocketAddress) addr).getPort();
+    }
+  }
+
+  /**
+   * Returns the principal names of the peer of an SSL session, reading them from its certificate
+   * the first time only.
+   */
+  private static Collection<String> getPrincipalNames(SSLSession sslSession) {
+    Object value = sslSession.getValue(PRINCIPAL_NAMES_KEY);
+    if (value instanceof PrincipalNames) {
+      return ((PrincipalNames) value).names;
+    }
+    Collection<String> names;
+    try {
+      names = EvaluateArgs.getPrincipalNames(sslSession);
+    } catch (SSLPeerUnverifiedException | CertificateParsingException ex) {
+      log.log(Level.FINE, "Unexpected getPrincipalNames error.", ex);
+      return Collections.singleton("");
+    }
+    sslSession.putValue(PRINCIPAL_NAMES_KEY, new PrincipalNames(names));
+    return names;
+  }
+
+  // A type of our own, so that other values bound to the SSL session under the same name are
+  // not mistaken for the principal names.
+  private static final class PrincipalNames {
+    final Collection<String> names;
+
+    PrincipalNames(Collection<String> names) {
+      this.names = names;
+    }
+  }
+
+  /** A header read from the metadata, with the key validated once. */
+  private static final class HeaderSource {
+    final int index;
+    @Nullable
+    private final Metadata.Key<String> key;
+    @Nullable
+    private final Metadata.Key<byte[]> binaryKey;
+
+    private HeaderSource(
+        int index, @Nullable Metadata.Key<String> key, @Nullable Metadata.Key<byte[]> binaryKey) {
+      this.index = index;
+      this.key = key;
+      this.binaryKey = binaryKey;
+    }
+
+    /** Returns null if the header name is not valid. */
+    @Nullable
+    static HeaderSource create(String name, int index) {
+      try {
+        if (name.endsWith(Metadata.BINARY_HEADER_SUFFIX)) {
+          return new HeaderSource(
+              index, null, Metadata.Key.of(name, Metadata.BINARY_BYTE_MARSHALLER));
+        }
+        return new HeaderSource(
+            index, Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER), null);
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+
+    /** Returns the values of the header joined with commas, or null if not present. */
+    @Nullable
+    String read(Metadata metadata) {
+      if (binaryKey != null) {
+        Iterable<byte[]> values = metadata.getAll(binaryKey);
+        if (values == null) {
+          return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte[] value : values) {
+          if (sb.length() != 0) {
+            sb.append(',');
+          }
+          sb.append(BaseEncoding.base64().omitPadding().encode(value));
+        }
+        return sb.toString();
+      }
+      Iterable<String> values = metadata.getAll(key);
+      if (values == null) {
+        return null;
+      }
+      Iterator<String> it = values.iterator();
+      String value = it.next();
+      if (!it.hasNext()) {
+        return value;
+      }
+      StringBuilder sb = new StringBuilder(value);
+      while (it.hasNext()) {
+        sb.append(',').append(it.next());
+      }
+      return sb.toString();
+    }
+  }
+
+  private abstract static class Node {
+    abstract boolean matches(Call call);
+
+    /**
+     * Returns {@link #TRUE} or {@link #FALSE} if the result of the node is known from the results
+     * of the path matchers or of the connection matchers alone, and {@link #UNKNOWN} otherwise.
+     */
+    int matchesPartially(@Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      return UNKNOWN;
+    }
+  }
+
+  private static final class ConstantNode extends Node {
+    private final boolean value;
+
+    ConstantNode(boolean value) {
+      this.value = value;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      return value;
+    }
+
+    @Override
+    int matchesPartially(@Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      return value ? TRUE : FALSE;
+    }
+  }
+
+  private static final class AnyNode extends Node {
+    final Node[] nodes;
+
+    AnyNode(Node[] nodes) {
+      this.nodes = nodes;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      for (Node node : nodes) {
+        if (node.matches(call)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    int matchesPartially(@Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      int result = FALSE;
+      for (Node node : nodes) {
+        int nodeResult = node.matchesPartially(pathMatches, connectionMatches);
+        if (nodeResult == TRUE) {
+          return TRUE;
+        } else if (nodeResult == UNKNOWN) {
+          result = UNKNOWN;
+        }
+      }
+      return result;
+    }
+  }
+
+  private static final class AllNode extends Node {
+    final Node[] nodes;
+
+    AllNode(Node[] nodes) {
+      this.nodes = nodes;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      for (Node node : nodes) {
+        if (!node.matches(call)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    int matchesPartially(@Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      int result = TRUE;
+      for (Node node : nodes) {
+        int nodeResult = node.matchesPartially(pathMatches, connectionMatches);
+        if (nodeResult == FALSE) {
+          return FALSE;
+        } else if (nodeResult == UNKNOWN) {
+          result = UNKNOWN;
+        }
+      }
+      return result;
+    }
+  }
+
+  private static final class NotNode extends Node {
+    final Node node;
+
+    NotNode(Node node) {
+      this.node = node;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      return !node.matches(call);
+    }
+
+    @Override
+    int matchesPartially(@Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      int result = node.matchesPartially(pathMatches, connectionMatches);
+      if (result == UNKNOWN) {
+        return UNKNOWN;
+      }
+      return result == TRUE ? FALSE : TRUE;
+    }
+  }
+
+  /** Matches the path of the call, with a result computed once per method. */
+  private static final class PathNode extends Node {
+    final int index;
+    // Either a StringMatcher or a HeaderMatcher.
+    private final Object matcher;
+
+    PathNode(int index, Object matcher) {
+      this.index = index;
+      this.matcher = matcher;
+    }
+
+    boolean matchesPath(String path) {
+      if (matcher instanceof StringMatcher) {
+        return ((StringMatcher) matcher).matches(path);
+      }
+      return ((HeaderMatcher) matcher).matches(path);
+    }
+
+    @Override
+    boolean matches(Call call) {
+      return call.pathMatches[index];
+    }
+
+    @Override
+    int matchesPartially(@Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      if (pathMatches == null) {
+        return UNKNOWN;
+      }
+      return pathMatches[index] ? TRUE : FALSE;
+    }
+  }
+
+  private static final class HeaderNode extends Node {
+    private final HeaderSource header;
+    private final HeaderMatcher matcher;
+
+    HeaderNode(HeaderSource header, HeaderMatcher matcher) {
+      this.header = header;
+      this.matcher = matcher;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      return matcher.matches(call.getHeader(header));
+    }
+  }
+
+  private static final class AuthorityNode extends Node {
+    private final HeaderMatcher matcher;
+
+    AuthorityNode(HeaderMatcher matcher) {
+      this.matcher = matcher;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      return matcher.matches(call.serverCall.getAuthority());
+    }
+  }
+
+  /** Matches the connection of the call, with a result computed once per connection if cached. */
+  private abstract static class ConnectionNode extends Node {
+    final int index;
+
+    ConnectionNode(int index) {
+      this.index = index;
+    }
+
+    abstract boolean matchesConnection(Connection connection);
+
+    @Override
+    final boolean matches(Call call) {
+      if (call.connectionMatches != null) {
+        return call.connectionMatches[index];
+      }
+      return matchesConnection(call.connection);
+    }
+
+    @Override
+    final int matchesPartially(
+        @Nullable boolean[] pathMatches, @Nullable boolean[] connectionMatches) {
+      if (connectionMatches == null) {
+        return UNKNOWN;
+      }
+      return connectionMatches[index] ? TRUE : FALSE;
+    }
+  }
+
+  private static final class AuthenticatedNode extends ConnectionNode {
+    @Nullable
+    private final StringMatcher matcher;
+
+    AuthenticatedNode(int index, @Nullable StringMatcher matcher) {
+      super(index);
+      this.matcher = matcher;
+    }
+
+    @Override
+    boolean matchesConnection(Connection connection) {
+      Collection<String> principalNames = connection.getPrincipalNames();
+      if (log.isLoggable(Level.FINER)) {
+        log.log(Level.FINER, "Matching principal names: {0}", new Object[]{principalNames});
+      }
+      // Null means unauthenticated connection.
+      if (principalNames == null) {
+        return false;
+      }
+      // Connection is authenticated, so returns match when string matcher is not present.
+      if (matcher == null) {
+        return true;
+      }
+      for (String name : principalNames) {
+        if (matcher.matches(name)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private static final class SourceIpNode extends ConnectionNode {
+    private final CidrMatcher matcher;
+
+    SourceIpNode(int index, CidrMatcher matcher) {
+      super(index);
+      this.matcher = matcher;
+    }
+
+    @Override
+    boolean matchesConnection(Connection connection) {
+      return matcher.matches(connection.getSourceIp());
+    }
+  }
+
+  private static final class DestinationIpNode extends ConnectionNode {
+    private final CidrMatcher matcher;
+
+    DestinationIpNode(int index, CidrMatcher matcher) {
+      super(index);
+      this.matcher = matcher;
+    }
+
+    @Override
+    boolean matchesConnection(Connection connection) {
+      return matcher.matches(connection.getDestinationIp());
+    }
+  }
+
+  private static final class DestinationPortNode extends ConnectionNode {
+    private final int start;
+    private final int end;
+
+    /** Start of the range is inclusive. End of the range is exclusive. */
+    DestinationPortNode(int index, int start, int end) {
+      super(index);
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    boolean matchesConnection(Connection connection) {
+      int port = connection.getDestinationPort();
+      return port >= start && port < end;
+    }
+  }
+
+  /** Delegates to a matcher of an unknown type. */
+  private static final class OpaqueNode extends Node {
+    private final Matcher matcher;
+
+    OpaqueNode(Matcher matcher) {
+      this.matcher = matcher;
+    }
+
+    @Override
+    boolean matches(Call call) {
+      return matcher.matches(call.getEvaluateArgs());
+    }
+  }
+}
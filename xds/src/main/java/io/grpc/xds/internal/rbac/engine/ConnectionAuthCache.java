@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds.internal.rbac.engine;
+
+import io.grpc.Attributes;
+import io.grpc.ServerTransportFilter;
+import io.grpc.xds.internal.rbac.engine.CompiledAuthConfig.ConnectionPolicies;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Caches the results of the authorization policies that only depend on the connection, for the
+ * calls on one connection. The cache is kept in the transport attributes, where
+ * {@link GrpcAuthorizationEngine} finds it; without it, the policies are evaluated for each call.
+ */
+public final class ConnectionAuthCache {
+  static final Attributes.Key<ConnectionAuthCache> ATTR_CONNECTION_AUTH_CACHE =
+      Attributes.Key.create("io.grpc.xds.internal.rbac.engine.connectionAuthCache");
+
+  private static final ServerTransportFilter TRANSPORT_FILTER = new ServerTransportFilter() {
+    @Override
+    public Attributes transportReady(Attributes transportAttrs) {
+      return transportAttrs.toBuilder()
+          .set(ATTR_CONNECTION_AUTH_CACHE, new ConnectionAuthCache())
+          .build();
+    }
+  };
+
+  // Weak keys, so that the results for the configs replaced by updates are dropped with them.
+  @GuardedBy("this")
+  private final Map<CompiledAuthConfig, ConnectionPolicies> policies = new WeakHashMap<>();
+
+  private ConnectionAuthCache() {
+  }
+
+  /** Returns a transport filter that adds a new cache to the attributes of each transport. */
+  public static ServerTransportFilter transportFilter() {
+    return TRANSPORT_FILTER;
+  }
+
+  @Nullable
+  synchronized ConnectionPolicies get(CompiledAuthConfig config) {
+    return policies.get(config);
+  }
+
+  synchronized void put(CompiledAuthConfig config, ConnectionPolicies connectionPolicies) {
+    policies.put(config, connectionPolicies);
+  }
+}
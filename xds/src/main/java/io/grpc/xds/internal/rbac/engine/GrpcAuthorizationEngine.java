@@ -51,34 +51,42 @@ import javax.net.ssl.SSLSession;
  * <p>One GrpcAuthorizationEngine is initialized with one action type and a list of policies.
  * Policies are examined sequentially in order in an any match fashion, and the first matched policy
  * will be returned. If not matched at all, the opposite action type is returned as a result.
+ *
+ * <p>The policies are compiled once by the engine, see {@link CompiledAuthConfig}. The policy
+ * results that only depend on the connection are cached per connection when the server installs
+ * {@link ConnectionAuthCache#transportFilter()}.
  */
 public final class GrpcAuthorizationEngine {
   private static final Logger log = Logger.getLogger(GrpcAuthorizationEngine.class.getName());
 
-  private final AuthConfig authConfig;
+  private final CompiledAuthConfig compiledConfig;
 
   /** Instantiated with envoy policyMatcher configuration. */
   public GrpcAuthorizationEngine(AuthConfig authConfig) {
-    this.authConfig = authConfig;
+    this.compiledConfig = new CompiledAuthConfig(authConfig);
   }
 
   /** Return the auth decision for the request argument against the policies. */
   public AuthDecision evaluate(Metadata metadata, ServerCall<?,?> serverCall) {
     checkNotNull(metadata, "metadata");
     checkNotNull(serverCall, "serverCall");
-    String firstMatch = null;
-    EvaluateArgs args = new EvaluateArgs(metadata, serverCall);
-    for (PolicyMatcher policyMatcher : authConfig.policies()) {
-      if (policyMatcher.matches(args)) {
-        firstMatch = policyMatcher.name();
-        break;
-      }
-    }
-    Action decisionType = Action.DENY;
-    if (Action.DENY.equals(authConfig.action()) == (firstMatch == null)) {
-      decisionType = Action.ALLOW;
-    }
-    return AuthDecision.create(decisionType, firstMatch);
+    return compiledConfig.evaluate(metadata, serverCall);
+  }
+
+  /**
+   * Returns the number of calls evaluated with the results of the connection matchers found in
+   * the {@link ConnectionAuthCache} of their transport.
+   */
+  public long getConnectionCacheHits() {
+    return compiledConfig.getConnectionCacheHits();
+  }
+
+  /**
+   * Returns the number of calls that computed the results of the connection matchers for the
+   * {@link ConnectionAuthCache} of their transport.
+   */
+  public long getConnectionCacheMisses() {
+    return compiledConfig.getConnectionCacheMisses();
   }
 
   public enum Action {
@@ -277,14 +285,14 @@ public final class GrpcAuthorizationEngine {
     }
   }
 
-  private static final class EvaluateArgs {
+  static final class EvaluateArgs {
     private final Metadata metadata;
     private final ServerCall<?,?> serverCall;
     // https://github.com/envoyproxy/envoy/blob/63619d578e1abe0c1725ea28ba02f361466662e1/api/envoy/config/rbac/v3/rbac.proto#L238-L240
     private static final int URI_SAN = 6;
     private static final int DNS_SAN = 2;
 
-    private EvaluateArgs(Metadata metadata, ServerCall<?,?> serverCall) {
+    EvaluateArgs(Metadata metadata, ServerCall<?,?> serverCall) {
       this.metadata = metadata;
       this.serverCall = serverCall;
     }
@@ -306,42 +314,52 @@ public final class GrpcAuthorizationEngine {
         return null;
       }
       try {
-        Certificate[] certs = sslSession.getPeerCertificates();
-        if (certs == null || certs.length < 1) {
-          return Collections.singleton("");
+        return getPrincipalNames(sslSession);
+      } catch (SSLPeerUnverifiedException | CertificateParsingException ex) {
+        log.log(Level.FINE, "Unexpected getPrincipalNames error.", ex);
+        return Collections.singleton("");
+      }
+    }
+
+    /**
+     * Returns the principal names of the peer certificate of an SSL session: the URI SANs if any,
+     * else the DNS SANs if any, else the subject name. Returns empty string collection if there is
+     * no such name.
+     */
+    static Collection<String> getPrincipalNames(SSLSession sslSession)
+        throws SSLPeerUnverifiedException, CertificateParsingException {
+      Certificate[] certs = sslSession.getPeerCertificates();
+      if (certs == null || certs.length < 1) {
+        return Collections.singleton("");
+      }
+      X509Certificate cert = (X509Certificate)certs[0];
+      if (cert == null) {
+        return Collections.singleton("");
+      }
+      Collection<List<?>> names = cert.getSubjectAlternativeNames();
+      List<String> principalNames = new ArrayList<>();
+      if (names != null) {
+        for (List<?> name : names) {
+          if (URI_SAN == (Integer) name.get(0)) {
+            principalNames.add((String) name.get(1));
+          }
         }
-        X509Certificate cert = (X509Certificate)certs[0];
-        if (cert == null) {
-          return Collections.singleton("");
+        if (!principalNames.isEmpty()) {
+          return Collections.unmodifiableCollection(principalNames);
         }
-        Collection<List<?>> names = cert.getSubjectAlternativeNames();
-        List<String> principalNames = new ArrayList<>();
-        if (names != null) {
-          for (List<?> name : names) {
-            if (URI_SAN == (Integer) name.get(0)) {
-              principalNames.add((String) name.get(1));
-            }
-          }
-          if (!principalNames.isEmpty()) {
-            return Collections.unmodifiableCollection(principalNames);
-          }
-          for (List<?> name : names) {
-            if (DNS_SAN == (Integer) name.get(0)) {
-              principalNames.add((String) name.get(1));
-            }
-          }
-          if (!principalNames.isEmpty()) {
-            return Collections.unmodifiableCollection(principalNames);
+        for (List<?> name : names) {
+          if (DNS_SAN == (Integer) name.get(0)) {
+            principalNames.add((String) name.get(1));
           }
         }
-        if (cert.getSubjectDN() == null || cert.getSubjectDN().getName() == null) {
-          return Collections.singleton("");
+        if (!principalNames.isEmpty()) {
+          return Collections.unmodifiableCollection(principalNames);
         }
-        return Collections.singleton(cert.getSubjectDN().getName());
-      } catch (SSLPeerUnverifiedException | CertificateParsingException ex) {
-        log.log(Level.FINE, "Unexpected getPrincipalNames error.", ex);
+      }
+      if (cert.getSubjectDN() == null || cert.getSubjectDN().getName() == null) {
         return Collections.singleton("");
       }
+      return Collections.singleton(cert.getSubjectDN().getName());
     }
 
     @Nullable
@@ -207,6 +207,26 @@ public final class OrcaOobUtil {
     orcaSubchannel.orcaState.setListener(orcaSubchannel, listener, config);
   }
 
+  /**
+   * Removes the {@link OrcaOobReportListener} previously set with {@link #setListener} for the
+   * subchannel, if any. The Out-of-Band stream is stopped if no other load balancing policy
+   * configured reporting for the connection, or restarted with the minimum of the remaining
+   * intervals.
+   *
+   * <p>This method needs to be called from the SynchronizationContext returned by the wrapped
+   * helper's {@link Helper#getSynchronizationContext()}.
+   *
+   * @param subchannel the subchannel the listener was set for.
+   */
+  public static void removeListener(Subchannel subchannel) {
+    SubchannelImpl orcaSubchannel = subchannel.getAttributes().get(ORCA_REPORTING_STATE_KEY);
+    if (orcaSubchannel == null) {
+      throw new IllegalArgumentException("Subchannel does not have orca Out-Of-Band stream enabled."
+          + " Try to use a subchannel created by OrcaOobUtil.OrcaHelper.");
+    }
+    orcaSubchannel.orcaState.removeListener(orcaSubchannel);
+  }
+
   /**
    * An {@link OrcaReportingHelper} wraps a delegated {@link LoadBalancer.Helper} with additional
    * functionality to manage RPCs for out-of-band ORCA reporting for each backend it establishes
@@ -310,6 +330,35 @@ public final class OrcaOobUtil {
         });
       }
 
+      void removeListener(SubchannelImpl orcaSubchannel) {
+        syncContext.execute(new Runnable() {
+          @Override
+          public void run() {
+            OrcaOobReportListener oldListener = orcaSubchannel.reportListener;
+            if (oldListener == null) {
+              return;
+            }
+            orcaSubchannel.reportListener = null;
+            configs.remove(oldListener);
+            if (configs.isEmpty()) {
+              overallConfig = null;
+              adjustOrcaReporting();
+              return;
+            }
+            long minInterval = Long.MAX_VALUE;
+            for (OrcaReportingConfig c : configs.values()) {
+              minInterval = Math.min(minInterval, c.getReportIntervalNanos());
+            }
+            if (overallConfig.getReportIntervalNanos() != minInterval) {
+              overallConfig = overallConfig.toBuilder()
+                  .setReportInterval(minInterval, TimeUnit.NANOSECONDS).build();
+              stopRpc("ORCA reporting reconfigured");
+              adjustOrcaReporting();
+            }
+          }
+        });
+      }
+
       private void setReportingConfig(OrcaOobReportListener listener, OrcaReportingConfig config) {
         boolean reconfigured = false;
         configs.put(listener, config);
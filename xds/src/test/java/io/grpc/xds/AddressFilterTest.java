@@ -24,6 +24,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -58,4 +59,26 @@ public class AddressFilterTest {
     assertThat(filteredAddress0.getAttributes().get(key1)).isEqualTo("value1");
     assertThat(filteredAddress1.getAddresses()).containsExactlyElementsIn(eag3.getAddresses());
   }
+
+  @Test
+  public void groupAddressesByName() {
+    Attributes.Key<String> key1 = Attributes.Key.create("key1");
+    Attributes attributes1 = Attributes.newBuilder().set(key1, "value1").build();
+    EquivalentAddressGroup eag0 = new EquivalentAddressGroup(new InetSocketAddress(8000));
+    EquivalentAddressGroup eag1 =
+        new EquivalentAddressGroup(new InetSocketAddress(8001), attributes1);
+    EquivalentAddressGroup eag2 = new EquivalentAddressGroup(new InetSocketAddress(8002));
+    EquivalentAddressGroup eag3 = new EquivalentAddressGroup(new InetSocketAddress(8003));
+    eag0 = AddressFilter.setPathFilter(eag0, Arrays.asList("A", "C"));
+    eag1 = AddressFilter.setPathFilter(eag1, Arrays.asList("A", "B"));
+    eag2 = AddressFilter.setPathFilter(eag2, Arrays.asList("D", "C"));
+    List<EquivalentAddressGroup> addresses = Arrays.asList(eag0, eag1, eag2, eag3);
+
+    Map<String, List<EquivalentAddressGroup>> groupedAddresses =
+        AddressFilter.groupByName(addresses);
+    assertThat(groupedAddresses.keySet()).containsExactly("A", "D");
+    assertThat(groupedAddresses.get("A")).isEqualTo(AddressFilter.filter(addresses, "A"));
+    assertThat(groupedAddresses.get("D")).isEqualTo(AddressFilter.filter(addresses, "D"));
+    assertThat(groupedAddresses.get("A").get(1).getAttributes().get(key1)).isEqualTo("value1");
+  }
 }
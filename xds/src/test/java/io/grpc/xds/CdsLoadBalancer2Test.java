@@ -50,6 +50,8 @@ import io.grpc.xds.Bootstrapper.ServerInfo;
 import io.grpc.xds.CdsLoadBalancerProvider.CdsConfig;
 import io.grpc.xds.ClusterResolverLoadBalancerProvider.ClusterResolverConfig;
 import io.grpc.xds.ClusterResolverLoadBalancerProvider.ClusterResolverConfig.DiscoveryMechanism;
+import io.grpc.xds.EnvoyServerProtoData.OutlierDetection;
+import io.grpc.xds.EnvoyServerProtoData.SuccessRateEjection;
 import io.grpc.xds.EnvoyServerProtoData.UpstreamTlsContext;
 import io.grpc.xds.LeastRequestLoadBalancer.LeastRequestConfig;
 import io.grpc.xds.RingHashLoadBalancer.RingHashConfig;
@@ -168,6 +170,20 @@ public class CdsLoadBalancer2Test {
     assertThat(childLbConfig.lbPolicy.getProvider().getPolicyName()).isEqualTo("round_robin");
   }
 
+  @Test
+  public void discoverTopLevelEdsCluster_withOutlierDetection() {
+    OutlierDetection outlierDetection = OutlierDetection.create(
+        null, null, null, null, SuccessRateEjection.create(null, null, null, null), null);
+    CdsUpdate update =
+        CdsUpdate.forEds(CLUSTER, EDS_SERVICE_NAME, LRS_SERVER_INFO, 100L, upstreamTlsContext)
+            .roundRobinLbPolicy().outlierDetection(outlierDetection).build();
+    xdsClient.deliverCdsUpdate(CLUSTER, update);
+    FakeLoadBalancer childBalancer = Iterables.getOnlyElement(childBalancers);
+    ClusterResolverConfig childLbConfig = (ClusterResolverConfig) childBalancer.config;
+    DiscoveryMechanism instance = Iterables.getOnlyElement(childLbConfig.discoveryMechanisms);
+    assertThat(instance.outlierDetection).isEqualTo(outlierDetection);
+  }
+
   @Test
   public void discoverTopLevelLogicalDnsCluster() {
     CdsUpdate update =
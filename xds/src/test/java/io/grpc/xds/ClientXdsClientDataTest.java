@@ -123,6 +123,7 @@ import io.grpc.xds.ClusterSpecifierPlugin.NamedPluginConfig;
 import io.grpc.xds.ClusterSpecifierPlugin.PluginConfig;
 import io.grpc.xds.Endpoints.LbEndpoint;
 import io.grpc.xds.Endpoints.LocalityLbEndpoints;
+import io.grpc.xds.EnvoyServerProtoData.OutlierDetection;
 import io.grpc.xds.Filter.FilterConfig;
 import io.grpc.xds.RouteLookupServiceClusterSpecifierPlugin.RlsPluginConfig;
 import io.grpc.xds.VirtualHost.Route;
@@ -165,6 +166,7 @@ public class ClientXdsClientDataTest {
   private boolean originalEnableRbac;
   private boolean originalEnableRouteLookup;
   private boolean originalEnableLeastRequest;
+  private boolean originalEnableOutlierDetection;
 
   @Before
   public void setUp() {
@@ -176,6 +178,8 @@ public class ClientXdsClientDataTest {
     assertThat(originalEnableRouteLookup).isFalse();
     originalEnableLeastRequest = ClientXdsClient.enableLeastRequest;
     assertThat(originalEnableLeastRequest).isFalse();
+    originalEnableOutlierDetection = ClientXdsClient.enableOutlierDetection;
+    assertThat(originalEnableOutlierDetection).isFalse();
   }
 
   @After
@@ -184,6 +188,7 @@ public class ClientXdsClientDataTest {
     ClientXdsClient.enableRbac = originalEnableRbac;
     ClientXdsClient.enableRouteLookup = originalEnableRouteLookup;
     ClientXdsClient.enableLeastRequest = originalEnableLeastRequest;
+    ClientXdsClient.enableOutlierDetection = originalEnableOutlierDetection;
   }
 
   @Test
@@ -1919,6 +1924,109 @@ public class ClientXdsClientDataTest {
     assertThat(childConfigs.get(0).getPolicyName()).isEqualTo("least_request_experimental");
   }
 
+  @Test
+  public void parseCluster_outlierDetection() throws ResourceInvalidException {
+    ClientXdsClient.enableOutlierDetection = true;
+    Cluster cluster = Cluster.newBuilder()
+        .setName("cluster-foo.googleapis.com")
+        .setType(DiscoveryType.EDS)
+        .setEdsClusterConfig(
+            EdsClusterConfig.newBuilder()
+                .setEdsConfig(
+                    ConfigSource.newBuilder()
+                        .setAds(AggregatedConfigSource.getDefaultInstance()))
+                .setServiceName("service-foo.googleapis.com"))
+        .setLbPolicy(LbPolicy.ROUND_ROBIN)
+        .setOutlierDetection(
+            io.envoyproxy.envoy.config.cluster.v3.OutlierDetection.newBuilder()
+                .setInterval(Durations.fromSeconds(5))
+                .setMaxEjectionPercent(UInt32Value.of(50))
+                .setSuccessRateStdevFactor(UInt32Value.of(1500))
+                .setEnforcingFailurePercentage(UInt32Value.of(80))
+                .setFailurePercentageThreshold(UInt32Value.of(70)))
+        .build();
+
+    CdsUpdate update = ClientXdsClient.processCluster(
+        cluster, new HashSet<String>(), null, LRS_SERVER_INFO,
+        LoadBalancerRegistry.getDefaultRegistry());
+    OutlierDetection outlierDetection = update.outlierDetection();
+    assertThat(outlierDetection.intervalNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+    assertThat(outlierDetection.baseEjectionTimeNanos()).isNull();
+    assertThat(outlierDetection.maxEjectionPercent()).isEqualTo(50);
+    assertThat(outlierDetection.successRateEjection().stdevFactor()).isEqualTo(1500);
+    assertThat(outlierDetection.successRateEjection().enforcementPercentage()).isNull();
+    assertThat(outlierDetection.failurePercentageEjection().enforcementPercentage())
+        .isEqualTo(80);
+    assertThat(outlierDetection.failurePercentageEjection().threshold()).isEqualTo(70);
+  }
+
+  @Test
+  public void parseCluster_outlierDetection_defaultsToSuccessRateOnly()
+      throws ResourceInvalidException {
+    ClientXdsClient.enableOutlierDetection = true;
+    Cluster cluster = Cluster.newBuilder()
+        .setName("cluster-foo.googleapis.com")
+        .setType(DiscoveryType.EDS)
+        .setEdsClusterConfig(
+            EdsClusterConfig.newBuilder()
+                .setEdsConfig(
+                    ConfigSource.newBuilder()
+                        .setAds(AggregatedConfigSource.getDefaultInstance()))
+                .setServiceName("service-foo.googleapis.com"))
+        .setLbPolicy(LbPolicy.ROUND_ROBIN)
+        .setOutlierDetection(
+            io.envoyproxy.envoy.config.cluster.v3.OutlierDetection.getDefaultInstance())
+        .build();
+
+    CdsUpdate update = ClientXdsClient.processCluster(
+        cluster, new HashSet<String>(), null, LRS_SERVER_INFO,
+        LoadBalancerRegistry.getDefaultRegistry());
+    assertThat(update.outlierDetection().successRateEjection()).isNotNull();
+    assertThat(update.outlierDetection().failurePercentageEjection()).isNull();
+  }
+
+  @Test
+  public void parseCluster_outlierDetection_disabledByFlag() throws ResourceInvalidException {
+    Cluster cluster = Cluster.newBuilder()
+        .setName("cluster-foo.googleapis.com")
+        .setType(DiscoveryType.EDS)
+        .setEdsClusterConfig(
+            EdsClusterConfig.newBuilder()
+                .setEdsConfig(
+                    ConfigSource.newBuilder()
+                        .setAds(AggregatedConfigSource.getDefaultInstance()))
+                .setServiceName("service-foo.googleapis.com"))
+        .setLbPolicy(LbPolicy.ROUND_ROBIN)
+        .setOutlierDetection(
+            io.envoyproxy.envoy.config.cluster.v3.OutlierDetection.getDefaultInstance())
+        .build();
+
+    CdsUpdate update = ClientXdsClient.processCluster(
+        cluster, new HashSet<String>(), null, LRS_SERVER_INFO,
+        LoadBalancerRegistry.getDefaultRegistry());
+    assertThat(update.outlierDetection()).isNull();
+  }
+
+  @Test
+  public void validateOutlierDetection_invalidPercentage() throws ResourceInvalidException {
+    thrown.expect(ResourceInvalidException.class);
+    thrown.expectMessage("outlier_detection max_ejection_percent must be in [0, 100]");
+    ClientXdsClient.validateOutlierDetection(
+        io.envoyproxy.envoy.config.cluster.v3.OutlierDetection.newBuilder()
+            .setMaxEjectionPercent(UInt32Value.of(101))
+            .build());
+  }
+
+  @Test
+  public void validateOutlierDetection_invalidInterval() throws ResourceInvalidException {
+    thrown.expect(ResourceInvalidException.class);
+    thrown.expectMessage("outlier_detection interval must be positive");
+    ClientXdsClient.validateOutlierDetection(
+        io.envoyproxy.envoy.config.cluster.v3.OutlierDetection.newBuilder()
+            .setInterval(Durations.fromNanos(0))
+            .build());
+  }
+
   @Test
   public void parseCluster_transportSocketMatches_exception() throws ResourceInvalidException {
     Cluster cluster = Cluster.newBuilder()
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Any;
+import com.google.protobuf.UInt32Value;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.Locality;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DeltaDiscoveryResponse;
+import io.envoyproxy.envoy.service.discovery.v3.Resource;
+import io.grpc.ChannelCredentials;
+import io.grpc.Context;
+import io.grpc.Context.CancellationListener;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.BackoffPolicy;
+import io.grpc.internal.FakeClock;
+import io.grpc.internal.TimeProvider;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.EdsResourceWatcher;
+import io.grpc.xds.XdsClient.EdsUpdate;
+import io.grpc.xds.XdsClient.ResourceMetadata;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/**
+ * Tests for {@link ClientXdsClient} with the delta (incremental) variant of the xDS protocol.
+ */
+@RunWith(JUnit4.class)
+public class ClientXdsClientDeltaTest {
+  private static final String SERVER_URI = "trafficdirector.googleapis.com";
+  private static final String EDS_RESOURCE_1 = "cluster-load-assignment-1.googleapis.com";
+  private static final String EDS_RESOURCE_2 = "cluster-load-assignment-2.googleapis.com";
+  private static final Node NODE = Node.newBuilder().setId("cool-node-id").build();
+  private static final ChannelCredentials CHANNEL_CREDENTIALS = InsecureChannelCredentials.create();
+
+  @Rule
+  public final MockitoRule mocks = MockitoJUnit.rule();
+  @Rule
+  public final GrpcCleanupRule cleanupRule = new GrpcCleanupRule();
+
+  private final FakeClock fakeClock = new FakeClock();
+  private final Queue<DeltaAdsCall> adsCalls = new ArrayDeque<>();
+  private final AtomicBoolean adsEnded = new AtomicBoolean(true);
+  private final TimeProvider timeProvider = new TimeProvider() {
+    private long count;
+
+    @Override
+    public long currentTimeNanos() {
+      return ++count;
+    }
+  };
+
+  @Mock
+  private BackoffPolicy.Provider backoffPolicyProvider;
+  @Mock
+  private BackoffPolicy backoffPolicy;
+  @Mock
+  private EdsResourceWatcher edsResourceWatcher1;
+  @Mock
+  private EdsResourceWatcher edsResourceWatcher2;
+  @Mock
+  private TlsContextManager tlsContextManager;
+
+  private ManagedChannel channel;
+  private ClientXdsClient xdsClient;
+
+  @Before
+  public void setUp() throws IOException {
+    when(backoffPolicyProvider.get()).thenReturn(backoffPolicy);
+    when(backoffPolicy.nextBackoffNanos()).thenReturn(10L);
+    String serverName = InProcessServerBuilder.generateName();
+    cleanupRule.register(
+        InProcessServerBuilder
+            .forName(serverName)
+            .addService(new AggregatedDiscoveryServiceImplBase() {
+              @Override
+              public StreamObserver<DeltaDiscoveryRequest> deltaAggregatedResources(
+                  StreamObserver<DeltaDiscoveryResponse> responseObserver) {
+                assertThat(adsEnded.get()).isTrue();  // ensure previous call was ended
+                adsEnded.set(false);
+                DeltaAdsCall call = new DeltaAdsCall(responseObserver);
+                adsCalls.offer(call);
+                Context.current().addListener(
+                    new CancellationListener() {
+                      @Override
+                      public void cancelled(Context context) {
+                        adsEnded.set(true);
+                      }
+                    }, MoreExecutors.directExecutor());
+                return call;
+              }
+            })
+            .directExecutor()
+            .build()
+            .start());
+    channel =
+        cleanupRule.register(InProcessChannelBuilder.forName(serverName).directExecutor().build());
+    XdsChannelFactory xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        return channel;
+      }
+    };
+    Bootstrapper.BootstrapInfo bootstrapInfo =
+        Bootstrapper.BootstrapInfo.builder()
+            .servers(Arrays.asList(
+                ServerInfo.create(SERVER_URI, CHANNEL_CREDENTIALS, true, true)))
+            .node(NODE)
+            .build();
+    xdsClient =
+        new ClientXdsClient(
+            xdsChannelFactory,
+            bootstrapInfo,
+            Context.ROOT,
+            fakeClock.getScheduledExecutorService(),
+            backoffPolicyProvider,
+            fakeClock.getStopwatchSupplier(),
+            timeProvider,
+            tlsContextManager);
+  }
+
+  @After
+  public void tearDown() {
+    xdsClient.shutdown();
+    channel.shutdown();  // channel not owned by XdsClient
+    assertThat(adsEnded.get()).isTrue();
+    assertThat(fakeClock.getPendingTasks()).isEmpty();
+  }
+
+  @Test
+  public void subscriptionChangesSentIncrementally() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    DeltaAdsCall call = adsCalls.poll();
+    DeltaDiscoveryRequest request = call.requests.poll();
+    assertThat(request.getNode()).isEqualTo(NODE.toEnvoyProtoNode());
+    assertThat(request.getTypeUrl()).isEqualTo(ResourceType.EDS.typeUrl());
+    assertThat(request.getResourceNamesSubscribeList()).containsExactly(EDS_RESOURCE_1);
+    assertThat(request.getResourceNamesUnsubscribeList()).isEmpty();
+    assertThat(request.getInitialResourceVersionsMap()).isEmpty();
+    assertThat(request.getResponseNonce()).isEmpty();
+
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    request = call.requests.poll();
+    assertThat(request.hasNode()).isFalse();
+    assertThat(request.getResourceNamesSubscribeList()).containsExactly(EDS_RESOURCE_2);
+    assertThat(request.getResourceNamesUnsubscribeList()).isEmpty();
+
+    xdsClient.cancelEdsResourceWatch(EDS_RESOURCE_1, edsResourceWatcher1);
+    request = call.requests.poll();
+    assertThat(request.getResourceNamesSubscribeList()).isEmpty();
+    assertThat(request.getResourceNamesUnsubscribeList()).containsExactly(EDS_RESOURCE_1);
+
+    xdsClient.cancelEdsResourceWatch(EDS_RESOURCE_2, edsResourceWatcher2);
+    request = call.requests.poll();
+    assertThat(request.getResourceNamesSubscribeList()).isEmpty();
+    assertThat(request.getResourceNamesUnsubscribeList()).containsExactly(EDS_RESOURCE_2);
+    assertThat(call.requests).isEmpty();
+  }
+
+  @Test
+  public void resourcesNotInResponse_kept() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    DeltaAdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("0000", Arrays.asList(
+        edsResource(EDS_RESOURCE_1, "1", 8080), edsResource(EDS_RESOURCE_2, "1", 8080)),
+        Collections.<String>emptyList());
+    DeltaDiscoveryRequest ack = call.requests.poll();
+    assertThat(ack.getResponseNonce()).isEqualTo("0000");
+    assertThat(ack.getResourceNamesSubscribeList()).isEmpty();
+    assertThat(ack.getResourceNamesUnsubscribeList()).isEmpty();
+    assertThat(ack.hasErrorDetail()).isFalse();
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    verify(edsResourceWatcher2).onChanged(any(EdsUpdate.class));
+
+    call.sendResponse("0001", Arrays.asList(edsResource(EDS_RESOURCE_2, "2", 9090)),
+        Collections.<String>emptyList());
+    assertThat(call.requests.poll().getResponseNonce()).isEqualTo("0001");
+    ArgumentCaptor<EdsUpdate> edsUpdateCaptor = ArgumentCaptor.forClass(EdsUpdate.class);
+    verify(edsResourceWatcher2, times(2)).onChanged(edsUpdateCaptor.capture());
+    assertThat(edsUpdateCaptor.getValue().clusterName).isEqualTo(EDS_RESOURCE_2);
+    verifyNoMoreInteractions(edsResourceWatcher1);
+
+    Map<String, ResourceMetadata> metadata = getEdsMetadata();
+    assertThat(metadata.get(EDS_RESOURCE_1).getVersion()).isEqualTo("1");
+    assertThat(metadata.get(EDS_RESOURCE_2).getVersion()).isEqualTo("2");
+  }
+
+  @Test
+  public void removedResources_doNotExist() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    DeltaAdsCall call = adsCalls.poll();
+    call.sendResponse("0000", Arrays.asList(
+        edsResource(EDS_RESOURCE_1, "1", 8080), edsResource(EDS_RESOURCE_2, "1", 8080)),
+        Collections.<String>emptyList());
+
+    call.sendResponse("0001", Collections.<Resource>emptyList(), Arrays.asList(EDS_RESOURCE_1));
+    verify(edsResourceWatcher1).onResourceDoesNotExist(EDS_RESOURCE_1);
+    verify(edsResourceWatcher2, never()).onResourceDoesNotExist(EDS_RESOURCE_2);
+  }
+
+  @Test
+  public void removedResourceBeforeInitialFetchTimeout_doesNotExist() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    DeltaAdsCall call = adsCalls.poll();
+
+    call.sendResponse("0000", Collections.<Resource>emptyList(), Arrays.asList(EDS_RESOURCE_1));
+    verify(edsResourceWatcher1).onResourceDoesNotExist(EDS_RESOURCE_1);
+    assertThat(fakeClock.getPendingTasks()).isEmpty();
+  }
+
+  @Test
+  public void invalidResource_nacked() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    DeltaAdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("0000", Arrays.asList(
+        edsResource(EDS_RESOURCE_1, "1", 8080), invalidEdsResource(EDS_RESOURCE_2, "1")),
+        Collections.<String>emptyList());
+    DeltaDiscoveryRequest nack = call.requests.poll();
+    assertThat(nack.getResponseNonce()).isEqualTo("0000");
+    assertThat(nack.hasErrorDetail()).isTrue();
+    assertThat(nack.getErrorDetail().getMessage()).contains(EDS_RESOURCE_2);
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    verify(edsResourceWatcher2, never()).onChanged(any(EdsUpdate.class));
+  }
+
+  @Test
+  public void streamRestarted_sendsInitialResourceVersions() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    DeltaAdsCall call = adsCalls.poll();
+    call.sendResponse("0000", Arrays.asList(
+        edsResource(EDS_RESOURCE_1, "1", 8080), edsResource(EDS_RESOURCE_2, "1", 8080)),
+        Collections.<String>emptyList());
+    call.sendResponse("0001", Arrays.asList(invalidEdsResource(EDS_RESOURCE_2, "2")),
+        Collections.<String>emptyList());
+
+    call.responseObserver.onError(Status.UNAVAILABLE.asException());
+    fakeClock.forwardNanos(10L);
+    call = adsCalls.poll();
+    DeltaDiscoveryRequest request = call.requests.poll();
+    assertThat(request.getNode()).isEqualTo(NODE.toEnvoyProtoNode());
+    assertThat(request.getResourceNamesSubscribeList())
+        .containsExactly(EDS_RESOURCE_1, EDS_RESOURCE_2);
+    // The version of the rejected resource is forgotten for it to be sent again.
+    assertThat(request.getInitialResourceVersionsMap()).containsExactly(EDS_RESOURCE_1, "1");
+
+    // The resources in the cache are still used.
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    verify(edsResourceWatcher2).onChanged(any(EdsUpdate.class));
+    verify(edsResourceWatcher1, never()).onResourceDoesNotExist(EDS_RESOURCE_1);
+    verify(edsResourceWatcher2, never()).onResourceDoesNotExist(EDS_RESOURCE_2);
+  }
+
+  private Map<String, ResourceMetadata> getEdsMetadata() {
+    try {
+      return xdsClient.getSubscribedResourcesMetadataSnapshot().get().get(ResourceType.EDS);
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static Resource edsResource(String name, String version, int port) {
+    ClusterLoadAssignment assignment = ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setLocality(Locality.newBuilder().setRegion("region").setZone("zone"))
+            .setLoadBalancingWeight(UInt32Value.of(1))
+            .addLbEndpoints(LbEndpoint.newBuilder()
+                .setEndpoint(Endpoint.newBuilder()
+                    .setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder()
+                            .setAddress("10.0.0.1").setPortValue(port))))))
+        .build();
+    return Resource.newBuilder()
+        .setName(name)
+        .setVersion(version)
+        .setResource(Any.pack(assignment))
+        .build();
+  }
+
+  private static Resource invalidEdsResource(String name, String version) {
+    // Negative priority LocalityLbEndpoint.
+    ClusterLoadAssignment assignment = ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setPriority(-1)
+            .setLoadBalancingWeight(UInt32Value.of(1)))
+        .build();
+    return Resource.newBuilder()
+        .setName(name)
+        .setVersion(version)
+        .setResource(Any.pack(assignment))
+        .build();
+  }
+
+  private static final class DeltaAdsCall implements StreamObserver<DeltaDiscoveryRequest> {
+    private final StreamObserver<DeltaDiscoveryResponse> responseObserver;
+    private final Queue<DeltaDiscoveryRequest> requests = new ArrayDeque<>();
+
+    DeltaAdsCall(StreamObserver<DeltaDiscoveryResponse> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    void sendResponse(String nonce, Iterable<Resource> resources, Iterable<String> removed) {
+      responseObserver.onNext(
+          DeltaDiscoveryResponse.newBuilder()
+              .setTypeUrl(ResourceType.EDS.typeUrl())
+              .setNonce(nonce)
+              .addAllResources(resources)
+              .addAllRemovedResources(removed)
+              .build());
+    }
+
+    @Override
+    public void onNext(DeltaDiscoveryRequest request) {
+      requests.offer(request);
+    }
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+}
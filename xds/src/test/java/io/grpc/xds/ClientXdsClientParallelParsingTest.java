@@ -0,0 +1,467 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Any;
+import com.google.protobuf.UInt32Value;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.DiscoveryType;
+import io.envoyproxy.envoy.config.cluster.v3.Cluster.EdsClusterConfig;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.AggregatedConfigSource;
+import io.envoyproxy.envoy.config.core.v3.ConfigSource;
+import io.envoyproxy.envoy.config.core.v3.Locality;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.grpc.ChannelCredentials;
+import io.grpc.Context;
+import io.grpc.Context.CancellationListener;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.BackoffPolicy;
+import io.grpc.internal.FakeClock;
+import io.grpc.internal.TimeProvider;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.CdsResourceWatcher;
+import io.grpc.xds.XdsClient.CdsUpdate;
+import io.grpc.xds.XdsClient.EdsResourceWatcher;
+import io.grpc.xds.XdsClient.EdsUpdate;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/**
+ * Tests for {@link ClientXdsClient} parsing the resources of the responses with an executor.
+ */
+@RunWith(JUnit4.class)
+public class ClientXdsClientParallelParsingTest {
+  private static final String SERVER_URI = "trafficdirector.googleapis.com";
+  private static final String EDS_RESOURCE_1 = "cluster-load-assignment-1.googleapis.com";
+  private static final String EDS_RESOURCE_2 = "cluster-load-assignment-2.googleapis.com";
+  private static final String CDS_RESOURCE_1 = "cluster-1.googleapis.com";
+  private static final String CDS_RESOURCE_2 = "cluster-2.googleapis.com";
+  private static final Node NODE = Node.newBuilder().setId("cool-node-id").build();
+  private static final ChannelCredentials CHANNEL_CREDENTIALS = InsecureChannelCredentials.create();
+
+  @Rule
+  public final MockitoRule mocks = MockitoJUnit.rule();
+  @Rule
+  public final GrpcCleanupRule cleanupRule = new GrpcCleanupRule();
+
+  private final FakeClock fakeClock = new FakeClock();
+  private final Queue<AdsCall> adsCalls = new ArrayDeque<>();
+  private final AtomicBoolean adsEnded = new AtomicBoolean(true);
+  private final Queue<Runnable> parsingTasks = new ArrayDeque<>();
+  private final TimeProvider timeProvider = new TimeProvider() {
+    private long count;
+
+    @Override
+    public long currentTimeNanos() {
+      return ++count;
+    }
+  };
+
+  @Mock
+  private BackoffPolicy.Provider backoffPolicyProvider;
+  @Mock
+  private BackoffPolicy backoffPolicy;
+  @Mock
+  private EdsResourceWatcher edsResourceWatcher1;
+  @Mock
+  private EdsResourceWatcher edsResourceWatcher2;
+  @Mock
+  private CdsResourceWatcher cdsResourceWatcher1;
+  @Mock
+  private CdsResourceWatcher cdsResourceWatcher2;
+  @Mock
+  private TlsContextManager tlsContextManager;
+
+  private ManagedChannel channel;
+  private ClientXdsClient xdsClient;
+
+  @Before
+  public void setUp() throws IOException {
+    when(backoffPolicyProvider.get()).thenReturn(backoffPolicy);
+    when(backoffPolicy.nextBackoffNanos()).thenReturn(10L);
+    String serverName = InProcessServerBuilder.generateName();
+    cleanupRule.register(
+        InProcessServerBuilder
+            .forName(serverName)
+            .addService(new AggregatedDiscoveryServiceImplBase() {
+              @Override
+              public StreamObserver<DiscoveryRequest> streamAggregatedResources(
+                  StreamObserver<DiscoveryResponse> responseObserver) {
+                assertThat(adsEnded.get()).isTrue();  // ensure previous call was ended
+                adsEnded.set(false);
+                AdsCall call = new AdsCall(responseObserver);
+                adsCalls.offer(call);
+                Context.current().addListener(
+                    new CancellationListener() {
+                      @Override
+                      public void cancelled(Context context) {
+                        adsEnded.set(true);
+                      }
+                    }, MoreExecutors.directExecutor());
+                return call;
+              }
+            })
+            .directExecutor()
+            .build()
+            .start());
+    channel =
+        cleanupRule.register(InProcessChannelBuilder.forName(serverName).directExecutor().build());
+    XdsChannelFactory xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        return channel;
+      }
+    };
+    Bootstrapper.BootstrapInfo bootstrapInfo =
+        Bootstrapper.BootstrapInfo.builder()
+            .servers(Arrays.asList(ServerInfo.create(SERVER_URI, CHANNEL_CREDENTIALS, true)))
+            .node(NODE)
+            .build();
+    xdsClient =
+        new ClientXdsClient(
+            xdsChannelFactory,
+            bootstrapInfo,
+            Context.ROOT,
+            fakeClock.getScheduledExecutorService(),
+            backoffPolicyProvider,
+            fakeClock.getStopwatchSupplier(),
+            timeProvider,
+            tlsContextManager,
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                parsingTasks.add(command);
+              }
+            });
+  }
+
+  @After
+  public void tearDown() {
+    xdsClient.shutdown();
+    channel.shutdown();  // channel not owned by XdsClient
+    assertThat(adsEnded.get()).isTrue();
+    assertThat(fakeClock.getPendingTasks()).isEmpty();
+  }
+
+  @Test
+  public void responseAppliedOnceParsed() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE_1, 8080));
+    assertThat(parsingTasks).hasSize(1);
+    verify(edsResourceWatcher1, never()).onChanged(any(EdsUpdate.class));
+    assertThat(call.requests).isEmpty();
+
+    // Other events are handled while the response is parsed.
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    DiscoveryRequest request = call.requests.poll();
+    assertThat(request.getResourceNamesList()).containsExactly(EDS_RESOURCE_1, EDS_RESOURCE_2);
+
+    runParsingTasks();
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    DiscoveryRequest ack = call.requests.poll();
+    assertThat(ack.getVersionInfo()).isEqualTo("1");
+    assertThat(ack.getResponseNonce()).isEqualTo("0000");
+    assertThat(ack.hasErrorDetail()).isFalse();
+  }
+
+  @Test
+  public void responsesAppliedInOrder() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE_1, 8080));
+    call.sendResponse("2", "0001", edsResource(EDS_RESOURCE_1, 9090));
+    // The second response is parsed once the first one is applied.
+    assertThat(parsingTasks).hasSize(1);
+    parsingTasks.poll().run();
+    assertThat(call.requests.poll().getResponseNonce()).isEqualTo("0000");
+    assertThat(parsingTasks).hasSize(1);
+    parsingTasks.poll().run();
+    assertThat(call.requests.poll().getResponseNonce()).isEqualTo("0001");
+
+    ArgumentCaptor<EdsUpdate> edsUpdateCaptor = ArgumentCaptor.forClass(EdsUpdate.class);
+    verify(edsResourceWatcher1, times(2)).onChanged(edsUpdateCaptor.capture());
+    List<EdsUpdate> updates = edsUpdateCaptor.getAllValues();
+    assertThat(getPort(updates.get(0))).isEqualTo(8080);
+    assertThat(getPort(updates.get(1))).isEqualTo(9090);
+  }
+
+  @Test
+  public void largeResponse_parsedInParallel() {
+    int resourceCount = ClientXdsClient.MIN_RESOURCES_PER_PARSING_TASK * 4;
+    List<Any> resources = new ArrayList<>(resourceCount);
+    for (int i = 0; i < resourceCount; i++) {
+      String resourceName = "cluster-load-assignment-" + i;
+      xdsClient.watchEdsResource(resourceName, edsResourceWatcher1);
+      resources.add(edsResource(resourceName, 8080));
+    }
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("1", "0000", resources.toArray(new Any[0]));
+    assertThat(parsingTasks).hasSize(Math.min(4, Runtime.getRuntime().availableProcessors()));
+    runParsingTasks();
+    verify(edsResourceWatcher1, times(resourceCount)).onChanged(any(EdsUpdate.class));
+    assertThat(call.requests.poll().getResponseNonce()).isEqualTo("0000");
+  }
+
+  @Test
+  public void invalidResource_nackedOnceParsed() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("1", "0000",
+        edsResource(EDS_RESOURCE_1, 8080), invalidEdsResource(EDS_RESOURCE_2));
+    runParsingTasks();
+    DiscoveryRequest nack = call.requests.poll();
+    assertThat(nack.getVersionInfo()).isEmpty();
+    assertThat(nack.getResponseNonce()).isEqualTo("0000");
+    assertThat(nack.getErrorDetail().getMessage()).contains(EDS_RESOURCE_2);
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    verify(edsResourceWatcher2, never()).onChanged(any(EdsUpdate.class));
+  }
+
+  @Test
+  public void streamClosedWhileParsing_responseStillApplied() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE_1, 8080));
+    call.responseObserver.onError(Status.UNAVAILABLE.asException());
+    runParsingTasks();
+    InOrder inOrder = inOrder(edsResourceWatcher1);
+    inOrder.verify(edsResourceWatcher1).onError(any(Status.class));
+    inOrder.verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    assertThat(call.requests).isEmpty();
+
+    // The new stream is started with the accepted version.
+    fakeClock.forwardNanos(10L);
+    call = adsCalls.poll();
+    assertThat(call.requests.poll().getVersionInfo()).isEqualTo("1");
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE_1, 8080));
+    runParsingTasks();
+    DiscoveryRequest ack = call.requests.poll();
+    assertThat(ack.getVersionInfo()).isEqualTo("1");
+    assertThat(ack.getResponseNonce()).isEqualTo("0000");
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+  }
+
+  @Test
+  public void streamRestartedWhileParsing_responseDropped() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE_1, 8080));
+    call.responseObserver.onError(Status.UNAVAILABLE.asException());
+    fakeClock.forwardNanos(10L);
+    AdsCall newCall = adsCalls.poll();
+    assertThat(newCall.requests.poll().getVersionInfo()).isEmpty();
+
+    // Neither applied nor ACKed on the new stream, which receives the resources again.
+    runParsingTasks();
+    verify(edsResourceWatcher1, never()).onChanged(any(EdsUpdate.class));
+    assertThat(call.requests).isEmpty();
+    assertThat(newCall.requests).isEmpty();
+
+    newCall.sendResponse("2", "0000", edsResource(EDS_RESOURCE_1, 9090));
+    runParsingTasks();
+    DiscoveryRequest ack = newCall.requests.poll();
+    assertThat(ack.getVersionInfo()).isEqualTo("2");
+    assertThat(ack.getResponseNonce()).isEqualTo("0000");
+    ArgumentCaptor<EdsUpdate> edsUpdateCaptor = ArgumentCaptor.forClass(EdsUpdate.class);
+    verify(edsResourceWatcher1).onChanged(edsUpdateCaptor.capture());
+    assertThat(getPort(edsUpdateCaptor.getValue())).isEqualTo(9090);
+  }
+
+  @Test
+  public void watchAddedWhileParsing_resourceApplied() {
+    xdsClient.watchCdsResource(CDS_RESOURCE_1, cdsResourceWatcher1);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    call.sendResponse(ResourceType.CDS, "1", "0000",
+        cdsResource(CDS_RESOURCE_1), cdsResource(CDS_RESOURCE_2));
+    xdsClient.watchCdsResource(CDS_RESOURCE_2, cdsResourceWatcher2);
+    runParsingTasks();
+    verify(cdsResourceWatcher1).onChanged(any(CdsUpdate.class));
+    verify(cdsResourceWatcher2).onChanged(any(CdsUpdate.class));
+    verify(cdsResourceWatcher2, never()).onResourceDoesNotExist(CDS_RESOURCE_2);
+  }
+
+  @Test
+  public void unexpectedParsingFailure_resourceNacked() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    xdsClient.watchEdsResource(EDS_RESOURCE_2, edsResourceWatcher2);
+    AdsCall call = adsCalls.poll();
+    call.requests.clear();
+
+    // Out of range port.
+    call.sendResponse("1", "0000",
+        edsResource(EDS_RESOURCE_1, 8080), edsResource(EDS_RESOURCE_2, 70000));
+    runParsingTasks();
+    DiscoveryRequest nack = call.requests.poll();
+    assertThat(nack.getVersionInfo()).isEmpty();
+    assertThat(nack.getResponseNonce()).isEqualTo("0000");
+    assertThat(nack.getErrorDetail().getMessage()).contains("Resource index 1");
+    verify(edsResourceWatcher1).onChanged(any(EdsUpdate.class));
+    verify(edsResourceWatcher2, never()).onChanged(any(EdsUpdate.class));
+  }
+
+  @Test
+  public void shutdownWhileParsing_responseDropped() {
+    xdsClient.watchEdsResource(EDS_RESOURCE_1, edsResourceWatcher1);
+    AdsCall call = adsCalls.poll();
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE_1, 8080));
+    xdsClient.shutdown();
+    runParsingTasks();
+    verify(edsResourceWatcher1, never()).onChanged(any(EdsUpdate.class));
+  }
+
+  private void runParsingTasks() {
+    Runnable task;
+    while ((task = parsingTasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  private static int getPort(EdsUpdate update) {
+    Endpoints.LocalityLbEndpoints localityLbEndpoints =
+        update.localityLbEndpointsMap.values().iterator().next();
+    return ((InetSocketAddress) localityLbEndpoints.endpoints().get(0).eag().getAddresses()
+        .get(0)).getPort();
+  }
+
+  private static Any edsResource(String name, int port) {
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setLocality(Locality.newBuilder().setRegion("region").setZone("zone"))
+            .setLoadBalancingWeight(UInt32Value.of(1))
+            .addLbEndpoints(LbEndpoint.newBuilder()
+                .setEndpoint(Endpoint.newBuilder()
+                    .setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder()
+                            .setAddress("10.0.0.1").setPortValue(port))))))
+        .build());
+  }
+
+  private static Any cdsResource(String name) {
+    return Any.pack(Cluster.newBuilder()
+        .setName(name)
+        .setType(DiscoveryType.EDS)
+        .setEdsClusterConfig(EdsClusterConfig.newBuilder()
+            .setEdsConfig(ConfigSource.newBuilder()
+                .setAds(AggregatedConfigSource.getDefaultInstance())))
+        .build());
+  }
+
+  private static Any invalidEdsResource(String name) {
+    // Negative priority LocalityLbEndpoint.
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setPriority(-1)
+            .setLoadBalancingWeight(UInt32Value.of(1)))
+        .build());
+  }
+
+  private static final class AdsCall implements StreamObserver<DiscoveryRequest> {
+    private final StreamObserver<DiscoveryResponse> responseObserver;
+    private final Queue<DiscoveryRequest> requests = new ArrayDeque<>();
+
+    AdsCall(StreamObserver<DiscoveryResponse> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    void sendResponse(String versionInfo, String nonce, Any... resources) {
+      sendResponse(ResourceType.EDS, versionInfo, nonce, resources);
+    }
+
+    void sendResponse(ResourceType type, String versionInfo, String nonce, Any... resources) {
+      responseObserver.onNext(
+          DiscoveryResponse.newBuilder()
+              .setTypeUrl(type.typeUrl())
+              .setVersionInfo(versionInfo)
+              .setNonce(nonce)
+              .addAllResources(Arrays.asList(resources))
+              .build());
+    }
+
+    @Override
+    public void onNext(DiscoveryRequest request) {
+      requests.offer(request);
+    }
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+}
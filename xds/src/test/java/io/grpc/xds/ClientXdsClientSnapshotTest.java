@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Any;
+import com.google.protobuf.UInt32Value;
+import io.envoyproxy.envoy.config.core.v3.Address;
+import io.envoyproxy.envoy.config.core.v3.Locality;
+import io.envoyproxy.envoy.config.core.v3.SocketAddress;
+import io.envoyproxy.envoy.config.endpoint.v3.ClusterLoadAssignment;
+import io.envoyproxy.envoy.config.endpoint.v3.Endpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LbEndpoint;
+import io.envoyproxy.envoy.config.endpoint.v3.LocalityLbEndpoints;
+import io.envoyproxy.envoy.service.discovery.v3.AggregatedDiscoveryServiceGrpc.AggregatedDiscoveryServiceImplBase;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryRequest;
+import io.envoyproxy.envoy.service.discovery.v3.DiscoveryResponse;
+import io.grpc.ChannelCredentials;
+import io.grpc.Context;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.internal.BackoffPolicy;
+import io.grpc.internal.FakeClock;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.ClientXdsClient.XdsChannelFactory;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsClient.EdsResourceWatcher;
+import io.grpc.xds.XdsClient.EdsUpdate;
+import io.grpc.xds.XdsSnapshotStore.Entry;
+import io.grpc.xds.XdsSnapshotStore.Snapshot;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/**
+ * Tests for {@link ClientXdsClient} starting with the resources of a snapshot, and saving the
+ * accepted resources to it.
+ */
+@RunWith(JUnit4.class)
+public class ClientXdsClientSnapshotTest {
+  private static final String SERVER_URI = "trafficdirector.googleapis.com";
+  private static final String EDS_RESOURCE = "cluster-load-assignment.googleapis.com";
+  private static final Node NODE = Node.newBuilder().setId("cool-node-id").build();
+  private static final ChannelCredentials CHANNEL_CREDENTIALS = InsecureChannelCredentials.create();
+
+  @Rule
+  public final MockitoRule mocks = MockitoJUnit.rule();
+  @Rule
+  public final GrpcCleanupRule cleanupRule = new GrpcCleanupRule();
+  @Rule
+  public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private final FakeClock fakeClock = new FakeClock();
+  private final Queue<AdsCall> adsCalls = new ArrayDeque<>();
+
+  @Mock
+  private BackoffPolicy.Provider backoffPolicyProvider;
+  @Mock
+  private BackoffPolicy backoffPolicy;
+  @Mock
+  private EdsResourceWatcher edsResourceWatcher;
+  @Mock
+  private TlsContextManager tlsContextManager;
+
+  private ManagedChannel channel;
+  private XdsSnapshotStore snapshotStore;
+  private ClientXdsClient xdsClient;
+
+  @Before
+  public void setUp() throws IOException {
+    when(backoffPolicyProvider.get()).thenReturn(backoffPolicy);
+    when(backoffPolicy.nextBackoffNanos()).thenReturn(10L);
+    String serverName = InProcessServerBuilder.generateName();
+    cleanupRule.register(
+        InProcessServerBuilder
+            .forName(serverName)
+            .addService(new AggregatedDiscoveryServiceImplBase() {
+              @Override
+              public StreamObserver<DiscoveryRequest> streamAggregatedResources(
+                  StreamObserver<DiscoveryResponse> responseObserver) {
+                AdsCall call = new AdsCall(responseObserver);
+                adsCalls.offer(call);
+                return call;
+              }
+            })
+            .directExecutor()
+            .build()
+            .start());
+    channel =
+        cleanupRule.register(InProcessChannelBuilder.forName(serverName).directExecutor().build());
+    snapshotStore = new XdsSnapshotStore(
+        new File(tempFolder.getRoot(), "snapshot"), "key", TimeUnit.MINUTES.toNanos(10),
+        MoreExecutors.directExecutor());
+  }
+
+  @After
+  public void tearDown() {
+    if (xdsClient != null) {
+      xdsClient.shutdown();
+    }
+    channel.shutdown();  // channel not owned by XdsClient
+    assertThat(fakeClock.getPendingTasks()).isEmpty();
+  }
+
+  @Test
+  public void snapshotResource_usedUntilReceived() {
+    saveSnapshot(edsResource(EDS_RESOURCE, 8080));
+    createXdsClient();
+
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    ArgumentCaptor<EdsUpdate> edsUpdateCaptor = ArgumentCaptor.forClass(EdsUpdate.class);
+    verify(edsResourceWatcher).onChanged(edsUpdateCaptor.capture());
+    assertThat(getPort(edsUpdateCaptor.getValue())).isEqualTo(8080);
+    // The resource is still requested from the control plane.
+    AdsCall call = adsCalls.poll();
+    DiscoveryRequest request = call.requests.poll();
+    assertThat(request.getResourceNamesList()).containsExactly(EDS_RESOURCE);
+    assertThat(request.getVersionInfo()).isEmpty();
+
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE, 9090));
+    verify(edsResourceWatcher, times(2)).onChanged(edsUpdateCaptor.capture());
+    assertThat(getPort(edsUpdateCaptor.getValue())).isEqualTo(9090);
+    // Not concluded absent once received.
+    fakeClock.forwardTime(ClientXdsClient.INITIAL_RESOURCE_FETCH_TIMEOUT_SEC, TimeUnit.SECONDS);
+    verify(edsResourceWatcher, never()).onResourceDoesNotExist(EDS_RESOURCE);
+  }
+
+  @Test
+  public void snapshotResource_notReceived_concludedAbsent() {
+    saveSnapshot(edsResource(EDS_RESOURCE, 8080));
+    createXdsClient();
+
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    verify(edsResourceWatcher).onChanged(any(EdsUpdate.class));
+    fakeClock.forwardTime(ClientXdsClient.INITIAL_RESOURCE_FETCH_TIMEOUT_SEC, TimeUnit.SECONDS);
+    verify(edsResourceWatcher).onResourceDoesNotExist(EDS_RESOURCE);
+  }
+
+  @Test
+  public void snapshotResource_tooOldWhenSubscribed_ignored() {
+    saveSnapshot(edsResource(EDS_RESOURCE, 8080));
+    createXdsClient();
+
+    fakeClock.forwardTime(11, TimeUnit.MINUTES);
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    verify(edsResourceWatcher, never()).onChanged(any(EdsUpdate.class));
+  }
+
+  @Test
+  public void invalidSnapshotResource_ignored() {
+    saveSnapshot(invalidEdsResource(EDS_RESOURCE));
+    createXdsClient();
+
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    verify(edsResourceWatcher, never()).onChanged(any(EdsUpdate.class));
+  }
+
+  @Test
+  public void acceptedResources_saved() throws IOException {
+    createXdsClient();
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    AdsCall call = adsCalls.poll();
+    call.sendResponse("1", "0000", edsResource(EDS_RESOURCE, 8080));
+    assertThat(snapshotStore.load(fakeClock.getTimeProvider().currentTimeNanos())).isNull();
+
+    // Saved once for the responses received within the delay.
+    fakeClock.forwardTime(ClientXdsClient.SNAPSHOT_SAVE_DELAY_SEC - 1, TimeUnit.SECONDS);
+    call.sendResponse("2", "0001", edsResource(EDS_RESOURCE, 9090));
+    assertThat(snapshotStore.load(fakeClock.getTimeProvider().currentTimeNanos())).isNull();
+    fakeClock.forwardTime(1, TimeUnit.SECONDS);
+    long nowNanos = fakeClock.getTimeProvider().currentTimeNanos();
+    Snapshot snapshot = snapshotStore.load(nowNanos);
+    assertThat(snapshot.remove(ResourceType.EDS, EDS_RESOURCE, nowNanos).getResource())
+        .isEqualTo(edsResource(EDS_RESOURCE, 9090));
+  }
+
+  @Test
+  public void shutdown_pendingSnapshotSaved() throws IOException {
+    createXdsClient();
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    adsCalls.poll().sendResponse("1", "0000", edsResource(EDS_RESOURCE, 8080));
+
+    xdsClient.shutdown();
+    long nowNanos = fakeClock.getTimeProvider().currentTimeNanos();
+    Snapshot snapshot = snapshotStore.load(nowNanos);
+    assertThat(snapshot.remove(ResourceType.EDS, EDS_RESOURCE, nowNanos).getResource())
+        .isEqualTo(edsResource(EDS_RESOURCE, 8080));
+  }
+
+  private void createXdsClient() {
+    XdsChannelFactory xdsChannelFactory = new XdsChannelFactory() {
+      @Override
+      ManagedChannel create(ServerInfo serverInfo) {
+        return channel;
+      }
+    };
+    Bootstrapper.BootstrapInfo bootstrapInfo =
+        Bootstrapper.BootstrapInfo.builder()
+            .servers(Arrays.asList(ServerInfo.create(SERVER_URI, CHANNEL_CREDENTIALS, true)))
+            .node(NODE)
+            .build();
+    xdsClient =
+        new ClientXdsClient(
+            xdsChannelFactory,
+            bootstrapInfo,
+            Context.ROOT,
+            fakeClock.getScheduledExecutorService(),
+            backoffPolicyProvider,
+            fakeClock.getStopwatchSupplier(),
+            fakeClock.getTimeProvider(),
+            tlsContextManager,
+            null,
+            snapshotStore);
+  }
+
+  private void saveSnapshot(Any resource) {
+    long nowNanos = fakeClock.getTimeProvider().currentTimeNanos();
+    snapshotStore.save(
+        Collections.singletonList(new Entry(ResourceType.EDS, EDS_RESOURCE, resource, nowNanos)),
+        nowNanos);
+  }
+
+  private static int getPort(EdsUpdate update) {
+    Endpoints.LocalityLbEndpoints localityLbEndpoints =
+        update.localityLbEndpointsMap.values().iterator().next();
+    return ((InetSocketAddress) localityLbEndpoints.endpoints().get(0).eag().getAddresses()
+        .get(0)).getPort();
+  }
+
+  private static Any edsResource(String name, int port) {
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setLocality(Locality.newBuilder().setRegion("region").setZone("zone"))
+            .setLoadBalancingWeight(UInt32Value.of(1))
+            .addLbEndpoints(LbEndpoint.newBuilder()
+                .setEndpoint(Endpoint.newBuilder()
+                    .setAddress(Address.newBuilder()
+                        .setSocketAddress(SocketAddress.newBuilder()
+                            .setAddress("10.0.0.1").setPortValue(port))))))
+        .build());
+  }
+
+  private static Any invalidEdsResource(String name) {
+    // Negative priority LocalityLbEndpoint.
+    return Any.pack(ClusterLoadAssignment.newBuilder()
+        .setClusterName(name)
+        .addEndpoints(LocalityLbEndpoints.newBuilder()
+            .setPriority(-1)
+            .setLoadBalancingWeight(UInt32Value.of(1)))
+        .build());
+  }
+
+  private static final class AdsCall implements StreamObserver<DiscoveryRequest> {
+    private final StreamObserver<DiscoveryResponse> responseObserver;
+    private final Queue<DiscoveryRequest> requests = new ArrayDeque<>();
+
+    AdsCall(StreamObserver<DiscoveryResponse> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    void sendResponse(String versionInfo, String nonce, Any... resources) {
+      responseObserver.onNext(
+          DiscoveryResponse.newBuilder()
+              .setTypeUrl(ResourceType.EDS.typeUrl())
+              .setVersionInfo(versionInfo)
+              .setNonce(nonce)
+              .addAllResources(Arrays.asList(resources))
+              .build());
+    }
+
+    @Override
+    public void onNext(DiscoveryRequest request) {
+      requests.offer(request);
+    }
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+}
@@ -2056,6 +2056,91 @@ public abstract class ClientXdsClientTestBase {
     verify(cdsResourceWatcher, times(3)).onChanged(isA(CdsUpdate.class));
   }
 
+  @Test
+  public void cdsResourceUnchanged_notParsedAgain() {
+    DiscoveryRpcCall call = startResourceWatcher(CDS, CDS_RESOURCE, cdsResourceWatcher);
+    xdsClient.watchEdsResource(EDS_RESOURCE, edsResourceWatcher);
+    Any clusterEds = Any.pack(
+        mf.buildEdsCluster(CDS_RESOURCE, EDS_RESOURCE, "round_robin", null, null, false, null,
+            "envoy.transport_sockets.tls", null));
+    call.sendResponse(CDS, clusterEds, VERSION_1, "0000");
+    call.verifyRequest(CDS, CDS_RESOURCE, VERSION_1, "0000", NODE);
+    call.sendResponse(EDS, testClusterLoadAssignment, VERSION_1, "0000");
+    verify(edsResourceWatcher).onChanged(isA(EdsUpdate.class));
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(2);
+    assertThat(xdsClient.getResourcesSkipped()).isEqualTo(0);
+
+    // The same cluster with a new version is accepted with the data parsed before, and still
+    // references the EDS resource.
+    call.sendResponse(CDS, clusterEds, VERSION_2, "0001");
+    call.verifyRequest(CDS, CDS_RESOURCE, VERSION_2, "0001", NODE);
+    verify(cdsResourceWatcher).onChanged(isA(CdsUpdate.class));
+    verifyResourceMetadataAcked(CDS, CDS_RESOURCE, clusterEds, VERSION_2, TIME_INCREMENT * 3);
+    verifyResourceMetadataAcked(
+        EDS, EDS_RESOURCE, testClusterLoadAssignment, VERSION_1, TIME_INCREMENT * 2);
+    verify(edsResourceWatcher, never()).onResourceDoesNotExist(EDS_RESOURCE);
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(2);
+    assertThat(xdsClient.getResourcesSkipped()).isEqualTo(1);
+
+    // A changed cluster is parsed.
+    Any clusterDns = Any.pack(
+        mf.buildLogicalDnsCluster(CDS_RESOURCE, "dns-service-bar.googleapis.com", 443,
+            "round_robin", null, null, false, null, null));
+    call.sendResponse(CDS, clusterDns, VERSION_3, "0002");
+    verify(cdsResourceWatcher, times(2)).onChanged(isA(CdsUpdate.class));
+    verify(edsResourceWatcher).onResourceDoesNotExist(EDS_RESOURCE);
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(3);
+    assertThat(xdsClient.getResourcesSkipped()).isEqualTo(1);
+  }
+
+  @Test
+  public void cdsResourceRejected_parsedAgain() {
+    DiscoveryRpcCall call = startResourceWatcher(CDS, CDS_RESOURCE, cdsResourceWatcher);
+    Any clusterEds = Any.pack(
+        mf.buildEdsCluster(CDS_RESOURCE, EDS_RESOURCE, "round_robin", null, null, false, null,
+            "envoy.transport_sockets.tls", null));
+    call.sendResponse(CDS, clusterEds, VERSION_1, "0000");
+    Any invalidCluster = Any.pack(mf.buildClusterInvalid(CDS_RESOURCE));
+    List<String> errors = ImmutableList.of(
+        "CDS response Cluster '" + CDS_RESOURCE + "' validation error: ");
+
+    // The rejected cluster is parsed each time it is received.
+    call.sendResponse(CDS, invalidCluster, VERSION_2, "0001");
+    call.verifyRequestNack(CDS, CDS_RESOURCE, VERSION_1, "0001", NODE, errors);
+    call.sendResponse(CDS, invalidCluster, VERSION_2, "0002");
+    call.verifyRequestNack(CDS, CDS_RESOURCE, VERSION_1, "0002", NODE, errors);
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(3);
+    assertThat(xdsClient.getResourcesSkipped()).isEqualTo(0);
+
+    // The last accepted cluster is still known.
+    call.sendResponse(CDS, clusterEds, VERSION_3, "0003");
+    call.verifyRequest(CDS, CDS_RESOURCE, VERSION_3, "0003", NODE);
+    verify(cdsResourceWatcher).onChanged(isA(CdsUpdate.class));
+    verify(cdsResourceWatcher, never()).onError(any(Status.class));
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(3);
+    assertThat(xdsClient.getResourcesSkipped()).isEqualTo(1);
+  }
+
+  @Test
+  public void cdsResourceUnchanged_parsedAgainWhenExperimentalFeatureDisabled() {
+    DiscoveryRpcCall call = startResourceWatcher(CDS, CDS_RESOURCE, cdsResourceWatcher);
+    Any clusterLeastRequest = Any.pack(
+        mf.buildEdsCluster(CDS_RESOURCE, null, "least_request_experimental", null,
+            mf.buildLeastRequestLbConfig(3), false, null, "envoy.transport_sockets.tls", null));
+    call.sendResponse(CDS, clusterLeastRequest, VERSION_1, "0000");
+    call.verifyRequest(CDS, CDS_RESOURCE, VERSION_1, "0000", NODE);
+    verify(cdsResourceWatcher).onChanged(isA(CdsUpdate.class));
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(1);
+
+    // The cluster accepted before is no longer supported.
+    ClientXdsClient.enableLeastRequest = false;
+    call.sendResponse(CDS, clusterLeastRequest, VERSION_2, "0001");
+    call.verifyRequestNack(CDS, CDS_RESOURCE, VERSION_1, "0001", NODE, ImmutableList.of(
+        "CDS response Cluster '" + CDS_RESOURCE + "' validation error: "));
+    assertThat(xdsClient.getResourcesParsed()).isEqualTo(2);
+    assertThat(xdsClient.getResourcesSkipped()).isEqualTo(0);
+  }
+
   @Test
   public void cdsResourceDeleted() {
     DiscoveryRpcCall call = startResourceWatcher(CDS, CDS_RESOURCE, cdsResourceWatcher);
@@ -58,6 +58,8 @@ import io.grpc.internal.FakeClock.ScheduledTask;
 import io.grpc.internal.GrpcUtil;
 import io.grpc.internal.ObjectPool;
 import io.grpc.internal.ServiceConfigUtil.PolicySelection;
+import io.grpc.util.OutlierDetectionLoadBalancer.OutlierDetectionLoadBalancerConfig;
+import io.grpc.util.OutlierDetectionLoadBalancerProvider;
 import io.grpc.xds.Bootstrapper.ServerInfo;
 import io.grpc.xds.ClusterImplLoadBalancerProvider.ClusterImplConfig;
 import io.grpc.xds.ClusterResolverLoadBalancerProvider.ClusterResolverConfig;
@@ -65,6 +67,9 @@ import io.grpc.xds.ClusterResolverLoadBalancerProvider.ClusterResolverConfig.Dis
 import io.grpc.xds.Endpoints.DropOverload;
 import io.grpc.xds.Endpoints.LbEndpoint;
 import io.grpc.xds.Endpoints.LocalityLbEndpoints;
+import io.grpc.xds.EnvoyServerProtoData.FailurePercentageEjection;
+import io.grpc.xds.EnvoyServerProtoData.OutlierDetection;
+import io.grpc.xds.EnvoyServerProtoData.SuccessRateEjection;
 import io.grpc.xds.EnvoyServerProtoData.UpstreamTlsContext;
 import io.grpc.xds.LeastRequestLoadBalancer.LeastRequestConfig;
 import io.grpc.xds.PriorityLoadBalancerProvider.PriorityLbConfig;
@@ -117,9 +122,11 @@ public class ClusterResolverLoadBalancerTest {
   private final UpstreamTlsContext tlsContext =
       CommonTlsContextTestsUtil.buildUpstreamTlsContext("google_cloud_private_spiffe", true);
   private final DiscoveryMechanism edsDiscoveryMechanism1 =
-      DiscoveryMechanism.forEds(CLUSTER1, EDS_SERVICE_NAME1, LRS_SERVER_INFO, 100L, tlsContext);
+      DiscoveryMechanism.forEds(CLUSTER1, EDS_SERVICE_NAME1, LRS_SERVER_INFO, 100L, tlsContext,
+          null);
   private final DiscoveryMechanism edsDiscoveryMechanism2 =
-      DiscoveryMechanism.forEds(CLUSTER2, EDS_SERVICE_NAME2, LRS_SERVER_INFO, 200L, tlsContext);
+      DiscoveryMechanism.forEds(CLUSTER2, EDS_SERVICE_NAME2, LRS_SERVER_INFO, 200L, tlsContext,
+          null);
   private final DiscoveryMechanism logicalDnsDiscoveryMechanism =
       DiscoveryMechanism.forLogicalDns(CLUSTER_DNS, DNS_HOST_NAME, LRS_SERVER_INFO, 300L, null);
 
@@ -180,6 +187,8 @@ public class ClusterResolverLoadBalancerTest {
     lbRegistry.register(new FakeLoadBalancerProvider(PRIORITY_POLICY_NAME));
     lbRegistry.register(new FakeLoadBalancerProvider(CLUSTER_IMPL_POLICY_NAME));
     lbRegistry.register(new FakeLoadBalancerProvider(WEIGHTED_TARGET_POLICY_NAME));
+    lbRegistry.register(
+        new FakeLoadBalancerProvider(OutlierDetectionLoadBalancerProvider.POLICY_NAME));
     lbRegistry.register(
         new FakeLoadBalancerProvider("pick_first")); // needed by logical_dns
     NameResolver.Args args = NameResolver.Args.newBuilder()
@@ -273,6 +282,51 @@ public class ClusterResolverLoadBalancerTest {
     assertThat(ringHashConfig.maxRingSize).isEqualTo(100L);
   }
 
+  @Test
+  public void edsClustersWithOutlierDetection() {
+    OutlierDetection outlierDetection = OutlierDetection.create(
+        TimeUnit.SECONDS.toNanos(5), null, null, 50,
+        SuccessRateEjection.create(1500, null, 3, null),
+        FailurePercentageEjection.create(70, 100, null, 20));
+    DiscoveryMechanism edsDiscoveryMechanism = DiscoveryMechanism.forEds(
+        CLUSTER1, EDS_SERVICE_NAME1, LRS_SERVER_INFO, 100L, tlsContext, outlierDetection);
+    ClusterResolverConfig config = new ClusterResolverConfig(
+        Collections.singletonList(edsDiscoveryMechanism), roundRobin);
+    deliverLbConfig(config);
+
+    EquivalentAddressGroup endpoint = makeAddress("endpoint-addr-1");
+    LocalityLbEndpoints localityLbEndpoints =
+        LocalityLbEndpoints.create(
+            Collections.singletonList(
+                LbEndpoint.create(endpoint, 0 /* loadBalancingWeight */, true)),
+            100 /* localityWeight */, 1 /* priority */);
+    xdsClient.deliverClusterLoadAssignment(
+        EDS_SERVICE_NAME1, ImmutableMap.of(locality1, localityLbEndpoints));
+
+    FakeLoadBalancer childBalancer = Iterables.getOnlyElement(childBalancers);
+    PriorityLbConfig priorityLbConfig = (PriorityLbConfig) childBalancer.config;
+    PriorityChildConfig priorityChildConfig =
+        Iterables.getOnlyElement(priorityLbConfig.childConfigs.values());
+    ClusterImplConfig clusterImplConfig =
+        (ClusterImplConfig) priorityChildConfig.policySelection.getConfig();
+    assertClusterImplConfig(clusterImplConfig, CLUSTER1, EDS_SERVICE_NAME1, LRS_SERVER_INFO, 100L,
+        tlsContext, Collections.<DropOverload>emptyList(),
+        OutlierDetectionLoadBalancerProvider.POLICY_NAME);
+    OutlierDetectionLoadBalancerConfig outlierDetectionConfig =
+        (OutlierDetectionLoadBalancerConfig) clusterImplConfig.childPolicy.getConfig();
+    assertThat(outlierDetectionConfig.intervalNanos).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+    assertThat(outlierDetectionConfig.baseEjectionTimeNanos)
+        .isEqualTo(TimeUnit.SECONDS.toNanos(30));
+    assertThat(outlierDetectionConfig.maxEjectionPercent).isEqualTo(50);
+    assertThat(outlierDetectionConfig.successRateEjection.stdevFactor).isEqualTo(1500);
+    assertThat(outlierDetectionConfig.successRateEjection.enforcementPercentage).isEqualTo(100);
+    assertThat(outlierDetectionConfig.successRateEjection.minimumHosts).isEqualTo(3);
+    assertThat(outlierDetectionConfig.failurePercentageEjection.threshold).isEqualTo(70);
+    assertThat(outlierDetectionConfig.failurePercentageEjection.minimumHosts).isEqualTo(5);
+    assertThat(outlierDetectionConfig.failurePercentageEjection.requestVolume).isEqualTo(20);
+    assertThat(outlierDetectionConfig.childPolicy).isEqualTo(roundRobin);
+  }
+
   @Test
   public void edsClustersWithLeastRequestEndpointLbPolicy() {
     ClusterResolverConfig config = new ClusterResolverConfig(
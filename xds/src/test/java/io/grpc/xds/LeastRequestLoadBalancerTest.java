@@ -481,6 +481,44 @@ public class LeastRequestLoadBalancerTest {
         pickResult1.getSubchannel().getAttributes().get(IN_FLIGHTS).get());
   }
 
+  @Test
+  public void pickerReusesStreamTracer() throws Exception {
+    loadBalancer.handleResolvedAddresses(
+        ResolvedAddresses.newBuilder().setAddresses(servers).setAttributes(Attributes.EMPTY)
+            .setLoadBalancingPolicyConfig(new LeastRequestConfig(2))
+            .build());
+    List<Subchannel> subchannels = Lists.newArrayList(loadBalancer.getSubchannels());
+    for (Subchannel sc : subchannels) {
+      deliverSubchannelState(sc, ConnectivityStateInfo.forNonError(READY));
+    }
+    verify(mockHelper, times(4))
+        .updateBalancingState(any(ConnectivityState.class), pickerCaptor.capture());
+    ReadyPicker picker = (ReadyPicker) pickerCaptor.getValue();
+
+    when(mockRandom.nextInt(subchannels.size())).thenReturn(1, 1, 1, 1);
+    PickResult pickResult1 = picker.pickSubchannel(mockArgs);
+    PickResult pickResult2 = picker.pickSubchannel(mockArgs);
+    assertEquals(subchannels.get(1), pickResult1.getSubchannel());
+    assertThat(pickResult2.getStreamTracerFactory())
+        .isSameInstanceAs(pickResult1.getStreamTracerFactory());
+
+    ClientStreamTracer streamTracer1 = pickResult1.getStreamTracerFactory()
+        .newClientStreamTracer(StreamInfo.newBuilder().build(), new Metadata());
+    ClientStreamTracer streamTracer2 = pickResult2.getStreamTracerFactory()
+        .newClientStreamTracer(StreamInfo.newBuilder().build(), new Metadata());
+    assertThat(streamTracer2).isSameInstanceAs(streamTracer1);
+
+    // Each stream is still counted, although the streams share the tracer
+    streamTracer1.streamCreated(Attributes.EMPTY, new Metadata());
+    streamTracer2.streamCreated(Attributes.EMPTY, new Metadata());
+    assertEquals(2, subchannels.get(1).getAttributes().get(IN_FLIGHTS).get());
+    streamTracer1.streamClosed(Status.OK);
+    assertEquals(1, subchannels.get(1).getAttributes().get(IN_FLIGHTS).get());
+    streamTracer2.streamClosed(Status.CANCELLED);
+    assertEquals(0, subchannels.get(1).getAttributes().get(IN_FLIGHTS).get());
+    assertEquals(0, subchannels.get(0).getAttributes().get(IN_FLIGHTS).get());
+  }
+
   @Test
   public void pickerEmptyList() throws Exception {
     SubchannelPicker picker = new EmptyPicker(Status.UNKNOWN);
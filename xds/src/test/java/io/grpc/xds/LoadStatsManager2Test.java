@@ -28,6 +28,7 @@ import io.grpc.xds.Stats.DroppedRequests;
 import io.grpc.xds.Stats.UpstreamLocalityStats;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 import org.junit.Test;
@@ -247,6 +248,62 @@ public class LoadStatsManager2Test {
     assertThat(loadStatsManager.getClusterStatsReports(CLUSTER_NAME1)).isEmpty();
   }
 
+  @Test
+  public void concurrentRecording_noCountLostAcrossReports() throws Exception {
+    final ClusterDropStats dropCounter = loadStatsManager.getClusterDropStats(
+        CLUSTER_NAME1, EDS_SERVICE_NAME1);
+    final ClusterLocalityStats loadCounter = loadStatsManager.getClusterLocalityStats(
+        CLUSTER_NAME1, EDS_SERVICE_NAME1, LOCALITY1);
+    final int threadCount = 8;
+    final int callsPerThread = 10000;
+    final CountDownLatch finished = new CountDownLatch(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int call = 0; call < callsPerThread; call++) {
+            loadCounter.recordCallStarted();
+            loadCounter.recordCallFinished(call % 2 == 0 ? Status.OK : Status.UNAVAILABLE);
+            dropCounter.recordDroppedRequest("lb");
+            dropCounter.recordDroppedRequest();
+          }
+          finished.countDown();
+        }
+      }).start();
+    }
+
+    long issued = 0;
+    long succeeded = 0;
+    long failed = 0;
+    long categorizedDrops = 0;
+    long totalDrops = 0;
+    // The calls recorded while a report is taken are in one of the two next ones.
+    for (int reportsAfterDone = 0; reportsAfterDone < 2; ) {
+      boolean done = finished.await(1, TimeUnit.MILLISECONDS);
+      ClusterStats stats = Iterables.getOnlyElement(
+          loadStatsManager.getClusterStatsReports(CLUSTER_NAME1));
+      UpstreamLocalityStats localityStats =
+          Iterables.getOnlyElement(stats.upstreamLocalityStatsList());
+      issued += localityStats.totalIssuedRequests();
+      succeeded += localityStats.totalSuccessfulRequests();
+      failed += localityStats.totalErrorRequests();
+      for (DroppedRequests drops : stats.droppedRequestsList()) {
+        categorizedDrops += drops.droppedCount();
+      }
+      totalDrops += stats.totalDroppedRequests();
+      if (done) {
+        assertThat(localityStats.totalRequestsInProgress()).isEqualTo(0L);
+        reportsAfterDone++;
+      }
+    }
+    long calls = (long) threadCount * callsPerThread;
+    assertThat(issued).isEqualTo(calls);
+    assertThat(succeeded).isEqualTo(calls / 2);
+    assertThat(failed).isEqualTo(calls / 2);
+    assertThat(categorizedDrops).isEqualTo(calls);
+    assertThat(totalDrops).isEqualTo(2 * calls);
+  }
+
   @Nullable
   private static ClusterStats findClusterStats(
       List<ClusterStats> statsList, String cluster, @Nullable String edsServiceName) {
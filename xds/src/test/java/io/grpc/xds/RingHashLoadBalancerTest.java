@@ -54,16 +54,19 @@ import io.grpc.Status.Code;
 import io.grpc.SynchronizationContext;
 import io.grpc.internal.PickSubchannelArgsImpl;
 import io.grpc.testing.TestMethodDescriptors;
+import io.grpc.xds.RingHashLoadBalancer.Ring;
 import io.grpc.xds.RingHashLoadBalancer.RingHashConfig;
 import java.lang.Thread.UncaughtExceptionHandler;
 import java.net.SocketAddress;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -1046,6 +1049,110 @@ public class RingHashLoadBalancerTest {
     verifyNoMoreInteractions(helper);
   }
 
+  @Test
+  public void ring_hashKeysUseTheEndpointAddressAndIndex() {
+    EquivalentAddressGroup endpoint = new EquivalentAddressGroup(new FakeSocketAddress("server0"));
+    Ring ring = Ring.build(new EquivalentAddressGroup[] {endpoint}, new int[] {12}, null);
+
+    List<Long> expected = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      expected.add(hashFunc.hashAsciiString("[FakeSocketAddress-server0]_" + i));
+    }
+    List<Long> actual = new ArrayList<>();
+    for (long hash : ring.hashes) {
+      actual.add(hash);
+    }
+    assertThat(actual).containsExactlyElementsIn(expected);
+    assertThat(actual).isInOrder();
+  }
+
+  @Test
+  public void ring_lookupFindsNextHashClockwise() {
+    Ring ring = Ring.build(createEndpoints(20), createHashCounts(20, 50), null);
+    Random random = new Random(1);
+    for (int i = 0; i < 1000; i++) {
+      long hash = random.nextLong();
+      assertThat(ring.lookup(hash)).isEqualTo(lookupLinearly(ring, hash));
+    }
+    for (int position = 0; position < ring.hashes.length; position++) {
+      long hash = ring.hashes[position];
+      assertThat(ring.lookup(hash)).isEqualTo(lookupLinearly(ring, hash));
+      assertThat(ring.lookup(hash - 1)).isEqualTo(lookupLinearly(ring, hash - 1));
+      assertThat(ring.lookup(hash + 1)).isEqualTo(lookupLinearly(ring, hash + 1));
+    }
+    assertThat(ring.lookup(Long.MIN_VALUE)).isEqualTo(0);
+    // Past the last hash wraps around
+    assertThat(ring.lookup(Long.MAX_VALUE)).isEqualTo(lookupLinearly(ring, Long.MAX_VALUE));
+  }
+
+  @Test
+  public void ring_incrementalRebuildMatchesFullBuild() {
+    EquivalentAddressGroup[] endpoints = createEndpoints(30);
+    int[] hashCounts = createHashCounts(30, 40);
+    Ring previous = Ring.build(endpoints, hashCounts, null);
+
+    // Replace one endpoint, change the weight of another and reorder the rest
+    EquivalentAddressGroup[] newEndpoints = new EquivalentAddressGroup[30];
+    int[] newHashCounts = new int[30];
+    for (int i = 0; i < 30; i++) {
+      newEndpoints[i] = endpoints[29 - i];
+      newHashCounts[i] = hashCounts[29 - i];
+    }
+    newEndpoints[3] = new EquivalentAddressGroup(new FakeSocketAddress("new-server"));
+    newHashCounts[7]++;
+
+    Ring rebuilt = Ring.build(newEndpoints, newHashCounts, previous);
+    Ring built = Ring.build(newEndpoints, newHashCounts, null);
+    assertThat(rebuilt.hashes).isEqualTo(built.hashes);
+    assertThat(rebuilt.endpointIndices).isEqualTo(built.endpointIndices);
+  }
+
+  @Test
+  public void ring_sortByHash() {
+    Random random = new Random(1);
+    long[] hashes = new long[1000];
+    int[] endpointIndices = new int[1000];
+    for (int i = 0; i < hashes.length; i++) {
+      hashes[i] = random.nextLong();
+      endpointIndices[i] = i;
+    }
+    long[] unsorted = hashes.clone();
+    long[] expected = hashes.clone();
+    Arrays.sort(expected);
+
+    Ring.sortByHash(hashes, endpointIndices);
+    assertThat(hashes).isEqualTo(expected);
+    for (int i = 0; i < hashes.length; i++) {
+      assertThat(unsorted[endpointIndices[i]]).isEqualTo(hashes[i]);
+    }
+  }
+
+  private static EquivalentAddressGroup[] createEndpoints(int count) {
+    EquivalentAddressGroup[] endpoints = new EquivalentAddressGroup[count];
+    for (int i = 0; i < count; i++) {
+      endpoints[i] = new EquivalentAddressGroup(new FakeSocketAddress("server" + i));
+    }
+    return endpoints;
+  }
+
+  private static int[] createHashCounts(int count, int maxHashCount) {
+    Random random = new Random(count);
+    int[] hashCounts = new int[count];
+    for (int i = 0; i < count; i++) {
+      hashCounts[i] = 1 + random.nextInt(maxHashCount);
+    }
+    return hashCounts;
+  }
+
+  private static int lookupLinearly(Ring ring, long hash) {
+    for (int position = 0; position < ring.hashes.length; position++) {
+      if (ring.hashes[position] >= hash) {
+        return position;
+      }
+    }
+    return 0;
+  }
+
   private void deliverSubchannelState(Subchannel subchannel, ConnectivityStateInfo state) {
     subchannelStateListeners.get(subchannel).onSubchannelState(state);
   }
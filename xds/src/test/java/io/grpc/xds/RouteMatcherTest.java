@@ -0,0 +1,169 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.re2j.Pattern;
+import io.grpc.Metadata;
+import io.grpc.xds.Filter.FilterConfig;
+import io.grpc.xds.VirtualHost.Route;
+import io.grpc.xds.VirtualHost.Route.RouteAction;
+import io.grpc.xds.VirtualHost.Route.RouteMatch;
+import io.grpc.xds.VirtualHost.Route.RouteMatch.PathMatcher;
+import io.grpc.xds.internal.Matchers.FractionMatcher;
+import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link RouteMatcher}. */
+@RunWith(JUnit4.class)
+public class RouteMatcherTest {
+  private static final Metadata.Key<String> CANARY_KEY =
+      Metadata.Key.of("x-canary", Metadata.ASCII_STRING_MARSHALLER);
+
+  private final ThreadSafeRandom random = mock(ThreadSafeRandom.class);
+
+  @Test
+  public void firstMatchingRouteSelected() {
+    Route exact = newRoute(PathMatcher.fromPath("/FooService/barMethod", true), "exact");
+    Route prefix = newRoute(PathMatcher.fromPrefix("/FooService/", true), "prefix");
+    Route regEx = newRoute(PathMatcher.fromRegEx(Pattern.compile(".*Method")), "regex");
+    Route catchAll = newRoute(PathMatcher.fromPrefix("", true), "default");
+    RouteMatcher routeMatcher = new RouteMatcher(Arrays.asList(exact, prefix, regEx, catchAll));
+
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(exact);
+    assertThat(match(routeMatcher, "FooService/bazMethod")).isSameInstanceAs(prefix);
+    assertThat(match(routeMatcher, "BarService/bazMethod")).isSameInstanceAs(regEx);
+    assertThat(match(routeMatcher, "BarService/baz")).isSameInstanceAs(catchAll);
+  }
+
+  @Test
+  public void exactPathRouteAfterMatchingPrefixRoute_notSelected() {
+    Route prefix = newRoute(PathMatcher.fromPrefix("/FooService/", true), "prefix");
+    Route exact = newRoute(PathMatcher.fromPath("/FooService/barMethod", true), "exact");
+    RouteMatcher routeMatcher = new RouteMatcher(Arrays.asList(prefix, exact));
+
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(prefix);
+  }
+
+  @Test
+  public void caseInsensitivePaths() {
+    Route exact = newRoute(PathMatcher.fromPath("/FooService/barMethod", false), "exact");
+    Route prefix = newRoute(PathMatcher.fromPrefix("/BarService/", false), "prefix");
+    RouteMatcher routeMatcher = new RouteMatcher(Arrays.asList(exact, prefix));
+
+    assertThat(match(routeMatcher, "fooservice/BARMETHOD")).isSameInstanceAs(exact);
+    assertThat(match(routeMatcher, "barservice/bazMethod")).isSameInstanceAs(prefix);
+    assertThat(match(routeMatcher, "BazService/bazMethod")).isNull();
+  }
+
+  @Test
+  public void headerMatchersEvaluatedForEachRpc() {
+    Route canary = newRoute(
+        RouteMatch.create(
+            PathMatcher.fromPrefix("/FooService/", true),
+            Collections.singletonList(HeaderMatcher.forExactValue("x-canary", "true", false)),
+            null),
+        "canary");
+    Route stable = newRoute(PathMatcher.fromPrefix("/FooService/", true), "stable");
+    RouteMatcher routeMatcher = new RouteMatcher(Arrays.asList(canary, stable));
+    Metadata canaryHeaders = new Metadata();
+    canaryHeaders.put(CANARY_KEY, "true");
+
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(stable);
+    assertThat(routeMatcher.match("FooService/barMethod", canaryHeaders, random))
+        .isSameInstanceAs(canary);
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(stable);
+  }
+
+  @Test
+  public void headerValuesJoined() {
+    Route route = newRoute(
+        RouteMatch.create(
+            PathMatcher.fromPrefix("/", true),
+            Collections.singletonList(HeaderMatcher.forExactValue("x-canary", "a,b", false)),
+            null),
+        "route");
+    RouteMatcher routeMatcher = new RouteMatcher(Collections.singletonList(route));
+    Metadata headers = new Metadata();
+    headers.put(CANARY_KEY, "a");
+    headers.put(CANARY_KEY, "b");
+
+    assertThat(routeMatcher.match("FooService/barMethod", headers, random))
+        .isSameInstanceAs(route);
+  }
+
+  @Test
+  public void fractionMatcherEvaluatedForEachRpc() {
+    Route fraction = newRoute(
+        RouteMatch.create(
+            PathMatcher.fromPrefix("/", true),
+            Collections.<HeaderMatcher>emptyList(),
+            FractionMatcher.create(10, 100)),
+        "fraction");
+    Route other = newRoute(PathMatcher.fromPrefix("/", true), "other");
+    RouteMatcher routeMatcher = new RouteMatcher(Arrays.asList(fraction, other));
+
+    when(random.nextInt(100)).thenReturn(5, 50, 9);
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(fraction);
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(other);
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(fraction);
+  }
+
+  @Test
+  public void methodsBeyondCacheLimitStillMatched() {
+    Route exact = newRoute(PathMatcher.fromPath("/FooService/barMethod", true), "exact");
+    Route prefix = newRoute(PathMatcher.fromPrefix("/FooService/", true), "prefix");
+    RouteMatcher routeMatcher = new RouteMatcher(Arrays.asList(exact, prefix));
+
+    for (int i = 0; i < RouteMatcher.MAX_CACHED_METHODS + 10; i++) {
+      assertThat(match(routeMatcher, "FooService/method" + i)).isSameInstanceAs(prefix);
+    }
+    assertThat(match(routeMatcher, "FooService/barMethod")).isSameInstanceAs(exact);
+    assertThat(match(routeMatcher, "BarService/barMethod")).isNull();
+  }
+
+  @Test
+  public void noRoutes() {
+    RouteMatcher routeMatcher = new RouteMatcher(Collections.<Route>emptyList());
+
+    assertThat(match(routeMatcher, "FooService/barMethod")).isNull();
+  }
+
+  private Route match(RouteMatcher routeMatcher, String fullMethodName) {
+    return routeMatcher.match(fullMethodName, new Metadata(), random);
+  }
+
+  private static Route newRoute(PathMatcher pathMatcher, String cluster) {
+    return newRoute(
+        RouteMatch.create(pathMatcher, Collections.<HeaderMatcher>emptyList(), null), cluster);
+  }
+
+  private static Route newRoute(RouteMatch routeMatch, String cluster) {
+    return Route.forAction(
+        routeMatch,
+        RouteAction.forCluster(
+            cluster, Collections.<RouteAction.HashPolicy>emptyList(), null, null),
+        Collections.<String, FilterConfig>emptyMap());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import io.grpc.xds.Filter.FilterConfig;
+import io.grpc.xds.VirtualHost.Route;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link VirtualHostMatcher}. */
+@RunWith(JUnit4.class)
+public class VirtualHostMatcherTest {
+
+  @Test
+  public void exactMatchFirst() {
+    VirtualHost vHost1 = newVirtualHost("*.googleapis.com");
+    VirtualHost vHost2 = newVirtualHost("a.googleapis.com", "b.googleapis.com");
+    VirtualHost vHost3 = newVirtualHost("*");
+    VirtualHostMatcher matcher = new VirtualHostMatcher(Arrays.asList(vHost1, vHost2, vHost3));
+
+    assertThat(matcher.find("a.googleapis.com")).isSameInstanceAs(vHost2);
+    assertThat(matcher.find("c.googleapis.com")).isSameInstanceAs(vHost1);
+    assertThat(matcher.find("googleapis.com")).isSameInstanceAs(vHost3);
+  }
+
+  @Test
+  public void longestWildcardFirst() {
+    VirtualHost vHost1 = newVirtualHost("*.com");
+    VirtualHost vHost2 = newVirtualHost("*.googleapis.com");
+    VirtualHost vHost3 = newVirtualHost("foo.*");
+    VirtualHost vHost4 = newVirtualHost("foo.googleapis.*");
+    VirtualHostMatcher matcher =
+        new VirtualHostMatcher(Arrays.asList(vHost1, vHost2, vHost3, vHost4));
+
+    assertThat(matcher.find("bar.googleapis.com")).isSameInstanceAs(vHost2);
+    assertThat(matcher.find("foo.googleapis.org")).isSameInstanceAs(vHost4);
+    assertThat(matcher.find("foo.example.com")).isSameInstanceAs(vHost1);
+    assertThat(matcher.find("foo.example.org")).isSameInstanceAs(vHost3);
+    assertThat(matcher.find("bar.example.org")).isNull();
+  }
+
+  @Test
+  public void preferSuffixDomainOverPrefixDomainOfSameLength() {
+    VirtualHost vHost1 = newVirtualHost("a.googleapis.*");
+    VirtualHost vHost2 = newVirtualHost("*.googleapis.com");
+    VirtualHostMatcher matcher = new VirtualHostMatcher(Arrays.asList(vHost1, vHost2));
+
+    assertThat(matcher.find("a.googleapis.com")).isSameInstanceAs(vHost2);
+  }
+
+  @Test
+  public void duplicateDomains() {
+    VirtualHost vHost1 = newVirtualHost("a.googleapis.com", "*.googleapis.com", "a.*");
+    VirtualHost vHost2 = newVirtualHost("a.googleapis.com", "*.googleapis.com", "a.*");
+    VirtualHostMatcher matcher = new VirtualHostMatcher(Arrays.asList(vHost1, vHost2));
+
+    assertThat(matcher.find("a.googleapis.com")).isSameInstanceAs(vHost1);
+    assertThat(matcher.find("b.googleapis.com")).isSameInstanceAs(vHost2);
+    assertThat(matcher.find("a.example.com")).isSameInstanceAs(vHost1);
+  }
+
+  @Test
+  public void wildcardMatchesAtLeastOneCharacter() {
+    VirtualHost vHost1 = newVirtualHost("*.googleapis.com");
+    VirtualHost vHost2 = newVirtualHost("googleapis.*");
+    VirtualHostMatcher matcher = new VirtualHostMatcher(Arrays.asList(vHost1, vHost2));
+
+    assertThat(matcher.find("x.googleapis.com")).isSameInstanceAs(vHost1);
+    assertThat(matcher.find("googleapis.x")).isSameInstanceAs(vHost2);
+    assertThat(matcher.find("googleapis.com")).isSameInstanceAs(vHost2);
+    assertThat(new VirtualHostMatcher(Collections.singletonList(vHost1)).find("googleapis.com"))
+        .isNull();
+  }
+
+  @Test
+  public void caseInsensitive() {
+    VirtualHost vHost1 = newVirtualHost("A.GoogleApis.com");
+    VirtualHost vHost2 = newVirtualHost("*.Example.com");
+    VirtualHostMatcher matcher = new VirtualHostMatcher(Arrays.asList(vHost1, vHost2));
+
+    assertThat(matcher.find("a.googleapis.COM")).isSameInstanceAs(vHost1);
+    assertThat(matcher.find("FOO.example.com")).isSameInstanceAs(vHost2);
+  }
+
+  @Test
+  public void domainsThatNeverMatch_ignored() {
+    VirtualHost vHost1 = newVirtualHost("*foo*", "foo.*.com", "", ".foo.com", "foo.com.");
+    VirtualHost vHost2 = newVirtualHost("*");
+    VirtualHostMatcher matcher = new VirtualHostMatcher(Arrays.asList(vHost1, vHost2));
+
+    assertThat(matcher.find("afoob")).isSameInstanceAs(vHost2);
+    assertThat(matcher.find("foo.bar.com")).isSameInstanceAs(vHost2);
+    assertThat(matcher.find("foo.com")).isSameInstanceAs(vHost2);
+  }
+
+  @Test
+  public void invalidHostName() {
+    VirtualHostMatcher matcher =
+        new VirtualHostMatcher(Collections.singletonList(newVirtualHost("*")));
+
+    try {
+      matcher.find(".foo.com");
+      fail("exception expected");
+    } catch (IllegalArgumentException expected) {
+      assertThat(expected).hasMessageThat().contains("Invalid host name");
+    }
+  }
+
+  private static VirtualHost newVirtualHost(String... domains) {
+    return VirtualHost.create(
+        "virtualhost", Arrays.asList(domains), Collections.<Route>emptyList(),
+        ImmutableMap.<String, FilterConfig>of());
+  }
+}
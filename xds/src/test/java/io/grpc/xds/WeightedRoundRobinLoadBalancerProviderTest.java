@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.InternalServiceProviders;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancerProvider;
+import io.grpc.NameResolver.ConfigOrError;
+import io.grpc.Status.Code;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.FakeClock;
+import io.grpc.internal.JsonParser;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.WeightedRoundRobinConfig;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link WeightedRoundRobinLoadBalancerProvider}. */
+@RunWith(JUnit4.class)
+public class WeightedRoundRobinLoadBalancerProviderTest {
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      new Thread.UncaughtExceptionHandler() {
+        @Override
+        public void uncaughtException(Thread t, Throwable e) {
+          throw new AssertionError(e);
+        }
+      });
+  private final FakeClock fakeClock = new FakeClock();
+  private final WeightedRoundRobinLoadBalancerProvider provider =
+      new WeightedRoundRobinLoadBalancerProvider();
+
+  @Test
+  public void provided() {
+    for (LoadBalancerProvider current : InternalServiceProviders.getCandidatesViaServiceLoader(
+        LoadBalancerProvider.class, getClass().getClassLoader())) {
+      if (current instanceof WeightedRoundRobinLoadBalancerProvider) {
+        return;
+      }
+    }
+    fail("WeightedRoundRobinLoadBalancerProvider not registered");
+  }
+
+  @Test
+  public void providesLoadBalancer() {
+    Helper helper = mock(Helper.class);
+    when(helper.getSynchronizationContext()).thenReturn(syncContext);
+    when(helper.getScheduledExecutorService())
+        .thenReturn(fakeClock.getScheduledExecutorService());
+    assertThat(provider.newLoadBalancer(helper))
+        .isInstanceOf(WeightedRoundRobinLoadBalancer.class);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_valid() throws IOException {
+    String lbConfig = "{\"enableOobLoadReport\" : true, "
+        + "\"oobReportingPeriod\" : \"5s\", "
+        + "\"blackoutPeriod\" : \"20s\", "
+        + "\"weightExpirationPeriod\" : \"60s\", "
+        + "\"weightUpdatePeriod\" : \"2s\"}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+    assertThat(configOrError.getConfig()).isNotNull();
+    WeightedRoundRobinConfig config = (WeightedRoundRobinConfig) configOrError.getConfig();
+    assertThat(config.enableOobLoadReport).isTrue();
+    assertThat(config.oobReportingPeriodNanos).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+    assertThat(config.blackoutPeriodNanos).isEqualTo(TimeUnit.SECONDS.toNanos(20));
+    assertThat(config.weightExpirationPeriodNanos).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+    assertThat(config.weightUpdatePeriodNanos).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_empty_useDefaults() throws IOException {
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject("{}"));
+    assertThat(configOrError.getConfig()).isNotNull();
+    WeightedRoundRobinConfig config = (WeightedRoundRobinConfig) configOrError.getConfig();
+    WeightedRoundRobinConfig defaults = WeightedRoundRobinConfig.DEFAULT;
+    assertThat(config.enableOobLoadReport).isEqualTo(defaults.enableOobLoadReport);
+    assertThat(config.oobReportingPeriodNanos).isEqualTo(defaults.oobReportingPeriodNanos);
+    assertThat(config.blackoutPeriodNanos).isEqualTo(defaults.blackoutPeriodNanos);
+    assertThat(config.weightExpirationPeriodNanos)
+        .isEqualTo(defaults.weightExpirationPeriodNanos);
+    assertThat(config.weightUpdatePeriodNanos).isEqualTo(defaults.weightUpdatePeriodNanos);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_weightUpdatePeriodHasMinimum() throws IOException {
+    String lbConfig = "{\"weightUpdatePeriod\" : \"0.001s\"}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+    WeightedRoundRobinConfig config = (WeightedRoundRobinConfig) configOrError.getConfig();
+    assertThat(config.weightUpdatePeriodNanos)
+        .isEqualTo(WeightedRoundRobinLoadBalancerProvider.MIN_WEIGHT_UPDATE_PERIOD_NANOS);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalid_negativeBlackoutPeriod() throws IOException {
+    String lbConfig = "{\"blackoutPeriod\" : \"-1s\"}";
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(parseJsonObject(lbConfig));
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getCode()).isEqualTo(Code.INVALID_ARGUMENT);
+  }
+
+  @Test
+  public void parseLoadBalancingConfig_invalidDuration() throws IOException {
+    Map<String, ?> lbConfig = parseJsonObject("{\"blackoutPeriod\" : \"ten seconds\"}");
+    ConfigOrError configOrError =
+        provider.parseLoadBalancingPolicyConfig(lbConfig);
+    assertThat(configOrError.getError()).isNotNull();
+    assertThat(configOrError.getError().getDescription()).isEqualTo(
+        "Failed to parse weighted_round_robin_experimental LB config: " + lbConfig);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> parseJsonObject(String json) throws IOException {
+    return (Map<String, ?>) JsonParser.parse(json);
+  }
+}
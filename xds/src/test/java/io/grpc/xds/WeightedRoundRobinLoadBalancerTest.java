@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.grpc.ConnectivityState.CONNECTING;
+import static io.grpc.ConnectivityState.READY;
+import static io.grpc.xds.WeightedRoundRobinLoadBalancer.ENDPOINT_WEIGHT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.xds.data.orca.v3.OrcaLoadReport;
+import io.grpc.Attributes;
+import io.grpc.ConnectivityState;
+import io.grpc.ConnectivityStateInfo;
+import io.grpc.EquivalentAddressGroup;
+import io.grpc.LoadBalancer.CreateSubchannelArgs;
+import io.grpc.LoadBalancer.Helper;
+import io.grpc.LoadBalancer.PickResult;
+import io.grpc.LoadBalancer.PickSubchannelArgs;
+import io.grpc.LoadBalancer.ResolvedAddresses;
+import io.grpc.LoadBalancer.Subchannel;
+import io.grpc.LoadBalancer.SubchannelPicker;
+import io.grpc.LoadBalancer.SubchannelStateListener;
+import io.grpc.SynchronizationContext;
+import io.grpc.internal.FakeClock;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.EndpointWeight;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.ReadyPicker;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.StaticStrideScheduler;
+import io.grpc.xds.WeightedRoundRobinLoadBalancer.WeightedRoundRobinConfig;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/** Unit test for {@link WeightedRoundRobinLoadBalancer}. */
+@RunWith(JUnit4.class)
+public class WeightedRoundRobinLoadBalancerTest {
+  private static final long BLACKOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+  private static final long EXPIRATION_NANOS = TimeUnit.MINUTES.toNanos(3);
+  private static final WeightedRoundRobinConfig CONFIG = new WeightedRoundRobinConfig(
+      false,
+      TimeUnit.SECONDS.toNanos(10),
+      BLACKOUT_NANOS,
+      EXPIRATION_NANOS,
+      TimeUnit.SECONDS.toNanos(1));
+
+  private final SynchronizationContext syncContext = new SynchronizationContext(
+      new Thread.UncaughtExceptionHandler() {
+        @Override
+        public void uncaughtException(Thread t, Throwable e) {
+          throw new AssertionError(e);
+        }
+      });
+  private final FakeClock fakeClock = new FakeClock();
+  private final List<EquivalentAddressGroup> servers = new ArrayList<>();
+  private final Map<List<EquivalentAddressGroup>, Subchannel> subchannels = new HashMap<>();
+  private final Map<Subchannel, SubchannelStateListener> subchannelStateListeners =
+      new LinkedHashMap<>();
+
+  @Captor
+  private ArgumentCaptor<SubchannelPicker> pickerCaptor;
+  @Mock
+  private Helper mockHelper;
+  @Mock
+  private ThreadSafeRandom mockRandom;
+  @Mock
+  private PickSubchannelArgs mockArgs;
+
+  private WeightedRoundRobinLoadBalancer loadBalancer;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    for (int i = 0; i < 3; i++) {
+      EquivalentAddressGroup eag = new EquivalentAddressGroup(new FakeSocketAddress("server" + i));
+      servers.add(eag);
+      subchannels.put(Arrays.asList(eag), mock(Subchannel.class));
+    }
+    when(mockHelper.getSynchronizationContext()).thenReturn(syncContext);
+    when(mockHelper.getScheduledExecutorService())
+        .thenReturn(fakeClock.getScheduledExecutorService());
+    when(mockHelper.createSubchannel(any(CreateSubchannelArgs.class)))
+        .then(new Answer<Subchannel>() {
+          @Override
+          public Subchannel answer(InvocationOnMock invocation) throws Throwable {
+            CreateSubchannelArgs args = (CreateSubchannelArgs) invocation.getArguments()[0];
+            final Subchannel subchannel = subchannels.get(args.getAddresses());
+            when(subchannel.getAllAddresses()).thenReturn(args.getAddresses());
+            when(subchannel.getAddresses()).thenReturn(args.getAddresses().get(0));
+            when(subchannel.getAttributes()).thenReturn(args.getAttributes());
+            doAnswer(
+                new Answer<Void>() {
+                  @Override
+                  public Void answer(InvocationOnMock invocation) throws Throwable {
+                    subchannelStateListeners.put(
+                        subchannel, (SubchannelStateListener) invocation.getArguments()[0]);
+                    return null;
+                  }
+                }).when(subchannel).start(any(SubchannelStateListener.class));
+            return subchannel;
+          }
+        });
+    loadBalancer =
+        new WeightedRoundRobinLoadBalancer(mockHelper, fakeClock.getTicker(), mockRandom);
+  }
+
+  @After
+  public void tearDown() {
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        loadBalancer.shutdown();
+      }
+    });
+    assertThat(fakeClock.getPendingTasks()).isEmpty();
+  }
+
+  @Test
+  public void noWeights_behavesLikeRoundRobin() {
+    startAllReady();
+
+    Map<Subchannel, Integer> counts = countPicks(latestPicker(), 3000);
+    for (Subchannel subchannel : subchannels.values()) {
+      assertThat(counts.get(subchannel)).isEqualTo(1000);
+    }
+  }
+
+  @Test
+  public void reportedWeights_usedAfterBlackoutPeriod() {
+    startAllReady();
+    reportAll(100, 200, 300);
+
+    // Still within the blackout period
+    fakeClock.forwardTime(1, TimeUnit.SECONDS);
+    Map<Subchannel, Integer> counts = countPicks(latestPicker(), 6000);
+    assertThat(counts.get(subchannelAt(0))).isEqualTo(2000);
+
+    reportAll(100, 200, 300);
+    fakeClock.forwardNanos(BLACKOUT_NANOS);
+    counts = countPicks(latestPicker(), 6000);
+    assertThat((double) counts.get(subchannelAt(0))).isWithin(60).of(1000);
+    assertThat((double) counts.get(subchannelAt(1))).isWithin(60).of(2000);
+    assertThat((double) counts.get(subchannelAt(2))).isWithin(60).of(3000);
+  }
+
+  @Test
+  public void expiredWeights_ignored() {
+    startAllReady();
+    reportAll(100, 200, 300);
+    fakeClock.forwardNanos(BLACKOUT_NANOS);
+    assertThat(((ReadyPicker) latestPicker()).getList()).hasSize(3);
+
+    // No more reports arrive
+    fakeClock.forwardNanos(EXPIRATION_NANOS);
+    Map<Subchannel, Integer> counts = countPicks(latestPicker(), 3000);
+    for (Subchannel subchannel : subchannels.values()) {
+      assertThat(counts.get(subchannel)).isEqualTo(1000);
+    }
+  }
+
+  @Test
+  public void pickResult_hasPerRequestTracerFactory() {
+    startAllReady();
+    PickResult result = latestPicker().pickSubchannel(mockArgs);
+    assertThat(result.getStreamTracerFactory())
+        .isSameInstanceAs(getEndpointWeight(result.getSubchannel()).perRequestTracerFactory);
+  }
+
+  @Test
+  public void subchannelReconnect_restartsBlackoutPeriod() {
+    startAllReady();
+    reportAll(100, 200, 300);
+    fakeClock.forwardNanos(BLACKOUT_NANOS);
+
+    Subchannel subchannel = subchannelAt(2);
+    deliverSubchannelState(subchannel, ConnectivityStateInfo.forNonError(CONNECTING));
+    deliverSubchannelState(subchannel, ConnectivityStateInfo.forNonError(READY));
+    assertThat(getEndpointWeight(subchannel).getWeight(
+        fakeClock.getTicker().read(), BLACKOUT_NANOS, EXPIRATION_NANOS)).isEqualTo(0);
+  }
+
+  @Test
+  public void endpointWeight_ignoresReportsWithoutUtilization() {
+    EndpointWeight weight = new EndpointWeight(fakeClock.getTicker());
+    weight.onLoadReport(OrcaLoadReport.newBuilder().setRps(100).build());
+    fakeClock.forwardNanos(BLACKOUT_NANOS);
+    assertThat(weight.getWeight(fakeClock.getTicker().read(), BLACKOUT_NANOS, EXPIRATION_NANOS))
+        .isEqualTo(0);
+  }
+
+  @Test
+  public void endpointWeight_qpsPerUtilization() {
+    EndpointWeight weight = new EndpointWeight(fakeClock.getTicker());
+    weight.onLoadReport(
+        OrcaLoadReport.newBuilder().setRps(100).setCpuUtilization(0.5).build());
+    assertThat(weight.getWeight(fakeClock.getTicker().read(), 0, EXPIRATION_NANOS))
+        .isEqualTo(200);
+  }
+
+  @Test
+  public void scheduler_missingWeightsUseMean() {
+    StaticStrideScheduler scheduler = new StaticStrideScheduler(new float[] {1, 0, 3}, 0);
+    int[] scaledWeights = scheduler.getScaledWeights();
+    assertThat(scaledWeights[2]).isEqualTo(StaticStrideScheduler.MAX_WEIGHT);
+    assertThat(scaledWeights[1]).isEqualTo(2 * scaledWeights[0]);
+  }
+
+  @Test
+  public void scheduler_picksInProportionToWeights() {
+    StaticStrideScheduler scheduler =
+        new StaticStrideScheduler(new float[] {1, 2, 3, 4}, Integer.MAX_VALUE - 100);
+    int[] counts = new int[4];
+    for (int i = 0; i < 10000; i++) {
+      counts[scheduler.pick()]++;
+    }
+    for (int i = 0; i < counts.length; i++) {
+      assertThat((double) counts[i]).isWithin(50).of(1000 * (i + 1));
+    }
+  }
+
+  @Test
+  public void scheduler_tinyWeightStillPicked() {
+    StaticStrideScheduler scheduler =
+        new StaticStrideScheduler(new float[] {1e-9f, 1}, 0);
+    assertThat(scheduler.getScaledWeights()[0]).isEqualTo(1);
+  }
+
+  private void startAllReady() {
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        loadBalancer.handleResolvedAddresses(
+            ResolvedAddresses.newBuilder()
+                .setAddresses(servers)
+                .setAttributes(Attributes.EMPTY)
+                .setLoadBalancingPolicyConfig(CONFIG)
+                .build());
+      }
+    });
+    for (Subchannel subchannel : subchannelStateListeners.keySet()) {
+      deliverSubchannelState(subchannel, ConnectivityStateInfo.forNonError(READY));
+    }
+  }
+
+  private void deliverSubchannelState(
+      final Subchannel subchannel, final ConnectivityStateInfo state) {
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        subchannelStateListeners.get(subchannel).onSubchannelState(state);
+      }
+    });
+  }
+
+  private void reportAll(int... qps) {
+    for (int i = 0; i < qps.length; i++) {
+      getEndpointWeight(subchannelAt(i)).onLoadReport(
+          OrcaLoadReport.newBuilder().setRps(qps[i]).setCpuUtilization(0.5).build());
+    }
+  }
+
+  private Subchannel subchannelAt(int index) {
+    return subchannels.get(Arrays.asList(servers.get(index)));
+  }
+
+  private SubchannelPicker latestPicker() {
+    verify(mockHelper, atLeastOnce())
+        .updateBalancingState(eq(ConnectivityState.READY), pickerCaptor.capture());
+    return pickerCaptor.getValue();
+  }
+
+  private Map<Subchannel, Integer> countPicks(SubchannelPicker picker, int picks) {
+    Map<Subchannel, Integer> counts = new HashMap<>();
+    for (Subchannel subchannel : subchannels.values()) {
+      counts.put(subchannel, 0);
+    }
+    for (int i = 0; i < picks; i++) {
+      Subchannel subchannel = picker.pickSubchannel(mockArgs).getSubchannel();
+      counts.put(subchannel, counts.get(subchannel) + 1);
+    }
+    return counts;
+  }
+
+  private static EndpointWeight getEndpointWeight(Subchannel subchannel) {
+    return subchannel.getAttributes().get(ENDPOINT_WEIGHT);
+  }
+
+  private static class FakeSocketAddress extends SocketAddress {
+    final String name;
+
+    FakeSocketAddress(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String toString() {
+      return "FakeSocketAddress-" + name;
+    }
+  }
+}
@@ -383,6 +383,94 @@ public class WeightedTargetLoadBalancerTest {
             new WeightedChildPicker(weights[3], failurePickers[3]));
   }
 
+  @Test
+  public void handleResolvedAddresses_onlyUpdatesChangedTargets() {
+    Map<String, WeightedPolicySelection> targets = ImmutableMap.of(
+        "target0", weightedLbConfig0,
+        "target1", weightedLbConfig1,
+        "target2", weightedLbConfig2,
+        "target3", weightedLbConfig3);
+    List<EquivalentAddressGroup> addresses = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      addresses.add(AddressFilter.setPathFilter(
+          new EquivalentAddressGroup(socketAddresses[i]), ImmutableList.of("target" + i)));
+    }
+    weightedTargetLb.handleResolvedAddresses(
+        ResolvedAddresses.newBuilder()
+            .setAddresses(addresses)
+            .setLoadBalancingPolicyConfig(new WeightedTargetConfig(targets))
+            .build());
+
+    // Only target1 has new addresses
+    List<EquivalentAddressGroup> newAddresses = new ArrayList<>(addresses);
+    newAddresses.add(AddressFilter.setPathFilter(
+        new EquivalentAddressGroup(new InetSocketAddress(8085)), ImmutableList.of("target1")));
+    weightedTargetLb.handleResolvedAddresses(
+        ResolvedAddresses.newBuilder()
+            .setAddresses(newAddresses)
+            .setLoadBalancingPolicyConfig(new WeightedTargetConfig(targets))
+            .build());
+
+    ArgumentCaptor<ResolvedAddresses> resolvedAddressesCaptor = ArgumentCaptor.forClass(null);
+    verify(childBalancers.get(0)).handleResolvedAddresses(any(ResolvedAddresses.class));
+    verify(childBalancers.get(1), times(2))
+        .handleResolvedAddresses(resolvedAddressesCaptor.capture());
+    assertThat(resolvedAddressesCaptor.getValue().getAddresses()).hasSize(2);
+    verify(childBalancers.get(2)).handleResolvedAddresses(any(ResolvedAddresses.class));
+    verify(childBalancers.get(3)).handleResolvedAddresses(any(ResolvedAddresses.class));
+  }
+
+  @Test
+  public void handleResolvedAddresses_afterNameResolutionError_updatesAllTargets() {
+    Map<String, WeightedPolicySelection> targets = ImmutableMap.of(
+        "target0", weightedLbConfig0,
+        "target1", weightedLbConfig1);
+    List<EquivalentAddressGroup> addresses = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      addresses.add(AddressFilter.setPathFilter(
+          new EquivalentAddressGroup(socketAddresses[i]), ImmutableList.of("target" + i)));
+    }
+    ResolvedAddresses resolvedAddresses = ResolvedAddresses.newBuilder()
+        .setAddresses(addresses)
+        .setLoadBalancingPolicyConfig(new WeightedTargetConfig(targets))
+        .build();
+    weightedTargetLb.handleResolvedAddresses(resolvedAddresses);
+    weightedTargetLb.handleNameResolutionError(Status.UNAVAILABLE);
+
+    // The same addresses recover the children from the error.
+    weightedTargetLb.handleResolvedAddresses(resolvedAddresses);
+    verify(childBalancers.get(0), times(2)).handleResolvedAddresses(any(ResolvedAddresses.class));
+    verify(childBalancers.get(1), times(2)).handleResolvedAddresses(any(ResolvedAddresses.class));
+  }
+
+  @Test
+  public void childBalancingStateUpdatesCoalesced() {
+    Map<String, WeightedPolicySelection> targets = ImmutableMap.of(
+        "target0", weightedLbConfig0,
+        "target1", weightedLbConfig1,
+        "target2", weightedLbConfig2,
+        "target3", weightedLbConfig3);
+    final ResolvedAddresses resolvedAddresses = ResolvedAddresses.newBuilder()
+        .setAddresses(ImmutableList.<EquivalentAddressGroup>of())
+        .setLoadBalancingPolicyConfig(new WeightedTargetConfig(targets))
+        .build();
+    weightedTargetLb.handleResolvedAddresses(resolvedAddresses);
+    verify(helper).updateBalancingState(eq(CONNECTING), eq(BUFFER_PICKER));
+
+    // All the children become READY while the synchronization context is busy
+    syncContext.execute(new Runnable() {
+      @Override
+      public void run() {
+        for (Helper childHelper : childHelpers) {
+          childHelper.updateBalancingState(READY, mock(SubchannelPicker.class));
+        }
+      }
+    });
+    ArgumentCaptor<SubchannelPicker> pickerCaptor = ArgumentCaptor.forClass(null);
+    verify(helper).updateBalancingState(eq(READY), pickerCaptor.capture());
+    assertThat(((WeightedRandomPicker) pickerCaptor.getValue()).weightedChildPickers).hasSize(4);
+  }
+
   @Test
   public void raceBetweenShutdownAndChildLbBalancingStateUpdate() {
     Map<String, WeightedPolicySelection> targets = ImmutableMap.of(
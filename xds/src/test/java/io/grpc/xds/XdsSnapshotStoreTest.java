@@ -0,0 +1,259 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.Any;
+import com.google.protobuf.StringValue;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.xds.AbstractXdsClient.ResourceType;
+import io.grpc.xds.Bootstrapper.BootstrapInfo;
+import io.grpc.xds.Bootstrapper.ServerInfo;
+import io.grpc.xds.EnvoyProtoData.Node;
+import io.grpc.xds.XdsSnapshotStore.Entry;
+import io.grpc.xds.XdsSnapshotStore.Snapshot;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Unit tests for {@link XdsSnapshotStore}. */
+@RunWith(JUnit4.class)
+public class XdsSnapshotStoreTest {
+  private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(10);
+  private static final long NOW_NANOS = TimeUnit.DAYS.toNanos(20000);
+
+  @Rule
+  public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private String originalSnapshotDirectory;
+  private File file;
+  private XdsSnapshotStore store;
+
+  @Before
+  public void setUp() {
+    originalSnapshotDirectory = XdsSnapshotStore.snapshotDirectory;
+    file = new File(tempFolder.getRoot(), "snapshot");
+    store = new XdsSnapshotStore(file, "key", MAX_AGE_NANOS, MoreExecutors.directExecutor());
+  }
+
+  @After
+  public void tearDown() {
+    XdsSnapshotStore.snapshotDirectory = originalSnapshotDirectory;
+  }
+
+  @Test
+  public void saveAndLoad() throws IOException {
+    store.save(Arrays.asList(
+        new Entry(ResourceType.LDS, "listener", resource("lds"), NOW_NANOS - 1),
+        new Entry(ResourceType.CDS, "cluster", resource("cds"), NOW_NANOS - 2)), NOW_NANOS);
+
+    Snapshot snapshot = store.load(NOW_NANOS);
+    assertThat(snapshot.size()).isEqualTo(2);
+    Entry entry = snapshot.remove(ResourceType.LDS, "listener", NOW_NANOS);
+    assertThat(entry.getResource()).isEqualTo(resource("lds"));
+    assertThat(entry.updateTimeNanos).isEqualTo(NOW_NANOS - 1);
+    entry = snapshot.remove(ResourceType.CDS, "cluster", NOW_NANOS);
+    assertThat(entry.getResource()).isEqualTo(resource("cds"));
+    assertThat(entry.updateTimeNanos).isEqualTo(NOW_NANOS - 2);
+    assertThat(snapshot.remove(ResourceType.RDS, "listener", NOW_NANOS)).isNull();
+    assertThat(snapshot.remove(ResourceType.CDS, "other-cluster", NOW_NANOS)).isNull();
+  }
+
+  @Test
+  public void save_mergesWithPreviousSnapshot() throws IOException {
+    store.save(Arrays.asList(
+        new Entry(ResourceType.EDS, "eds-1", resource("1"), NOW_NANOS - 2),
+        new Entry(ResourceType.EDS, "eds-2", resource("2"), NOW_NANOS - 2),
+        new Entry(ResourceType.EDS, "eds-3", resource("3"), NOW_NANOS)),
+        NOW_NANOS);
+    // Saved by another process, which received eds-3 before this one.
+    XdsSnapshotStore otherStore =
+        new XdsSnapshotStore(file, "key", MAX_AGE_NANOS, MoreExecutors.directExecutor());
+    otherStore.save(Arrays.asList(
+        new Entry(ResourceType.EDS, "eds-2", resource("2.1"), NOW_NANOS - 1),
+        new Entry(ResourceType.EDS, "eds-3", resource("3.1"), NOW_NANOS - 1)),
+        NOW_NANOS);
+
+    Snapshot snapshot = store.load(NOW_NANOS);
+    assertThat(snapshot.size()).isEqualTo(3);
+    assertThat(snapshot.remove(ResourceType.EDS, "eds-1", NOW_NANOS).getResource())
+        .isEqualTo(resource("1"));
+    assertThat(snapshot.remove(ResourceType.EDS, "eds-2", NOW_NANOS).getResource())
+        .isEqualTo(resource("2.1"));
+    assertThat(snapshot.remove(ResourceType.EDS, "eds-3", NOW_NANOS).getResource())
+        .isEqualTo(resource("3"));
+    assertThat(tempFolder.getRoot().list()).asList().containsExactly("snapshot");
+  }
+
+  @Test
+  public void save_mergesResourcesSavedByOtherProcessSinceLastSave() throws IOException {
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.EDS, "eds-1", resource("1"), NOW_NANOS)), NOW_NANOS);
+    XdsSnapshotStore otherStore =
+        new XdsSnapshotStore(file, "key", MAX_AGE_NANOS, MoreExecutors.directExecutor());
+    otherStore.save(Collections.singletonList(
+        new Entry(ResourceType.EDS, "eds-2", resource("2"), NOW_NANOS)), NOW_NANOS);
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.EDS, "eds-3", resource("3"), NOW_NANOS)), NOW_NANOS);
+
+    Snapshot snapshot = store.load(NOW_NANOS);
+    assertThat(snapshot.size()).isEqualTo(3);
+    assertThat(snapshot.remove(ResourceType.EDS, "eds-2", NOW_NANOS).getResource())
+        .isEqualTo(resource("2"));
+  }
+
+  @Test
+  public void save_dropsStaleResourcesOfPreviousSnapshot() throws IOException {
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.EDS, "eds-1", resource("1"), NOW_NANOS)), NOW_NANOS);
+    long laterNanos = NOW_NANOS + MAX_AGE_NANOS + 1;
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.EDS, "eds-2", resource("2"), laterNanos)), laterNanos);
+
+    Snapshot snapshot = store.load(laterNanos);
+    assertThat(snapshot.size()).isEqualTo(1);
+    assertThat(snapshot.remove(ResourceType.EDS, "eds-2", laterNanos).getResource())
+        .isEqualTo(resource("2"));
+  }
+
+  @Test
+  public void save_onlyReadableByOwner() throws IOException {
+    assume().that(file.toPath().getFileSystem().supportedFileAttributeViews()).contains("posix");
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.LDS, "listener", resource("lds"), NOW_NANOS)), NOW_NANOS);
+
+    assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file.toPath())))
+        .isEqualTo("rw-------");
+  }
+
+  @Test
+  public void load_skipsStaleResources() throws IOException {
+    store.save(Arrays.asList(
+        new Entry(ResourceType.EDS, "fresh", resource("fresh"), NOW_NANOS - MAX_AGE_NANOS),
+        new Entry(ResourceType.EDS, "stale", resource("stale"), NOW_NANOS - MAX_AGE_NANOS - 1)),
+        NOW_NANOS);
+
+    Snapshot snapshot = store.load(NOW_NANOS);
+    assertThat(snapshot.size()).isEqualTo(1);
+    assertThat(snapshot.remove(ResourceType.EDS, "fresh", NOW_NANOS).getResource())
+        .isEqualTo(resource("fresh"));
+    assertThat(snapshot.remove(ResourceType.EDS, "stale", NOW_NANOS)).isNull();
+  }
+
+  @Test
+  public void snapshot_resourceUsedOnce() throws IOException {
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.LDS, "listener", resource("lds"), NOW_NANOS)), NOW_NANOS);
+
+    Snapshot snapshot = store.load(NOW_NANOS);
+    assertThat(snapshot.remove(ResourceType.LDS, "listener", NOW_NANOS).getResource())
+        .isEqualTo(resource("lds"));
+    assertThat(snapshot.remove(ResourceType.LDS, "listener", NOW_NANOS)).isNull();
+    assertThat(snapshot.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void snapshot_resourceTooOldWhenUsed_notReturned() {
+    store.save(Arrays.asList(
+        new Entry(ResourceType.EDS, "eds-1", resource("1"), NOW_NANOS),
+        new Entry(ResourceType.EDS, "eds-2", resource("2"), NOW_NANOS - 1)),
+        NOW_NANOS);
+    Snapshot snapshot = store.load(NOW_NANOS);
+    assertThat(snapshot.size()).isEqualTo(2);
+
+    long laterNanos = NOW_NANOS + MAX_AGE_NANOS;
+    assertThat(snapshot.remove(ResourceType.EDS, "eds-2", laterNanos)).isNull();
+    snapshot.removeStale(laterNanos);
+    assertThat(snapshot.size()).isEqualTo(1);
+    snapshot.removeStale(laterNanos + 1);
+    assertThat(snapshot.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void load_noSnapshot() {
+    assertThat(store.load(NOW_NANOS)).isNull();
+  }
+
+  @Test
+  public void load_ignoresSnapshotOfOtherKey() {
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.LDS, "listener", resource("lds"), NOW_NANOS)), NOW_NANOS);
+
+    XdsSnapshotStore otherStore =
+        new XdsSnapshotStore(file, "other-key", MAX_AGE_NANOS, MoreExecutors.directExecutor());
+    assertThat(otherStore.load(NOW_NANOS)).isNull();
+  }
+
+  @Test
+  public void load_ignoresCorruptSnapshot() throws IOException {
+    store.save(Collections.singletonList(
+        new Entry(ResourceType.LDS, "listener", resource("lds"), NOW_NANOS)), NOW_NANOS);
+    byte[] content = Files.readAllBytes(file.toPath());
+    try (OutputStream out = new FileOutputStream(file)) {
+      // Truncated.
+      out.write(content, 0, content.length - 1);
+    }
+
+    assertThat(store.load(NOW_NANOS)).isNull();
+  }
+
+  @Test
+  public void forBootstrap() {
+    BootstrapInfo bootstrapInfo = BootstrapInfo.builder()
+        .servers(Collections.singletonList(ServerInfo.create(
+            "trafficdirector.googleapis.com", InsecureChannelCredentials.create(), true)))
+        .node(Node.newBuilder().setId("node-id").build())
+        .build();
+    XdsSnapshotStore.snapshotDirectory = null;
+    assertThat(XdsSnapshotStore.forBootstrap(bootstrapInfo, MoreExecutors.directExecutor()))
+        .isNull();
+
+    XdsSnapshotStore.snapshotDirectory = tempFolder.getRoot().getPath();
+    XdsSnapshotStore store =
+        XdsSnapshotStore.forBootstrap(bootstrapInfo, MoreExecutors.directExecutor());
+    assertThat(store.getFile().getParentFile()).isEqualTo(tempFolder.getRoot());
+    assertThat(XdsSnapshotStore.forBootstrap(bootstrapInfo, MoreExecutors.directExecutor())
+        .getFile()).isEqualTo(store.getFile());
+
+    BootstrapInfo otherBootstrapInfo = BootstrapInfo.builder()
+        .servers(bootstrapInfo.servers())
+        .node(Node.newBuilder().setId("other-node-id").build())
+        .build();
+    assertThat(XdsSnapshotStore.forBootstrap(otherBootstrapInfo, MoreExecutors.directExecutor())
+        .getFile()).isNotEqualTo(store.getFile());
+  }
+
+  private static Any resource(String value) {
+    return Any.pack(StringValue.of(value));
+  }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2026 The gRPC Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.grpc.xds.internal.rbac.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Attributes;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.MethodDescriptor.MethodType;
+import io.grpc.ServerCall;
+import io.grpc.internal.testing.TestUtils;
+import io.grpc.testing.TestMethodDescriptors;
+import io.grpc.xds.internal.Matchers.HeaderMatcher;
+import io.grpc.xds.internal.Matchers.StringMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.Action;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AlwaysTrueMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AndMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthConfig;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthDecision;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthHeaderMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.AuthenticatedMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.EvaluateArgs;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.InvertMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.Matcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.OrMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PathMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.PolicyMatcher;
+import io.grpc.xds.internal.rbac.engine.GrpcAuthorizationEngine.RequestedServerNameMatcher;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import javax.net.ssl.SSLSession;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+/** Unit tests for {@link CompiledAuthConfig}. */
+@RunWith(JUnit4.class)
+public class CompiledAuthConfigTest {
+  @Rule
+  public final MockitoRule mocks = MockitoJUnit.rule();
+
+  private static final String METHOD = "pkg.Service/Method";
+  private static final Metadata.Key<String> USER_KEY =
+      Metadata.Key.of("x-user", Metadata.ASCII_STRING_MARSHALLER);
+
+  @Mock
+  private ServerCall<Void, Void> serverCall;
+  @Mock
+  private SSLSession sslSession;
+
+  @Before
+  public void setUp() throws Exception {
+    X509Certificate[] certs = {TestUtils.loadX509Cert("server1.pem")};
+    when(sslSession.getPeerCertificates()).thenReturn(certs);
+    when(serverCall.getAttributes()).thenReturn(
+        Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_SSL_SESSION, sslSession).build());
+    setMethod(METHOD);
+  }
+
+  @Test
+  public void policiesNotMatchingPath_skipped() {
+    CountingMatcher counting = new CountingMatcher();
+    PolicyMatcher other = PolicyMatcher.create(
+        "other",
+        OrMatcher.create(pathMatcher("/pkg.Service/Other")),
+        OrMatcher.create(counting));
+    PolicyMatcher method = PolicyMatcher.create(
+        "method", OrMatcher.create(pathMatcher("/" + METHOD)), OrMatcher.create(counting));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(other, method), Action.ALLOW));
+
+    AuthDecision decision = config.evaluate(new Metadata(), serverCall);
+    assertThat(decision.decision()).isEqualTo(Action.ALLOW);
+    assertThat(decision.matchingPolicyName()).isEqualTo("method");
+    assertThat(counting.calls).isEqualTo(1);
+  }
+
+  @Test
+  public void policiesAfterPolicyMatchingAllCallsOfMethod_skipped() {
+    CountingMatcher counting = new CountingMatcher();
+    PolicyMatcher method = PolicyMatcher.create(
+        "method",
+        OrMatcher.create(pathMatcher("/" + METHOD)),
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE));
+    PolicyMatcher other = PolicyMatcher.create(
+        "other", OrMatcher.create(AlwaysTrueMatcher.INSTANCE), OrMatcher.create(counting));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(method, other), Action.DENY));
+
+    AuthDecision decision = config.evaluate(new Metadata(), serverCall);
+    assertThat(decision.decision()).isEqualTo(Action.DENY);
+    assertThat(decision.matchingPolicyName()).isEqualTo("method");
+    setMethod("pkg.Service/Other");
+    decision = config.evaluate(new Metadata(), serverCall);
+    assertThat(decision.decision()).isEqualTo(Action.DENY);
+    assertThat(decision.matchingPolicyName()).isEqualTo("other");
+    assertThat(counting.calls).isEqualTo(1);
+  }
+
+  @Test
+  public void invertedPathMatcher() {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(InvertMatcher.create(pathMatcher("/" + METHOD))),
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.DENY);
+    setMethod("pkg.Service/Other");
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+  }
+
+  @Test
+  public void constantMatchersFolded() {
+    CountingMatcher counting = new CountingMatcher();
+    PolicyMatcher never = PolicyMatcher.create(
+        "never",
+        OrMatcher.create(InvertMatcher.create(AlwaysTrueMatcher.INSTANCE)),
+        OrMatcher.create(counting));
+    PolicyMatcher serverName = PolicyMatcher.create(
+        "serverName",
+        OrMatcher.create(RequestedServerNameMatcher.create(StringMatcher.forExact("", false))),
+        OrMatcher.create(AndMatcher.create(AlwaysTrueMatcher.INSTANCE, counting)));
+    CompiledAuthConfig config = new CompiledAuthConfig(
+        AuthConfig.create(Arrays.asList(never, serverName), Action.ALLOW));
+
+    AuthDecision decision = config.evaluate(new Metadata(), serverCall);
+    assertThat(decision.decision()).isEqualTo(Action.ALLOW);
+    assertThat(decision.matchingPolicyName()).isEqualTo("serverName");
+    assertThat(counting.calls).isEqualTo(1);
+  }
+
+  @Test
+  public void headerSharedByMatchers() {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(AndMatcher.create(
+            headerMatcher(HeaderMatcher.forPrefix("X-User", "user", false)),
+            headerMatcher(HeaderMatcher.forExactValue("x-user", "user1,user2", false)))),
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+    Metadata headers = new Metadata();
+    headers.put(USER_KEY, "user1");
+
+    assertThat(config.evaluate(headers, serverCall).decision()).isEqualTo(Action.DENY);
+    headers.put(USER_KEY, "user2");
+    assertThat(config.evaluate(headers, serverCall).decision()).isEqualTo(Action.ALLOW);
+  }
+
+  @Test
+  public void principalNamesReadOncePerSslSession() throws Exception {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE),
+        OrMatcher.create(
+            AuthenticatedMatcher.create(StringMatcher.forExact("foo.test.google.fr", false)),
+            AuthenticatedMatcher.create(StringMatcher.forExact("*.test.google.fr", false))));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    ArgumentCaptor<Object> principalNames = ArgumentCaptor.forClass(Object.class);
+    verify(sslSession).putValue(anyString(), principalNames.capture());
+    when(sslSession.getValue(anyString())).thenReturn(principalNames.getValue());
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    verify(sslSession, times(1)).getPeerCertificates();
+    verify(sslSession, times(1)).putValue(anyString(), any());
+  }
+
+  @Test
+  public void valueOfOtherTypeInSslSession_ignored() throws Exception {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE),
+        OrMatcher.create(
+            AuthenticatedMatcher.create(StringMatcher.forExact("*.test.google.fr", false))));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+    when(sslSession.getValue(anyString())).thenReturn(Arrays.asList("foo.test.google.fr"));
+
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    verify(sslSession).getPeerCertificates();
+  }
+
+  @Test
+  public void methodsBeyondCacheLimitStillEvaluated() {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(pathMatcher("/" + METHOD)),
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+
+    for (int i = 0; i < CompiledAuthConfig.MAX_CACHED_METHODS + 10; i++) {
+      setMethod("pkg.Service/Method" + i);
+      assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.DENY);
+    }
+    setMethod(METHOD);
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+  }
+
+  @Test
+  public void matcherOfUnknownType_delegated() {
+    CountingMatcher counting = new CountingMatcher();
+    counting.result = false;
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy", OrMatcher.create(AlwaysTrueMatcher.INSTANCE), OrMatcher.create(counting));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.DENY);
+    counting.result = true;
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    assertThat(counting.calls).isEqualTo(2);
+  }
+
+  @Test
+  public void connectionMatchersEvaluatedOncePerConnection() throws Exception {
+    CountingMatcher counting = new CountingMatcher();
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(pathMatcher("/" + METHOD)),
+        OrMatcher.create(AndMatcher.create(
+            AuthenticatedMatcher.create(StringMatcher.forExact("*.test.google.fr", false)),
+            counting)));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+    when(serverCall.getAttributes()).thenReturn(ConnectionAuthCache.transportFilter()
+        .transportReady(
+            Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_SSL_SESSION, sslSession).build()));
+
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    setMethod("pkg.Service/Other");
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.DENY);
+    verify(sslSession, times(1)).getPeerCertificates();
+    verify(sslSession, times(1)).getValue(anyString());
+    // The matcher of unknown type may depend on the call.
+    assertThat(counting.calls).isEqualTo(2);
+    assertThat(config.getConnectionCacheMisses()).isEqualTo(1);
+    assertThat(config.getConnectionCacheHits()).isEqualTo(2);
+  }
+
+  @Test
+  public void policiesNotMatchingConnection_skipped() {
+    CountingMatcher counting = new CountingMatcher();
+    PolicyMatcher other = PolicyMatcher.create(
+        "other",
+        OrMatcher.create(counting),
+        OrMatcher.create(
+            AuthenticatedMatcher.create(StringMatcher.forExact("other.example.com", false))));
+    PolicyMatcher peer = PolicyMatcher.create(
+        "peer",
+        OrMatcher.create(headerMatcher(HeaderMatcher.forExactValue("x-user", "user1", false))),
+        OrMatcher.create(
+            AuthenticatedMatcher.create(StringMatcher.forExact("*.test.google.fr", false))));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(other, peer), Action.ALLOW));
+    when(serverCall.getAttributes()).thenReturn(ConnectionAuthCache.transportFilter()
+        .transportReady(
+            Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_SSL_SESSION, sslSession).build()));
+
+    Metadata headers = new Metadata();
+    headers.put(USER_KEY, "user1");
+    AuthDecision decision = config.evaluate(headers, serverCall);
+    assertThat(decision.decision()).isEqualTo(Action.ALLOW);
+    assertThat(decision.matchingPolicyName()).isEqualTo("peer");
+    headers = new Metadata();
+    headers.put(USER_KEY, "user2");
+    assertThat(config.evaluate(headers, serverCall).decision()).isEqualTo(Action.DENY);
+    assertThat(counting.calls).isEqualTo(0);
+  }
+
+  @Test
+  public void connectionCacheKeptPerConfig() {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE),
+        OrMatcher.create(
+            AuthenticatedMatcher.create(StringMatcher.forExact("*.test.google.fr", false))));
+    CompiledAuthConfig allow =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+    CompiledAuthConfig deny =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.DENY));
+    Attributes attributes = ConnectionAuthCache.transportFilter().transportReady(
+        Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_SSL_SESSION, sslSession).build());
+    when(serverCall.getAttributes()).thenReturn(attributes);
+
+    assertThat(allow.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    assertThat(deny.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.DENY);
+    assertThat(allow.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    // Once for each config.
+    verify(sslSession, times(2)).getPeerCertificates();
+    ConnectionAuthCache cache = attributes.get(ConnectionAuthCache.ATTR_CONNECTION_AUTH_CACHE);
+    assertThat(cache.get(allow)).isNotNull();
+    assertThat(cache.get(deny)).isNotNull();
+    assertThat(allow.getConnectionCacheMisses()).isEqualTo(1);
+    assertThat(allow.getConnectionCacheHits()).isEqualTo(1);
+    assertThat(deny.getConnectionCacheMisses()).isEqualTo(1);
+    assertThat(deny.getConnectionCacheHits()).isEqualTo(0);
+  }
+
+  @Test
+  public void withoutConnectionCache_nothingCounted() {
+    PolicyMatcher policy = PolicyMatcher.create(
+        "policy",
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE),
+        OrMatcher.create(AlwaysTrueMatcher.INSTANCE));
+    CompiledAuthConfig config =
+        new CompiledAuthConfig(AuthConfig.create(Arrays.asList(policy), Action.ALLOW));
+
+    assertThat(config.evaluate(new Metadata(), serverCall).decision()).isEqualTo(Action.ALLOW);
+    assertThat(config.getConnectionCacheMisses()).isEqualTo(0);
+    assertThat(config.getConnectionCacheHits()).isEqualTo(0);
+  }
+
+  private void setMethod(String fullMethodName) {
+    when(serverCall.getMethodDescriptor()).thenReturn(
+        MethodDescriptor.<Void, Void>newBuilder()
+            .setType(MethodType.UNARY)
+            .setFullMethodName(fullMethodName)
+            .setRequestMarshaller(TestMethodDescriptors.voidMarshaller())
+            .setResponseMarshaller(TestMethodDescriptors.voidMarshaller())
+            .build());
+  }
+
+  private static PathMatcher pathMatcher(String path) {
+    return PathMatcher.create(StringMatcher.forExact(path, false));
+  }
+
+  private static AuthHeaderMatcher headerMatcher(HeaderMatcher delegate) {
+    return AuthHeaderMatcher.create(delegate);
+  }
+
+  private static final class CountingMatcher implements Matcher {
+    boolean result = true;
+    int calls;
+
+    @Override
+    public boolean matches(EvaluateArgs args) {
+      calls++;
+      return result;
+    }
+  }
+}
@@ -709,6 +709,59 @@ public class OrcaOobUtilTest {
         .isEqualTo(MEDIUM_INTERVAL_CONFIG.getReportIntervalNanos());
   }
 
+  @Test
+  public void removeListener_stopsReportingWhenNoListenerLeft() {
+    Subchannel created = createSubchannel(orcaHelper, 0, Attributes.EMPTY);
+    OrcaOobUtil.setListener(created, mockOrcaListener0, SHORT_INTERVAL_CONFIG);
+    deliverSubchannelState(0, ConnectivityStateInfo.forNonError(READY));
+    verify(mockStateListeners[0]).onSubchannelState(eq(ConnectivityStateInfo.forNonError(READY)));
+    assertThat(orcaServiceImps[0].calls).hasSize(1);
+    assertLog(subchannels[0].logs,
+        "DEBUG: Starting ORCA reporting for " + subchannels[0].getAllAddresses());
+
+    OrcaOobUtil.removeListener(created);
+    assertThat(orcaServiceImps[0].calls.poll().cancelled).isTrue();
+    assertThat(orcaServiceImps[0].calls).isEmpty();
+    assertThat(fakeClock.getPendingTasks()).isEmpty();
+
+    // Removing it again is a no-op, and reporting restarts once a listener is set again.
+    OrcaOobUtil.removeListener(created);
+    OrcaOobUtil.setListener(created, mockOrcaListener0, LONG_INTERVAL_CONFIG);
+    assertThat(orcaServiceImps[0].calls).hasSize(1);
+    assertLog(subchannels[0].logs,
+        "DEBUG: Starting ORCA reporting for " + subchannels[0].getAllAddresses());
+    assertThat(orcaServiceImps[0].calls.poll().request)
+        .isEqualTo(buildOrcaRequestFromConfig(LONG_INTERVAL_CONFIG));
+    verifyNoInteractions(mockOrcaListener0);
+  }
+
+  @Test
+  public void removeListener_reportsWithRemainingIntervals() {
+    Subchannel created = createSubchannel(childHelper, 0, Attributes.EMPTY);
+    OrcaOobUtil.setListener(savedParentSubchannel, mockOrcaListener0, LONG_INTERVAL_CONFIG);
+    OrcaOobUtil.setListener(created, mockOrcaListener1, SHORT_INTERVAL_CONFIG);
+    deliverSubchannelState(0, ConnectivityStateInfo.forNonError(READY));
+    verify(mockStateListeners[0]).onSubchannelState(eq(ConnectivityStateInfo.forNonError(READY)));
+    assertThat(orcaServiceImps[0].calls).hasSize(1);
+    assertLog(subchannels[0].logs,
+        "DEBUG: Starting ORCA reporting for " + subchannels[0].getAllAddresses());
+
+    // The child policy no longer wants reports, reporting continues at the parent's interval.
+    OrcaOobUtil.removeListener(created);
+    assertThat(orcaServiceImps[0].calls.poll().cancelled).isTrue();
+    assertThat(orcaServiceImps[0].calls).hasSize(1);
+    assertLog(subchannels[0].logs,
+        "DEBUG: Starting ORCA reporting for " + subchannels[0].getAllAddresses());
+    assertThat(Durations.toNanos(orcaServiceImps[0].calls.peek().request.getReportInterval()))
+        .isEqualTo(LONG_INTERVAL_CONFIG.getReportIntervalNanos());
+
+    OrcaLoadReport report = OrcaLoadReport.getDefaultInstance();
+    orcaServiceImps[0].calls.peek().responseObserver.onNext(report);
+    assertLog(subchannels[0].logs, "DEBUG: Received an ORCA report: " + report);
+    verify(mockOrcaListener0).onLoadReport(eq(report));
+    verifyNoInteractions(mockOrcaListener1);
+  }
+
   private void verifyRetryAfterNanos(InOrder inOrder, OpenRcaServiceImp orcaServiceImp,
       long nanos) {
     assertThat(fakeClock.getPendingTasks()).hasSize(1);